@@ -2,12 +2,14 @@
 请求工具类
 封装HTTP请求方法，提供统一的请求和日志记录功能
 """
+import os
+
 import requests
 
 from utils.logger_util import logger
 
-# 抽奖系统服务地址（根据application.properties配置）
-host = "http://101.42.36.43:8888/"
+# 抽奖系统服务地址（根据application.properties配置），可通过环境变量 LOTTERY_HOST 指向本地后端
+host = os.environ.get("LOTTERY_HOST", "http://101.42.36.43:8888").rstrip("/") + "/"
 
 
 class Request:
@@ -0,0 +1,232 @@
+package com.example.lotterywebautotest.load;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 开放模型压测引擎
+ * JMeter脚本中的线程组是封闭模型：服务端变慢时每个线程发请求的间隔随之拉长，实际压力下降，掩盖了响应时间的拐点。
+ * 这里按计划时间表以固定到达率发起抽奖请求，不等待之前的请求返回；响应时间从计划发送时间算起，
+ * 发压端排队造成的延迟也计入结果（协调遗漏修正）。
+ * ramp-up期间到达率从0线性增长到目标值。
+ * 压测前为账号文件（load.usersFile）中的每个账号登录一次，请求按顺序轮流使用这些会话；
+ * 未配置账号文件时所有请求共用一个账号，抽奖次数用完后的请求会记为失败。
+ */
+public class ArrivalRateEngine {
+
+    /**
+     * 调度落后计划超过该值时提示发压端可能成为瓶颈
+     */
+    private static final long LAG_WARNING_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final LoadTestConfig config;
+    private final List<SampleListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong scheduled = new AtomicLong();
+    private final LongAccumulator maxLagNanos = new LongAccumulator(Long::max, 0);
+
+    private volatile ExecutorService executor;
+    private volatile boolean stopped;
+
+    public ArrivalRateEngine(LoadTestConfig config) {
+        if (!config.isOpenModel()) {
+            throw new IllegalArgumentException("开放模型需要配置大于0的到达率: load.arrivalRate");
+        }
+        this.config = config;
+    }
+
+    /**
+     * 添加采样结果监听器
+     * @param listener 监听器
+     * @return 当前引擎
+     */
+    public ArrivalRateEngine addListener(SampleListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * 获取正在执行的请求数
+     * @return 请求数
+     */
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * 获取已按计划发起的请求数
+     * @return 请求数
+     */
+    public long getScheduled() {
+        return scheduled.get();
+    }
+
+    /**
+     * 获取调度线程落后计划的最大时间
+     * @return 最大落后时间
+     */
+    public Duration getMaxSchedulingLag() {
+        return Duration.ofNanos(maxLagNanos.get());
+    }
+
+    /**
+     * 执行压测：先登录所有账号，然后在持续时间内按计划发起抽奖请求，阻塞到所有请求完成
+     */
+    public void run() {
+        executor = VirtualThreads.newThreadPerTaskExecutor("load-arrival-");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        System.out.println("开始压测（开放模型）: 目标到达率 " + config.getArrivalRate() + " 次/秒，ramp-up "
+                + config.getRampUp().toSeconds() + "s，持续 " + config.getDuration().toSeconds() + "s，"
+                + (VirtualThreads.isAvailable() ? "使用虚拟线程" : "当前JVM不支持虚拟线程，使用平台线程"));
+
+        try {
+            List<LotteryScenario> sessions = login(client);
+            schedule(sessions);
+            executor.shutdown();
+            if (!executor.awaitTermination(config.getRequestTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            for (SampleListener listener : listeners) {
+                listener.close();
+            }
+        }
+
+        long maxLagMillis = getMaxSchedulingLag().toMillis();
+        System.out.println("已发起 " + scheduled.get() + " 次抽奖请求，调度最大落后 " + maxLagMillis + "ms");
+        if (maxLagNanos.get() > LAG_WARNING_NANOS) {
+            System.err.println("调度明显落后于计划，发压端可能已成为瓶颈，结果中的响应时间包含发压端排队时间");
+        }
+    }
+
+    /**
+     * 提前停止压测，正在执行的请求会被中断
+     */
+    public void stop() {
+        stopped = true;
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    /**
+     * 计算第index个请求相对压测开始的计划发送时间
+     * ramp-up期间到达率线性增长，累计请求数为 rate * t^2 / (2 * rampUp)，之后按固定间隔
+     * @param index 请求序号，从0开始
+     * @param rate 目标到达率（次/秒）
+     * @param rampUpNanos ramp-up时长（纳秒）
+     * @return 计划发送时间偏移（纳秒）
+     */
+    static long arrivalOffsetNanos(long index, double rate, long rampUpNanos) {
+        double rampUpSeconds = rampUpNanos / 1e9;
+        double rampArrivals = rate * rampUpSeconds / 2;
+        double seconds;
+        if (index < rampArrivals) {
+            seconds = Math.sqrt(2 * rampUpSeconds * index / rate);
+        } else {
+            seconds = rampUpSeconds + (index - rampArrivals) / rate;
+        }
+        return (long) (seconds * 1e9);
+    }
+
+    /**
+     * 每个账号一个会话，并发登录，阻塞到全部登录完成
+     */
+    private List<LotteryScenario> login(HttpClient client) throws InterruptedException {
+        int accounts = Math.max(1, config.getAccounts().size());
+        if (accounts == 1) {
+            System.err.println("所有请求共用账号 " + config.getLoginName(0)
+                    + "，抽奖次数用完后的请求将记为失败，可通过 load.usersFile 配置多个账号");
+        }
+        List<LotteryScenario> sessions = new ArrayList<>(accounts);
+        List<Future<?>> logins = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) {
+            LotteryScenario session = new LotteryScenario(config, client, this::publish, inFlight::get,
+                    "Lottery Arrivals", Long.MAX_VALUE, i);
+            sessions.add(session);
+            logins.add(executor.submit(() -> {
+                session.login();
+                return null;
+            }));
+        }
+        for (Future<?> login : logins) {
+            try {
+                login.get();
+            } catch (ExecutionException e) {
+                // 登录失败已记录为失败采样，该会话的抽奖请求同样会失败
+                System.err.println("登录异常: " + e.getCause().getMessage());
+            }
+        }
+        System.out.println("已登录 " + accounts + " 个账号");
+        return sessions;
+    }
+
+    private void schedule(List<LotteryScenario> sessions) {
+        double rate = config.getArrivalRate();
+        long rampUpNanos = Math.min(config.getRampUp().toNanos(), config.getDuration().toNanos());
+        long durationNanos = config.getDuration().toNanos();
+        long startNanos = System.nanoTime();
+
+        for (long index = 0; !stopped; index++) {
+            long offset = arrivalOffsetNanos(index, rate, rampUpNanos);
+            if (offset >= durationNanos) {
+                break;
+            }
+            long intendedStart = startNanos + offset;
+            long waitNanos;
+            while ((waitNanos = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(waitNanos);
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+            }
+            maxLagNanos.accumulate(-waitNanos);
+            scheduled.incrementAndGet();
+            try {
+                LotteryScenario session = sessions.get((int) (index % sessions.size()));
+                executor.execute(() -> fire(session, intendedStart));
+            } catch (RejectedExecutionException e) {
+                // 已调用stop()
+                return;
+            }
+        }
+    }
+
+    private void fire(LotteryScenario scenario, long intendedStart) {
+        inFlight.incrementAndGet();
+        try {
+            scenario.draw(intendedStart);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("抽奖请求异常: " + e.getMessage());
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private void publish(Sample sample) {
+        for (SampleListener listener : listeners) {
+            listener.onSample(sample);
+        }
+    }
+}
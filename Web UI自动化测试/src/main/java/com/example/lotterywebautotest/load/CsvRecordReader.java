@@ -0,0 +1,114 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 流式CSV记录读取器
+ * 支持引号转义和引号内的换行（JMeter的responseMessage/failureMessage可能包含换行），
+ * 字段缓冲区在记录之间复用，读取过程中不为每条记录分配新对象
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private final char[] buffer = new char[1 << 16];
+    private final List<StringBuilder> fields = new ArrayList<>();
+    private int position;
+    private int limit;
+    private int fieldCount;
+    private long recordNumber;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 读取下一条记录，跳过空行
+     * @return 是否读到记录
+     */
+    boolean next() throws IOException {
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                return false;
+            }
+            readRecord(c);
+            recordNumber++;
+            if (fieldCount > 1 || fields.get(0).length() > 0) {
+                return true;
+            }
+        }
+    }
+
+    int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * 获取当前记录的字段，内容在读取下一条记录时被覆盖
+     * @param index 列下标
+     * @return 字段内容，列不存在时为空
+     */
+    CharSequence getField(int index) {
+        return index < fieldCount ? fields.get(index) : "";
+    }
+
+    /**
+     * 获取当前记录的行号（从1开始，包括表头和空行）
+     */
+    long getRecordNumber() {
+        return recordNumber;
+    }
+
+    private void readRecord(int first) throws IOException {
+        fieldCount = 0;
+        StringBuilder field = nextField();
+        boolean quoted = false;
+        int c = first;
+        while (c != -1) {
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following != '"') {
+                        quoted = false;
+                        c = following;
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                field = nextField();
+            } else if (c == '\n') {
+                return;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private StringBuilder nextField() {
+        if (fieldCount == fields.size()) {
+            fields.add(new StringBuilder());
+        }
+        StringBuilder field = fields.get(fieldCount++);
+        field.setLength(0);
+        return field;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return -1;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * JTL/CSV结果文件的流式汇总
+ * 单次顺序读取，只解析统计需要的列；每个事务的响应时间按毫秒值计数，
+ * 内存只与事务数和不同响应时间值的个数有关，与样本数无关，几GB的稳定性测试结果也不需要整体加载。
+ * 输出格式与JMeter HTML报告的statistics.json一致，可以直接与全部测试报告下的结果比较。
+ * 用法: mvn -q compile exec:java -Dexec.mainClass=com.example.lotterywebautotest.load.JtlSummarizer -Dexec.args="stability_test.jtl target/statistics.json"
+ */
+public class JtlSummarizer {
+
+    /**
+     * 没有表头时使用JMeter默认的CSV列顺序
+     */
+    private static final String[] DEFAULT_COLUMNS = JtlWriter.HEADER.split(",");
+
+    private JtlSummarizer() {
+    }
+
+    /**
+     * 汇总JTL文件
+     * @param file JTL文件（CSV格式）
+     * @return 汇总统计
+     */
+    public static StatisticsCollector summarize(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return summarize(reader);
+        } catch (IOException e) {
+            throw new RuntimeException("读取JTL文件失败: " + file, e);
+        }
+    }
+
+    /**
+     * 汇总JTL内容
+     * @param reader JTL内容，第一行可以是表头（列顺序任意）也可以直接是数据（JMeter默认列顺序）
+     * @return 汇总统计
+     */
+    public static StatisticsCollector summarize(Reader reader) throws IOException {
+        StatisticsCollector statistics = new StatisticsCollector();
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        if (!csv.next()) {
+            return statistics;
+        }
+
+        // 数据行的第一列是时间戳，不是数字就是表头
+        boolean hasHeader = !isDigits(csv.getField(0));
+        String[] columns = hasHeader ? header(csv) : DEFAULT_COLUMNS;
+        int timeStamp = requiredColumn(columns, "timeStamp");
+        int elapsed = requiredColumn(columns, "elapsed");
+        int label = requiredColumn(columns, "label");
+        int success = requiredColumn(columns, "success");
+        int bytes = indexOf(columns, "bytes");
+        int sentBytes = indexOf(columns, "sentBytes");
+
+        // 相邻样本大多是同一个事务，复用上一条的事务名避免每行创建字符串
+        String lastLabel = "";
+        boolean hasRecord = !hasHeader;
+        while (hasRecord || csv.next()) {
+            hasRecord = false;
+            CharSequence currentLabel = csv.getField(label);
+            if (!lastLabel.contentEquals(currentLabel)) {
+                lastLabel = currentLabel.toString();
+            }
+            try {
+                statistics.add(lastLabel,
+                        parseLong(csv.getField(timeStamp)),
+                        parseLong(csv.getField(elapsed)),
+                        parseBoolean(csv.getField(success)),
+                        bytes >= 0 ? parseLong(csv.getField(bytes)) : 0,
+                        sentBytes >= 0 ? parseLong(csv.getField(sentBytes)) : 0);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("JTL第" + csv.getRecordNumber() + "行格式错误: " + e.getMessage(), e);
+            }
+        }
+        return statistics;
+    }
+
+    private static String[] header(CsvRecordReader csv) {
+        String[] columns = new String[csv.getFieldCount()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = csv.getField(i).toString();
+        }
+        return columns;
+    }
+
+    private static int indexOf(String[] columns, String name) {
+        for (int i = 0; i < columns.length; i++) {
+            if (columns[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int requiredColumn(String[] columns, String name) {
+        int index = indexOf(columns, name);
+        if (index < 0) {
+            throw new IllegalArgumentException("JTL缺少" + name + "列");
+        }
+        return index;
+    }
+
+    /**
+     * 解析非负整数，直接在字段缓冲区上计算，不创建中间字符串
+     */
+    private static long parseLong(CharSequence value) {
+        int length = value.length();
+        if (length == 0) {
+            return 0;
+        }
+        long result = 0;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new NumberFormatException("不是整数: " + value);
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    private static boolean isDigits(CharSequence value) {
+        if (value.length() == 0) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean parseBoolean(CharSequence value) {
+        return value.length() == 4 && (value.charAt(0) == 't' || value.charAt(0) == 'T');
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("用法: JtlSummarizer <JTL文件> [statistics.json输出路径]");
+            System.exit(1);
+        }
+        Path file = Paths.get(args[0]);
+        long start = System.nanoTime();
+        StatisticsCollector statistics = summarize(file);
+        long costMillis = (System.nanoTime() - start) / 1_000_000;
+
+        statistics.printSummary();
+        System.out.printf("解析 %d 条样本，耗时 %d ms%n", statistics.getTotal().getSampleCount(), costMillis);
+        if (args.length > 1) {
+            statistics.writeStatisticsJson(new File(args[1]));
+            System.out.println("统计结果已写入: " + args[1]);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * JTL结果文件监听器
+ * 输出JMeter默认CSV格式，可以直接用 jmeter -g 生成HTML报告
+ */
+public class JtlWriter implements SampleListener {
+
+    static final String HEADER = "timeStamp,elapsed,label,responseCode,responseMessage,threadName,dataType,"
+            + "success,failureMessage,bytes,sentBytes,grpThreads,allThreads,URL,Latency,IdleTime,Connect";
+
+    private final BufferedWriter writer;
+
+    /**
+     * 构造函数
+     * @param file 输出文件，已存在时覆盖
+     */
+    public JtlWriter(File file) {
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            this.writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8);
+            writer.write(HEADER);
+            writer.newLine();
+        } catch (IOException e) {
+            throw new RuntimeException("创建JTL文件失败: " + file, e);
+        }
+    }
+
+    @Override
+    public void onSample(Sample sample) {
+        String line = sample.getTimeStamp() + "," + sample.getElapsed() + ","
+                + quote(sample.getLabel()) + "," + quote(sample.getResponseCode()) + ","
+                + quote(sample.getResponseMessage()) + "," + quote(sample.getThreadName()) + ",text,"
+                + sample.isSuccess() + "," + quote(sample.getFailureMessage()) + ","
+                + sample.getBytes() + "," + sample.getSentBytes() + ","
+                + sample.getActiveThreads() + "," + sample.getActiveThreads() + ","
+                + quote(sample.getUrl()) + "," + sample.getLatency() + ",0," + sample.getConnect();
+        synchronized (writer) {
+            try {
+                writer.write(line);
+                writer.newLine();
+            } catch (IOException e) {
+                System.err.println("写入JTL失败: " + e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (writer) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                System.err.println("关闭JTL文件失败: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 按CSV规则转义字段
+     */
+    private static String quote(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
@@ -0,0 +1,310 @@
+package com.example.lotterywebautotest.load;
+
+import com.example.lotterywebautotest.utils.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * 压测过程中的实时指标监听器
+ * 每个事务保存两类数据：从开始累计的计数和固定桶直方图（Prometheus histogram），
+ * 以及按秒分段的环形缓冲，每段一个 {@link LatencyHistogram}（与UI测试的延迟采样共用，相对误差不超过1%），
+ * 合并最近几段得到滚动窗口的吞吐量、错误率和百分位。
+ * 写入只有原子自增，不加锁；新的一秒复用旧段时先清零，与并发写入之间的竞争只会让该秒的计数略有偏差。
+ */
+public class LiveMetrics implements SampleListener {
+
+    /**
+     * Prometheus直方图的桶上界（毫秒）
+     */
+    private static final long[] BUCKET_BOUNDS_MILLIS = {25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+    private static final double[] QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private final int windowSeconds;
+    private final LongSupplier clock;
+    private final long startMillis;
+    private final Map<String, Transaction> transactions = new ConcurrentHashMap<>();
+    private final Transaction total;
+    private final AtomicInteger activeThreads = new AtomicInteger();
+
+    public LiveMetrics() {
+        this(10);
+    }
+
+    /**
+     * 构造函数
+     * @param windowSeconds 滚动窗口长度（秒）
+     */
+    public LiveMetrics(int windowSeconds) {
+        this(windowSeconds, System::currentTimeMillis);
+    }
+
+    /**
+     * 构造函数
+     * @param windowSeconds 滚动窗口长度（秒）
+     * @param clock 当前时间（毫秒），测试中用于控制时间
+     */
+    LiveMetrics(int windowSeconds, LongSupplier clock) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("滚动窗口必须大于0秒: " + windowSeconds);
+        }
+        this.windowSeconds = windowSeconds;
+        this.clock = clock;
+        this.startMillis = clock.getAsLong();
+        this.total = new Transaction(StatisticsCollector.TOTAL, windowSeconds);
+    }
+
+    @Override
+    public void onSample(Sample sample) {
+        long second = clock.getAsLong() / 1000;
+        transactions.computeIfAbsent(sample.getLabel(), label -> new Transaction(label, windowSeconds))
+                .add(second, sample.getElapsed(), sample.isSuccess());
+        total.add(second, sample.getElapsed(), sample.isSuccess());
+        activeThreads.set(sample.getActiveThreads());
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    /**
+     * 获取最近一次采样时的活跃线程数（封闭模型为虚拟用户数，开放模型为进行中的请求数）
+     */
+    public int getActiveThreads() {
+        return activeThreads.get();
+    }
+
+    /**
+     * 获取各事务和Total的实时指标
+     * @return 按事务名排序，Total在最后
+     */
+    public List<LiveSnapshot> snapshot() {
+        long nowMillis = clock.getAsLong();
+        List<LiveSnapshot> snapshots = new ArrayList<>();
+        for (Transaction transaction : new TreeMap<>(transactions).values()) {
+            snapshots.add(transaction.snapshot(nowMillis, startMillis));
+        }
+        snapshots.add(total.snapshot(nowMillis, startMillis));
+        return snapshots;
+    }
+
+    /**
+     * 输出Prometheus文本格式（0.0.4）
+     * @return 指标文本
+     */
+    public String toPrometheus() {
+        long nowMillis = clock.getAsLong();
+        Map<String, Transaction> sorted = new TreeMap<>(transactions);
+        StringBuilder out = new StringBuilder();
+
+        header(out, "lottery_load_requests_total", "counter", "已完成的请求数");
+        for (Transaction transaction : sorted.values()) {
+            sample(out, "lottery_load_requests_total", transaction.label, null, transaction.count.sum());
+        }
+        header(out, "lottery_load_errors_total", "counter", "失败的请求数");
+        for (Transaction transaction : sorted.values()) {
+            sample(out, "lottery_load_errors_total", transaction.label, null, transaction.errors.sum());
+        }
+
+        header(out, "lottery_load_response_time_seconds", "histogram", "响应时间");
+        for (Transaction transaction : sorted.values()) {
+            long cumulative = 0;
+            for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+                cumulative += transaction.buckets[i].sum();
+                sample(out, "lottery_load_response_time_seconds_bucket", transaction.label,
+                        "le=\"" + format(BUCKET_BOUNDS_MILLIS[i] / 1000.0) + "\"", cumulative);
+            }
+            long count = transaction.count.sum();
+            sample(out, "lottery_load_response_time_seconds_bucket", transaction.label, "le=\"+Inf\"", count);
+            sample(out, "lottery_load_response_time_seconds_sum", transaction.label, null,
+                    transaction.elapsedTotal.sum() / 1000.0);
+            sample(out, "lottery_load_response_time_seconds_count", transaction.label, null, count);
+        }
+
+        header(out, "lottery_load_rolling_throughput", "gauge", "最近" + windowSeconds + "秒的每秒请求数");
+        List<Window> windows = new ArrayList<>();
+        for (Transaction transaction : sorted.values()) {
+            Window window = transaction.window(nowMillis, startMillis);
+            windows.add(window);
+            sample(out, "lottery_load_rolling_throughput", transaction.label, null, window.throughput());
+        }
+        header(out, "lottery_load_rolling_error_ratio", "gauge", "最近" + windowSeconds + "秒的错误率");
+        for (Window window : windows) {
+            sample(out, "lottery_load_rolling_error_ratio", window.label, null, window.errorRatio());
+        }
+        header(out, "lottery_load_rolling_response_time_seconds", "gauge", "最近" + windowSeconds + "秒的响应时间百分位");
+        for (Window window : windows) {
+            for (double quantile : QUANTILES) {
+                sample(out, "lottery_load_rolling_response_time_seconds", window.label,
+                        "quantile=\"" + format(quantile) + "\"", window.percentile(quantile) / 1000.0);
+            }
+        }
+
+        header(out, "lottery_load_active_threads", "gauge", "活跃线程数");
+        out.append("lottery_load_active_threads ").append(activeThreads.get()).append('\n');
+        return out.toString();
+    }
+
+    private static void header(StringBuilder out, String name, String type, String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static void sample(StringBuilder out, String name, String transaction, String extraLabel, double value) {
+        out.append(name).append("{transaction=\"").append(escape(transaction)).append('"');
+        if (extraLabel != null) {
+            out.append(',').append(extraLabel);
+        }
+        out.append("} ").append(format(value)).append('\n');
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String format(double value) {
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return Double.toString(value);
+    }
+
+    /**
+     * 单个事务的累计数据和按秒分段的环形缓冲
+     */
+    private static final class Transaction {
+        private final String label;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder elapsedTotal = new LongAdder();
+        private final LongAdder[] buckets = new LongAdder[BUCKET_BOUNDS_MILLIS.length];
+        private final Slot[] slots;
+
+        Transaction(String label, int windowSeconds) {
+            this.label = label;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+            this.slots = new Slot[windowSeconds];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = new Slot();
+            }
+        }
+
+        void add(long second, long elapsed, boolean success) {
+            count.increment();
+            elapsedTotal.add(elapsed);
+            if (!success) {
+                errors.increment();
+            }
+            for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+                if (elapsed <= BUCKET_BOUNDS_MILLIS[i]) {
+                    buckets[i].increment();
+                    break;
+                }
+            }
+            slotFor(second).add(elapsed, success);
+        }
+
+        private Slot slotFor(long second) {
+            Slot slot = slots[(int) (second % slots.length)];
+            if (slot.second != second) {
+                synchronized (slot) {
+                    if (slot.second != second) {
+                        slot.reset(second);
+                    }
+                }
+            }
+            return slot;
+        }
+
+        /**
+         * 合并最近windowSeconds秒（含当前这一秒）的分段
+         */
+        Window window(long nowMillis, long startMillis) {
+            long nowSecond = nowMillis / 1000;
+            long firstSecond = nowSecond - slots.length + 1;
+            Window window = new Window(label, Math.max(startMillis, firstSecond * 1000), nowMillis);
+            for (Slot slot : slots) {
+                long second = slot.second;
+                if (second >= firstSecond && second <= nowSecond) {
+                    window.merge(slot);
+                }
+            }
+            return window;
+        }
+
+        LiveSnapshot snapshot(long nowMillis, long startMillis) {
+            Window window = window(nowMillis, startMillis);
+            return new LiveSnapshot(label, count.sum(), errors.sum(), window.throughput(), window.errorRatio() * 100,
+                    window.mean(), window.percentile(0.5), window.percentile(0.9), window.percentile(0.95),
+                    window.percentile(0.99));
+        }
+    }
+
+    /**
+     * 一秒内的采样
+     */
+    private static final class Slot {
+        private volatile long second = -1;
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram histogram = new LatencyHistogram("slot");
+
+        void reset(long newSecond) {
+            errors.reset();
+            histogram.reset();
+            second = newSecond;
+        }
+
+        void add(long elapsed, boolean success) {
+            if (!success) {
+                errors.increment();
+            }
+            histogram.recordMicros(Math.max(0, elapsed) * 1000);
+        }
+    }
+
+    /**
+     * 滚动窗口内合并后的数据
+     */
+    private static final class Window {
+        private final String label;
+        private final double seconds;
+        private final LatencyHistogram histogram;
+        private long errors;
+
+        Window(String label, long fromMillis, long toMillis) {
+            this.label = label;
+            this.seconds = Math.max(toMillis - fromMillis, 1) / 1000.0;
+            this.histogram = new LatencyHistogram(label);
+        }
+
+        void merge(Slot slot) {
+            errors += slot.errors.sum();
+            histogram.add(slot.histogram);
+        }
+
+        double throughput() {
+            return histogram.getTotalCount() / seconds;
+        }
+
+        double errorRatio() {
+            long count = histogram.getTotalCount();
+            return count == 0 ? 0 : (double) errors / count;
+        }
+
+        double mean() {
+            return histogram.getMeanMillis();
+        }
+
+        double percentile(double quantile) {
+            return histogram.getValueAtPercentile(quantile * 100);
+        }
+    }
+}
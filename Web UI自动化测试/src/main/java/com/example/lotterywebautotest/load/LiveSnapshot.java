@@ -0,0 +1,93 @@
+package com.example.lotterywebautotest.load;
+
+/**
+ * 单个事务的实时指标
+ * 样本数和错误数从压测开始累计，其余指标只统计最近的滚动窗口，字段名与statistics.json一致
+ */
+public class LiveSnapshot {
+
+    private final String transaction;
+    private final long sampleCount;
+    private final long errorCount;
+    private final double throughput;
+    private final double errorPct;
+    private final double meanResTime;
+    private final double medianResTime;
+    private final double pct1ResTime;
+    private final double pct2ResTime;
+    private final double pct3ResTime;
+
+    public LiveSnapshot(String transaction, long sampleCount, long errorCount, double throughput, double errorPct,
+                        double meanResTime, double medianResTime, double pct1ResTime, double pct2ResTime,
+                        double pct3ResTime) {
+        this.transaction = transaction;
+        this.sampleCount = sampleCount;
+        this.errorCount = errorCount;
+        this.throughput = throughput;
+        this.errorPct = errorPct;
+        this.meanResTime = meanResTime;
+        this.medianResTime = medianResTime;
+        this.pct1ResTime = pct1ResTime;
+        this.pct2ResTime = pct2ResTime;
+        this.pct3ResTime = pct3ResTime;
+    }
+
+    public String getTransaction() {
+        return transaction;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * 获取滚动窗口内的吞吐量
+     * @return 次/秒
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public double getErrorPct() {
+        return errorPct;
+    }
+
+    public double getMeanResTime() {
+        return meanResTime;
+    }
+
+    public double getMedianResTime() {
+        return medianResTime;
+    }
+
+    /**
+     * 获取滚动窗口内的90百分位响应时间
+     */
+    public double getPct1ResTime() {
+        return pct1ResTime;
+    }
+
+    /**
+     * 获取滚动窗口内的95百分位响应时间
+     */
+    public double getPct2ResTime() {
+        return pct2ResTime;
+    }
+
+    /**
+     * 获取滚动窗口内的99百分位响应时间
+     */
+    public double getPct3ResTime() {
+        return pct3ResTime;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s 累计=%d 错误=%.2f%% 平均=%.1fms p90=%.1fms p99=%.1fms 吞吐=%.2f/s",
+                transaction, sampleCount, errorPct, meanResTime, pct1ResTime, pct3ResTime, throughput);
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.lotterywebautotest.load;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 压测引擎
+ * 每个虚拟用户一个线程（Java 21+ 为虚拟线程），按ramp-up均匀启动，在持续时间内循环执行业务场景
+ */
+public class LoadEngine {
+
+    private final LoadTestConfig config;
+    private final List<SampleListener> listeners = new CopyOnWriteArrayList<>();
+    private final AtomicInteger activeUsers = new AtomicInteger();
+
+    private volatile ExecutorService executor;
+
+    public LoadEngine(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    /**
+     * 添加采样结果监听器
+     * @param listener 监听器
+     * @return 当前引擎
+     */
+    public LoadEngine addListener(SampleListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * 获取当前活跃的虚拟用户数
+     * @return 活跃用户数
+     */
+    public int getActiveUsers() {
+        return activeUsers.get();
+    }
+
+    /**
+     * 执行压测，阻塞到持续时间结束且所有虚拟用户退出
+     */
+    public void run() {
+        executor = VirtualThreads.newThreadPerTaskExecutor("load-user-");
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        System.out.println("开始压测: " + config.getUsers() + " 个虚拟用户，ramp-up " + config.getRampUp().toSeconds()
+                + "s，持续 " + config.getDuration().toSeconds() + "s，"
+                + (VirtualThreads.isAvailable() ? "使用虚拟线程" : "当前JVM不支持虚拟线程，使用平台线程"));
+
+        long startNanos = System.nanoTime();
+        long deadlineNanos = startNanos + config.getDuration().toNanos();
+        long rampNanos = config.getRampUp().toNanos();
+        for (int i = 0; i < config.getUsers(); i++) {
+            long startDelayNanos = rampNanos * i / config.getUsers();
+            int userIndex = i;
+            executor.execute(() -> runUser(client, userIndex, startNanos + startDelayNanos, deadlineNanos));
+        }
+
+        executor.shutdown();
+        try {
+            long graceNanos = config.getRequestTimeout().toNanos();
+            if (!executor.awaitTermination(deadlineNanos - System.nanoTime() + graceNanos, TimeUnit.NANOSECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            for (SampleListener listener : listeners) {
+                listener.close();
+            }
+        }
+    }
+
+    /**
+     * 提前停止压测，正在执行的请求会被中断
+     */
+    public void stop() {
+        ExecutorService current = executor;
+        if (current != null) {
+            current.shutdownNow();
+        }
+    }
+
+    private void runUser(HttpClient client, int userIndex, long startAtNanos, long deadlineNanos) {
+        String threadName = "Lottery Users 1-" + (userIndex + 1);
+        try {
+            long waitNanos = startAtNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            activeUsers.incrementAndGet();
+            try {
+                new LotteryScenario(config, client, this::publish, activeUsers::get, threadName, deadlineNanos,
+                        userIndex).runUntilDeadline();
+            } finally {
+                activeUsers.decrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            System.err.println("虚拟用户异常退出: " + threadName + "，" + e.getMessage());
+        }
+    }
+
+    private void publish(Sample sample) {
+        for (SampleListener listener : listeners) {
+            listener.onSample(sample);
+        }
+    }
+}
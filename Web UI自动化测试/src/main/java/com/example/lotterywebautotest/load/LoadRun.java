@@ -0,0 +1,92 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 一次压测
+ * 按配置选择封闭模型或开放模型引擎，挂上汇总统计以及配置了路径的JTL和列式存储，结束后输出统计结果。
+ * 命令行入口和应用内的压测接口共用。
+ */
+public class LoadRun {
+
+    private final LoadTestConfig config;
+    private final StatisticsCollector statistics = new StatisticsCollector();
+    private final List<SampleListener> listeners = new CopyOnWriteArrayList<>();
+
+    private volatile Runnable stopAction;
+    private volatile boolean stopRequested;
+
+    public LoadRun(LoadTestConfig config) {
+        this.config = config;
+        listeners.add(statistics);
+    }
+
+    /**
+     * 添加采样结果监听器，需要在 {@link #run()} 之前调用
+     * @param listener 监听器
+     * @return 当前压测
+     */
+    public LoadRun addListener(SampleListener listener) {
+        listeners.add(listener);
+        return this;
+    }
+
+    public LoadTestConfig getConfig() {
+        return config;
+    }
+
+    public StatisticsCollector getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * 执行压测，阻塞到结束或被停止
+     * @return 汇总统计
+     */
+    public StatisticsCollector run() {
+        if (config.getJtlFile() != null) {
+            listeners.add(new JtlWriter(new File(config.getJtlFile())));
+        }
+        if (config.getStoreDirectory() != null) {
+            listeners.add(new SampleStoreWriter(new File(config.getStoreDirectory())));
+        }
+
+        Runnable engineRun;
+        if (config.isOpenModel()) {
+            ArrivalRateEngine engine = new ArrivalRateEngine(config);
+            listeners.forEach(engine::addListener);
+            engineRun = engine::run;
+            stopAction = engine::stop;
+        } else {
+            LoadEngine engine = new LoadEngine(config);
+            listeners.forEach(engine::addListener);
+            engineRun = engine::run;
+            stopAction = engine::stop;
+        }
+        if (!stopRequested) {
+            engineRun.run();
+        } else {
+            listeners.forEach(SampleListener::close);
+        }
+
+        statistics.printSummary();
+        if (config.getStatisticsFile() != null) {
+            statistics.writeStatisticsJson(new File(config.getStatisticsFile()));
+            System.out.println("统计结果已写入: " + config.getStatisticsFile());
+        }
+        return statistics;
+    }
+
+    /**
+     * 提前停止压测，已完成的采样照常统计
+     */
+    public void stop() {
+        stopRequested = true;
+        Runnable action = stopAction;
+        if (action != null) {
+            action.run();
+        }
+    }
+}
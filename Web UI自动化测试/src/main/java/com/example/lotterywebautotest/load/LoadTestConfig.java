@@ -0,0 +1,302 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.File;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 压测配置
+ * 默认值与 性能测试/baseline_test.jmx 一致，可通过 -Dload.xxx 系统属性覆盖
+ */
+public class LoadTestConfig {
+
+    private final String baseUrl;
+    private final int users;
+    private final Duration rampUp;
+    private final Duration duration;
+    private final long thinkTimeMillis;
+    private final long thinkTimeRangeMillis;
+    private final String loginName;
+    private final String password;
+    private final List<SeedUser> accounts;
+    private final long activityId;
+    private final int pageSize;
+    private final Duration requestTimeout;
+    private final double arrivalRate;
+    private final String jtlFile;
+    private final String statisticsFile;
+    private final String storeDirectory;
+
+    private LoadTestConfig(Builder builder) {
+        this.baseUrl = builder.baseUrl;
+        this.users = builder.users;
+        this.rampUp = builder.rampUp;
+        this.duration = builder.duration;
+        this.thinkTimeMillis = builder.thinkTimeMillis;
+        this.thinkTimeRangeMillis = builder.thinkTimeRangeMillis;
+        this.loginName = builder.loginName;
+        this.password = builder.password;
+        this.accounts = builder.accounts;
+        this.activityId = builder.activityId;
+        this.pageSize = builder.pageSize;
+        this.requestTimeout = builder.requestTimeout;
+        this.arrivalRate = builder.arrivalRate;
+        this.jtlFile = builder.jtlFile;
+        this.statisticsFile = builder.statisticsFile;
+        this.storeDirectory = builder.storeDirectory;
+    }
+
+    /**
+     * 从系统属性读取配置
+     * @return 压测配置
+     */
+    public static LoadTestConfig fromSystemProperties() {
+        return builder()
+                .baseUrl(System.getProperty("load.baseUrl", "http://101.42.36.43:8888"))
+                .users(Integer.getInteger("load.users", 20))
+                .rampUp(Duration.ofSeconds(Long.getLong("load.rampUp", 10)))
+                .duration(Duration.ofSeconds(Long.getLong("load.duration", 60)))
+                .thinkTime(Long.getLong("load.thinkTime", 500), Long.getLong("load.thinkTimeRange", 1000))
+                .credentials(System.getProperty("load.loginName", "gyuvhj45@gmail.com"),
+                        System.getProperty("load.password", "123456"))
+                .usersFile(System.getProperty("load.usersFile"))
+                .activityId(Long.getLong("load.activityId", 17))
+                .pageSize(Integer.getInteger("load.pageSize", 10))
+                .requestTimeout(Duration.ofSeconds(Long.getLong("load.requestTimeout", 30)))
+                .arrivalRate(Double.parseDouble(System.getProperty("load.arrivalRate", "0")))
+                .jtlFile(System.getProperty("load.jtl"))
+                .statisticsFile(System.getProperty("load.statistics"))
+                .storeDirectory(System.getProperty("load.store"))
+                .build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public int getUsers() {
+        return users;
+    }
+
+    public Duration getRampUp() {
+        return rampUp;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * 获取固定思考时间，与JMeter Uniform Random Timer的Constant Delay对应
+     * @return 固定思考时间（毫秒）
+     */
+    public long getThinkTimeMillis() {
+        return thinkTimeMillis;
+    }
+
+    /**
+     * 获取随机思考时间范围，与JMeter Uniform Random Timer的Random Delay Maximum对应
+     * @return 随机范围（毫秒）
+     */
+    public long getThinkTimeRangeMillis() {
+        return thinkTimeRangeMillis;
+    }
+
+    public String getLoginName() {
+        return loginName;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * 获取第userIndex个虚拟用户的登录名，配置了账号文件时按虚拟用户轮流分配，否则所有虚拟用户共用一个账号
+     * @param userIndex 虚拟用户下标，从0开始
+     * @return 邮箱
+     */
+    public String getLoginName(int userIndex) {
+        return accounts.isEmpty() ? loginName : accounts.get(userIndex % accounts.size()).getEmail();
+    }
+
+    /**
+     * 获取第userIndex个虚拟用户的密码
+     * @param userIndex 虚拟用户下标，从0开始
+     * @return 密码
+     */
+    public String getPassword(int userIndex) {
+        return accounts.isEmpty() ? password : accounts.get(userIndex % accounts.size()).getPassword();
+    }
+
+    /**
+     * 获取账号文件中的账号
+     * @return 账号，未配置账号文件时为空
+     */
+    public List<SeedUser> getAccounts() {
+        return accounts;
+    }
+
+    public long getActivityId() {
+        return activityId;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    /**
+     * 获取开放模型的目标到达率，大于0时按固定速率发起抽奖请求，不受响应时间影响
+     * @return 每秒请求数，0表示使用按并发用户数的封闭模型
+     */
+    public double getArrivalRate() {
+        return arrivalRate;
+    }
+
+    /**
+     * 是否使用开放模型（按到达率调度）
+     * @return 是否开放模型
+     */
+    public boolean isOpenModel() {
+        return arrivalRate > 0;
+    }
+
+    /**
+     * 获取JTL结果文件路径
+     * @return 文件路径，未配置时为null
+     */
+    public String getJtlFile() {
+        return jtlFile;
+    }
+
+    /**
+     * 获取statistics.json输出路径
+     * @return 文件路径，未配置时为null
+     */
+    public String getStatisticsFile() {
+        return statisticsFile;
+    }
+
+    /**
+     * 获取列式采样存储目录
+     * @return 目录路径，未配置时为null
+     */
+    public String getStoreDirectory() {
+        return storeDirectory;
+    }
+
+    /**
+     * 配置构建器
+     */
+    public static class Builder {
+        private String baseUrl = "http://101.42.36.43:8888";
+        private int users = 20;
+        private Duration rampUp = Duration.ofSeconds(10);
+        private Duration duration = Duration.ofSeconds(60);
+        private long thinkTimeMillis = 500;
+        private long thinkTimeRangeMillis = 1000;
+        private String loginName = "gyuvhj45@gmail.com";
+        private String password = "123456";
+        private List<SeedUser> accounts = List.of();
+        private long activityId = 17;
+        private int pageSize = 10;
+        private Duration requestTimeout = Duration.ofSeconds(30);
+        private double arrivalRate;
+        private String jtlFile;
+        private String statisticsFile;
+        private String storeDirectory;
+
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+            return this;
+        }
+
+        public Builder users(int users) {
+            this.users = users;
+            return this;
+        }
+
+        public Builder rampUp(Duration rampUp) {
+            this.rampUp = rampUp;
+            return this;
+        }
+
+        public Builder duration(Duration duration) {
+            this.duration = duration;
+            return this;
+        }
+
+        public Builder thinkTime(long thinkTimeMillis, long thinkTimeRangeMillis) {
+            this.thinkTimeMillis = thinkTimeMillis;
+            this.thinkTimeRangeMillis = thinkTimeRangeMillis;
+            return this;
+        }
+
+        public Builder credentials(String loginName, String password) {
+            this.loginName = loginName;
+            this.password = password;
+            return this;
+        }
+
+        /**
+         * 各虚拟用户使用不同账号，账号来自 {@link SeedDataLoader} 输出的用户CSV
+         * @param usersFile 用户CSV路径，为null时所有虚拟用户共用 {@link #credentials} 的账号
+         */
+        public Builder usersFile(String usersFile) {
+            this.accounts = usersFile == null ? List.of() : List.copyOf(SeedUser.readCsv(new File(usersFile)));
+            return this;
+        }
+
+        public Builder activityId(long activityId) {
+            this.activityId = activityId;
+            return this;
+        }
+
+        public Builder pageSize(int pageSize) {
+            this.pageSize = pageSize;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        public Builder arrivalRate(double arrivalRate) {
+            this.arrivalRate = arrivalRate;
+            return this;
+        }
+
+        public Builder jtlFile(String jtlFile) {
+            this.jtlFile = jtlFile;
+            return this;
+        }
+
+        public Builder statisticsFile(String statisticsFile) {
+            this.statisticsFile = statisticsFile;
+            return this;
+        }
+
+        public Builder storeDirectory(String storeDirectory) {
+            this.storeDirectory = storeDirectory;
+            return this;
+        }
+
+        public LoadTestConfig build() {
+            if (users <= 0) {
+                throw new IllegalArgumentException("并发用户数必须大于0: " + users);
+            }
+            if (arrivalRate < 0 || Double.isNaN(arrivalRate) || Double.isInfinite(arrivalRate)) {
+                throw new IllegalArgumentException("到达率无效: " + arrivalRate);
+            }
+            return new LoadTestConfig(this);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.lotterywebautotest.load;
+
+/**
+ * 压测入口
+ * 用法: mvn -q compile exec:java -Dexec.mainClass=com.example.lotterywebautotest.load.LoadTestMain -Dload.users=100 -Dload.duration=300
+ * 配置 -Dload.arrivalRate=N 时改为开放模型，按每秒N次的到达率发起抽奖请求
+ */
+public class LoadTestMain {
+
+    public static void main(String[] args) {
+        new LoadRun(LoadTestConfig.fromSystemProperties()).run();
+    }
+}
@@ -0,0 +1,274 @@
+package com.example.lotterywebautotest.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.IntSupplier;
+
+/**
+ * 抽奖业务场景，与 性能测试/*.jmx 的线程组一致：
+ * 登录（提取token和userId）→ 查看奖品列表 → 抽奖 → 查询我的奖品，每个请求前有随机思考时间。
+ * HTTP状态正常但响应体code不为200的业务错误同样记为失败。
+ */
+public class LotteryScenario {
+
+    public static final String LOGIN = "1-User Login";
+    public static final String PRIZE_LIST = "2-View Prize List";
+    public static final String DRAW = "3-Draw Prize";
+    public static final String MY_PRIZES = "4-Query My Prizes";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final LoadTestConfig config;
+    private final HttpClient client;
+    private final Consumer<Sample> sampleSink;
+    private final IntSupplier activeUsers;
+    private final String threadName;
+    private final long deadlineNanos;
+    private final String loginName;
+    private final String password;
+
+    /**
+     * 当前虚拟用户提取到的变量
+     */
+    private volatile String token;
+    private volatile String userId;
+
+    /**
+     * 构造函数
+     * @param config 压测配置
+     * @param client 共享的HTTP客户端
+     * @param sampleSink 采样结果接收者
+     * @param activeUsers 活跃用户数
+     * @param threadName 虚拟用户名称
+     * @param deadlineNanos 结束时间（System.nanoTime）
+     */
+    public LotteryScenario(LoadTestConfig config, HttpClient client, Consumer<Sample> sampleSink,
+                           IntSupplier activeUsers, String threadName, long deadlineNanos) {
+        this(config, client, sampleSink, activeUsers, threadName, deadlineNanos, 0);
+    }
+
+    /**
+     * 构造函数
+     * @param userIndex 虚拟用户下标，用于从账号文件中分配登录账号
+     */
+    public LotteryScenario(LoadTestConfig config, HttpClient client, Consumer<Sample> sampleSink,
+                           IntSupplier activeUsers, String threadName, long deadlineNanos, int userIndex) {
+        this.config = config;
+        this.loginName = config.getLoginName(userIndex);
+        this.password = config.getPassword(userIndex);
+        this.client = client;
+        this.sampleSink = sampleSink;
+        this.activeUsers = activeUsers;
+        this.threadName = threadName;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * 循环执行业务流程直到压测结束
+     * @throws InterruptedException 压测被中止
+     */
+    public void runUntilDeadline() throws InterruptedException {
+        while (runIteration()) {
+            // 继续下一轮
+        }
+    }
+
+    /**
+     * 执行一轮业务流程
+     * @return 是否还有剩余时间
+     * @throws InterruptedException 压测被中止
+     */
+    public boolean runIteration() throws InterruptedException {
+        if (!thinkBeforeSampler()) {
+            return false;
+        }
+        login();
+
+        if (!thinkBeforeSampler()) {
+            return false;
+        }
+        execute(PRIZE_LIST, get("/prize/find-list?pageNum=1&pageSize=" + config.getPageSize()), "", System.nanoTime());
+
+        if (!thinkBeforeSampler()) {
+            return false;
+        }
+        draw(System.nanoTime());
+
+        if (!thinkBeforeSampler()) {
+            return false;
+        }
+        execute(MY_PRIZES, get("/api/user-prize-record/user/" + userId + "?pageNum=1&pageSize=" + config.getPageSize()), "",
+                System.nanoTime());
+        return System.nanoTime() < deadlineNanos;
+    }
+
+    /**
+     * 登录并提取token和userId
+     * @throws InterruptedException 压测被中止
+     */
+    public void login() throws InterruptedException {
+        String loginBody = MAPPER.createObjectNode()
+                .put("loginName", loginName)
+                .put("password", password)
+                .toString();
+        HttpResponse<byte[]> login = execute(LOGIN, post("/user/password/login", loginBody, false), loginBody,
+                System.nanoTime());
+        extractSession(login);
+    }
+
+    /**
+     * 抽奖一次，响应时间从计划开始时间算起
+     * 开放模型中请求可能因为发压端排队而晚于计划时间发出，这段等待同样计入响应时间，避免协调遗漏
+     * @param intendedStartNanos 计划开始时间（System.nanoTime）
+     * @throws InterruptedException 压测被中止
+     */
+    public void draw(long intendedStartNanos) throws InterruptedException {
+        String drawBody = "{\"activityId\": " + config.getActivityId() + ", \"userId\": " + userId + ", \"sessionId\": null}";
+        execute(DRAW, post("/api/lottery/draw", drawBody, true), drawBody, intendedStartNanos);
+    }
+
+    /**
+     * 提取token和userId，提取失败时使用与JMeter脚本相同的默认值
+     */
+    private void extractSession(HttpResponse<byte[]> response) {
+        token = "NOTFOUND";
+        userId = "1";
+        if (response == null) {
+            return;
+        }
+        try {
+            JsonNode data = MAPPER.readTree(response.body()).path("data");
+            if (data.hasNonNull("token")) {
+                token = data.get("token").asText();
+            }
+            if (data.hasNonNull("userId")) {
+                userId = data.get("userId").asText();
+            }
+        } catch (IOException e) {
+            // 响应不是JSON，保持默认值
+        }
+    }
+
+    /**
+     * 随机思考时间（固定部分 + 均匀分布随机部分），超过结束时间则不再发起请求
+     */
+    private boolean thinkBeforeSampler() throws InterruptedException {
+        long range = config.getThinkTimeRangeMillis();
+        long delay = config.getThinkTimeMillis() + (range > 0 ? ThreadLocalRandom.current().nextLong(range + 1) : 0);
+        long remainingMillis = (deadlineNanos - System.nanoTime()) / 1_000_000;
+        if (remainingMillis <= delay) {
+            return false;
+        }
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+        return true;
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return withHeaders(HttpRequest.newBuilder(URI.create(config.getBaseUrl() + path)).GET(), true);
+    }
+
+    private HttpRequest.Builder post(String path, String body, boolean authenticated) {
+        return withHeaders(HttpRequest.newBuilder(URI.create(config.getBaseUrl() + path))
+                .POST(HttpRequest.BodyPublishers.ofString(body, StandardCharsets.UTF_8)), authenticated);
+    }
+
+    private HttpRequest.Builder withHeaders(HttpRequest.Builder builder, boolean authenticated) {
+        builder.timeout(config.getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json");
+        if (authenticated) {
+            builder.header("user_token", token);
+        }
+        return builder;
+    }
+
+    /**
+     * 发送请求并记录采样，网络异常按JMeter的方式记为 Non HTTP response code
+     * @param start 计时起点（System.nanoTime），封闭模型为实际发送时间，开放模型为计划发送时间
+     * @return 响应，网络异常时为null
+     */
+    private HttpResponse<byte[]> execute(String label, HttpRequest.Builder builder, String body, long start)
+            throws InterruptedException {
+        HttpRequest request = builder.build();
+        long sentBytes = estimateRequestSize(request, body);
+        long timeStamp = System.currentTimeMillis() - toMillis(System.nanoTime() - start);
+        long[] firstByte = {0};
+        try {
+            HttpResponse<byte[]> response = client.send(request, info -> {
+                firstByte[0] = System.nanoTime();
+                return HttpResponse.BodySubscribers.ofByteArray();
+            });
+            long end = System.nanoTime();
+            int status = response.statusCode();
+            String failure = status >= 200 && status < 400 ? businessFailure(response.body()) : "HTTP " + status;
+            boolean success = failure == null;
+            sampleSink.accept(new Sample(timeStamp, toMillis(end - start), label, String.valueOf(status), "",
+                    threadName, success, success ? "" : failure, response.body().length
+                    + headerSize(response.headers()), sentBytes, activeUsers.getAsInt(), request.uri().toString(),
+                    toMillis(firstByte[0] - start), 0));
+            return response;
+        } catch (IOException e) {
+            long end = System.nanoTime();
+            sampleSink.accept(new Sample(timeStamp, toMillis(end - start), label,
+                    "Non HTTP response code: " + e.getClass().getName(), String.valueOf(e.getMessage()),
+                    threadName, false, String.valueOf(e.getMessage()), 0, sentBytes, activeUsers.getAsInt(),
+                    request.uri().toString(), 0, 0));
+            return null;
+        }
+    }
+
+    /**
+     * 检查响应体中的业务结果码，后端的业务错误（如抽奖次数已用完）同样返回HTTP 200
+     * @param body 响应体
+     * @return 失败原因，code为200或响应不是 {code, msg, data} 格式时为null
+     */
+    static String businessFailure(byte[] body) {
+        try {
+            JsonNode result = MAPPER.readTree(body);
+            JsonNode code = result == null ? null : result.get("code");
+            if (code == null || code.asInt() == 200) {
+                return null;
+            }
+            return "code " + code.asText() + ": " + result.path("msg").asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(0, nanos / 1_000_000);
+    }
+
+    /**
+     * 估算请求大小：请求行、请求头和请求体
+     */
+    private static long estimateRequestSize(HttpRequest request, String body) {
+        long size = request.method().length() + request.uri().getRawPath().length() + 12
+                + headerSize(request.headers());
+        return size + body.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    private static long headerSize(HttpHeaders headers) {
+        long size = 0;
+        for (Map.Entry<String, List<String>> header : headers.map().entrySet()) {
+            for (String value : header.getValue()) {
+                size += header.getKey().length() + value.length() + 4;
+            }
+        }
+        return size;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.lotterywebautotest.load;
+
+/**
+ * 单个事务按固定粒度的时间序列
+ * 对应HTML报告中 Response Times Over Time、Latencies Over Time、Transactions Per Second 的一条曲线
+ */
+public class OverTimeSeries {
+
+    private final String label;
+    private final long start;
+    private final long granularityMillis;
+    private final long[] counts;
+    private final long[] errors;
+    private final long[] elapsedTotals;
+    private final long[] latencyTotals;
+    private final long[] bytes;
+
+    OverTimeSeries(String label, long start, long granularityMillis, int buckets) {
+        this.label = label;
+        this.start = start;
+        this.granularityMillis = granularityMillis;
+        this.counts = new long[buckets];
+        this.errors = new long[buckets];
+        this.elapsedTotals = new long[buckets];
+        this.latencyTotals = new long[buckets];
+        this.bytes = new long[buckets];
+    }
+
+    void add(int bucket, int elapsed, int latency, boolean success, int receivedBytes) {
+        counts[bucket]++;
+        if (!success) {
+            errors[bucket]++;
+        }
+        elapsedTotals[bucket] += elapsed;
+        latencyTotals[bucket] += latency;
+        bytes[bucket] += receivedBytes;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public long getGranularityMillis() {
+        return granularityMillis;
+    }
+
+    public int getBuckets() {
+        return counts.length;
+    }
+
+    /**
+     * 获取时间段的起点
+     * @param bucket 时间段下标
+     * @return 时间戳（毫秒）
+     */
+    public long getBucketStart(int bucket) {
+        return start + bucket * granularityMillis;
+    }
+
+    public long getCount(int bucket) {
+        return counts[bucket];
+    }
+
+    public long getErrorCount(int bucket) {
+        return errors[bucket];
+    }
+
+    /**
+     * 获取时间段内的平均响应时间
+     * @param bucket 时间段下标
+     * @return 平均响应时间（毫秒），没有请求时为0
+     */
+    public double getAverageElapsed(int bucket) {
+        return counts[bucket] == 0 ? 0 : (double) elapsedTotals[bucket] / counts[bucket];
+    }
+
+    /**
+     * 获取时间段内的平均首字节时间
+     * @param bucket 时间段下标
+     * @return 平均首字节时间（毫秒），没有请求时为0
+     */
+    public double getAverageLatency(int bucket) {
+        return counts[bucket] == 0 ? 0 : (double) latencyTotals[bucket] / counts[bucket];
+    }
+
+    /**
+     * 获取时间段内的每秒请求数
+     * @param bucket 时间段下标
+     * @return 吞吐量（次/秒）
+     */
+    public double getThroughput(int bucket) {
+        return counts[bucket] * 1000.0 / granularityMillis;
+    }
+
+    /**
+     * 获取时间段内的每秒接收KB数
+     * @param bucket 时间段下标
+     * @return KB/s
+     */
+    public double getReceivedKBytesPerSec(int bucket) {
+        return bytes[bucket] / 1024.0 * 1000.0 / granularityMillis;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.lotterywebautotest.load;
+
+/**
+ * 单个事务单项指标的回归检查结果
+ */
+public class RegressionCheck {
+
+    private final String transaction;
+    private final String metric;
+    private final double baseline;
+    private final double candidate;
+    private final double pValue;
+    private final boolean regression;
+
+    public RegressionCheck(String transaction, String metric, double baseline, double candidate, double pValue,
+                           boolean regression) {
+        this.transaction = transaction;
+        this.metric = metric;
+        this.baseline = baseline;
+        this.candidate = candidate;
+        this.pValue = pValue;
+        this.regression = regression;
+    }
+
+    public String getTransaction() {
+        return transaction;
+    }
+
+    public String getMetric() {
+        return metric;
+    }
+
+    public double getBaseline() {
+        return baseline;
+    }
+
+    public double getCandidate() {
+        return candidate;
+    }
+
+    /**
+     * 获取单侧检验的p值，越小说明变差越不可能是随机波动
+     * @return p值，无法检验时为NaN
+     */
+    public double getPValue() {
+        return pValue;
+    }
+
+    /**
+     * 是否判定为回归：变差超过容差且在显著性水平下显著
+     */
+    public boolean isRegression() {
+        return regression;
+    }
+
+    /**
+     * 获取相对基线的变化比例
+     * @return 变化比例，基线为0时为NaN
+     */
+    public double getChange() {
+        return baseline != 0 ? (candidate - baseline) / baseline : Double.NaN;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s %-10s 基线=%10.2f 本次=%10.2f 变化=%8s p=%-8s %s",
+                transaction, metric, baseline, candidate,
+                Double.isNaN(getChange()) ? "-" : String.format("%+.1f%%", getChange() * 100),
+                Double.isNaN(pValue) ? "-" : String.format("%.4f", pValue),
+                regression ? "回归" : "通过");
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 性能回归门禁
+ * 按事务比较基线和本次的statistics.json，某项指标变差超过容差、并且单侧检验显著时判定为回归：
+ * <ul>
+ *     <li>p90/p95/p99：分位数的渐近正态检验，标准误 = q'(p)·sqrt(p(1-p)/n)，
+ *     分位函数的斜率 q'(p) 由相邻分位数估计（statistics.json没有方差，只能用分位数本身）</li>
+ *     <li>吞吐量：把样本数看作泊松计数，比较两次的到达率</li>
+ *     <li>错误率：两比例z检验，容差为百分点</li>
+ * </ul>
+ * 基线中有而本次没有的事务直接判定为回归。吞吐量只有在两次使用相同并发和思考时间时才有可比性。
+ * 用法: mvn verify -Pperf-gate -Dperf.candidate=target/load/statistics.json
+ */
+public class RegressionGate {
+
+    private final double latencyTolerance;
+    private final double throughputTolerance;
+    private final double errorTolerance;
+    private final double alpha;
+
+    /**
+     * 构造函数
+     * @param latencyTolerance 响应时间分位数允许上升的比例，如0.2表示20%
+     * @param throughputTolerance 吞吐量允许下降的比例
+     * @param errorTolerance 错误率允许上升的百分点
+     * @param alpha 显著性水平
+     */
+    public RegressionGate(double latencyTolerance, double throughputTolerance, double errorTolerance, double alpha) {
+        if (latencyTolerance < 0 || throughputTolerance < 0 || errorTolerance < 0) {
+            throw new IllegalArgumentException("容差不能为负");
+        }
+        if (alpha <= 0 || alpha >= 1) {
+            throw new IllegalArgumentException("显著性水平必须在0和1之间: " + alpha);
+        }
+        this.latencyTolerance = latencyTolerance;
+        this.throughputTolerance = throughputTolerance;
+        this.errorTolerance = errorTolerance;
+        this.alpha = alpha;
+    }
+
+    /**
+     * 从系统属性读取容差，未配置时响应时间20%、吞吐量10%、错误率1个百分点、显著性水平0.05
+     * @return 回归门禁
+     */
+    public static RegressionGate fromSystemProperties() {
+        return new RegressionGate(
+                Double.parseDouble(System.getProperty("perf.latencyTolerance", "0.2")),
+                Double.parseDouble(System.getProperty("perf.throughputTolerance", "0.1")),
+                Double.parseDouble(System.getProperty("perf.errorTolerance", "1.0")),
+                Double.parseDouble(System.getProperty("perf.alpha", "0.05")));
+    }
+
+    /**
+     * 比较基线和本次结果
+     * @param baseline 基线
+     * @param candidate 本次结果
+     * @return 每个事务每项指标的检查结果
+     */
+    public List<RegressionCheck> compare(Map<String, TransactionSummary> baseline,
+                                         Map<String, TransactionSummary> candidate) {
+        List<RegressionCheck> checks = new ArrayList<>();
+        for (TransactionSummary base : baseline.values()) {
+            TransactionSummary current = candidate.get(base.getTransaction());
+            if (current == null || current.getSampleCount() == 0) {
+                checks.add(new RegressionCheck(base.getTransaction(), "样本数", base.getSampleCount(), 0, Double.NaN, true));
+                continue;
+            }
+            if (base.getSampleCount() == 0) {
+                continue;
+            }
+            checks.add(percentileCheck("p90", 0.90, base, base.getPct1ResTime(), current, current.getPct1ResTime()));
+            checks.add(percentileCheck("p95", 0.95, base, base.getPct2ResTime(), current, current.getPct2ResTime()));
+            checks.add(percentileCheck("p99", 0.99, base, base.getPct3ResTime(), current, current.getPct3ResTime()));
+            checks.add(throughputCheck(base, current));
+            checks.add(errorRateCheck(base, current));
+        }
+        return checks;
+    }
+
+    private RegressionCheck percentileCheck(String metric, double p, TransactionSummary base, double baseValue,
+                                            TransactionSummary current, double currentValue) {
+        double baseSlope = quantileSlope(base, p);
+        double currentSlope = quantileSlope(current, p);
+        double standardError = Math.sqrt(p * (1 - p) * (baseSlope * baseSlope / base.getSampleCount()
+                + currentSlope * currentSlope / current.getSampleCount()));
+        double pValue = upperTail(currentValue - baseValue, standardError);
+        boolean regression = currentValue > baseValue * (1 + latencyTolerance) && pValue < alpha;
+        return new RegressionCheck(base.getTransaction(), metric, baseValue, currentValue, pValue, regression);
+    }
+
+    /**
+     * 用相邻分位数估计分位函数在p处的斜率（毫秒/概率），分位数相同时按1毫秒的分辨率计算
+     */
+    private static double quantileSlope(TransactionSummary summary, double p) {
+        double lower;
+        double upper;
+        double width;
+        if (p <= 0.90) {
+            lower = summary.getMedianResTime();
+            upper = summary.getPct2ResTime();
+            width = 0.95 - 0.50;
+        } else if (p <= 0.95) {
+            lower = summary.getPct1ResTime();
+            upper = summary.getPct3ResTime();
+            width = 0.99 - 0.90;
+        } else {
+            lower = summary.getPct2ResTime();
+            upper = summary.getPct3ResTime();
+            width = 0.99 - 0.95;
+        }
+        return Math.max(upper - lower, 1) / width;
+    }
+
+    private RegressionCheck throughputCheck(TransactionSummary base, TransactionSummary current) {
+        double baseDuration = base.getDurationSeconds();
+        double currentDuration = current.getDurationSeconds();
+        double pValue = Double.NaN;
+        if (baseDuration > 0 && currentDuration > 0) {
+            double standardError = Math.sqrt(base.getSampleCount() / (baseDuration * baseDuration)
+                    + current.getSampleCount() / (currentDuration * currentDuration));
+            pValue = upperTail(base.getThroughput() - current.getThroughput(), standardError);
+        }
+        boolean regression = current.getThroughput() < base.getThroughput() * (1 - throughputTolerance)
+                && pValue < alpha;
+        return new RegressionCheck(base.getTransaction(), "吞吐量", base.getThroughput(), current.getThroughput(),
+                pValue, regression);
+    }
+
+    private RegressionCheck errorRateCheck(TransactionSummary base, TransactionSummary current) {
+        double baseRate = (double) base.getErrorCount() / base.getSampleCount();
+        double currentRate = (double) current.getErrorCount() / current.getSampleCount();
+        double pooled = (double) (base.getErrorCount() + current.getErrorCount())
+                / (base.getSampleCount() + current.getSampleCount());
+        double standardError = Math.sqrt(pooled * (1 - pooled)
+                * (1.0 / base.getSampleCount() + 1.0 / current.getSampleCount()));
+        double pValue = upperTail(currentRate - baseRate, standardError);
+        boolean regression = (currentRate - baseRate) * 100 > errorTolerance && pValue < alpha;
+        return new RegressionCheck(base.getTransaction(), "错误率%", baseRate * 100, currentRate * 100, pValue, regression);
+    }
+
+    /**
+     * 单侧检验的p值：差值除以标准误后取标准正态分布的上尾概率
+     */
+    private static double upperTail(double difference, double standardError) {
+        if (standardError == 0) {
+            return difference > 0 ? 0 : 1;
+        }
+        return 0.5 * erfc(difference / standardError / Math.sqrt(2));
+    }
+
+    /**
+     * 互补误差函数的切比雪夫近似，相对误差小于1.2e-7
+     */
+    private static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1 / (1 + 0.5 * z);
+        double result = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? result : 2 - result;
+    }
+
+    public static void main(String[] args) {
+        String baselineFile = args.length > 0 ? args[0] : System.getProperty("perf.baseline");
+        String candidateFile = args.length > 1 ? args[1] : System.getProperty("perf.candidate");
+        if (baselineFile == null || candidateFile == null) {
+            System.err.println("用法: RegressionGate <基线statistics.json> <本次statistics.json>");
+            System.exit(2);
+        }
+
+        RegressionGate gate = fromSystemProperties();
+        List<RegressionCheck> checks = gate.compare(TransactionSummary.read(new File(baselineFile)),
+                TransactionSummary.read(new File(candidateFile)));
+        System.out.println("性能回归检查: 基线 " + baselineFile + "，本次 " + candidateFile);
+        System.out.printf("容差: 响应时间 +%.0f%%，吞吐量 -%.0f%%，错误率 +%.1f个百分点，显著性水平 %.3f%n",
+                gate.latencyTolerance * 100, gate.throughputTolerance * 100, gate.errorTolerance, gate.alpha);
+        long regressions = 0;
+        for (RegressionCheck check : checks) {
+            System.out.println(check);
+            if (check.isRegression()) {
+                regressions++;
+            }
+        }
+        if (regressions > 0) {
+            System.err.println("发现 " + regressions + " 项性能回归");
+            System.exit(1);
+        }
+        System.out.println("未发现性能回归");
+    }
+}
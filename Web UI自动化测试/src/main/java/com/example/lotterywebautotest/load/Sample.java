@@ -0,0 +1,105 @@
+package com.example.lotterywebautotest.load;
+
+/**
+ * 单次请求的采样结果，字段与JMeter JTL一致
+ */
+public class Sample {
+
+    private final long timeStamp;
+    private final long elapsed;
+    private final String label;
+    private final String responseCode;
+    private final String responseMessage;
+    private final String threadName;
+    private final boolean success;
+    private final String failureMessage;
+    private final long bytes;
+    private final long sentBytes;
+    private final int activeThreads;
+    private final String url;
+    private final long latency;
+    private final long connect;
+
+    public Sample(long timeStamp, long elapsed, String label, String responseCode, String responseMessage,
+                  String threadName, boolean success, String failureMessage, long bytes, long sentBytes,
+                  int activeThreads, String url, long latency, long connect) {
+        this.timeStamp = timeStamp;
+        this.elapsed = elapsed;
+        this.label = label;
+        this.responseCode = responseCode;
+        this.responseMessage = responseMessage;
+        this.threadName = threadName;
+        this.success = success;
+        this.failureMessage = failureMessage;
+        this.bytes = bytes;
+        this.sentBytes = sentBytes;
+        this.activeThreads = activeThreads;
+        this.url = url;
+        this.latency = latency;
+        this.connect = connect;
+    }
+
+    /**
+     * 获取请求开始时间
+     * @return 时间戳（毫秒）
+     */
+    public long getTimeStamp() {
+        return timeStamp;
+    }
+
+    /**
+     * 获取响应时间
+     * @return 耗时（毫秒）
+     */
+    public long getElapsed() {
+        return elapsed;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getResponseCode() {
+        return responseCode;
+    }
+
+    public String getResponseMessage() {
+        return responseMessage;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    public long getSentBytes() {
+        return sentBytes;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getLatency() {
+        return latency;
+    }
+
+    public long getConnect() {
+        return connect;
+    }
+}
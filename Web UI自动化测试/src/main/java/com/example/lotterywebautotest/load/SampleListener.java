@@ -0,0 +1,19 @@
+package com.example.lotterywebautotest.load;
+
+/**
+ * 采样结果监听器，会被多个虚拟用户并发调用，实现必须线程安全
+ */
+public interface SampleListener {
+
+    /**
+     * 收到一条采样结果
+     * @param sample 采样结果
+     */
+    void onSample(Sample sample);
+
+    /**
+     * 压测结束
+     */
+    default void close() {
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 列式采样存储（只读）
+ * 各列文件以只读方式映射，按行号直接读取，查询时逐行扫描原始列，不为每行创建对象，
+ * 数百万行的按时间窗口统计（对应HTML报告的 Response Times Over Time、Transactions Per Second）只需一次顺序扫描。
+ * 存储由 {@link SampleStoreWriter} 生成。
+ * 用法: mvn -q compile exec:java -Dexec.mainClass=com.example.lotterywebautotest.load.SampleStore -Dexec.args="target/load/samples 1000"
+ */
+public class SampleStore {
+
+    static final int VERSION = 1;
+    static final int MAX_ROWS = Integer.MAX_VALUE / Integer.BYTES;
+    static final String META_FILE = "meta.properties";
+    static final String LABELS_FILE = "labels.txt";
+    static final String THREADS_FILE = "threads.txt";
+    static final String TIME_STAMP_COLUMN = "timeStamp.col";
+    static final String ELAPSED_COLUMN = "elapsed.col";
+    static final String LATENCY_COLUMN = "latency.col";
+    static final String BYTES_COLUMN = "bytes.col";
+    static final String SENT_BYTES_COLUMN = "sentBytes.col";
+    static final String LABEL_COLUMN = "label.col";
+    static final String THREAD_COLUMN = "thread.col";
+    static final String SUCCESS_COLUMN = "success.col";
+
+    private final int rows;
+    private final long baseTimeStamp;
+    private final long minTimeStamp;
+    private final long maxTimeStamp;
+    private final List<String> labels;
+    private final List<String> threadNames;
+    private final IntBuffer timeStamps;
+    private final IntBuffer elapsed;
+    private final IntBuffer latency;
+    private final IntBuffer bytes;
+    private final IntBuffer sentBytes;
+    private final ShortBuffer labelCodes;
+    private final IntBuffer threadCodes;
+    private final ByteBuffer success;
+
+    private SampleStore(Path directory) throws IOException {
+        Properties meta = new Properties();
+        try (Reader reader = Files.newBufferedReader(directory.resolve(META_FILE), StandardCharsets.UTF_8)) {
+            meta.load(reader);
+        }
+        int version = Integer.parseInt(meta.getProperty("version", "0"));
+        if (version != VERSION) {
+            throw new IllegalArgumentException("不支持的采样存储版本: " + version);
+        }
+        this.rows = Integer.parseInt(meta.getProperty("rows"));
+        this.baseTimeStamp = Long.parseLong(meta.getProperty("baseTimeStamp"));
+        this.minTimeStamp = Long.parseLong(meta.getProperty("minTimeStamp"));
+        this.maxTimeStamp = Long.parseLong(meta.getProperty("maxTimeStamp"));
+        this.labels = Collections.unmodifiableList(Files.readAllLines(directory.resolve(LABELS_FILE), StandardCharsets.UTF_8));
+        this.threadNames = Collections.unmodifiableList(Files.readAllLines(directory.resolve(THREADS_FILE), StandardCharsets.UTF_8));
+        this.timeStamps = map(directory.resolve(TIME_STAMP_COLUMN), Integer.BYTES).asIntBuffer();
+        this.elapsed = map(directory.resolve(ELAPSED_COLUMN), Integer.BYTES).asIntBuffer();
+        this.latency = map(directory.resolve(LATENCY_COLUMN), Integer.BYTES).asIntBuffer();
+        this.bytes = map(directory.resolve(BYTES_COLUMN), Integer.BYTES).asIntBuffer();
+        this.sentBytes = map(directory.resolve(SENT_BYTES_COLUMN), Integer.BYTES).asIntBuffer();
+        this.labelCodes = map(directory.resolve(LABEL_COLUMN), Short.BYTES).asShortBuffer();
+        this.threadCodes = map(directory.resolve(THREAD_COLUMN), Integer.BYTES).asIntBuffer();
+        this.success = map(directory.resolve(SUCCESS_COLUMN), Byte.BYTES);
+    }
+
+    /**
+     * 打开采样存储
+     * @param directory 存储目录
+     * @return 采样存储
+     */
+    public static SampleStore open(Path directory) {
+        try {
+            return new SampleStore(directory);
+        } catch (IOException e) {
+            throw new RuntimeException("打开采样存储失败: " + directory, e);
+        }
+    }
+
+    private ByteBuffer map(Path file, int width) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            long size = (long) rows * width;
+            if (channel.size() < size) {
+                throw new IllegalArgumentException("采样存储文件不完整: " + file);
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * 获取最早的请求开始时间
+     * @return 时间戳（毫秒），没有采样时为0
+     */
+    public long getStartTime() {
+        return minTimeStamp;
+    }
+
+    /**
+     * 获取最晚的请求开始时间
+     * @return 时间戳（毫秒），没有采样时为0
+     */
+    public long getEndTime() {
+        return maxTimeStamp;
+    }
+
+    /**
+     * 获取所有事务名，下标即字典编码
+     */
+    public List<String> getLabels() {
+        return labels;
+    }
+
+    public long getTimeStamp(int row) {
+        return baseTimeStamp + timeStamps.get(row);
+    }
+
+    public int getElapsed(int row) {
+        return elapsed.get(row);
+    }
+
+    public int getLatency(int row) {
+        return latency.get(row);
+    }
+
+    public int getBytes(int row) {
+        return bytes.get(row);
+    }
+
+    public int getSentBytes(int row) {
+        return sentBytes.get(row);
+    }
+
+    public int getLabelCode(int row) {
+        return labelCodes.get(row);
+    }
+
+    public String getLabel(int row) {
+        return labels.get(labelCodes.get(row));
+    }
+
+    public String getThreadName(int row) {
+        return threadNames.get(threadCodes.get(row));
+    }
+
+    public boolean isSuccess(int row) {
+        return success.get(row) != 0;
+    }
+
+    /**
+     * 统计时间窗口内的采样，格式与statistics.json一致
+     * @param from 窗口起点（毫秒，包含）
+     * @param to 窗口终点（毫秒，不包含）
+     * @return 汇总统计
+     */
+    public StatisticsCollector statistics(long from, long to) {
+        StatisticsCollector statistics = new StatisticsCollector();
+        int fromOffset = offset(from);
+        int toOffset = offset(to);
+        for (int row = 0; row < rows; row++) {
+            int timeStamp = timeStamps.get(row);
+            if (timeStamp >= fromOffset && timeStamp < toOffset) {
+                statistics.add(labels.get(labelCodes.get(row)), baseTimeStamp + timeStamp, elapsed.get(row),
+                        success.get(row) != 0, bytes.get(row), sentBytes.get(row));
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * 按固定粒度统计时间窗口内每个事务的请求数、错误数和平均响应时间
+     * @param from 窗口起点（毫秒，包含）
+     * @param to 窗口终点（毫秒，不包含）
+     * @param granularityMillis 粒度（毫秒）
+     * @return 事务名到时间序列，按字典顺序排列；窗口内没有采样的事务也会包含在内
+     */
+    public Map<String, OverTimeSeries> overTime(long from, long to, long granularityMillis) {
+        if (granularityMillis <= 0 || to <= from) {
+            throw new IllegalArgumentException("时间窗口无效: from=" + from + " to=" + to + " granularity=" + granularityMillis);
+        }
+        int buckets = Math.toIntExact((to - from + granularityMillis - 1) / granularityMillis);
+        OverTimeSeries[] series = new OverTimeSeries[labels.size()];
+        for (int code = 0; code < series.length; code++) {
+            series[code] = new OverTimeSeries(labels.get(code), from, granularityMillis, buckets);
+        }
+
+        int fromOffset = offset(from);
+        int toOffset = offset(to);
+        for (int row = 0; row < rows; row++) {
+            int timeStamp = timeStamps.get(row);
+            if (timeStamp >= fromOffset && timeStamp < toOffset) {
+                int bucket = (int) (((long) timeStamp - fromOffset) / granularityMillis);
+                series[labelCodes.get(row)].add(bucket, elapsed.get(row), latency.get(row), success.get(row) != 0, bytes.get(row));
+            }
+        }
+
+        Map<String, OverTimeSeries> result = new LinkedHashMap<>();
+        for (OverTimeSeries entry : series) {
+            result.put(entry.getLabel(), entry);
+        }
+        return result;
+    }
+
+    /**
+     * 把绝对时间换算成相对基准时间的偏移，超出int范围时截断到边界
+     */
+    private int offset(long timeStamp) {
+        long offset = timeStamp - baseTimeStamp;
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, offset));
+    }
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("用法: SampleStore <存储目录> [粒度毫秒]");
+            System.exit(1);
+        }
+        SampleStore store = open(Paths.get(args[0]));
+        long granularity = args.length > 1 ? Long.parseLong(args[1]) : 1000;
+        System.out.println("采样数: " + store.size() + "，事务: " + store.getLabels());
+        if (store.size() == 0) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        Map<String, OverTimeSeries> series = store.overTime(store.getStartTime(), store.getEndTime() + 1, granularity);
+        long costMillis = (System.nanoTime() - start) / 1_000_000;
+        for (OverTimeSeries entry : series.values()) {
+            System.out.println(entry.getLabel());
+            for (int bucket = 0; bucket < entry.getBuckets(); bucket++) {
+                if (entry.getCount(bucket) > 0) {
+                    System.out.printf("  +%6ds  请求=%6d  错误=%5d  平均=%8.1fms  吞吐=%8.2f/s%n",
+                            (entry.getBucketStart(bucket) - store.getStartTime()) / 1000, entry.getCount(bucket),
+                            entry.getErrorCount(bucket), entry.getAverageElapsed(bucket), entry.getThroughput(bucket));
+                }
+            }
+        }
+        store.statistics(store.getStartTime(), store.getEndTime() + 1).printSummary();
+        System.out.printf("按 %d ms 粒度扫描 %d 行，耗时 %d ms%n", granularity, store.size(), costMillis);
+    }
+}
@@ -0,0 +1,226 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 列式采样存储监听器
+ * 每列一个内存映射文件，按行号直接写入，空间不够时按两倍扩容重新映射；
+ * 事务名和线程名用字典编码，时间戳存为相对第一条采样的毫秒偏移（int）。
+ * 每条采样27字节（5个int、1个short的事务名编码、1个int的线程名编码、1个byte的成功标志），约为JTL文本的六分之一，压测结束时写入行数和字典，之后可以用 {@link SampleStore} 打开。
+ */
+public class SampleStoreWriter implements SampleListener {
+
+    private static final int INITIAL_ROWS = 1 << 16;
+
+    private final Path directory;
+    private final Column timeStamps;
+    private final Column elapsed;
+    private final Column latency;
+    private final Column bytes;
+    private final Column sentBytes;
+    private final Column labels;
+    private final Column threads;
+    private final Column success;
+    private final List<Column> columns = new ArrayList<>();
+    private final Dictionary labelDictionary = new Dictionary();
+    private final Dictionary threadDictionary = new Dictionary();
+
+    private int rows;
+    private long baseTimeStamp;
+    private long minTimeStamp = Long.MAX_VALUE;
+    private long maxTimeStamp = Long.MIN_VALUE;
+    private boolean closed;
+
+    /**
+     * 构造函数
+     * @param directory 存储目录，已有的数据会被覆盖
+     */
+    public SampleStoreWriter(File directory) {
+        this.directory = directory.toPath();
+        try {
+            Files.createDirectories(this.directory);
+            timeStamps = column(SampleStore.TIME_STAMP_COLUMN, Integer.BYTES);
+            elapsed = column(SampleStore.ELAPSED_COLUMN, Integer.BYTES);
+            latency = column(SampleStore.LATENCY_COLUMN, Integer.BYTES);
+            bytes = column(SampleStore.BYTES_COLUMN, Integer.BYTES);
+            sentBytes = column(SampleStore.SENT_BYTES_COLUMN, Integer.BYTES);
+            labels = column(SampleStore.LABEL_COLUMN, Short.BYTES);
+            threads = column(SampleStore.THREAD_COLUMN, Integer.BYTES);
+            success = column(SampleStore.SUCCESS_COLUMN, Byte.BYTES);
+            Files.deleteIfExists(this.directory.resolve(SampleStore.META_FILE));
+        } catch (IOException e) {
+            throw new RuntimeException("创建采样存储失败: " + directory, e);
+        }
+    }
+
+    private Column column(String name, int width) throws IOException {
+        Column column = new Column(directory.resolve(name), width);
+        columns.add(column);
+        return column;
+    }
+
+    @Override
+    public void onSample(Sample sample) {
+        add(sample.getLabel(), sample.getTimeStamp(), sample.getElapsed(), sample.getLatency(), sample.isSuccess(),
+                sample.getBytes(), sample.getSentBytes(), sample.getThreadName());
+    }
+
+    /**
+     * 追加一条采样
+     * @param label 事务名
+     * @param timeStamp 请求开始时间（毫秒）
+     * @param elapsedMillis 响应时间（毫秒）
+     * @param latencyMillis 首字节时间（毫秒）
+     * @param successful 是否成功
+     * @param receivedBytes 接收字节数
+     * @param sent 发送字节数
+     * @param threadName 线程名
+     */
+    public synchronized void add(String label, long timeStamp, long elapsedMillis, long latencyMillis,
+                                 boolean successful, long receivedBytes, long sent, String threadName) {
+        if (closed) {
+            throw new IllegalStateException("采样存储已关闭: " + directory);
+        }
+        if (rows == 0) {
+            baseTimeStamp = timeStamp;
+        }
+        int labelCode = labelDictionary.encode(label);
+        if (labelCode > Short.MAX_VALUE) {
+            throw new IllegalStateException("事务名超过" + Short.MAX_VALUE + "个");
+        }
+        if (rows == SampleStore.MAX_ROWS) {
+            throw new IllegalStateException("采样存储已满: " + SampleStore.MAX_ROWS + "行");
+        }
+        for (Column column : columns) {
+            column.ensureCapacity(rows + 1);
+        }
+        timeStamps.buffer.putInt(rows * Integer.BYTES, Math.toIntExact(timeStamp - baseTimeStamp));
+        elapsed.buffer.putInt(rows * Integer.BYTES, saturatedInt(elapsedMillis));
+        latency.buffer.putInt(rows * Integer.BYTES, saturatedInt(latencyMillis));
+        bytes.buffer.putInt(rows * Integer.BYTES, saturatedInt(receivedBytes));
+        sentBytes.buffer.putInt(rows * Integer.BYTES, saturatedInt(sent));
+        labels.buffer.putShort(rows * Short.BYTES, (short) labelCode);
+        threads.buffer.putInt(rows * Integer.BYTES, threadDictionary.encode(threadName));
+        success.buffer.put(rows, (byte) (successful ? 1 : 0));
+        minTimeStamp = Math.min(minTimeStamp, timeStamp);
+        maxTimeStamp = Math.max(maxTimeStamp, timeStamp);
+        rows++;
+    }
+
+    private static int saturatedInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    public synchronized int getRows() {
+        return rows;
+    }
+
+    /**
+     * 刷盘并写入行数和字典，关闭后才能用 {@link SampleStore} 打开
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (Column column : columns) {
+                column.close(rows);
+            }
+            labelDictionary.write(directory.resolve(SampleStore.LABELS_FILE));
+            threadDictionary.write(directory.resolve(SampleStore.THREADS_FILE));
+
+            Properties meta = new Properties();
+            meta.setProperty("version", String.valueOf(SampleStore.VERSION));
+            meta.setProperty("rows", String.valueOf(rows));
+            meta.setProperty("baseTimeStamp", String.valueOf(baseTimeStamp));
+            meta.setProperty("minTimeStamp", String.valueOf(rows > 0 ? minTimeStamp : 0));
+            meta.setProperty("maxTimeStamp", String.valueOf(rows > 0 ? maxTimeStamp : 0));
+            try (var writer = Files.newBufferedWriter(directory.resolve(SampleStore.META_FILE), StandardCharsets.UTF_8)) {
+                meta.store(writer, "load test samples");
+            }
+        } catch (IOException e) {
+            System.err.println("关闭采样存储失败: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 单列的映射文件
+     */
+    private static class Column {
+        private final FileChannel channel;
+        private final int width;
+        private MappedByteBuffer buffer;
+
+        Column(Path file, int width) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.width = width;
+            map(INITIAL_ROWS);
+        }
+
+        void ensureCapacity(int rows) {
+            if ((long) rows * width > buffer.capacity()) {
+                map((int) Math.min((long) buffer.capacity() / width * 2, SampleStore.MAX_ROWS));
+            }
+        }
+
+        private void map(int rows) {
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) rows * width);
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+            } catch (IOException e) {
+                throw new RuntimeException("映射采样存储文件失败", e);
+            }
+        }
+
+        void close(int rows) throws IOException {
+            buffer.force();
+            buffer = null;
+            try {
+                channel.truncate((long) rows * width);
+            } catch (IOException e) {
+                // Windows下映射未释放时不能截断，多余的尾部按行数忽略
+                System.err.println("截断采样存储文件失败: " + e.getMessage());
+            }
+            channel.close();
+        }
+    }
+
+    /**
+     * 字符串字典，编码按首次出现的顺序分配
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int encode(String value) {
+            String key = value != null ? value : "";
+            Integer code = codes.get(key);
+            if (code == null) {
+                code = values.size();
+                codes.put(key, code);
+                values.add(key);
+            }
+            return code;
+        }
+
+        void write(Path file) throws IOException {
+            Files.write(file, values, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.lotterywebautotest.load;
+
+import java.util.List;
+
+/**
+ * 测试数据工厂生成的活动：奖品按下标依次为一、二、三等奖，参与用户从已注册的用户中抽取
+ */
+public class SeedActivity {
+
+    static final String[] TIERS = {"FIRST_PRIZE", "SECOND_PRIZE", "THIRD_PRIZE"};
+
+    private final String activityName;
+    private final String description;
+    private final List<SeedPrize> prizes;
+    private final int[] prizeAmounts;
+    private final List<SeedUser> users;
+    private volatile long activityId;
+
+    public SeedActivity(String activityName, String description, List<SeedPrize> prizes, int[] prizeAmounts,
+                        List<SeedUser> users) {
+        if (prizes.size() != prizeAmounts.length || prizes.size() > TIERS.length) {
+            throw new IllegalArgumentException("活动奖品最多" + TIERS.length + "个，且每个奖品都需要数量");
+        }
+        this.activityName = activityName;
+        this.description = description;
+        this.prizes = List.copyOf(prizes);
+        this.prizeAmounts = prizeAmounts.clone();
+        this.users = List.copyOf(users);
+    }
+
+    public String getActivityName() {
+        return activityName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public List<SeedPrize> getPrizes() {
+        return prizes;
+    }
+
+    public int getPrizeAmount(int index) {
+        return prizeAmounts[index];
+    }
+
+    public String getPrizeTiers(int index) {
+        return TIERS[index];
+    }
+
+    public List<SeedUser> getUsers() {
+        return users;
+    }
+
+    /**
+     * 获取后端分配的活动ID
+     * @return 活动ID，未创建时为0
+     */
+    public long getActivityId() {
+        return activityId;
+    }
+
+    void setActivityId(long activityId) {
+        this.activityId = activityId;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.lotterywebautotest.load;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 批量测试数据工厂
+ * 第i条数据只由种子和下标i决定：各下标使用独立的 {@link SplittableRandom}，
+ * 因此可以在fork-join公共池中并行生成，结果与单线程生成完全相同，同一种子可以复现整批数据。
+ * 邮箱和用户名包含下标，手机号由下标经过10^8以内的一一映射得到，同一批次内不会重复；
+ * 种子派生的标签区分不同批次。
+ */
+public class SeedDataFactory {
+
+    /**
+     * 手机号映射的乘数，与10^8互质
+     */
+    private static final long PHONE_MULTIPLIER = 7_654_321L;
+    private static final long PHONE_RANGE = 100_000_000L;
+    private static final String ALPHANUMERIC = "abcdefghijkmnpqrstuvwxyz23456789";
+
+    private static final long USER_STREAM = 1;
+    private static final long PRIZE_STREAM = 2;
+    private static final long ACTIVITY_STREAM = 3;
+
+    private final long seed;
+    private final String prefix;
+    private final String tag;
+    private final long phoneOffset;
+
+    /**
+     * 构造函数
+     * @param seed 随机种子
+     * @param prefix 用户名、邮箱和奖品活动名称的前缀
+     */
+    public SeedDataFactory(long seed, String prefix) {
+        this.seed = seed;
+        this.prefix = prefix;
+        this.tag = Long.toString(mix(seed) >>> 34, 36);
+        this.phoneOffset = Math.floorMod(mix(seed ^ PHONE_MULTIPLIER), PHONE_RANGE);
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * 获取由种子派生的批次标签
+     */
+    public String getTag() {
+        return tag;
+    }
+
+    /**
+     * 生成第index个用户
+     * @param index 下标，0到10^8-1
+     * @return 用户
+     */
+    public SeedUser user(int index) {
+        if (index < 0 || index >= PHONE_RANGE) {
+            throw new IllegalArgumentException("用户下标超出范围: " + index);
+        }
+        SplittableRandom random = random(USER_STREAM, index);
+        long phone = (index * PHONE_MULTIPLIER + phoneOffset) % PHONE_RANGE;
+        return new SeedUser(prefix + tag + index, prefix + tag + "." + index + "@example.com",
+                "138" + String.format("%08d", phone), password(random));
+    }
+
+    /**
+     * 并行生成下标从0开始的count个用户
+     * @param count 用户数
+     * @return 用户，按下标排序
+     */
+    public List<SeedUser> users(int count) {
+        return IntStream.range(0, count).parallel().mapToObj(this::user).collect(Collectors.toList());
+    }
+
+    /**
+     * 生成第index个奖品，价格在10到1000之间
+     * @param index 下标
+     * @return 奖品
+     */
+    public SeedPrize prize(int index) {
+        SplittableRandom random = random(PRIZE_STREAM, index);
+        return new SeedPrize(prefix + "奖品" + tag + "-" + index, "批量生成的测试奖品" + index,
+                BigDecimal.valueOf(random.nextInt(10, 1001)));
+    }
+
+    /**
+     * 并行生成下标从0开始的count个奖品
+     * @param count 奖品数
+     * @return 奖品，按下标排序
+     */
+    public List<SeedPrize> prizes(int count) {
+        return IntStream.range(0, count).parallel().mapToObj(this::prize).collect(Collectors.toList());
+    }
+
+    /**
+     * 生成第index个活动：从奖品中不重复地抽取最多3个作为一、二、三等奖，数量在10到100之间，
+     * 从用户中不重复地抽取参与用户
+     * @param index 下标
+     * @param prizes 可选奖品
+     * @param users 可选用户
+     * @param usersPerActivity 每个活动的参与用户数
+     * @return 活动
+     */
+    public SeedActivity activity(int index, List<SeedPrize> prizes, List<SeedUser> users, int usersPerActivity) {
+        if (prizes.isEmpty()) {
+            throw new IllegalArgumentException("生成活动至少需要一个奖品");
+        }
+        SplittableRandom random = random(ACTIVITY_STREAM, index);
+        List<SeedPrize> activityPrizes = new ArrayList<>();
+        for (int i : sample(random, prizes.size(), Math.min(SeedActivity.TIERS.length, prizes.size()))) {
+            activityPrizes.add(prizes.get(i));
+        }
+        int[] amounts = new int[activityPrizes.size()];
+        for (int i = 0; i < amounts.length; i++) {
+            amounts[i] = random.nextInt(10, 101);
+        }
+        List<SeedUser> activityUsers = new ArrayList<>();
+        for (int i : sample(random, users.size(), Math.min(usersPerActivity, users.size()))) {
+            activityUsers.add(users.get(i));
+        }
+        return new SeedActivity(prefix + "活动" + tag + "-" + index, "批量生成的测试活动" + index,
+                activityPrizes, amounts, activityUsers);
+    }
+
+    /**
+     * 并行生成下标从0开始的count个活动
+     * @return 活动，按下标排序
+     */
+    public List<SeedActivity> activities(int count, List<SeedPrize> prizes, List<SeedUser> users,
+                                         int usersPerActivity) {
+        return IntStream.range(0, count).parallel()
+                .mapToObj(i -> activity(i, prizes, users, usersPerActivity))
+                .collect(Collectors.toList());
+    }
+
+    private SplittableRandom random(long stream, int index) {
+        return new SplittableRandom(mix(mix(seed ^ stream) + index));
+    }
+
+    /**
+     * 10位密码，首位为字母、末位为数字
+     */
+    private static String password(SplittableRandom random) {
+        StringBuilder password = new StringBuilder(10);
+        password.append(ALPHANUMERIC.charAt(random.nextInt(24)));
+        for (int i = 0; i < 8; i++) {
+            password.append(ALPHANUMERIC.charAt(random.nextInt(ALPHANUMERIC.length())));
+        }
+        password.append(ALPHANUMERIC.charAt(24 + random.nextInt(ALPHANUMERIC.length() - 24)));
+        return password.toString();
+    }
+
+    /**
+     * Floyd算法从[0, n)中不重复地抽取k个下标
+     */
+    private static Set<Integer> sample(SplittableRandom random, int n, int k) {
+        Set<Integer> picked = new LinkedHashSet<>();
+        for (int j = n - k; j < n; j++) {
+            int t = random.nextInt(j + 1);
+            picked.add(picked.contains(t) ? j : t);
+        }
+        return picked;
+    }
+
+    /**
+     * SplitMix64的混合函数，把相邻的种子打散到整个64位空间
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
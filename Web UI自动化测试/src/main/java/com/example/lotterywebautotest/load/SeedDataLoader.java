@@ -0,0 +1,250 @@
+package com.example.lotterywebautotest.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+
+/**
+ * 批量测试数据导入
+ * 通过后端接口注册 {@link SeedDataFactory} 生成的用户并创建奖品和活动。请求按批提交，
+ * 批内用异步HTTP并发发送，同时在途的请求数不超过concurrency；用户已存在时改为登录取回userId，
+ * 同一种子可以重复执行。默认导入本机的后端替身，导入共享的远程环境需要显式指定 -Dseed.baseUrl。
+ * 用法: mvn -q compile exec:java -Dexec.mainClass=com.example.lotterywebautotest.load.SeedDataLoader -Dseed.users=1000
+ */
+public class SeedDataLoader {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUrl;
+    private final int concurrency;
+    private final int batchSize;
+    private final Duration requestTimeout = Duration.ofSeconds(30);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    /**
+     * 构造函数
+     * @param baseUrl 后端地址
+     * @param concurrency 最大在途请求数
+     * @param batchSize 每批提交的请求数
+     */
+    public SeedDataLoader(String baseUrl, int concurrency, int batchSize) {
+        if (concurrency <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("并发数和批大小必须大于0");
+        }
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.concurrency = concurrency;
+        this.batchSize = batchSize;
+    }
+
+    public static void main(String[] args) {
+        long seed = Long.getLong("seed.seed", 1);
+        SeedDataFactory factory = new SeedDataFactory(seed, System.getProperty("seed.prefix", "seed"));
+        SeedDataLoader loader = new SeedDataLoader(
+                System.getProperty("seed.baseUrl", "http://127.0.0.1:8888"),
+                Integer.getInteger("seed.concurrency", 32),
+                Integer.getInteger("seed.batchSize", 500));
+
+        long start = System.nanoTime();
+        List<SeedUser> users = factory.users(Integer.getInteger("seed.users", 100));
+        List<SeedPrize> prizes = factory.prizes(Integer.getInteger("seed.prizes", 0));
+        System.out.println("种子 " + seed + "（标签 " + factory.getTag() + "）生成 " + users.size() + " 个用户、"
+                + prizes.size() + " 个奖品，耗时 " + (System.nanoTime() - start) / 1_000_000 + "ms");
+
+        int registered = loader.registerUsers(users);
+        String output = System.getProperty("seed.output", "target/seed-users.csv");
+        SeedUser.writeCsv(new File(output), users);
+        System.out.println("已注册 " + registered + "/" + users.size() + " 个用户，账号已写入: " + output);
+
+        int activityCount = Integer.getInteger("seed.activities", 0);
+        if (prizes.isEmpty() && activityCount == 0) {
+            return;
+        }
+        String adminToken = loader.login(System.getProperty("seed.adminLoginName", "254590131@qq.com"),
+                System.getProperty("seed.adminPassword", "123456"));
+        System.out.println("已创建 " + loader.createPrizes(prizes, adminToken) + "/" + prizes.size() + " 个奖品");
+        if (activityCount > 0) {
+            List<SeedPrize> created = new ArrayList<>();
+            for (SeedPrize prize : prizes) {
+                if (prize.getPrizeId() > 0) {
+                    created.add(prize);
+                }
+            }
+            List<SeedUser> participants = new ArrayList<>();
+            for (SeedUser user : users) {
+                if (user.getUserId() > 0) {
+                    participants.add(user);
+                }
+            }
+            List<SeedActivity> activities = factory.activities(activityCount, created, participants,
+                    Integer.getInteger("seed.usersPerActivity", 10));
+            System.out.println("已创建 " + loader.createActivities(activities, adminToken) + "/" + activityCount
+                    + " 个活动");
+            StringBuilder ids = new StringBuilder();
+            for (SeedActivity activity : activities) {
+                ids.append(ids.length() > 0 ? "," : "").append(activity.getActivityId());
+            }
+            System.out.println("活动ID: " + ids);
+        }
+    }
+
+    /**
+     * 注册用户，已存在的用户改为登录取回userId
+     * @param users 用户
+     * @return 取得userId的用户数
+     */
+    public int registerUsers(List<SeedUser> users) {
+        return submitInBatches("注册用户", users, user -> {
+            ObjectNode body = MAPPER.createObjectNode()
+                    .put("name", user.getUserName())
+                    .put("mail", user.getEmail())
+                    .put("phoneNumber", user.getPhoneNumber())
+                    .put("password", user.getPassword())
+                    .put("identity", "USER");
+            return post("/user/register", body, null).thenCompose(result -> {
+                if (result.path("code").asInt() == 200) {
+                    user.setUserId(result.path("data").path("userId").asLong());
+                    return CompletableFuture.completedFuture(true);
+                }
+                return post("/user/password/login", loginBody(user.getEmail(), user.getPassword()), null)
+                        .thenApply(login -> {
+                            user.setUserId(login.path("data").path("userId").asLong());
+                            return user.getUserId() > 0;
+                        });
+            });
+        });
+    }
+
+    /**
+     * 创建奖品
+     * @param prizes 奖品
+     * @param adminToken 管理员token
+     * @return 创建成功数
+     */
+    public int createPrizes(List<SeedPrize> prizes, String adminToken) {
+        return submitInBatches("创建奖品", prizes, prize -> {
+            ObjectNode body = MAPPER.createObjectNode()
+                    .put("prizeName", prize.getPrizeName())
+                    .put("description", prize.getDescription())
+                    .put("price", prize.getPrice());
+            return post("/prize/create", body, adminToken).thenApply(result -> {
+                prize.setPrizeId(result.path("data").path("prizeId").asLong());
+                return prize.getPrizeId() > 0;
+            });
+        });
+    }
+
+    /**
+     * 创建活动，活动中的奖品需要已创建
+     * @param activities 活动
+     * @param adminToken 管理员token
+     * @return 创建成功数
+     */
+    public int createActivities(List<SeedActivity> activities, String adminToken) {
+        return submitInBatches("创建活动", activities, activity -> {
+            ObjectNode body = MAPPER.createObjectNode()
+                    .put("activityName", activity.getActivityName())
+                    .put("description", activity.getDescription());
+            ArrayNode prizeList = body.putArray("activityPrizeList");
+            for (int i = 0; i < activity.getPrizes().size(); i++) {
+                prizeList.addObject()
+                        .put("prizeId", activity.getPrizes().get(i).getPrizeId())
+                        .put("prizeAmount", activity.getPrizeAmount(i))
+                        .put("prizeTiers", activity.getPrizeTiers(i));
+            }
+            ArrayNode userList = body.putArray("activityUserList");
+            for (SeedUser user : activity.getUsers()) {
+                userList.addObject().put("userId", user.getUserId()).put("userName", user.getUserName());
+            }
+            return post("/activity/activity/create", body, adminToken).thenApply(result -> {
+                activity.setActivityId(result.path("data").path("activityId").asLong());
+                return activity.getActivityId() > 0;
+            });
+        });
+    }
+
+    /**
+     * 密码登录
+     * @return token
+     */
+    public String login(String loginName, String password) {
+        JsonNode result = post("/user/password/login", loginBody(loginName, password), null).join();
+        if (result.path("code").asInt() != 200) {
+            throw new RuntimeException("登录失败: " + loginName + "，" + result.path("msg").asText());
+        }
+        return result.path("data").path("token").asText();
+    }
+
+    /**
+     * 逐批提交任务，批内并发执行，在途任务数由信号量限制；一批全部完成后输出进度
+     * @return 成功的任务数
+     */
+    private <T> int submitInBatches(String action, List<T> items, Function<T, CompletableFuture<Boolean>> task) {
+        Semaphore permits = new Semaphore(concurrency);
+        int succeeded = 0;
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<CompletableFuture<Boolean>> batch = new ArrayList<>();
+            for (T item : items.subList(from, Math.min(items.size(), from + batchSize))) {
+                permits.acquireUninterruptibly();
+                CompletableFuture<Boolean> future;
+                try {
+                    future = task.apply(item);
+                } catch (RuntimeException e) {
+                    permits.release();
+                    throw e;
+                }
+                batch.add(future.exceptionally(e -> {
+                    System.err.println(action + "失败: " + e.getMessage());
+                    return false;
+                }).whenComplete((ok, e) -> permits.release()));
+            }
+            for (CompletableFuture<Boolean> future : batch) {
+                if (future.join()) {
+                    succeeded++;
+                }
+            }
+            System.out.println(action + "进度: " + Math.min(items.size(), from + batchSize) + "/" + items.size());
+        }
+        return succeeded;
+    }
+
+    private CompletableFuture<JsonNode> post(String path, JsonNode body, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8));
+        if (token != null) {
+            builder.header("user_token", token);
+        }
+        return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofByteArray())
+                .thenApply(response -> {
+                    try {
+                        return MAPPER.readTree(response.body());
+                    } catch (IOException e) {
+                        throw new RuntimeException(path + " 响应不是JSON，HTTP " + response.statusCode(), e);
+                    }
+                });
+    }
+
+    private static ObjectNode loginBody(String loginName, String password) {
+        return MAPPER.createObjectNode().put("loginName", loginName).put("password", password);
+    }
+}
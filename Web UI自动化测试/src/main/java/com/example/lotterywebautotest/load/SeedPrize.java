@@ -0,0 +1,44 @@
+package com.example.lotterywebautotest.load;
+
+import java.math.BigDecimal;
+
+/**
+ * 测试数据工厂生成的奖品，创建成功后带上后端分配的prizeId
+ */
+public class SeedPrize {
+
+    private final String prizeName;
+    private final String description;
+    private final BigDecimal price;
+    private volatile long prizeId;
+
+    public SeedPrize(String prizeName, String description, BigDecimal price) {
+        this.prizeName = prizeName;
+        this.description = description;
+        this.price = price;
+    }
+
+    public String getPrizeName() {
+        return prizeName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    /**
+     * 获取后端分配的奖品ID
+     * @return 奖品ID，未创建时为0
+     */
+    public long getPrizeId() {
+        return prizeId;
+    }
+
+    void setPrizeId(long prizeId) {
+        this.prizeId = prizeId;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.lotterywebautotest.load;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 测试数据工厂生成的用户，注册成功后带上后端分配的userId
+ * 以CSV保存（userId,userName,email,phoneNumber,password），供压测按虚拟用户分配账号
+ */
+public class SeedUser {
+
+    static final String CSV_HEADER = "userId,userName,email,phoneNumber,password";
+
+    private final String userName;
+    private final String email;
+    private final String phoneNumber;
+    private final String password;
+    private volatile long userId;
+
+    public SeedUser(String userName, String email, String phoneNumber, String password) {
+        this.userName = userName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.password = password;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * 获取后端分配的用户ID
+     * @return 用户ID，未注册时为0
+     */
+    public long getUserId() {
+        return userId;
+    }
+
+    void setUserId(long userId) {
+        this.userId = userId;
+    }
+
+    /**
+     * 写入用户CSV
+     * @param file 目标文件
+     * @param users 用户
+     */
+    public static void writeCsv(File file, List<SeedUser> users) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new RuntimeException("无法创建目录: " + parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            for (SeedUser user : users) {
+                writer.write(user.userId + "," + user.userName + "," + user.email + "," + user.phoneNumber + ","
+                        + user.password);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("写入用户文件失败: " + file, e);
+        }
+    }
+
+    /**
+     * 读取用户CSV
+     * @param file 用户文件
+     * @return 用户，顺序与文件一致
+     */
+    public static List<SeedUser> readCsv(File file) {
+        List<SeedUser> users = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            CsvRecordReader records = new CsvRecordReader(reader);
+            if (!records.next() || !CSV_HEADER.equals(String.join(",", fields(records)))) {
+                throw new RuntimeException("用户文件缺少表头 " + CSV_HEADER + ": " + file);
+            }
+            while (records.next()) {
+                if (records.getFieldCount() < 5) {
+                    throw new RuntimeException("用户文件第" + records.getRecordNumber() + "行字段不足: " + file);
+                }
+                SeedUser user = new SeedUser(records.getField(1).toString(), records.getField(2).toString(),
+                        records.getField(3).toString(), records.getField(4).toString());
+                user.setUserId(Long.parseLong(records.getField(0).toString()));
+                users.add(user);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("读取用户文件失败: " + file, e);
+        }
+        return users;
+    }
+
+    private static List<String> fields(CsvRecordReader records) {
+        List<String> fields = new ArrayList<>();
+        for (int i = 0; i < records.getFieldCount(); i++) {
+            fields.add(records.getField(i).toString());
+        }
+        return fields;
+    }
+}
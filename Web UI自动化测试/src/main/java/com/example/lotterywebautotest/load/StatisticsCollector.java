@@ -0,0 +1,99 @@
+package com.example.lotterywebautotest.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 汇总统计监听器
+ * 按事务名和Total汇总，输出格式与JMeter HTML报告的statistics.json一致
+ */
+public class StatisticsCollector implements SampleListener {
+
+    public static final String TOTAL = "Total";
+
+    private final Map<String, TransactionStatistics> transactions = new ConcurrentHashMap<>();
+    private final TransactionStatistics total = new TransactionStatistics(TOTAL);
+
+    @Override
+    public void onSample(Sample sample) {
+        add(sample.getLabel(), sample.getTimeStamp(), sample.getElapsed(), sample.isSuccess(),
+                sample.getBytes(), sample.getSentBytes());
+    }
+
+    /**
+     * 记录一条采样
+     * @param label 事务名
+     * @param timeStamp 请求开始时间（毫秒）
+     * @param elapsed 响应时间（毫秒）
+     * @param success 是否成功
+     * @param bytes 接收字节数
+     * @param sent 发送字节数
+     */
+    public void add(String label, long timeStamp, long elapsed, boolean success, long bytes, long sent) {
+        transactions.computeIfAbsent(label, TransactionStatistics::new).add(timeStamp, elapsed, success, bytes, sent);
+        total.add(timeStamp, elapsed, success, bytes, sent);
+    }
+
+    /**
+     * 获取单个事务的统计
+     * @param transaction 事务名
+     * @return 统计，不存在时为null
+     */
+    public TransactionStatistics getTransaction(String transaction) {
+        return TOTAL.equals(transaction) ? total : transactions.get(transaction);
+    }
+
+    public Collection<TransactionStatistics> getTransactions() {
+        return new TreeMap<>(transactions).values();
+    }
+
+    public TransactionStatistics getTotal() {
+        return total;
+    }
+
+    /**
+     * 转换为statistics.json结构
+     * @return 事务名到统计字段的映射
+     */
+    public Map<String, Map<String, Object>> toStatisticsJson() {
+        Map<String, Map<String, Object>> json = new LinkedHashMap<>();
+        for (TransactionStatistics statistics : getTransactions()) {
+            json.put(statistics.getTransaction(), statistics.toStatisticsEntry());
+        }
+        json.put(TOTAL, total.toStatisticsEntry());
+        return json;
+    }
+
+    /**
+     * 写出statistics.json
+     * @param file 输出文件
+     */
+    public void writeStatisticsJson(File file) {
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (parent != null) {
+                parent.mkdirs();
+            }
+            new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file, toStatisticsJson());
+        } catch (IOException e) {
+            throw new RuntimeException("写入统计结果失败: " + file, e);
+        }
+    }
+
+    /**
+     * 输出汇总表
+     */
+    public void printSummary() {
+        for (TransactionStatistics statistics : getTransactions()) {
+            System.out.println(statistics);
+        }
+        System.out.println(total);
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.lotterywebautotest.load;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单个事务的统计
+ * 响应时间按毫秒计数（JMeter的精度），内存只与不同耗时值的个数有关；百分位与JMeter报告相同，采用插值算法
+ */
+public class TransactionStatistics {
+
+    private final String transaction;
+    private final ConcurrentSkipListMap<Long, LongAdder> elapsedCounts = new ConcurrentSkipListMap<>();
+    private final LongAdder sampleCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+    private final LongAdder totalElapsed = new LongAdder();
+    private final LongAdder receivedBytes = new LongAdder();
+    private final LongAdder sentBytes = new LongAdder();
+    private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+
+    public TransactionStatistics(String transaction) {
+        this.transaction = transaction;
+    }
+
+    /**
+     * 记录一条采样
+     * @param sample 采样结果
+     */
+    public void add(Sample sample) {
+        add(sample.getTimeStamp(), sample.getElapsed(), sample.isSuccess(), sample.getBytes(), sample.getSentBytes());
+    }
+
+    /**
+     * 记录一条采样
+     * @param timeStamp 请求开始时间（毫秒）
+     * @param elapsed 响应时间（毫秒）
+     * @param success 是否成功
+     * @param bytes 接收字节数
+     * @param sent 发送字节数
+     */
+    public void add(long timeStamp, long elapsed, boolean success, long bytes, long sent) {
+        elapsedCounts.computeIfAbsent(elapsed, key -> new LongAdder()).increment();
+        sampleCount.increment();
+        if (!success) {
+            errorCount.increment();
+        }
+        totalElapsed.add(elapsed);
+        receivedBytes.add(bytes);
+        sentBytes.add(sent);
+        firstStart.accumulateAndGet(timeStamp, Math::min);
+        lastEnd.accumulateAndGet(timeStamp + elapsed, Math::max);
+    }
+
+    public String getTransaction() {
+        return transaction;
+    }
+
+    public long getSampleCount() {
+        return sampleCount.sum();
+    }
+
+    public long getErrorCount() {
+        return errorCount.sum();
+    }
+
+    public double getErrorPct() {
+        long count = getSampleCount();
+        return count == 0 ? 0 : getErrorCount() * 100.0 / count;
+    }
+
+    public double getMeanResTime() {
+        long count = getSampleCount();
+        return count == 0 ? 0 : (double) totalElapsed.sum() / count;
+    }
+
+    public double getMinResTime() {
+        return elapsedCounts.isEmpty() ? 0 : elapsedCounts.firstKey();
+    }
+
+    public double getMaxResTime() {
+        return elapsedCounts.isEmpty() ? 0 : elapsedCounts.lastKey();
+    }
+
+    /**
+     * 计算百分位，算法与JMeter报告（commons-math Percentile默认算法）一致
+     * @param percentile 百分位（0-100）
+     * @return 响应时间（毫秒）
+     */
+    public double getPercentile(double percentile) {
+        long count = getSampleCount();
+        if (count == 0) {
+            return 0;
+        }
+        double position = percentile * (count + 1) / 100;
+        if (position < 1) {
+            return getMinResTime();
+        }
+        if (position >= count) {
+            return getMaxResTime();
+        }
+        long rank = (long) Math.floor(position);
+        long lower = valueAtRank(rank);
+        long upper = valueAtRank(rank + 1);
+        return lower + (position - rank) * (upper - lower);
+    }
+
+    /**
+     * 获取吞吐量：样本数 / (最后一个请求结束 - 第一个请求开始)
+     * @return 每秒请求数
+     */
+    public double getThroughput() {
+        double seconds = getDurationSeconds();
+        return seconds <= 0 ? 0 : getSampleCount() / seconds;
+    }
+
+    public double getReceivedKBytesPerSec() {
+        double seconds = getDurationSeconds();
+        return seconds <= 0 ? 0 : receivedBytes.sum() / 1024.0 / seconds;
+    }
+
+    public double getSentKBytesPerSec() {
+        double seconds = getDurationSeconds();
+        return seconds <= 0 ? 0 : sentBytes.sum() / 1024.0 / seconds;
+    }
+
+    /**
+     * 转换为JMeter statistics.json中的单个事务结构
+     * @return 字段映射
+     */
+    public Map<String, Object> toStatisticsEntry() {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("transaction", transaction);
+        entry.put("sampleCount", getSampleCount());
+        entry.put("errorCount", getErrorCount());
+        entry.put("errorPct", getErrorPct());
+        entry.put("meanResTime", getMeanResTime());
+        entry.put("medianResTime", getPercentile(50));
+        entry.put("minResTime", getMinResTime());
+        entry.put("maxResTime", getMaxResTime());
+        entry.put("pct1ResTime", getPercentile(90));
+        entry.put("pct2ResTime", getPercentile(95));
+        entry.put("pct3ResTime", getPercentile(99));
+        entry.put("throughput", getThroughput());
+        entry.put("receivedKBytesPerSec", getReceivedKBytesPerSec());
+        entry.put("sentKBytesPerSec", getSentKBytesPerSec());
+        return entry;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%-20s 样本=%d 错误=%.2f%% 平均=%.1fms 中位=%.1fms p90=%.1fms p95=%.1fms p99=%.1fms 吞吐=%.2f/s",
+                transaction, getSampleCount(), getErrorPct(), getMeanResTime(), getPercentile(50),
+                getPercentile(90), getPercentile(95), getPercentile(99), getThroughput());
+    }
+
+    private double getDurationSeconds() {
+        long start = firstStart.get();
+        long end = lastEnd.get();
+        return start == Long.MAX_VALUE ? 0 : (end - start) / 1000.0;
+    }
+
+    /**
+     * 获取第rank小的响应时间（从1开始）
+     */
+    private long valueAtRank(long rank) {
+        long cumulative = 0;
+        for (Map.Entry<Long, LongAdder> entry : elapsedCounts.entrySet()) {
+            cumulative += entry.getValue().sum();
+            if (cumulative >= rank) {
+                return entry.getKey();
+            }
+        }
+        return elapsedCounts.lastKey();
+    }
+}
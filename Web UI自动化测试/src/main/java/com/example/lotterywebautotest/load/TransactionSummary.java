@@ -0,0 +1,124 @@
+package com.example.lotterywebautotest.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * statistics.json 中单个事务的汇总数据（只读）
+ */
+public class TransactionSummary {
+
+    private final String transaction;
+    private final long sampleCount;
+    private final long errorCount;
+    private final double meanResTime;
+    private final double medianResTime;
+    private final double pct1ResTime;
+    private final double pct2ResTime;
+    private final double pct3ResTime;
+    private final double throughput;
+
+    public TransactionSummary(String transaction, long sampleCount, long errorCount, double meanResTime,
+                              double medianResTime, double pct1ResTime, double pct2ResTime, double pct3ResTime,
+                              double throughput) {
+        this.transaction = transaction;
+        this.sampleCount = sampleCount;
+        this.errorCount = errorCount;
+        this.meanResTime = meanResTime;
+        this.medianResTime = medianResTime;
+        this.pct1ResTime = pct1ResTime;
+        this.pct2ResTime = pct2ResTime;
+        this.pct3ResTime = pct3ResTime;
+        this.throughput = throughput;
+    }
+
+    /**
+     * 读取JMeter HTML报告或 {@link StatisticsCollector} 输出的statistics.json
+     * @param file statistics.json
+     * @return 事务名到汇总数据，保持文件中的顺序
+     */
+    public static Map<String, TransactionSummary> read(File file) {
+        try {
+            JsonNode root = new ObjectMapper().readTree(file);
+            Map<String, TransactionSummary> summaries = new LinkedHashMap<>();
+            for (Map.Entry<String, JsonNode> field : root.properties()) {
+                JsonNode node = field.getValue();
+                summaries.put(field.getKey(), new TransactionSummary(
+                        node.path("transaction").asText(field.getKey()),
+                        node.path("sampleCount").asLong(),
+                        node.path("errorCount").asLong(),
+                        node.path("meanResTime").asDouble(),
+                        node.path("medianResTime").asDouble(),
+                        node.path("pct1ResTime").asDouble(),
+                        node.path("pct2ResTime").asDouble(),
+                        node.path("pct3ResTime").asDouble(),
+                        node.path("throughput").asDouble()));
+            }
+            return summaries;
+        } catch (IOException e) {
+            throw new RuntimeException("读取统计文件失败: " + file, e);
+        }
+    }
+
+    public String getTransaction() {
+        return transaction;
+    }
+
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public double getMeanResTime() {
+        return meanResTime;
+    }
+
+    public double getMedianResTime() {
+        return medianResTime;
+    }
+
+    /**
+     * 获取90百分位响应时间
+     */
+    public double getPct1ResTime() {
+        return pct1ResTime;
+    }
+
+    /**
+     * 获取95百分位响应时间
+     */
+    public double getPct2ResTime() {
+        return pct2ResTime;
+    }
+
+    /**
+     * 获取99百分位响应时间
+     */
+    public double getPct3ResTime() {
+        return pct3ResTime;
+    }
+
+    /**
+     * 获取吞吐量
+     * @return 次/秒
+     */
+    public double getThroughput() {
+        return throughput;
+    }
+
+    /**
+     * 由样本数和吞吐量反推测试时长
+     * @return 时长（秒），吞吐量为0时为0
+     */
+    public double getDurationSeconds() {
+        return throughput > 0 ? sampleCount / throughput : 0;
+    }
+}
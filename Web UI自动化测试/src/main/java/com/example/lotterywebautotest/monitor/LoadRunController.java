@@ -0,0 +1,185 @@
+package com.example.lotterywebautotest.monitor;
+
+import com.example.lotterywebautotest.load.LoadTestConfig;
+import com.example.lotterywebautotest.stub.ApiResult;
+import com.example.lotterywebautotest.stub.StubException;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+
+/**
+ * 应用内压测接口
+ * 启动/停止压测、Prometheus抓取（/load/metrics）和SSE实时推送（/load/stream）。
+ * 接口没有认证，只在 load 配置（--spring.profiles.active=load）下注册：
+ * 压测目标只允许本机地址（lottery.load.allow-remote-target=true 时放开），结果文件只能写到 target/load 下，
+ * 账号文件只能从 target 下读取。
+ */
+@Profile("load")
+@RestController
+@RequestMapping("/load")
+public class LoadRunController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * 结果文件（jtl、statistics、store）所在目录，相对工作目录
+     */
+    private static final Path OUTPUT_DIRECTORY = Paths.get("target", "load");
+
+    /**
+     * 账号文件所在目录，SeedDataLoader 默认输出到 target/seed-users.csv
+     */
+    private static final Path INPUT_DIRECTORY = Paths.get("target");
+
+    private final LoadRunService service;
+    private final Environment environment;
+
+    public LoadRunController(LoadRunService service, Environment environment) {
+        this.service = service;
+        this.environment = environment;
+    }
+
+    /**
+     * 开始压测，参数与 -Dload.xxx 系统属性一致；未指定baseUrl时压测本应用的本地抽奖后端
+     * 文件路径与命令行一样相对工作目录解析，例如 jtl=target/load/baseline.jtl
+     */
+    @PostMapping("/runs")
+    public ApiResult<LoadRunStatus> start(@RequestParam(required = false) String baseUrl,
+                                          @RequestParam(defaultValue = "20") int users,
+                                          @RequestParam(defaultValue = "10") long rampUp,
+                                          @RequestParam(defaultValue = "60") long duration,
+                                          @RequestParam(defaultValue = "500") long thinkTime,
+                                          @RequestParam(defaultValue = "1000") long thinkTimeRange,
+                                          @RequestParam(defaultValue = "17") long activityId,
+                                          @RequestParam(defaultValue = "0") double arrivalRate,
+                                          @RequestParam(required = false) String jtl,
+                                          @RequestParam(required = false) String statistics,
+                                          @RequestParam(required = false) String store,
+                                          @RequestParam(required = false) String usersFile) {
+        String target = targetUrl(baseUrl);
+        jtl = confine(jtl, OUTPUT_DIRECTORY, "jtl");
+        statistics = confine(statistics, OUTPUT_DIRECTORY, "statistics");
+        store = confine(store, OUTPUT_DIRECTORY, "store");
+        usersFile = confine(usersFile, INPUT_DIRECTORY, "usersFile");
+        LoadTestConfig config;
+        try {
+            config = LoadTestConfig.builder()
+                    .baseUrl(target)
+                    .users(users)
+                    .rampUp(Duration.ofSeconds(rampUp))
+                    .duration(Duration.ofSeconds(duration))
+                    .thinkTime(thinkTime, thinkTimeRange)
+                    .activityId(activityId)
+                    .arrivalRate(arrivalRate)
+                    .jtlFile(jtl)
+                    .statisticsFile(statistics)
+                    .storeDirectory(store)
+                    .usersFile(usersFile)
+                    .build();
+        } catch (RuntimeException e) {
+            throw new StubException(400, e.getMessage());
+        }
+        return ApiResult.success("压测已开始", service.start(config));
+    }
+
+    @PostMapping("/runs/stop")
+    public ApiResult<LoadRunStatus> stop() {
+        return ApiResult.success("压测正在停止", service.stop());
+    }
+
+    @GetMapping("/status")
+    public ApiResult<LoadRunStatus> status() {
+        return ApiResult.success(service.getStatus());
+    }
+
+    @GetMapping(value = "/metrics", produces = PROMETHEUS_CONTENT_TYPE)
+    public String metrics() {
+        return service.toPrometheus();
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream() {
+        return service.subscribe();
+    }
+
+    /**
+     * 校验压测目标，未指定时为本应用；默认只允许解析到本机回环地址的主机
+     */
+    private String targetUrl(String baseUrl) {
+        if (baseUrl == null) {
+            return "http://127.0.0.1:" + localPort();
+        }
+        URI uri;
+        try {
+            uri = URI.create(baseUrl);
+        } catch (IllegalArgumentException e) {
+            throw new StubException(400, "baseUrl无效: " + baseUrl);
+        }
+        if (!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null) {
+            throw new StubException(400, "baseUrl必须是http或https地址: " + baseUrl);
+        }
+        if (!environment.getProperty("lottery.load.allow-remote-target", Boolean.class, false)
+                && !isLoopback(uri.getHost())) {
+            throw new StubException(403, "只允许压测本机地址，压测其他主机需配置 lottery.load.allow-remote-target=true: "
+                    + baseUrl);
+        }
+        return baseUrl;
+    }
+
+    private static boolean isLoopback(String host) {
+        try {
+            for (InetAddress address : InetAddress.getAllByName(host)) {
+                if (!address.isLoopbackAddress()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 把文件路径限制在指定目录下，防止通过接口读写任意文件
+     * @param file 请求中的路径，相对工作目录
+     * @param directory 允许的目录
+     * @param name 参数名
+     * @return 规范化后的绝对路径，未指定时为null
+     */
+    private static String confine(String file, Path directory, String name) {
+        if (file == null) {
+            return null;
+        }
+        Path root = directory.toAbsolutePath().normalize();
+        Path resolved;
+        try {
+            resolved = Paths.get(file).toAbsolutePath().normalize();
+        } catch (RuntimeException e) {
+            throw new StubException(400, name + "路径无效: " + file);
+        }
+        if (!resolved.startsWith(root) || resolved.equals(root)) {
+            throw new StubException(400, name + "必须位于 " + directory + " 目录下: " + file);
+        }
+        return resolved.toString();
+    }
+
+    /**
+     * 实际监听端口，server.port=0 时由启动后的 local.server.port 给出
+     */
+    private String localPort() {
+        return environment.getProperty("local.server.port", environment.getProperty("server.port", "8080"));
+    }
+}
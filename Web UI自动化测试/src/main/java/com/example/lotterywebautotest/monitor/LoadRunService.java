@@ -0,0 +1,186 @@
+package com.example.lotterywebautotest.monitor;
+
+import com.example.lotterywebautotest.load.LiveMetrics;
+import com.example.lotterywebautotest.load.LoadRun;
+import com.example.lotterywebautotest.load.LoadTestConfig;
+import com.example.lotterywebautotest.stub.StubException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 应用内压测
+ * 同一时间只执行一次压测，运行中通过 {@link LiveMetrics} 提供Prometheus抓取和SSE推送的实时指标，
+ * 发现响应时间拐点后可以随时停止。只在 load 配置下注册。
+ */
+@Profile("load")
+@Service
+public class LoadRunService {
+
+    private static final long PUBLISH_INTERVAL_SECONDS = 1;
+
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService publisher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "load-metrics-publisher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Execution current;
+
+    public LoadRunService() {
+        publisher.scheduleAtFixedRate(this::publish, PUBLISH_INTERVAL_SECONDS, PUBLISH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * 开始压测，在后台线程执行
+     * @param config 压测配置
+     * @return 压测状态
+     */
+    public synchronized LoadRunStatus start(LoadTestConfig config) {
+        Execution running = current;
+        if (running != null && running.isActive()) {
+            throw new StubException(409, "已有压测正在执行");
+        }
+        Execution execution = new Execution(config);
+        current = execution;
+        Thread thread = new Thread(execution::execute, "load-run");
+        thread.setDaemon(true);
+        thread.start();
+        return execution.status();
+    }
+
+    /**
+     * 停止当前压测
+     * @return 压测状态
+     */
+    public synchronized LoadRunStatus stop() {
+        Execution execution = current;
+        if (execution == null || !execution.isActive()) {
+            throw new StubException(404, "没有正在执行的压测");
+        }
+        execution.stop();
+        return execution.status();
+    }
+
+    public LoadRunStatus getStatus() {
+        Execution execution = current;
+        return execution != null ? execution.status() : LoadRunStatus.idle();
+    }
+
+    /**
+     * 输出Prometheus文本格式的实时指标，没有压测时只有运行状态
+     */
+    public String toPrometheus() {
+        Execution execution = current;
+        boolean active = execution != null && execution.isActive();
+        String running = "# HELP lottery_load_running 是否有压测正在执行\n"
+                + "# TYPE lottery_load_running gauge\n"
+                + "lottery_load_running " + (active ? 1 : 0) + "\n";
+        return execution != null ? running + execution.metrics.toPrometheus() : running;
+    }
+
+    /**
+     * 订阅实时指标，每秒推送一次 metrics 事件，压测结束时推送 finished 事件
+     * @return SSE连接
+     */
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        emitters.add(emitter);
+        send(emitter, "metrics", getStatus());
+        return emitter;
+    }
+
+    private void publish() {
+        if (emitters.isEmpty()) {
+            return;
+        }
+        Execution execution = current;
+        if (execution != null && execution.isActive()) {
+            broadcast("metrics", execution.status());
+        }
+    }
+
+    private void broadcast(String event, LoadRunStatus status) {
+        for (SseEmitter emitter : emitters) {
+            send(emitter, event, status);
+        }
+    }
+
+    private void send(SseEmitter emitter, String event, LoadRunStatus status) {
+        try {
+            emitter.send(SseEmitter.event().name(event).data(status, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            emitters.remove(emitter);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        Execution execution = current;
+        if (execution != null && execution.isActive()) {
+            execution.stop();
+        }
+        publisher.shutdownNow();
+        for (SseEmitter emitter : emitters) {
+            emitter.complete();
+        }
+    }
+
+    /**
+     * 一次后台执行的压测
+     */
+    private final class Execution {
+        private final LoadTestConfig config;
+        private final LiveMetrics metrics = new LiveMetrics();
+        private final LoadRun run;
+        private final long startedAt = System.currentTimeMillis();
+        private volatile String state = LoadRunStatus.RUNNING;
+        private volatile long finishedAt;
+
+        Execution(LoadTestConfig config) {
+            this.config = config;
+            this.run = new LoadRun(config).addListener(metrics);
+        }
+
+        void execute() {
+            try {
+                run.run();
+                state = LoadRunStatus.STOPPING.equals(state) ? LoadRunStatus.STOPPED : LoadRunStatus.FINISHED;
+            } catch (RuntimeException e) {
+                System.err.println("压测异常结束: " + e.getMessage());
+                state = LoadRunStatus.FAILED;
+            } finally {
+                finishedAt = System.currentTimeMillis();
+                broadcast("finished", status());
+            }
+        }
+
+        void stop() {
+            state = LoadRunStatus.STOPPING;
+            run.stop();
+        }
+
+        boolean isActive() {
+            return finishedAt == 0;
+        }
+
+        LoadRunStatus status() {
+            String model = config.isOpenModel() ? config.getArrivalRate() + "次/秒" : config.getUsers() + "用户";
+            return new LoadRunStatus(state, model, startedAt, finishedAt, metrics.getActiveThreads(),
+                    metrics.getWindowSeconds(), metrics.snapshot());
+        }
+    }
+}
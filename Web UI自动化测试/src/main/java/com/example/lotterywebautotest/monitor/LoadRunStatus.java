@@ -0,0 +1,76 @@
+package com.example.lotterywebautotest.monitor;
+
+import com.example.lotterywebautotest.load.LiveSnapshot;
+
+import java.util.List;
+
+/**
+ * 应用内压测的状态和实时指标
+ */
+public class LoadRunStatus {
+
+    public static final String IDLE = "IDLE";
+    public static final String RUNNING = "RUNNING";
+    public static final String STOPPING = "STOPPING";
+    public static final String STOPPED = "STOPPED";
+    public static final String FINISHED = "FINISHED";
+    public static final String FAILED = "FAILED";
+
+    private final String state;
+    private final String model;
+    private final long startedAt;
+    private final long finishedAt;
+    private final int activeThreads;
+    private final int windowSeconds;
+    private final List<LiveSnapshot> transactions;
+
+    public LoadRunStatus(String state, String model, long startedAt, long finishedAt, int activeThreads,
+                         int windowSeconds, List<LiveSnapshot> transactions) {
+        this.state = state;
+        this.model = model;
+        this.startedAt = startedAt;
+        this.finishedAt = finishedAt;
+        this.activeThreads = activeThreads;
+        this.windowSeconds = windowSeconds;
+        this.transactions = transactions;
+    }
+
+    static LoadRunStatus idle() {
+        return new LoadRunStatus(IDLE, null, 0, 0, 0, 0, List.of());
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    /**
+     * 获取压测模型描述，如"20用户"或"60次/秒"
+     */
+    public String getModel() {
+        return model;
+    }
+
+    public long getStartedAt() {
+        return startedAt;
+    }
+
+    /**
+     * 获取结束时间
+     * @return 时间戳（毫秒），未结束时为0
+     */
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public int getActiveThreads() {
+        return activeThreads;
+    }
+
+    public int getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public List<LiveSnapshot> getTransactions() {
+        return transactions;
+    }
+}
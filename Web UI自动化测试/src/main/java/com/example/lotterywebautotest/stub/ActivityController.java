@@ -0,0 +1,44 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * 活动接口
+ */
+@RestController
+public class ActivityController {
+
+    private final LotteryStore store;
+
+    public ActivityController(LotteryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * 创建活动，仅管理员可操作
+     */
+    @PostMapping("/activity/activity/create")
+    public ApiResult<Map<String, Object>> create(@RequestHeader(value = "user_token", required = false) String userToken,
+                                                 @RequestBody ActivityRequest request) {
+        if (!store.authenticate(userToken).isAdmin()) {
+            throw new StubException(403, "无权限操作");
+        }
+        StubActivity activity = store.createActivity(request);
+        return ApiResult.success("活动创建成功", Map.of("activityId", activity.getActivityId()));
+    }
+
+    @GetMapping("/activity/activity/find-list")
+    public ApiResult<PageResult<StubActivity>> findList(@RequestParam(required = false) Integer pageNum,
+                                                       @RequestParam(required = false) Integer currentPage,
+                                                       @RequestParam(defaultValue = "10") int pageSize) {
+        int page = pageNum != null ? pageNum : currentPage != null ? currentPage : 1;
+        return ApiResult.success(PageResult.of(store.getActivities(), page, pageSize));
+    }
+}
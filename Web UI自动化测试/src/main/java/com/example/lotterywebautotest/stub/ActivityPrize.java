@@ -0,0 +1,67 @@
+package com.example.lotterywebautotest.stub;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 活动中的奖品及其库存
+ */
+public class ActivityPrize {
+
+    private final StubPrize prize;
+    private final String prizeTiers;
+    private final StripedStock stock;
+
+    /**
+     * 构造函数
+     * @param prize 奖品
+     * @param prizeTiers 奖品等级
+     * @param prizeAmount 库存
+     * @param stockStripes 库存分段数，小于等于0时按CPU核数
+     */
+    public ActivityPrize(StubPrize prize, String prizeTiers, int prizeAmount, int stockStripes) {
+        this.prize = prize;
+        this.prizeTiers = prizeTiers;
+        this.stock = new StripedStock(prizeAmount, stockStripes);
+    }
+
+    @JsonIgnore
+    public StubPrize getPrize() {
+        return prize;
+    }
+
+    public long getPrizeId() {
+        return prize.getPrizeId();
+    }
+
+    public String getPrizeName() {
+        return prize.getPrizeName();
+    }
+
+    public String getPrizeTiers() {
+        return prizeTiers;
+    }
+
+    public int getPrizeAmount() {
+        return stock.getTotal();
+    }
+
+    public int getRemaining() {
+        return stock.getRemaining();
+    }
+
+    /**
+     * 奖品是否可以被抽中：已启用且有库存
+     * @return 是否可用
+     */
+    public boolean isAvailable() {
+        return prize.isEnabled() && stock.getRemaining() > 0;
+    }
+
+    /**
+     * 扣减一件库存
+     * @return 是否扣减成功，奖品已禁用或库存为0时返回false
+     */
+    boolean take() {
+        return prize.isEnabled() && stock.take();
+    }
+}
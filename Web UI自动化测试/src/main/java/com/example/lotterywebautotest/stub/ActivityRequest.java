@@ -0,0 +1,107 @@
+package com.example.lotterywebautotest.stub;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 创建活动请求体，与 /activity/activity/create 接口一致
+ */
+public class ActivityRequest {
+
+    private String activityName;
+    private String description;
+    private List<PrizeItem> activityPrizeList = new ArrayList<>();
+    private List<UserItem> activityUserList = new ArrayList<>();
+
+    public String getActivityName() {
+        return activityName;
+    }
+
+    public void setActivityName(String activityName) {
+        this.activityName = activityName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public List<PrizeItem> getActivityPrizeList() {
+        return activityPrizeList;
+    }
+
+    public void setActivityPrizeList(List<PrizeItem> activityPrizeList) {
+        this.activityPrizeList = activityPrizeList;
+    }
+
+    public List<UserItem> getActivityUserList() {
+        return activityUserList;
+    }
+
+    public void setActivityUserList(List<UserItem> activityUserList) {
+        this.activityUserList = activityUserList;
+    }
+
+    /**
+     * 活动奖品
+     */
+    public static class PrizeItem {
+        private long prizeId;
+        private int prizeAmount;
+        private String prizeTiers;
+
+        public long getPrizeId() {
+            return prizeId;
+        }
+
+        public void setPrizeId(long prizeId) {
+            this.prizeId = prizeId;
+        }
+
+        public int getPrizeAmount() {
+            return prizeAmount;
+        }
+
+        public void setPrizeAmount(int prizeAmount) {
+            this.prizeAmount = prizeAmount;
+        }
+
+        /**
+         * 获取奖品等级，FIRST_PRIZE/SECOND_PRIZE/THIRD_PRIZE 或"一等奖"/"二等奖"/"三等奖"
+         */
+        public String getPrizeTiers() {
+            return prizeTiers;
+        }
+
+        public void setPrizeTiers(String prizeTiers) {
+            this.prizeTiers = prizeTiers;
+        }
+    }
+
+    /**
+     * 活动参与用户
+     */
+    public static class UserItem {
+        private long userId;
+        private String userName;
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public void setUserId(long userId) {
+            this.userId = userId;
+        }
+
+        public String getUserName() {
+            return userName;
+        }
+
+        public void setUserName(String userName) {
+            this.userName = userName;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.lotterywebautotest.stub;
+
+import java.util.Arrays;
+
+/**
+ * 按权重随机选择的别名表（Vose's alias method）
+ * 构建 O(n)，每次选择 O(1)：均匀选一列，再用一次比较决定取本列还是该列的别名，不分配对象。
+ * 表不可变，权重变化时整体重建后替换引用即可，读取方无需加锁。
+ */
+public class AliasTable {
+
+    private final double[] probability;
+    private final int[] alias;
+    private final double[] weights;
+    private final double totalWeight;
+
+    /**
+     * 构造函数
+     * @param weights 各项权重，不能为负，总和必须大于0；权重为0的项永远不会被选中
+     */
+    public AliasTable(double[] weights) {
+        int n = weights.length;
+        double total = 0;
+        for (double weight : weights) {
+            if (weight < 0 || Double.isNaN(weight) || Double.isInfinite(weight)) {
+                throw new IllegalArgumentException("权重无效: " + Arrays.toString(weights));
+            }
+            total += weight;
+        }
+        if (n == 0 || total <= 0) {
+            throw new IllegalArgumentException("权重总和必须大于0: " + Arrays.toString(weights));
+        }
+        this.weights = weights.clone();
+        this.totalWeight = total;
+        this.probability = new double[n];
+        this.alias = new int[n];
+
+        // 按平均值 1 缩放后分成小于1和不小于1两组，用数组模拟栈
+        double[] scaled = new double[n];
+        int[] small = new int[n];
+        int[] large = new int[n];
+        int smallCount = 0;
+        int largeCount = 0;
+        for (int i = 0; i < n; i++) {
+            scaled[i] = weights[i] * n / total;
+            if (scaled[i] < 1) {
+                small[smallCount++] = i;
+            } else {
+                large[largeCount++] = i;
+            }
+        }
+        while (smallCount > 0 && largeCount > 0) {
+            int less = small[--smallCount];
+            int more = large[--largeCount];
+            probability[less] = scaled[less];
+            alias[less] = more;
+            scaled[more] = (scaled[more] + scaled[less]) - 1;
+            if (scaled[more] < 1) {
+                small[smallCount++] = more;
+            } else {
+                large[largeCount++] = more;
+            }
+        }
+        // 剩余项只会因浮点误差偏离1，按1处理
+        while (largeCount > 0) {
+            int index = large[--largeCount];
+            probability[index] = 1;
+            alias[index] = index;
+        }
+        while (smallCount > 0) {
+            int index = small[--smallCount];
+            probability[index] = weights[index] > 0 ? 1 : 0;
+            alias[index] = weights[index] > 0 ? index : heaviest(weights);
+        }
+    }
+
+    private static int heaviest(double[] weights) {
+        int index = 0;
+        for (int i = 1; i < weights.length; i++) {
+            if (weights[i] > weights[index]) {
+                index = i;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * 按权重选择一项
+     * @param uniform [0, 1) 区间的均匀随机数
+     * @return 选中项的下标
+     */
+    public int sample(double uniform) {
+        double scaled = uniform * probability.length;
+        int column = Math.min((int) scaled, probability.length - 1);
+        return scaled - column < probability[column] ? column : alias[column];
+    }
+
+    public int size() {
+        return probability.length;
+    }
+
+    /**
+     * 获取某一项被选中的概率
+     * @param index 下标
+     * @return 概率
+     */
+    public double getProbability(int index) {
+        return weights[index] / totalWeight;
+    }
+
+    /**
+     * 由别名表本身反推各项被选中的概率，用于校验构建结果
+     */
+    double[] impliedProbabilities() {
+        int n = probability.length;
+        double[] implied = new double[n];
+        for (int column = 0; column < n; column++) {
+            implied[column] += probability[column] / n;
+            implied[alias[column]] += (1 - probability[column]) / n;
+        }
+        return implied;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.lotterywebautotest.stub;
+
+/**
+ * 统一响应体，与抽奖系统后端的 {code, msg, data} 格式一致
+ * 业务错误同样返回HTTP 200，通过code区分
+ */
+public class ApiResult<T> {
+
+    private final int code;
+    private final String msg;
+    private final T data;
+
+    private ApiResult(int code, String msg, T data) {
+        this.code = code;
+        this.msg = msg;
+        this.data = data;
+    }
+
+    public static <T> ApiResult<T> success(String msg, T data) {
+        return new ApiResult<>(200, msg, data);
+    }
+
+    public static <T> ApiResult<T> success(T data) {
+        return success("操作成功", data);
+    }
+
+    public static <T> ApiResult<T> fail(int code, String msg) {
+        return new ApiResult<>(code, msg, null);
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getMsg() {
+        return msg;
+    }
+
+    public T getData() {
+        return data;
+    }
+}
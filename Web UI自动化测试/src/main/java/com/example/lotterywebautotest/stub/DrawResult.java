@@ -0,0 +1,51 @@
+package com.example.lotterywebautotest.stub;
+
+/**
+ * 抽奖结果
+ */
+public class DrawResult {
+
+    private final GridCell cell;
+    private final boolean win;
+    private final Long recordId;
+    private final int remainingChances;
+
+    public DrawResult(GridCell cell, boolean win, Long recordId, int remainingChances) {
+        this.cell = cell;
+        this.win = win;
+        this.recordId = recordId;
+        this.remainingChances = remainingChances;
+    }
+
+    public boolean isWin() {
+        return win;
+    }
+
+    public int getGridIndex() {
+        return cell.getIndex();
+    }
+
+    public Long getPrizeId() {
+        return win ? cell.getPrizeId() : null;
+    }
+
+    public String getPrizeName() {
+        return win ? cell.getPrizeName() : GridCell.MISS_NAME;
+    }
+
+    public String getPrizeTiers() {
+        return win ? cell.getPrizeTiers() : null;
+    }
+
+    public Long getRecordId() {
+        return recordId;
+    }
+
+    /**
+     * 获取剩余抽奖次数
+     * @return 剩余次数，-1表示不限次数
+     */
+    public int getRemainingChances() {
+        return remainingChances;
+    }
+}
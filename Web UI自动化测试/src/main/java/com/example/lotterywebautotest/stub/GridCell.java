@@ -0,0 +1,54 @@
+package com.example.lotterywebautotest.stub;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 九宫格中的一格（中间为抽奖按钮，共8格），未关联奖品的格子为"谢谢参与"
+ */
+public class GridCell {
+
+    public static final String MISS_NAME = "谢谢参与";
+
+    private final int index;
+    private final ActivityPrize activityPrize;
+    private final double weight;
+
+    public GridCell(int index, ActivityPrize activityPrize, double weight) {
+        this.index = index;
+        this.activityPrize = activityPrize;
+        this.weight = weight;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    @JsonIgnore
+    public ActivityPrize getActivityPrize() {
+        return activityPrize;
+    }
+
+    public Long getPrizeId() {
+        return activityPrize == null ? null : activityPrize.getPrizeId();
+    }
+
+    public String getPrizeName() {
+        return activityPrize == null ? MISS_NAME : activityPrize.getPrizeName();
+    }
+
+    public String getPrizeTiers() {
+        return activityPrize == null ? null : activityPrize.getPrizeTiers();
+    }
+
+    public String getImageUrl() {
+        return activityPrize == null ? null : activityPrize.getPrize().getImageUrl();
+    }
+
+    /**
+     * 获取抽中该格的权重，所有格子权重之和为100
+     * @return 权重
+     */
+    public double getWeight() {
+        return weight;
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 抽奖接口：活动列表、九宫格、剩余次数、抽奖
+ */
+@RestController
+@RequestMapping("/api/lottery")
+public class LotteryController {
+
+    private final LotteryStore store;
+
+    public LotteryController(LotteryStore store) {
+        this.store = store;
+    }
+
+    @GetMapping("/activities")
+    public ApiResult<List<StubActivity>> activities(@RequestHeader(value = "user_token", required = false) String userToken) {
+        store.authenticate(userToken);
+        return ApiResult.success(store.getActivities());
+    }
+
+    @PostMapping("/grid")
+    public ApiResult<Map<String, Object>> grid(@RequestHeader(value = "user_token", required = false) String userToken,
+                                               @RequestBody Map<String, Object> body) {
+        store.authenticate(userToken);
+        StubActivity activity = store.getActivity(requireLong(body, "activityId"));
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("sessionId", UUID.randomUUID().toString());
+        data.put("gridList", activity.getGridList());
+        return ApiResult.success(data);
+    }
+
+    @GetMapping("/chances")
+    public ApiResult<Map<String, Object>> chances(@RequestHeader(value = "user_token", required = false) String userToken,
+                                                  @RequestParam long userId, @RequestParam long activityId) {
+        store.checkOwner(store.authenticate(userToken), userId);
+        return ApiResult.success(Map.of("remainingChances", store.getRemainingChances(userId, activityId)));
+    }
+
+    @PostMapping("/draw")
+    public ApiResult<DrawResult> draw(@RequestHeader(value = "user_token", required = false) String userToken,
+                                      @RequestBody Map<String, Object> body) {
+        long userId = requireLong(body, "userId");
+        store.checkOwner(store.authenticate(userToken), userId);
+        DrawResult result = store.draw(userId, requireLong(body, "activityId"));
+        return ApiResult.success(result.isWin() ? "恭喜中奖" : "未中奖", result);
+    }
+
+    private static long requireLong(Map<String, Object> body, String name) {
+        Object value = body.get(name);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        try {
+            return Long.parseLong(String.valueOf(value));
+        } catch (NumberFormatException e) {
+            throw new StubException(400, "参数错误: " + name);
+        }
+    }
+}
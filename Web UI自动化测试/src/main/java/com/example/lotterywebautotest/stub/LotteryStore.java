@@ -0,0 +1,360 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地抽奖后端的内存数据
+ * 启动时按配置生成用户、奖品和活动，账号与测试配置中的账号一致；所有数据在进程退出后丢弃
+ */
+@Component
+public class LotteryStore {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String[] TIERS = {"FIRST_PRIZE", "SECOND_PRIZE", "THIRD_PRIZE"};
+    private static final int GRID_SIZE = 8;
+
+    private static final String[] TIER_NAMES = {"一等奖", "二等奖", "三等奖"};
+
+    private final int drawChances;
+    private final int stockStripes;
+    private final double[] tierWeights;
+
+    private final Map<String, StubUser> usersByLoginName = new ConcurrentHashMap<>();
+    private final Map<String, StubUser> sessions = new ConcurrentHashMap<>();
+    private final List<StubPrize> prizes = new CopyOnWriteArrayList<>();
+    private final Map<Long, StubActivity> activities = new ConcurrentSkipListMap<>();
+    private final Map<Long, Deque<PrizeRecord>> recordsByUser = new ConcurrentHashMap<>();
+    private final AtomicLong userIds = new AtomicLong();
+    private final AtomicLong prizeIds = new AtomicLong();
+    private final AtomicLong activityIds = new AtomicLong();
+    private final AtomicLong recordIds = new AtomicLong();
+
+    /**
+     * 构造函数
+     * @param activityCount 活动数量，活动ID从1开始连续编号（JMeter脚本使用活动17）
+     * @param prizeCount 奖品数量
+     * @param prizeStock 每个活动中每种奖品的库存
+     * @param drawChances 每个用户在每个活动中的抽奖次数，小于等于0表示不限次数
+     * @param tierWeights 一、二、三等奖格子的中奖权重（百分比），其余权重平均分给"谢谢参与"格子
+     * @param stockStripes 库存和中奖记录的分段数，0表示按CPU核数
+     */
+    public LotteryStore(@Value("${lottery.stub.activities:20}") int activityCount,
+                        @Value("${lottery.stub.prizes:10}") int prizeCount,
+                        @Value("${lottery.stub.prize-stock:100}") int prizeStock,
+                        @Value("${lottery.stub.draw-chances:3}") int drawChances,
+                        @Value("${lottery.stub.tier-weights:1,5,20}") double[] tierWeights,
+                        @Value("${lottery.stub.stock-stripes:0}") int stockStripes) {
+        if (tierWeights.length < TIERS.length) {
+            throw new IllegalArgumentException("lottery.stub.tier-weights 需要配置" + TIERS.length + "个权重");
+        }
+        this.drawChances = drawChances;
+        this.stockStripes = stockStripes;
+        this.tierWeights = tierWeights.clone();
+        addUser("普通用户1", "gyuvhj45@gmail.com", "13800138000", "123456", StubUser.USER);
+        addUser("测试管理员1", "254590131@qq.com", "13800138002", "123456", StubUser.ADMIN);
+        for (int i = 1; i <= prizeCount; i++) {
+            createPrize("奖品" + i, "本地测试奖品" + i, BigDecimal.valueOf(i * 100L));
+        }
+        for (int i = 1; i <= activityCount; i++) {
+            long activityId = activityIds.incrementAndGet();
+            List<ActivityPrize> activityPrizes = new ArrayList<>();
+            for (int tier = 0; tier < TIERS.length && !prizes.isEmpty(); tier++) {
+                StubPrize prize = prizes.get((int) ((activityId + tier) % prizes.size()));
+                activityPrizes.add(new ActivityPrize(prize, TIERS[tier], prizeStock, stockStripes));
+            }
+            activities.put(activityId, buildActivity(activityId, "本地测试活动" + activityId, "本地抽奖后端生成的活动",
+                    activityPrizes));
+        }
+    }
+
+    private StubActivity buildActivity(long activityId, String name, String description,
+                                       List<ActivityPrize> activityPrizes) {
+        double prizeWeight = 0;
+        for (ActivityPrize activityPrize : activityPrizes) {
+            prizeWeight += tierWeights[tierIndex(activityPrize.getPrizeTiers())];
+        }
+        double missWeight = Math.max(0, 100 - prizeWeight) / Math.max(1, GRID_SIZE - activityPrizes.size());
+
+        // 奖品均匀分布在九宫格中，其余为"谢谢参与"
+        List<GridCell> grid = new ArrayList<>();
+        int step = GRID_SIZE / Math.max(1, activityPrizes.size());
+        for (int index = 0; index < GRID_SIZE; index++) {
+            int prizeIndex = index % step == 0 ? index / step : -1;
+            if (prizeIndex >= 0 && prizeIndex < activityPrizes.size()) {
+                ActivityPrize activityPrize = activityPrizes.get(prizeIndex);
+                grid.add(new GridCell(index, activityPrize, tierWeights[tierIndex(activityPrize.getPrizeTiers())]));
+            } else {
+                grid.add(new GridCell(index, null, missWeight));
+            }
+        }
+        return new StubActivity(activityId, name, description, activityPrizes, grid, stockStripes);
+    }
+
+    /**
+     * 奖品等级对应的权重下标，兼容 FIRST_PRIZE 和"一等奖"两种写法
+     */
+    private static int tierIndex(String prizeTiers) {
+        for (int i = 0; i < TIERS.length; i++) {
+            if (TIERS[i].equals(prizeTiers) || TIER_NAMES[i].equals(prizeTiers)) {
+                return i;
+            }
+        }
+        throw new StubException(400, "奖品等级无效: " + prizeTiers);
+    }
+
+    /**
+     * 创建奖品
+     * @return 新奖品
+     */
+    public StubPrize createPrize(String prizeName, String description, BigDecimal price) {
+        if (prizeName == null || prizeName.isBlank() || price == null || price.signum() < 0) {
+            throw new StubException(400, "奖品信息不完整");
+        }
+        long prizeId = prizeIds.incrementAndGet();
+        StubPrize prize = new StubPrize(prizeId, prizeName, description, price, "/prize/pic/prize" + prizeId + ".png");
+        prizes.add(prize);
+        return prize;
+    }
+
+    /**
+     * 创建活动，奖品最多占满九宫格的8个格子，中奖权重按奖品等级取 lottery.stub.tier-weights
+     * @param request 活动名称、描述和奖品列表；参与用户列表不做限制
+     * @return 新活动
+     */
+    public StubActivity createActivity(ActivityRequest request) {
+        List<ActivityRequest.PrizeItem> items = request.getActivityPrizeList();
+        if (request.getActivityName() == null || request.getActivityName().isBlank() || items == null
+                || items.isEmpty() || items.size() > GRID_SIZE) {
+            throw new StubException(400, "活动信息不完整，奖品数量需要在1到" + GRID_SIZE + "之间");
+        }
+        List<ActivityPrize> activityPrizes = new ArrayList<>();
+        for (ActivityRequest.PrizeItem item : items) {
+            tierIndex(item.getPrizeTiers());
+            if (item.getPrizeAmount() <= 0) {
+                throw new StubException(400, "奖品数量必须大于0");
+            }
+            activityPrizes.add(new ActivityPrize(getPrize(item.getPrizeId()), item.getPrizeTiers(),
+                    item.getPrizeAmount(), stockStripes));
+        }
+        long activityId = activityIds.incrementAndGet();
+        StubActivity activity = buildActivity(activityId, request.getActivityName(), request.getDescription(),
+                activityPrizes);
+        activities.put(activityId, activity);
+        return activity;
+    }
+
+    private StubUser addUser(String userName, String email, String phoneNumber, String password, String identity) {
+        StubUser user = new StubUser(userIds.incrementAndGet(), userName, email, phoneNumber, password, identity);
+        usersByLoginName.put(email, user);
+        usersByLoginName.put(phoneNumber, user);
+        return user;
+    }
+
+    /**
+     * 注册用户
+     * @return 新用户
+     */
+    public synchronized StubUser register(String userName, String email, String phoneNumber, String password,
+                                          String identity) {
+        if (email == null || password == null || password.length() < 6) {
+            throw new StubException(400, "注册信息不完整");
+        }
+        if (usersByLoginName.containsKey(email) || (phoneNumber != null && usersByLoginName.containsKey(phoneNumber))) {
+            throw new StubException(400, "邮箱或手机号已存在");
+        }
+        return addUser(userName, email, phoneNumber == null ? "" : phoneNumber, password,
+                StubUser.ADMIN.equals(identity) ? StubUser.ADMIN : StubUser.USER);
+    }
+
+    /**
+     * 密码登录
+     * @param loginName 邮箱或手机号
+     * @param password 密码
+     * @return 登录用户及其token
+     */
+    public Map<String, Object> login(String loginName, String password) {
+        StubUser user = loginName == null ? null : usersByLoginName.get(loginName);
+        if (user == null || !user.getPassword().equals(password)) {
+            throw new StubException(400, "用户名或密码错误");
+        }
+        String token = UUID.randomUUID().toString();
+        sessions.put(token, user);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("token", token);
+        data.put("identity", user.getIdentity());
+        data.put("userId", user.getUserId());
+        return data;
+    }
+
+    /**
+     * 按请求头获取当前用户，支持 user_token 和 Authorization: Bearer 两种方式
+     * @param userToken user_token请求头
+     * @param authorization Authorization请求头
+     * @return 用户
+     */
+    public StubUser authenticate(String userToken, String authorization) {
+        if ((userToken == null || userToken.isEmpty()) && authorization != null && authorization.startsWith("Bearer ")) {
+            return authenticate(authorization.substring("Bearer ".length()));
+        }
+        return authenticate(userToken);
+    }
+
+    /**
+     * 按token获取当前用户
+     * @param token 登录token
+     * @return 用户
+     */
+    public StubUser authenticate(String token) {
+        if (token == null || token.isEmpty()) {
+            throw new StubException(401, "未提供Token");
+        }
+        StubUser user = sessions.get(token);
+        if (user == null) {
+            throw new StubException(401, "Token无效");
+        }
+        return user;
+    }
+
+    /**
+     * 校验当前用户只能访问自己的数据，管理员不受限制
+     */
+    public void checkOwner(StubUser current, long userId) {
+        if (!current.isAdmin() && current.getUserId() != userId) {
+            throw new StubException(403, "无权访问其他用户信息");
+        }
+    }
+
+    public List<StubPrize> getPrizes() {
+        return prizes;
+    }
+
+    public List<StubActivity> getActivities() {
+        return List.copyOf(activities.values());
+    }
+
+    public StubActivity getActivity(long activityId) {
+        StubActivity activity = activities.get(activityId);
+        if (activity == null) {
+            throw new StubException(404, "活动不存在: " + activityId);
+        }
+        return activity;
+    }
+
+    public StubPrize getPrize(long prizeId) {
+        for (StubPrize prize : prizes) {
+            if (prize.getPrizeId() == prizeId) {
+                return prize;
+            }
+        }
+        throw new StubException(404, "奖品不存在: " + prizeId);
+    }
+
+    /**
+     * 启用或禁用奖品，包含该奖品的活动随即重建抽奖概率表
+     * @param prizeId 奖品ID
+     * @param status ENABLED 或 DISABLED
+     * @return 奖品
+     */
+    public StubPrize updatePrizeStatus(long prizeId, String status) {
+        if (!StubPrize.ENABLED.equals(status) && !StubPrize.DISABLED.equals(status)) {
+            throw new StubException(400, "奖品状态无效: " + status);
+        }
+        StubPrize prize = getPrize(prizeId);
+        prize.setStatus(status);
+        for (StubActivity activity : activities.values()) {
+            activity.refreshDrawTableIfStale();
+        }
+        return prize;
+    }
+
+    /**
+     * 获取剩余抽奖次数
+     * @return 剩余次数，-1表示不限次数
+     */
+    public int getRemainingChances(long userId, long activityId) {
+        if (drawChances <= 0) {
+            return -1;
+        }
+        return Math.max(0, drawChances - getActivity(activityId).getDraws(userId));
+    }
+
+    /**
+     * 抽奖：先占用一次抽奖机会，再按别名表O(1)选中一格，选中奖品且扣减库存成功时生成中奖记录，否则视为"谢谢参与"
+     * 全程无锁，抽奖次数和库存都通过CAS扣减，不会超抽也不会超卖
+     * @param userId 用户ID
+     * @param activityId 活动ID
+     * @return 抽奖结果
+     */
+    public DrawResult draw(long userId, long activityId) {
+        StubActivity activity = getActivity(activityId);
+        int draws = activity.tryAddDraw(userId, drawChances);
+        if (draws < 0) {
+            throw new StubException(400, "抽奖次数已用完");
+        }
+        int remaining = drawChances > 0 ? drawChances - draws : -1;
+
+        GridCell cell = activity.pickCell(ThreadLocalRandom.current().nextDouble());
+        ActivityPrize prize = cell.getActivityPrize();
+        if (prize == null) {
+            return new DrawResult(cell, false, null, remaining);
+        }
+        if (!prize.take()) {
+            // 别名表还未反映售罄或禁用，按未中奖处理并重建
+            activity.refreshDrawTableIfStale();
+            return new DrawResult(cell, false, null, remaining);
+        }
+        if (!prize.isAvailable()) {
+            // 刚抽走最后一件
+            activity.refreshDrawTableIfStale();
+        }
+        PrizeRecord record = new PrizeRecord(recordIds.incrementAndGet(), userId, activityId, prize,
+                LocalDateTime.now().format(TIME_FORMAT));
+        recordsByUser.computeIfAbsent(userId, id -> new ConcurrentLinkedDeque<>()).addFirst(record);
+        activity.addRecord(record);
+        return new DrawResult(cell, true, record.getId(), remaining);
+    }
+
+    /**
+     * 查询中奖记录，按时间倒序
+     * @param userId 用户ID，为null时不限用户
+     * @param activityId 活动ID，为null时不限活动
+     * @return 中奖记录
+     */
+    public List<PrizeRecord> findRecords(Long userId, Long activityId) {
+        Collection<PrizeRecord> source;
+        if (userId != null) {
+            source = recordsByUser.getOrDefault(userId, new ConcurrentLinkedDeque<>());
+        } else if (activityId != null) {
+            source = getActivity(activityId).getRecords();
+        } else {
+            return List.of();
+        }
+        List<PrizeRecord> result = new ArrayList<>();
+        for (PrizeRecord record : source) {
+            if (activityId == null || record.getActivityId() == activityId) {
+                result.add(record);
+            }
+        }
+        result.sort(Comparator.comparingLong(PrizeRecord::getId).reversed());
+        return result;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.lotterywebautotest.stub;
+
+import java.util.List;
+
+/**
+ * 分页结果
+ */
+public class PageResult<T> {
+
+    private final long total;
+    private final List<T> records;
+
+    public PageResult(long total, List<T> records) {
+        this.total = total;
+        this.records = records;
+    }
+
+    /**
+     * 按页码截取列表
+     * @param all 全部数据
+     * @param pageNum 页码，从1开始
+     * @param pageSize 每页条数
+     * @return 分页结果
+     */
+    public static <T> PageResult<T> of(List<T> all, int pageNum, int pageSize) {
+        int size = Math.max(1, pageSize);
+        int from = Math.min(all.size(), (Math.max(1, pageNum) - 1) * size);
+        int to = Math.min(all.size(), from + size);
+        return new PageResult<>(all.size(), List.copyOf(all.subList(from, to)));
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public List<T> getRecords() {
+        return records;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * 奖品接口
+ */
+@RestController
+public class PrizeController {
+
+    private final LotteryStore store;
+
+    public PrizeController(LotteryStore store) {
+        this.store = store;
+    }
+
+    /**
+     * 分页查询奖品，页码参数兼容 pageNum（JMeter脚本）和 currentPage（接口测试）
+     */
+    @GetMapping("/prize/find-list")
+    public ApiResult<PageResult<StubPrize>> findList(@RequestParam(required = false) Integer pageNum,
+                                                    @RequestParam(required = false) Integer currentPage,
+                                                    @RequestParam(defaultValue = "10") int pageSize) {
+        int page = pageNum != null ? pageNum : currentPage != null ? currentPage : 1;
+        return ApiResult.success(PageResult.of(store.getPrizes(), page, pageSize));
+    }
+
+    /**
+     * 启用或禁用奖品，仅管理员可操作；禁用后各活动立即停止抽出该奖品
+     */
+    @PutMapping("/prize/toggle-status/{prizeId}")
+    public ApiResult<StubPrize> toggleStatus(@RequestHeader(value = "user_token", required = false) String userToken,
+                                             @PathVariable long prizeId, @RequestParam String status) {
+        if (!store.authenticate(userToken).isAdmin()) {
+            throw new StubException(403, "无权限操作");
+        }
+        return ApiResult.success("奖品状态更新成功", store.updatePrizeStatus(prizeId, status));
+    }
+
+    /**
+     * 创建奖品，仅管理员可操作
+     */
+    @PostMapping("/prize/create")
+    public ApiResult<Map<String, Object>> create(@RequestHeader(value = "user_token", required = false) String userToken,
+                                                 @RequestBody Map<String, Object> body) {
+        if (!store.authenticate(userToken).isAdmin()) {
+            throw new StubException(403, "无权限操作");
+        }
+        Object price = body.get("price");
+        StubPrize prize = store.createPrize((String) body.get("prizeName"), (String) body.get("description"),
+                price == null ? null : new BigDecimal(price.toString()));
+        return ApiResult.success("奖品创建成功", Map.of("prizeId", prize.getPrizeId()));
+    }
+}
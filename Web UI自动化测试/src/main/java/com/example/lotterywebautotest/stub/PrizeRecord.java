@@ -0,0 +1,81 @@
+package com.example.lotterywebautotest.stub;
+
+import java.math.BigDecimal;
+
+/**
+ * 用户中奖记录，字段与 /api/user-prize-record 接口一致
+ */
+public class PrizeRecord {
+
+    public static final String COMPLETED = "COMPLETED";
+
+    private final long id;
+    private final long userId;
+    private final long activityId;
+    private final long prizeId;
+    private final String prizeName;
+    private final String prizeTiers;
+    private final String prizeImageUrl;
+    private final BigDecimal prizePrice;
+    private final String winTime;
+
+    public PrizeRecord(long id, long userId, long activityId, ActivityPrize prize, String winTime) {
+        this.id = id;
+        this.userId = userId;
+        this.activityId = activityId;
+        this.prizeId = prize.getPrizeId();
+        this.prizeName = prize.getPrizeName();
+        this.prizeTiers = prize.getPrizeTiers();
+        this.prizeImageUrl = prize.getPrize().getImageUrl();
+        this.prizePrice = prize.getPrize().getPrice();
+        this.winTime = winTime;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public long getActivityId() {
+        return activityId;
+    }
+
+    public long getPrizeId() {
+        return prizeId;
+    }
+
+    public String getPrizeName() {
+        return prizeName;
+    }
+
+    public String getPrizeTiers() {
+        return prizeTiers;
+    }
+
+    public String getPrizeImageUrl() {
+        return prizeImageUrl;
+    }
+
+    public BigDecimal getPrizePrice() {
+        return prizePrice;
+    }
+
+    public String getWinTime() {
+        return winTime;
+    }
+
+    public String getStatus() {
+        return COMPLETED;
+    }
+
+    public String getCreateTime() {
+        return winTime;
+    }
+
+    public String getUpdateTime() {
+        return winTime;
+    }
+}
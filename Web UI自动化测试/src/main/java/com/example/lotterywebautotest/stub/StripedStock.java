@@ -0,0 +1,78 @@
+package com.example.lotterywebautotest.stub;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 分段库存计数器
+ * 库存平均分到多个段中，每段单独CAS扣减，段之间相隔一个缓存行，避免多核同时抽奖时争用同一个计数器。
+ * 线程按线程ID选择起始段，本段扣完后依次尝试其余段；库存只减不增，所以所有段都读到0时一定已经售罄，不会超卖也不会误判售罄。
+ */
+public class StripedStock {
+
+    /**
+     * 每段占用的int个数（64字节缓存行）
+     */
+    private static final int PADDING = 16;
+
+    private final AtomicIntegerArray cells;
+    private final int stripes;
+    private final int total;
+
+    /**
+     * 构造函数
+     * @param total 总库存
+     * @param stripes 段数，小于等于0时按CPU核数
+     */
+    public StripedStock(int total, int stripes) {
+        this.stripes = stripes > 0 ? stripes : Runtime.getRuntime().availableProcessors();
+        this.total = total;
+        this.cells = new AtomicIntegerArray(this.stripes * PADDING);
+        for (int i = 0; i < this.stripes; i++) {
+            cells.set(i * PADDING, total / this.stripes + (i < total % this.stripes ? 1 : 0));
+        }
+    }
+
+    /**
+     * 扣减一件库存
+     * @return 是否扣减成功，售罄时返回false
+     */
+    public boolean take() {
+        int start = probe();
+        for (int i = 0; i < stripes; i++) {
+            int index = ((start + i) % stripes) * PADDING;
+            int current;
+            while ((current = cells.get(index)) > 0) {
+                if (cells.compareAndSet(index, current, current - 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 获取剩余库存，并发扣减时为近似值
+     * @return 剩余库存
+     */
+    public int getRemaining() {
+        int sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    private int probe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (hash >>> 1) % stripes;
+    }
+}
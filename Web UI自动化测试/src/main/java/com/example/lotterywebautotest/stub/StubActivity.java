@@ -0,0 +1,196 @@
+package com.example.lotterywebautotest.stub;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 抽奖活动
+ * 抽奖路径上不加锁：格子按别名表O(1)选择，库存为分段CAS计数器，用户已抽次数为每个用户一个CAS计数器，
+ * 中奖记录按用户ID分段保存，不同用户的抽奖互不争用。
+ * 奖品售罄或被禁用时重建别名表，该格的权重转给"谢谢参与"格子，其他奖品的中奖概率不变
+ */
+public class StubActivity {
+
+    public static final String RUNNING = "RUNNING";
+
+    private final long activityId;
+    private final String activityName;
+    private final String description;
+    private final List<ActivityPrize> prizes;
+    private final List<GridCell> gridList;
+    private final Map<Long, AtomicInteger> drawsByUser = new ConcurrentHashMap<>();
+    private final List<Deque<PrizeRecord>> recordShards;
+    private volatile AliasTable drawTable;
+
+    public StubActivity(long activityId, String activityName, String description,
+                        List<ActivityPrize> prizes, List<GridCell> gridList, int recordShards) {
+        this.activityId = activityId;
+        this.activityName = activityName;
+        this.description = description;
+        this.prizes = List.copyOf(prizes);
+        this.gridList = List.copyOf(gridList);
+        int shards = recordShards > 0 ? recordShards : Runtime.getRuntime().availableProcessors();
+        this.recordShards = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++) {
+            this.recordShards.add(new ConcurrentLinkedDeque<>());
+        }
+        refreshDrawTable();
+    }
+
+    public long getActivityId() {
+        return activityId;
+    }
+
+    public String getActivityName() {
+        return activityName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getStatus() {
+        return RUNNING;
+    }
+
+    public boolean isValid() {
+        return true;
+    }
+
+    public List<ActivityPrize> getPrizes() {
+        return prizes;
+    }
+
+    @JsonIgnore
+    public List<GridCell> getGridList() {
+        return gridList;
+    }
+
+    /**
+     * 获取用户在本活动中已抽奖的次数
+     * @param userId 用户ID
+     * @return 已抽次数
+     */
+    @JsonIgnore
+    public int getDraws(long userId) {
+        AtomicInteger draws = drawsByUser.get(userId);
+        return draws == null ? 0 : draws.get();
+    }
+
+    /**
+     * 占用一次抽奖机会
+     * @param userId 用户ID
+     * @param limit 次数上限，小于等于0表示不限
+     * @return 占用后的已抽次数，次数已用完时返回-1
+     */
+    int tryAddDraw(long userId, int limit) {
+        AtomicInteger draws = drawsByUser.computeIfAbsent(userId, id -> new AtomicInteger());
+        if (limit <= 0) {
+            return draws.incrementAndGet();
+        }
+        int current;
+        while ((current = draws.get()) < limit) {
+            if (draws.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 按当前别名表选择一个格子
+     * @param uniform [0, 1) 区间的均匀随机数
+     * @return 选中的格子
+     */
+    GridCell pickCell(double uniform) {
+        return gridList.get(drawTable.sample(uniform));
+    }
+
+    /**
+     * 获取格子当前被抽中的概率
+     * @param index 格子下标
+     * @return 概率
+     */
+    public double getCellProbability(int index) {
+        return drawTable.getProbability(index);
+    }
+
+    /**
+     * 当前别名表仍可能抽中的格子中有奖品不可用时重建别名表
+     * 只在售罄、禁用或启用奖品时调用，多个线程同时发现售罄时只重建一次
+     */
+    void refreshDrawTableIfStale() {
+        AliasTable current = drawTable;
+        for (GridCell cell : gridList) {
+            ActivityPrize prize = cell.getActivityPrize();
+            if (prize != null && cell.getWeight() > 0
+                    && prize.isAvailable() == (current.getProbability(cell.getIndex()) == 0)) {
+                synchronized (this) {
+                    if (drawTable == current) {
+                        refreshDrawTable();
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * 按奖品当前状态重建别名表：不可用奖品格子的权重平均分给"谢谢参与"格子，没有这类格子时按比例分给其余格子
+     */
+    private void refreshDrawTable() {
+        double[] weights = new double[gridList.size()];
+        double released = 0;
+        int missCells = 0;
+        for (GridCell cell : gridList) {
+            ActivityPrize prize = cell.getActivityPrize();
+            if (prize == null) {
+                missCells++;
+                weights[cell.getIndex()] = cell.getWeight();
+            } else if (prize.isAvailable()) {
+                weights[cell.getIndex()] = cell.getWeight();
+            } else {
+                released += cell.getWeight();
+            }
+        }
+        for (GridCell cell : gridList) {
+            if (cell.getActivityPrize() == null) {
+                weights[cell.getIndex()] += released / missCells;
+            }
+        }
+        double total = 0;
+        for (double weight : weights) {
+            total += weight;
+        }
+        if (total <= 0) {
+            // 所有奖品都不可用且没有"谢谢参与"格子，任选一格都是未中奖
+            Arrays.fill(weights, 1);
+        }
+        drawTable = new AliasTable(weights);
+    }
+
+    void addRecord(PrizeRecord record) {
+        recordShards.get((int) Math.floorMod(record.getUserId(), (long) recordShards.size())).addFirst(record);
+    }
+
+    /**
+     * 获取本活动的全部中奖记录（未排序）
+     * @return 中奖记录
+     */
+    @JsonIgnore
+    public List<PrizeRecord> getRecords() {
+        List<PrizeRecord> records = new ArrayList<>();
+        for (Deque<PrizeRecord> shard : recordShards) {
+            records.addAll(shard);
+        }
+        return records;
+    }
+}
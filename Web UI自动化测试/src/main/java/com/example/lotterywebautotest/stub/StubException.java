@@ -0,0 +1,20 @@
+package com.example.lotterywebautotest.stub;
+
+/**
+ * 业务异常，由 {@link StubExceptionHandler} 转换为带业务码的响应
+ */
+public class StubException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int code;
+
+    public StubException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public int getCode() {
+        return code;
+    }
+}
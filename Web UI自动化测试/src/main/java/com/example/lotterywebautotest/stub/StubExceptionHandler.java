@@ -0,0 +1,16 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * 将业务异常转换为 {code, msg, data: null} 响应
+ */
+@RestControllerAdvice
+public class StubExceptionHandler {
+
+    @ExceptionHandler(StubException.class)
+    public ApiResult<Void> handleStubException(StubException e) {
+        return ApiResult.fail(e.getCode(), e.getMessage());
+    }
+}
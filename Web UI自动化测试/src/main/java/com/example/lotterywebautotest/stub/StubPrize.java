@@ -0,0 +1,59 @@
+package com.example.lotterywebautotest.stub;
+
+import java.math.BigDecimal;
+
+/**
+ * 奖品
+ */
+public class StubPrize {
+
+    public static final String ENABLED = "ENABLED";
+    public static final String DISABLED = "DISABLED";
+
+    private final long prizeId;
+    private final String prizeName;
+    private final String description;
+    private final BigDecimal price;
+    private final String imageUrl;
+    private volatile String status = ENABLED;
+
+    public StubPrize(long prizeId, String prizeName, String description, BigDecimal price, String imageUrl) {
+        this.prizeId = prizeId;
+        this.prizeName = prizeName;
+        this.description = description;
+        this.price = price;
+        this.imageUrl = imageUrl;
+    }
+
+    public long getPrizeId() {
+        return prizeId;
+    }
+
+    public String getPrizeName() {
+        return prizeName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isEnabled() {
+        return ENABLED.equals(status);
+    }
+
+    void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.lotterywebautotest.stub;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * 用户
+ */
+public class StubUser {
+
+    public static final String USER = "USER";
+    public static final String ADMIN = "ADMIN";
+
+    private final long userId;
+    private final String userName;
+    private final String email;
+    private final String phoneNumber;
+    private final String password;
+    private final String identity;
+
+    public StubUser(long userId, String userName, String email, String phoneNumber, String password, String identity) {
+        this.userId = userId;
+        this.userName = userName;
+        this.email = email;
+        this.phoneNumber = phoneNumber;
+        this.password = password;
+        this.identity = identity;
+    }
+
+    public long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    @JsonIgnore
+    public String getPassword() {
+        return password;
+    }
+
+    public String getIdentity() {
+        return identity;
+    }
+
+    public boolean isAdmin() {
+        return ADMIN.equals(identity);
+    }
+}
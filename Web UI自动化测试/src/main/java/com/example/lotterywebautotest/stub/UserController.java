@@ -0,0 +1,52 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 用户与认证接口：注册、密码登录、当前用户、Token校验
+ */
+@RestController
+public class UserController {
+
+    private final LotteryStore store;
+
+    public UserController(LotteryStore store) {
+        this.store = store;
+    }
+
+    @PostMapping("/user/register")
+    public ApiResult<Map<String, Object>> register(@RequestBody Map<String, String> body) {
+        StubUser user = store.register(body.get("name"), body.get("mail"), body.get("phoneNumber"),
+                body.get("password"), body.get("identity"));
+        return ApiResult.success("注册成功", Map.of("userId", user.getUserId()));
+    }
+
+    @PostMapping("/user/password/login")
+    public ApiResult<Map<String, Object>> login(@RequestBody Map<String, String> body) {
+        return ApiResult.success("登录成功", store.login(body.get("loginName"), body.get("password")));
+    }
+
+    @GetMapping({"/user/current", "/auth/current-user"})
+    public ApiResult<StubUser> currentUser(@RequestHeader(value = "user_token", required = false) String userToken,
+                                           @RequestHeader(value = "Authorization", required = false) String authorization) {
+        return ApiResult.success(store.authenticate(userToken, authorization));
+    }
+
+    @GetMapping("/auth/verify")
+    public ApiResult<Map<String, Object>> verify(@RequestHeader(value = "user_token", required = false) String userToken,
+                                                 @RequestHeader(value = "Authorization", required = false) String authorization) {
+        StubUser user = store.authenticate(userToken, authorization);
+        Map<String, Object> data = new LinkedHashMap<>();
+        data.put("userId", user.getUserId());
+        data.put("identity", user.getIdentity());
+        data.put("valid", true);
+        return ApiResult.success("Token验证成功", data);
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.lotterywebautotest.stub;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * 用户中奖记录接口
+ * 与后端一致，data直接返回记录数组；分页参数只截取数组，不返回total
+ */
+@RestController
+@RequestMapping("/api/user-prize-record")
+public class UserPrizeRecordController {
+
+    private final LotteryStore store;
+
+    public UserPrizeRecordController(LotteryStore store) {
+        this.store = store;
+    }
+
+    @GetMapping("/user/{userId}")
+    public ApiResult<List<PrizeRecord>> byUser(@RequestHeader(value = "user_token", required = false) String userToken,
+                                               @PathVariable long userId,
+                                               @RequestParam(defaultValue = "1") int pageNum,
+                                               @RequestParam(defaultValue = "1000") int pageSize) {
+        store.checkOwner(store.authenticate(userToken), userId);
+        return ApiResult.success(PageResult.of(store.findRecords(userId, null), pageNum, pageSize).getRecords());
+    }
+
+    @GetMapping("/activity/{activityId}")
+    public ApiResult<List<PrizeRecord>> byActivity(@RequestHeader(value = "user_token", required = false) String userToken,
+                                                   @PathVariable long activityId) {
+        store.authenticate(userToken);
+        return ApiResult.success(store.findRecords(null, activityId));
+    }
+
+    @GetMapping("/user/{userId}/activity/{activityId}")
+    public ApiResult<List<PrizeRecord>> byUserAndActivity(
+            @RequestHeader(value = "user_token", required = false) String userToken,
+            @PathVariable long userId, @PathVariable long activityId) {
+        store.checkOwner(store.authenticate(userToken), userId);
+        return ApiResult.success(store.findRecords(userId, activityId));
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.lotterywebautotest.utils;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 延迟直方图（HDR风格）
+ * 以微秒记录样本，按2的幂分段、每段128个线性子桶，相对误差不超过1%，内存占用固定且与样本数无关；支持多线程并发记录
+ * UI测试的重复采样和压测的实时指标（{@code load.LiveMetrics}）共用
+ */
+public class LatencyHistogram {
+
+    /**
+     * 每个2的幂区间内的子桶数量（2^7）
+     */
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT << 1;
+
+    /**
+     * 小于该值的样本精确记录
+     */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT;
+
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS - 1) * SUB_BUCKET_HALF_COUNT;
+
+    /**
+     * 导出时输出的百分位
+     */
+    private static final double[] EXPORT_PERCENTILES = {0, 10, 20, 30, 40, 50, 60, 70, 75, 80, 85, 90, 95, 97.5, 99, 99.9, 100};
+
+    private final String name;
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong minMicros = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * 构造函数
+     * @param name 直方图名称
+     */
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * 记录一个样本
+     * @param nanos 耗时（纳秒）
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(Math.max(0, nanos / 1000));
+    }
+
+    /**
+     * 记录一个样本
+     * @param micros 耗时（微秒）
+     */
+    public void recordMicros(long micros) {
+        counts.incrementAndGet(indexOf(micros));
+        totalCount.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        minMicros.accumulateAndGet(micros, Math::min);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * 合并另一个直方图的样本
+     * @param other 另一个直方图
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        totalMicros.addAndGet(other.totalMicros.get());
+        minMicros.accumulateAndGet(other.minMicros.get(), Math::min);
+        maxMicros.accumulateAndGet(other.maxMicros.get(), Math::max);
+    }
+
+    /**
+     * 清空所有样本，与并发记录之间不加锁，期间记录的样本可能部分丢失
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.set(0);
+        totalMicros.set(0);
+        minMicros.set(Long.MAX_VALUE);
+        maxMicros.set(0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * 获取最小值
+     * @return 最小值（毫秒），无样本时为0
+     */
+    public double getMinMillis() {
+        return getTotalCount() == 0 ? 0 : minMicros.get() / 1000.0;
+    }
+
+    /**
+     * 获取最大值（精确值）
+     * @return 最大值（毫秒）
+     */
+    public double getMaxMillis() {
+        return maxMicros.get() / 1000.0;
+    }
+
+    /**
+     * 获取平均值
+     * @return 平均值（毫秒）
+     */
+    public double getMeanMillis() {
+        long count = getTotalCount();
+        return count == 0 ? 0 : totalMicros.get() / 1000.0 / count;
+    }
+
+    /**
+     * 获取百分位对应的值，返回所在子桶的上界（不超过最大值），即结果不会低估延迟
+     * @param percentile 百分位（0-100）
+     * @return 延迟（毫秒）
+     */
+    public double getValueAtPercentile(double percentile) {
+        long count = getTotalCount();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100.0 * count));
+        long cumulative = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            cumulative += counts.get(i);
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), maxMicros.get()) / 1000.0;
+            }
+        }
+        return getMaxMillis();
+    }
+
+    /**
+     * 输出百分位分布（与HdrHistogram的.hgrm文本格式一致，值单位为毫秒）
+     * @return 分布文本
+     */
+    public String toPercentileDistribution() {
+        StringBuilder builder = new StringBuilder();
+        builder.append(String.format(Locale.ROOT, "%12s %14s %10s %14s%n%n", "Value", "Percentile", "TotalCount", "1/(1-Percentile)"));
+        long count = getTotalCount();
+        for (double percentile : EXPORT_PERCENTILES) {
+            long below = (long) Math.ceil(percentile / 100.0 * count);
+            String inverse = percentile >= 100 ? "" : String.format(Locale.ROOT, "%14.2f", 1 / (1 - percentile / 100.0));
+            builder.append(String.format(Locale.ROOT, "%12.3f %14.12f %10d %s%n",
+                    getValueAtPercentile(percentile), percentile / 100.0, below, inverse));
+        }
+        builder.append(String.format(Locale.ROOT, "#[Mean    = %12.3f, Min       = %12.3f]%n", getMeanMillis(), getMinMillis()));
+        builder.append(String.format(Locale.ROOT, "#[Max     = %12.3f, Total count    = %12d]%n", getMaxMillis(), count));
+        return builder.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%s: n=%d, p50=%.1fms, p95=%.1fms, p99=%.1fms, max=%.1fms",
+                name, getTotalCount(), getValueAtPercentile(50), getValueAtPercentile(95),
+                getValueAtPercentile(99), getMaxMillis());
+    }
+
+    /**
+     * 计算样本所在的桶下标
+     */
+    static int indexOf(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (micros >>> shift) - SUB_BUCKET_HALF_COUNT;
+        return LINEAR_LIMIT + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKET_HALF_COUNT + subBucket;
+    }
+
+    /**
+     * 计算桶内可表示的最大值
+     */
+    static long highestEquivalentValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int offset = index - LINEAR_LIMIT;
+        int exponent = offset / SUB_BUCKET_HALF_COUNT + SUB_BUCKET_BITS + 1;
+        int shift = exponent - SUB_BUCKET_BITS;
+        long lowest = (long) (offset % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
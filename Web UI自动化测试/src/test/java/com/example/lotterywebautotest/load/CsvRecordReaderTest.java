@@ -0,0 +1,66 @@
+package com.example.lotterywebautotest.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 流式CSV读取：引号转义、引号内的逗号和换行、空行和CRLF
+ */
+class CsvRecordReaderTest {
+
+    @Test
+    void quotedFieldsKeepCommasNewlinesAndQuotes() throws IOException {
+        List<List<String>> records = readAll("a,\"b,c\",d\r\n"
+                + "\"line1\nline2\",\"say \"\"hi\"\"\",\n"
+                + "\n"
+                + "\"\",x\r\n"
+                + "last");
+        assertEquals(List.of(
+                List.of("a", "b,c", "d"),
+                List.of("line1\nline2", "say \"hi\"", ""),
+                List.of("", "x"),
+                List.of("last")), records);
+    }
+
+    @Test
+    void recordNumbersCountBlankLines() throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(new StringReader("h\n\n\"multi\nline\"\nv\n"));
+        csv.next();
+        assertEquals(1, csv.getRecordNumber());
+        csv.next();
+        assertEquals(3, csv.getRecordNumber());
+        csv.next();
+        assertEquals(4, csv.getRecordNumber());
+        assertEquals("v", csv.getField(0).toString());
+        // 不存在的列按空字段处理
+        assertEquals("", csv.getField(5).toString());
+        assertEquals(false, csv.next());
+    }
+
+    @Test
+    void fieldsSpanningReadBufferBoundary() throws IOException {
+        // 读取缓冲区为64K字符，引号字段跨越缓冲区边界
+        String longField = "x".repeat((1 << 16) - 3) + ",\"\"y";
+        List<List<String>> records = readAll("1,\"" + longField.replace("\"", "\"\"") + "\",2\n3");
+        assertEquals(List.of(List.of("1", longField, "2"), List.of("3")), records);
+    }
+
+    private static List<List<String>> readAll(String content) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(new StringReader(content));
+        List<List<String>> records = new ArrayList<>();
+        while (csv.next()) {
+            List<String> fields = new ArrayList<>();
+            for (int i = 0; i < csv.getFieldCount(); i++) {
+                fields.add(csv.getField(i).toString());
+            }
+            records.add(fields);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.lotterywebautotest.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * JTL汇总与statistics.json的一致性
+ * jtl/lottery.jtl 含引号内的逗号和换行、混合CRLF/LF；jtl/lottery-statistics.json 是按JMeter报告的算法
+ * （commons-math DescriptiveStatistics 百分位，吞吐量按首个请求开始到最后一个请求结束）独立算出的期望结果
+ */
+class JtlSummarizerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final List<String> FIELDS = List.of("sampleCount", "errorCount", "errorPct", "meanResTime",
+            "medianResTime", "minResTime", "maxResTime", "pct1ResTime", "pct2ResTime", "pct3ResTime",
+            "throughput", "receivedKBytesPerSec", "sentKBytesPerSec");
+
+    @Test
+    void matchesJMeterStatistics() throws IOException {
+        JsonNode expected = MAPPER.readTree(resource("jtl/lottery-statistics.json"));
+        JsonNode actual = MAPPER.valueToTree(JtlSummarizer.summarize(new StringReader(resource("jtl/lottery.jtl")))
+                .toStatisticsJson());
+
+        assertEquals(List.of("1-User Login", "3-Draw Prize", "Total"), List.copyOf(actual.properties().stream()
+                .map(Map.Entry::getKey).toList()));
+        for (Map.Entry<String, JsonNode> transaction : expected.properties()) {
+            for (String field : FIELDS) {
+                assertEquals(transaction.getValue().get(field).asDouble(),
+                        actual.path(transaction.getKey()).path(field).asDouble(), 1e-9,
+                        transaction.getKey() + " " + field);
+            }
+        }
+    }
+
+    @Test
+    void withoutHeaderUsesDefaultColumns() throws IOException {
+        String jtl = resource("jtl/lottery.jtl");
+        String body = jtl.substring(jtl.indexOf('\n') + 1);
+        assertEquals(JtlSummarizer.summarize(new StringReader(jtl)).toStatisticsJson(),
+                JtlSummarizer.summarize(new StringReader(body)).toStatisticsJson());
+    }
+
+    @Test
+    void headerColumnsMayBeReorderedAndOptionalOnesMissing() throws IOException {
+        StatisticsCollector statistics = JtlSummarizer.summarize(new StringReader(
+                "label,success,elapsed,timeStamp\n"
+                        + "draw,true,10,1000\n"
+                        + "\"draw\",false,30,1500\n"
+                        + "draw,TRUE,20,2000\n"));
+        TransactionStatistics draw = statistics.getTransaction("draw");
+        assertEquals(3, draw.getSampleCount());
+        assertEquals(1, draw.getErrorCount());
+        assertEquals(20.0, draw.getPercentile(50));
+        assertEquals(0.0, draw.getReceivedKBytesPerSec());
+        // 3个样本，1000ms开始、2020ms结束
+        assertEquals(3 / 1.02, draw.getThroughput(), 1e-9);
+    }
+
+    @Test
+    void malformedNumbersReportTheLine() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> JtlSummarizer.summarize(new StringReader(
+                        "timeStamp,elapsed,label,success\n"
+                                + "1000,5,\"multi\nline\",true\n"
+                                + "1001,-5,draw,true\n")));
+        assertTrue(error.getMessage().startsWith("JTL第3行格式错误"), error.getMessage());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> JtlSummarizer.summarize(new StringReader("timeStamp,elapsed,label,success\n1000,1.5,draw,true\n")));
+        IllegalArgumentException missing = assertThrows(IllegalArgumentException.class,
+                () -> JtlSummarizer.summarize(new StringReader("timeStamp,label,success\n1000,draw,true\n")));
+        assertEquals("JTL缺少elapsed列", missing.getMessage());
+    }
+
+    @Test
+    void emptyInputHasOnlyEmptyTotal() throws IOException {
+        StatisticsCollector statistics = JtlSummarizer.summarize(new StringReader(""));
+        assertTrue(statistics.getTransactions().isEmpty());
+        assertEquals(0, statistics.getTotal().getSampleCount());
+        assertEquals(0.0, statistics.getTotal().getPercentile(99));
+    }
+
+    @Test
+    void percentilesInterpolateLikeJMeter() {
+        TransactionStatistics statistics = new TransactionStatistics("t");
+        for (long elapsed = 1; elapsed <= 10; elapsed++) {
+            statistics.add(0, elapsed, true, 0, 0);
+        }
+        // 位置 p*(n+1)/100：中位数5.5，p90在第9.9个值，p95超过n取最大值，p5不到1取最小值
+        assertEquals(5.5, statistics.getPercentile(50), 1e-9);
+        assertEquals(9.9, statistics.getPercentile(90), 1e-9);
+        assertEquals(10.0, statistics.getPercentile(95), 1e-9);
+        assertEquals(1.0, statistics.getPercentile(5), 1e-9);
+    }
+
+    private static String resource(String name) throws IOException {
+        try (InputStream in = JtlSummarizerTest.class.getClassLoader().getResourceAsStream(name)) {
+            if (in == null) {
+                throw new IOException("缺少测试资源: " + name);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
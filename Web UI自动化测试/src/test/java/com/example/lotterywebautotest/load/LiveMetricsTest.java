@@ -0,0 +1,102 @@
+package com.example.lotterywebautotest.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 实时指标的滚动窗口和Prometheus输出
+ * 时间由测试控制，起点对齐到整秒
+ */
+class LiveMetricsTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void rollingWindowReusesExpiredSlots() {
+        AtomicLong clock = new AtomicLong(START);
+        LiveMetrics metrics = new LiveMetrics(3, clock::get);
+        for (int i = 0; i < 10; i++) {
+            metrics.onSample(sample(LotteryScenario.DRAW, 100, true));
+        }
+        clock.set(START + 1_000);
+        for (int i = 0; i < 5; i++) {
+            metrics.onSample(sample(LotteryScenario.DRAW, 200, false));
+        }
+        clock.set(START + 1_500);
+        LiveSnapshot draw = metrics.snapshot().get(0);
+        assertEquals(15, draw.getSampleCount());
+        assertEquals(10.0, draw.getThroughput(), 1e-9);
+        // 百分位取所在桶的上界（误差不超过1%），但不超过窗口内的最大值
+        assertEquals(100.0, draw.getMedianResTime(), 1.0);
+        assertEquals(200.0, draw.getPct3ResTime());
+
+        // 第3秒与第0秒落在同一段，写入前清空旧数据，窗口只剩第1~3秒
+        clock.set(START + 3_000);
+        metrics.onSample(sample(LotteryScenario.DRAW, 50, true));
+        draw = metrics.snapshot().get(0);
+        assertEquals(16, draw.getSampleCount());
+        assertEquals(5, draw.getErrorCount());
+        // 6个采样，窗口从第1秒开始到当前共2秒
+        assertEquals(3.0, draw.getThroughput(), 1e-9);
+        assertEquals(500.0 / 6, draw.getErrorPct(), 1e-9);
+        assertEquals(1050.0 / 6, draw.getMeanResTime(), 1e-9);
+        assertEquals(200.0, draw.getMedianResTime());
+
+        // 超过窗口后没有新采样，过期的段不计入，累计值保留
+        clock.set(START + 10_000);
+        List<LiveSnapshot> snapshots = metrics.snapshot();
+        assertEquals(List.of(LotteryScenario.DRAW, StatisticsCollector.TOTAL),
+                snapshots.stream().map(LiveSnapshot::getTransaction).toList());
+        for (LiveSnapshot snapshot : snapshots) {
+            assertEquals(16, snapshot.getSampleCount());
+            assertEquals(0.0, snapshot.getThroughput());
+            assertEquals(0.0, snapshot.getPct3ResTime());
+        }
+    }
+
+    @Test
+    void prometheusHistogramIsCumulativeAndLabelsEscaped() {
+        AtomicLong clock = new AtomicLong(START);
+        LiveMetrics metrics = new LiveMetrics(10, clock::get);
+        String label = "a\"b\\c\nd";
+        for (long elapsed : new long[]{10, 25, 26, 3_000, 20_000}) {
+            metrics.onSample(sample(label, elapsed, elapsed < 20_000));
+        }
+        metrics.onSample(sample(LotteryScenario.LOGIN, 60, true));
+        clock.set(START + 1_000);
+
+        String text = metrics.toPrometheus();
+        String escaped = "transaction=\"a\\\"b\\\\c\\nd\"";
+        assertTrue(text.contains("lottery_load_requests_total{" + escaped + "} 5\n"), text);
+        assertTrue(text.contains("lottery_load_errors_total{" + escaped + "} 1\n"), text);
+        String[][] buckets = {{"0.025", "2"}, {"0.05", "3"}, {"0.1", "3"}, {"0.25", "3"}, {"0.5", "3"}, {"1", "3"},
+                {"2.5", "3"}, {"5", "4"}, {"10", "4"}, {"+Inf", "5"}};
+        for (String[] bucket : buckets) {
+            assertTrue(text.contains("lottery_load_response_time_seconds_bucket{" + escaped + ",le=\"" + bucket[0]
+                    + "\"} " + bucket[1] + "\n"), bucket[0]);
+        }
+        assertTrue(text.contains("lottery_load_response_time_seconds_sum{" + escaped + "} 23.061\n"), text);
+        assertTrue(text.contains("lottery_load_response_time_seconds_count{" + escaped + "} 5\n"), text);
+        assertTrue(text.contains("lottery_load_rolling_throughput{" + escaped + "} 5\n"), text);
+        assertTrue(text.contains("lottery_load_rolling_error_ratio{" + escaped + "} 0.2\n"), text);
+        assertTrue(text.contains("lottery_load_rolling_response_time_seconds{" + escaped + ",quantile=\"0.99\"} 20\n"),
+                text);
+        assertTrue(text.contains("lottery_load_rolling_response_time_seconds{transaction=\"1-User Login\","
+                + "quantile=\"0.5\"} 0.06\n"), text);
+        assertTrue(text.endsWith("lottery_load_active_threads 3\n"), text);
+
+        // 每个指标的TYPE只出现一次，事务按名称排序
+        assertEquals(1, text.split("# TYPE lottery_load_response_time_seconds histogram", -1).length - 1);
+        assertTrue(text.indexOf("{transaction=\"1-User Login\"") < text.indexOf("{" + escaped));
+    }
+
+    private static Sample sample(String label, long elapsed, boolean success) {
+        return new Sample(START, elapsed, label, success ? "200" : "500", "", "t", success, success ? "" : "失败",
+                100, 50, 3, "http://127.0.0.1/", elapsed, 0);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.lotterywebautotest.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 性能回归门禁的判定规则
+ */
+class RegressionGateTest {
+
+    private static final File REPORTS = new File("../全部测试报告");
+
+    private final RegressionGate gate = new RegressionGate(0.2, 0.1, 1.0, 0.05);
+
+    @Test
+    void identicalRunsPass() {
+        Map<String, TransactionSummary> baseline = Map.of("3-Draw Prize", draw(1000, 0, 1.0, 16));
+        assertTrue(regressions(baseline, baseline).isEmpty());
+    }
+
+    @Test
+    void significantPercentileRegressionFails() {
+        List<RegressionCheck> regressions = regressions(
+                Map.of("3-Draw Prize", draw(1000, 0, 1.0, 16)),
+                Map.of("3-Draw Prize", draw(1000, 0, 1.4, 16)));
+        assertEquals(List.of("p90", "p95", "p99"), regressions.stream().map(RegressionCheck::getMetric).toList());
+    }
+
+    @Test
+    void shiftOnTooFewSamplesIsNotSignificant() {
+        // 超过20%的容差，但各5个样本时p99的抽样误差比25%的变化还大
+        List<RegressionCheck> checks = gate.compare(
+                Map.of("3-Draw Prize", draw(5, 0, 1.0, 16)),
+                Map.of("3-Draw Prize", draw(5, 0, 1.25, 16)));
+        RegressionCheck p99 = checks.stream().filter(check -> check.getMetric().equals("p99")).findFirst().orElseThrow();
+        assertTrue(p99.getPValue() > 0.05, "p=" + p99.getPValue());
+        assertFalse(p99.isRegression());
+    }
+
+    @Test
+    void significantChangeWithinToleranceIsAccepted() {
+        assertTrue(regressions(
+                Map.of("3-Draw Prize", draw(100_000, 0, 1.0, 16)),
+                Map.of("3-Draw Prize", draw(100_000, 0, 1.1, 16))).isEmpty());
+    }
+
+    @Test
+    void throughputDropAndErrorIncreaseFail() {
+        List<RegressionCheck> regressions = regressions(
+                Map.of("3-Draw Prize", draw(5000, 0, 1.0, 16)),
+                Map.of("3-Draw Prize", draw(5000, 250, 1.0, 12)));
+        assertEquals(List.of("吞吐量", "错误率%"), regressions.stream().map(RegressionCheck::getMetric).toList());
+    }
+
+    @Test
+    void missingTransactionFails() {
+        List<RegressionCheck> regressions = regressions(
+                Map.of("3-Draw Prize", draw(1000, 0, 1.0, 16)),
+                Map.of("1-User Login", draw(1000, 0, 1.0, 16)));
+        assertEquals(1, regressions.size());
+        assertEquals("3-Draw Prize", regressions.get(0).getTransaction());
+    }
+
+    @Test
+    void bundledReportsAgainstBaseline() {
+        Map<String, TransactionSummary> baseline = read("baseline_report");
+        assertTrue(regressions(baseline, baseline).isEmpty());
+        // 混合场景下抽奖p99从130ms升到1440ms
+        assertTrue(regressions(baseline, read("mixed_report")).stream()
+                .anyMatch(check -> check.getTransaction().equals("3-Draw Prize") && check.getMetric().equals("p99")));
+    }
+
+    private List<RegressionCheck> regressions(Map<String, TransactionSummary> baseline,
+                                              Map<String, TransactionSummary> candidate) {
+        return gate.compare(baseline, candidate).stream().filter(RegressionCheck::isRegression).toList();
+    }
+
+    private static Map<String, TransactionSummary> read(String report) {
+        return TransactionSummary.read(new File(REPORTS, report + "/statistics.json"));
+    }
+
+    /**
+     * 按基线报告中抽奖接口的分位数构造汇总数据，scale 为响应时间的缩放倍数
+     */
+    private static TransactionSummary draw(long samples, long errors, double scale, double throughput) {
+        return new TransactionSummary("3-Draw Prize", samples, errors, 90.6 * scale, 89 * scale,
+                103.3 * scale, 113 * scale, 130.2 * scale, throughput);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.lotterywebautotest.load;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * 列式采样存储的写入和读取
+ * 写入超过初始映射容量（65536行）的采样，按行读回，并与直接统计的结果比较
+ */
+class SampleStoreTest {
+
+    private static final List<String> LABELS = List.of(
+            LotteryScenario.LOGIN, LotteryScenario.PRIZE_LIST, LotteryScenario.DRAW, LotteryScenario.MY_PRIZES);
+    private static final int ROWS = 150_000;
+    private static final long START = 1_700_000_000_000L;
+
+    @Test
+    void rowsRoundTripPastInitialCapacity(@TempDir Path directory) throws IOException {
+        SampleStoreWriter writer = new SampleStoreWriter(directory.toFile());
+        Random random = new Random(1);
+        long[] timeStamps = new long[ROWS];
+        int[] elapsed = new int[ROWS];
+        boolean[] success = new boolean[ROWS];
+        for (int row = 0; row < ROWS; row++) {
+            timeStamps[row] = START + row / 10;
+            elapsed[row] = random.nextInt(2_000);
+            success[row] = random.nextInt(50) != 0;
+            writer.add(LABELS.get(row % LABELS.size()), timeStamps[row], elapsed[row], elapsed[row] / 2, success[row],
+                    1_000 + row % 7, 200, "Lottery Users 1-" + (row % 20 + 1));
+        }
+        // 超出int范围的值按上限保存
+        writer.add(LotteryScenario.DRAW, START + ROWS / 10, Long.MAX_VALUE, 0, false, 5_000_000_000L, 0, null);
+        writer.close();
+        // 映射文件按行数截断：两次扩容到262144行后截回实际行数
+        assertEquals((ROWS + 1) * 4L, Files.size(directory.resolve(SampleStore.ELAPSED_COLUMN)));
+
+        SampleStore store = SampleStore.open(directory);
+        assertEquals(ROWS + 1, store.size());
+        assertEquals(LABELS, store.getLabels());
+        assertEquals(START, store.getStartTime());
+        assertEquals(START + ROWS / 10, store.getEndTime());
+        for (int row : new int[]{0, 1, 65_535, 65_536, 131_072, ROWS - 1}) {
+            assertEquals(timeStamps[row], store.getTimeStamp(row));
+            assertEquals(elapsed[row], store.getElapsed(row));
+            assertEquals(elapsed[row] / 2, store.getLatency(row));
+            assertEquals(success[row], store.isSuccess(row));
+            assertEquals(1_000 + row % 7, store.getBytes(row));
+            assertEquals(200, store.getSentBytes(row));
+            assertEquals(LABELS.get(row % LABELS.size()), store.getLabel(row));
+            assertEquals("Lottery Users 1-" + (row % 20 + 1), store.getThreadName(row));
+        }
+        assertEquals(Integer.MAX_VALUE, store.getElapsed(ROWS));
+        assertEquals(Integer.MAX_VALUE, store.getBytes(ROWS));
+        assertEquals("", store.getThreadName(ROWS));
+        assertThrows(IllegalStateException.class,
+                () -> writer.add(LotteryScenario.DRAW, START, 1, 1, true, 1, 1, "late"));
+    }
+
+    @Test
+    void statisticsMatchCollector(@TempDir Path directory) {
+        StatisticsCollector direct = new StatisticsCollector();
+        StatisticsCollector window = new StatisticsCollector();
+        long from = START + 2_000;
+        long to = START + 7_000;
+        SampleStoreWriter writer = new SampleStoreWriter(directory.toFile());
+        Random random = new Random(2);
+        for (int row = 0; row < ROWS; row++) {
+            String label = LABELS.get(random.nextInt(LABELS.size()));
+            long timeStamp = START + random.nextInt(10_000);
+            int elapsed = (int) Math.abs(random.nextGaussian() * 300) + 5;
+            boolean success = random.nextInt(100) != 0;
+            int bytes = 500 + random.nextInt(1_000);
+            writer.add(label, timeStamp, elapsed, elapsed, success, bytes, 150, "t");
+            direct.add(label, timeStamp, elapsed, success, bytes, 150);
+            if (timeStamp >= from && timeStamp < to) {
+                window.add(label, timeStamp, elapsed, success, bytes, 150);
+            }
+        }
+        writer.close();
+
+        SampleStore store = SampleStore.open(directory);
+        assertEquals(direct.toStatisticsJson(), store.statistics(store.getStartTime(), store.getEndTime() + 1)
+                .toStatisticsJson());
+        assertEquals(window.toStatisticsJson(), store.statistics(from, to).toStatisticsJson());
+    }
+
+    @Test
+    void overTimeBucketsByGranularity(@TempDir Path directory) {
+        SampleStoreWriter writer = new SampleStoreWriter(directory.toFile());
+        // 第一条采样不在窗口起点，窗口内的偏移要相对窗口而不是相对存储的基准时间计算
+        writer.add(LotteryScenario.LOGIN, START + 500, 10, 5, true, 100, 50, "t");
+        writer.add(LotteryScenario.DRAW, START + 999, 20, 10, true, 100, 50, "t");
+        writer.add(LotteryScenario.DRAW, START + 1_000, 40, 30, false, 300, 50, "t");
+        writer.add(LotteryScenario.DRAW, START + 2_999, 60, 50, true, 100, 50, "t");
+        writer.add(LotteryScenario.DRAW, START + 3_000, 80, 70, true, 100, 50, "t");
+        writer.close();
+
+        SampleStore store = SampleStore.open(directory);
+        Map<String, OverTimeSeries> series = store.overTime(START, START + 3_000, 1_000);
+        assertEquals(List.of(LotteryScenario.LOGIN, LotteryScenario.DRAW), List.copyOf(series.keySet()));
+
+        OverTimeSeries login = series.get(LotteryScenario.LOGIN);
+        assertEquals(3, login.getBuckets());
+        assertEquals(1, login.getCount(0));
+        assertEquals(0, login.getCount(1));
+
+        OverTimeSeries draw = series.get(LotteryScenario.DRAW);
+        assertEquals(START + 2_000, draw.getBucketStart(2));
+        assertEquals(1, draw.getCount(0));
+        assertEquals(1, draw.getCount(1));
+        assertEquals(1, draw.getErrorCount(1));
+        assertEquals(40.0, draw.getAverageElapsed(1));
+        assertEquals(30.0, draw.getAverageLatency(1));
+        assertEquals(1, draw.getCount(2));
+        assertEquals(60.0, draw.getAverageElapsed(2));
+        assertEquals(1.0, draw.getThroughput(2));
+
+        // 粒度不能整除窗口时最后一段不完整，START+3000 在窗口外
+        OverTimeSeries coarse = store.overTime(START, START + 3_000, 2_000).get(LotteryScenario.DRAW);
+        assertEquals(2, coarse.getBuckets());
+        assertEquals(2, coarse.getCount(0));
+        assertEquals(1, coarse.getCount(1));
+        assertThrows(IllegalArgumentException.class, () -> store.overTime(START, START, 1_000));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.lotterywebautotest.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeedDataFactoryTest {
+
+    @Test
+    void parallelGenerationIsReproducible() {
+        List<SeedUser> first = new SeedDataFactory(42, "seed").users(5_000);
+        List<SeedUser> second = new SeedDataFactory(42, "seed").users(5_000);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getEmail(), second.get(i).getEmail());
+            assertEquals(first.get(i).getPhoneNumber(), second.get(i).getPhoneNumber());
+            assertEquals(first.get(i).getPassword(), second.get(i).getPassword());
+        }
+        SeedUser sequential = new SeedDataFactory(42, "seed").user(4_321);
+        assertEquals(sequential.getEmail(), first.get(4_321).getEmail());
+        assertEquals(sequential.getPassword(), first.get(4_321).getPassword());
+    }
+
+    @Test
+    void usersDoNotCollide() {
+        List<SeedUser> users = new SeedDataFactory(7, "seed").users(100_000);
+        Set<String> names = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phones = new HashSet<>();
+        for (SeedUser user : users) {
+            names.add(user.getUserName());
+            emails.add(user.getEmail());
+            phones.add(user.getPhoneNumber());
+            assertTrue(user.getPhoneNumber().matches("138\\d{8}"), user.getPhoneNumber());
+        }
+        assertEquals(users.size(), names.size());
+        assertEquals(users.size(), emails.size());
+        assertEquals(users.size(), phones.size());
+    }
+
+    @Test
+    void seedsProduceDifferentBatches() {
+        assertNotEquals(new SeedDataFactory(1, "seed").user(0).getEmail(),
+                new SeedDataFactory(2, "seed").user(0).getEmail());
+    }
+
+    @Test
+    void activityPicksDistinctPrizesAndUsers() {
+        SeedDataFactory factory = new SeedDataFactory(3, "seed");
+        List<SeedPrize> prizes = factory.prizes(5);
+        List<SeedUser> users = factory.users(12);
+        for (SeedActivity activity : factory.activities(50, prizes, users, 10)) {
+            assertEquals(3, new HashSet<>(activity.getPrizes()).size());
+            assertEquals(10, new HashSet<>(activity.getUsers()).size());
+        }
+        assertEquals(1, factory.activity(0, prizes.subList(0, 1), users, 20).getPrizes().size());
+    }
+}
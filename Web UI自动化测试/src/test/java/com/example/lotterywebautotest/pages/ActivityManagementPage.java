@@ -1,6 +1,7 @@
 package com.example.lotterywebautotest.pages;
 
 
+import com.example.lotterywebautotest.utils.PageTimingCollector;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -14,6 +15,17 @@ import java.util.List;
  */
 public class ActivityManagementPage extends BasePage {
 
+    private static final String ACTIVITY_ID_XPATH = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[1]";
+    private static final String ACTIVITY_NAME_XPATH = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[2]";
+    private static final String ACTIVITY_DESCRIPTION_XPATH = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[3]";
+    private static final String ACTIVITY_END_DATE_XPATH = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[4]";
+    private static final String ACTIVITY_STATUS_XPATH = "//*[@id=\"activities-table-body\"]/tr[1]/td[5]";
+    private static final String ACTION_BUTTON_XPATH = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[6]";
+
+    private static final String FIRST_STATUS_SELECTOR = "#activities-table-body tr:first-child td:nth-child(5)";
+
+    private static final String ACTIVITY_CELL_SELECTOR = "#activities-table-body td";
+
     // 页面元素定位
     @FindBy(xpath = "//h3[text()='活动管理']")
     private WebElement pageTitle;
@@ -28,24 +40,15 @@ public class ActivityManagementPage extends BasePage {
     @FindBy(xpath = "//*[@id=\"activities-table-body\"]")
     private List<WebElement> activityRows;
 
-    @FindBy(xpath = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[1]")
+    @FindBy(xpath = ACTIVITY_ID_XPATH)
     private List<WebElement> activityIds;
 
-    @FindBy(xpath = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[2]")
+    @FindBy(xpath = ACTIVITY_NAME_XPATH)
     private List<WebElement> activityNames;
 
-    @FindBy(xpath = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[3]")
-    private List<WebElement> activityDescriptions;
-
-    @FindBy(xpath = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[4]")
-    private List<WebElement> activityEndDates;
-
-    @FindBy(xpath = "//*[@id=\"activities-table-body\"]/tr[1]/td[5]")
+    @FindBy(xpath = ACTIVITY_STATUS_XPATH)
     private List<WebElement> activityStatuses;
 
-    @FindBy(xpath = "//*[@id=\"admin-activities\"]/div[2]/table/thead/tr/th[6]")
-    private List<WebElement> actionButtons;
-
     @FindBy(xpath = "//*[@id=\"activities-table-body\"]/tr[1]/td[6]/button")
     private List<WebElement> endActivityButtons;
 
@@ -111,36 +114,40 @@ public class ActivityManagementPage extends BasePage {
      * 验证活动信息完整性
      */
     public void verifyActivityInformationCompleteness() {
+        // 等操作按钮渲染后再采集
+        waitForAllDisplayed(ACTION_BUTTON_XPATH);
+        ElementSnapshot snapshot = snapshot(List.of(ACTIVITY_ID_XPATH, ACTIVITY_NAME_XPATH, ACTIVITY_DESCRIPTION_XPATH,
+                ACTIVITY_END_DATE_XPATH, ACTIVITY_STATUS_XPATH, ACTION_BUTTON_XPATH));
+
         // 验证活动ID不为空
-        for (WebElement activityId : activityIds) {
-            Assert.assertFalse(activityId.getText().trim().isEmpty(), "活动ID不能为空");
+        for (String activityId : snapshot.texts(ACTIVITY_ID_XPATH)) {
+            Assert.assertFalse(activityId.isEmpty(), "活动ID不能为空");
         }
 
         // 验证活动名称不为空
-        for (WebElement activityName : activityNames) {
-            Assert.assertFalse(activityName.getText().trim().isEmpty(), "活动名称不能为空");
+        for (String activityName : snapshot.texts(ACTIVITY_NAME_XPATH)) {
+            Assert.assertFalse(activityName.isEmpty(), "活动名称不能为空");
         }
 
         // 验证活动描述不为空
-        for (WebElement description : activityDescriptions) {
-            Assert.assertFalse(description.getText().trim().isEmpty(), "活动描述不能为空");
+        for (String description : snapshot.texts(ACTIVITY_DESCRIPTION_XPATH)) {
+            Assert.assertFalse(description.isEmpty(), "活动描述不能为空");
         }
 
         // 验证活动结束日期不为空
-        for (WebElement endDate : activityEndDates) {
-            Assert.assertFalse(endDate.getText().trim().isEmpty(), "活动结束日期不能为空");
+        for (String endDate : snapshot.texts(ACTIVITY_END_DATE_XPATH)) {
+            Assert.assertFalse(endDate.isEmpty(), "活动结束日期不能为空");
         }
 
         // 验证活动状态
-        for (WebElement status : activityStatuses) {
-            String statusText = status.getText();
+        for (String statusText : snapshot.texts(ACTIVITY_STATUS_XPATH)) {
             Assert.assertTrue(statusText.equals("进行中") || statusText.equals("已结束"),
                     "活动状态不正确: " + statusText);
         }
 
         // 验证操作按钮存在
-        for (WebElement button : actionButtons) {
-            verifyElementDisplayed(button);
+        for (ElementSnapshot.Element button : snapshot.column(ACTION_BUTTON_XPATH)) {
+            Assert.assertTrue(button.isDisplayed(), "元素未显示");
         }
     }
 
@@ -198,21 +205,11 @@ public class ActivityManagementPage extends BasePage {
      * @param expectedActivityName 期望的活动名称
      */
     public void verifyActivityCreatedSuccessfully(String expectedActivityName) {
-        // 等待页面刷新
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // 等待列表刷新出新活动
+        waitForAnyTextEquals(ACTIVITY_CELL_SELECTOR, expectedActivityName);
 
         // 验证活动在列表中显示
-        boolean found = false;
-        for (WebElement activityName : activityNames) {
-            if (activityName.getText().equals(expectedActivityName)) {
-                found = true;
-                break;
-            }
-        }
+        boolean found = snapshot(List.of(ACTIVITY_NAME_XPATH)).texts(ACTIVITY_NAME_XPATH).contains(expectedActivityName);
 
         Assert.assertTrue(found, "活动创建成功但未在列表中显示: " + expectedActivityName);
     }
@@ -224,12 +221,8 @@ public class ActivityManagementPage extends BasePage {
         if (endActivityButtons.size() > 0) {
             safeClick(endActivityButtons.get(0));
 
-            // 等待状态更新
-            try {
-                Thread.sleep(5000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // 等待确认弹窗
+            waitForAlertPresent();
         }
     }
 
@@ -242,6 +235,9 @@ public class ActivityManagementPage extends BasePage {
 //        driver.navigate().refresh();
         verifyActivityManagementPageLoaded();
 
+        // 等待状态刷新
+        waitForTextEquals(FIRST_STATUS_SELECTOR, expectedStatus);
+
         // 验证第一个活动的状态
         if (activityStatuses.size() > 0) {
             String statusText = activityStatuses.get(0).getText();
@@ -349,12 +345,10 @@ public class ActivityManagementPage extends BasePage {
      * 验证页面加载性能
      */
     public void verifyPageLoadPerformance() {
-        long startTime = System.currentTimeMillis();
         verifyActivityManagementPageLoaded();
-        long endTime = System.currentTimeMillis();
 
-        long loadTime = endTime - startTime;
-        Assert.assertTrue(loadTime < 8000, "活动管理页面加载时间过长: " + loadTime + "ms");
+        // 在浏览器内读取导航、绘制和资源耗时，按页面预算校验
+        PageTimingCollector.verifyWithinBudget(driver, "activityManagement");
     }
 }
 
@@ -1,5 +1,8 @@
 package com.example.lotterywebautotest.pages;
 
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -8,17 +11,171 @@ import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.Select;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.interactions.Actions;
 import org.testng.Assert;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * 基础页面类，包含所有页面通用的方法和元素
  */
 public abstract class BasePage {
 
+    /**
+     * 默认等待超时时间
+     */
+    protected static final Duration WAIT_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * 页面内元素查找和可见性判断，等待脚本和快照脚本共用，保证两者对“可见”的判断一致
+     */
+    private static final String DOM_HELPERS_SCRIPT = """
+            function find(using, value) {
+                if (using === 'xpath') {
+                    return document.evaluate(value, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null)
+                            .singleNodeValue;
+                }
+                return document.querySelector(value);
+            }
+            function findAll(using, value) {
+                if (using === 'xpath') {
+                    var found = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                    var all = [];
+                    for (var i = 0; i < found.snapshotLength; i++) { all.push(found.snapshotItem(i)); }
+                    return all;
+                }
+                return Array.prototype.slice.call(document.querySelectorAll(value));
+            }
+            function isDisplayed(el) {
+                if (!el.isConnected || el.getClientRects().length === 0) { return false; }
+                var style = window.getComputedStyle(el);
+                if (style.visibility === 'hidden' || style.visibility === 'collapse' || parseFloat(style.opacity) === 0) {
+                    return false;
+                }
+                var rect = el.getBoundingClientRect();
+                return rect.width > 0 && rect.height > 0;
+            }
+            """;
+
+    /**
+     * 页面内等待脚本：立即检查一次，之后在DOM变化、网络请求结束和每一帧（页面隐藏时每50ms）重新检查，成立即返回
+     * 条件: present（存在）、visible（可见）、hidden（不存在或不可见）、clickable（可见且未禁用）、
+     * text（可见且文本包含期望值）、allVisible（匹配的所有元素都可见，没有匹配时成立）、title（标题包含期望值）、
+     * url（地址包含期望值）、predicate（自定义函数体，通过 args 访问参数，可调用 isDisplayed）
+     */
+    private static final String WAIT_IN_PAGE_SCRIPT = DOM_HELPERS_SCRIPT + """
+            var done = arguments[arguments.length - 1];
+            var condition = arguments[0], using = arguments[1], value = arguments[2], expected = arguments[3];
+            var timeoutMs = arguments[4], deadline = Date.now() + timeoutMs;
+            var predicate = condition === 'predicate' ? new Function('args', 'isDisplayed', arguments[5]) : null;
+            var args = Array.prototype.slice.call(arguments, 6, arguments.length - 1);
+            var finished = false, observer, timer;
+            function check() {
+                if (predicate) {
+                    try { return !!predicate(args, isDisplayed); } catch (e) { return false; }
+                }
+                if (condition === 'title') { return document.title.indexOf(expected) >= 0; }
+                if (condition === 'url') { return location.href.indexOf(expected) >= 0; }
+                if (condition === 'allVisible') { return findAll(using, value).every(isDisplayed); }
+                var el = find(using, value);
+                if (condition === 'present') { return el !== null; }
+                if (condition === 'hidden') { return !el || !isDisplayed(el); }
+                if (!el || !isDisplayed(el)) { return false; }
+                if (condition === 'clickable') { return !el.disabled; }
+                if (condition === 'text') { return el.innerText.indexOf(expected) >= 0; }
+                return true;
+            }
+            function finish(result) {
+                if (finished) { return; }
+                finished = true;
+                observer.disconnect();
+                document.removeEventListener('webdriver:network', evaluate);
+                clearTimeout(timer);
+                done(result);
+            }
+            function evaluate() {
+                if (finished) { return; }
+                var satisfied;
+                try { satisfied = check(); } catch (e) { finish('invalid selector: ' + e.message); return; }
+                if (satisfied || Date.now() >= deadline) { finish(satisfied); }
+            }
+            function tick() {
+                evaluate();
+                if (finished) { return; }
+                if (document.hidden) { setTimeout(tick, 50); } else { requestAnimationFrame(tick); }
+            }
+            observer = new MutationObserver(evaluate);
+            observer.observe(document, {childList: true, subtree: true, attributes: true, characterData: true});
+            document.addEventListener('webdriver:network', evaluate);
+            // 页面在等待中被隐藏时帧回调会暂停，到期后无论如何返回一次结果
+            timer = setTimeout(function () { deadline = 0; evaluate(); }, timeoutMs);
+            tick();
+            """;
+
+    /**
+     * 网络请求跟踪脚本：包装XMLHttpRequest和fetch，按URL统计已完成的请求数，并在请求结束时派发事件
+     */
+    private static final String INSTALL_NETWORK_TRACKER_SCRIPT = """
+            if (window.__webdriverNetwork) { return; }
+            var net = window.__webdriverNetwork = {inflight: 0, finished: []};
+            function begin() { net.inflight++; }
+            function end(url) {
+                net.inflight--;
+                net.finished.push(String(url));
+                document.dispatchEvent(new Event('webdriver:network'));
+            }
+            var open = XMLHttpRequest.prototype.open;
+            XMLHttpRequest.prototype.open = function (method, url) {
+                this.__webdriverUrl = url;
+                return open.apply(this, arguments);
+            };
+            var send = XMLHttpRequest.prototype.send;
+            XMLHttpRequest.prototype.send = function () {
+                var xhr = this;
+                begin();
+                xhr.addEventListener('loadend', function () { end(xhr.__webdriverUrl); });
+                return send.apply(this, arguments);
+            };
+            if (window.fetch) {
+                var originalFetch = window.fetch;
+                window.fetch = function (input) {
+                    var url = typeof input === 'string' ? input : (input && input.url);
+                    begin();
+                    return originalFetch.apply(this, arguments).finally(function () { end(url); });
+                };
+            }
+            """;
+
+    /**
+     * 元素快照脚本：按XPath查找元素，一次返回每个元素的可见文本、可见性和指定属性
+     */
+    private static final String SNAPSHOT_SCRIPT = DOM_HELPERS_SCRIPT + """
+            var xpaths = arguments[0], names = arguments[1], result = [];
+            for (var i = 0; i < xpaths.length; i++) {
+                var found = findAll('xpath', xpaths[i]);
+                var column = [];
+                for (var j = 0; j < found.length; j++) {
+                    var el = found[j], displayed = isDisplayed(el), attrs = {};
+                    for (var k = 0; k < names.length; k++) {
+                        var value = el[names[k]];
+                        if (value === undefined || value === null || typeof value === 'object' || typeof value === 'function') {
+                            value = el.getAttribute(names[k]);
+                        }
+                        attrs[names[k]] = value === null || value === undefined ? null : String(value);
+                    }
+                    column.push({text: displayed ? el.innerText.trim() : '', displayed: displayed, attributes: attrs});
+                }
+                result.push(column);
+            }
+            return result;
+            """;
+
     protected WebDriver driver;
     protected WebDriverWait wait;
     protected JavascriptExecutor js;
@@ -30,12 +187,12 @@ public abstract class BasePage {
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+        this.wait = new WebDriverWait(driver, WAIT_TIMEOUT);
         this.js = (JavascriptExecutor) driver;
         this.actions = new Actions(driver);
 
-        // 初始化页面元素
-        PageFactory.initElements(driver, this);
+        // 初始化页面元素，定位器按页面类预编译，查找结果按DOM代数缓存
+        PageFactory.initElements(new CachingFieldDecorator(driver), this);
     }
 
     /**
@@ -43,7 +200,29 @@ public abstract class BasePage {
      * @param element 要等待的元素
      */
     protected void waitForElementVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        By locator = CachingFieldDecorator.getLocator(element);
+        if (locator == null || !waitInPage("visible", locator, null, WAIT_TIMEOUT)) {
+            wait.until(ExpectedConditions.visibilityOf(element));
+        }
+    }
+
+    /**
+     * 等待定位器对应的元素可见
+     * @param locator 元素定位器
+     */
+    protected void waitForElementVisible(By locator) {
+        waitForElementVisible(locator, WAIT_TIMEOUT);
+    }
+
+    /**
+     * 等待定位器对应的元素可见
+     * @param locator 元素定位器
+     * @param timeout 超时时间
+     */
+    protected void waitForElementVisible(By locator, Duration timeout) {
+        if (!waitInPage("visible", locator, null, timeout)) {
+            new WebDriverWait(driver, timeout).until(ExpectedConditions.visibilityOfElementLocated(locator));
+        }
     }
 
     /**
@@ -51,16 +230,221 @@ public abstract class BasePage {
      * @param element 要等待的元素
      */
     protected void waitForElementClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        By locator = CachingFieldDecorator.getLocator(element);
+        if (locator == null || !waitInPage("clickable", locator, null, WAIT_TIMEOUT)) {
+            wait.until(ExpectedConditions.elementToBeClickable(element));
+        }
     }
 
     /**
-     * 等待元素存在
-     * @param element 要等待的元素
+     * 等待元素可见且文本包含指定内容
+     * @param element 页面元素字段
+     * @param expectedText 期望包含的文本
+     */
+    protected void waitForElementTextContains(WebElement element, String expectedText) {
+        By locator = CachingFieldDecorator.getLocator(element);
+        if (locator == null || !waitInPage("text", locator, expectedText, WAIT_TIMEOUT)) {
+            wait.until(ExpectedConditions.textToBePresentInElement(element, expectedText));
+        }
+    }
+
+    /**
+     * 等待页面元素字段对应的元素存在，按字段自身的定位器等待
+     * @param element 页面元素字段
      */
     protected void waitForElementPresent(WebElement element) {
-        wait.until(ExpectedConditions.presenceOfElementLocated(
-                org.openqa.selenium.By.xpath("//*[contains(@class, '" + element.getAttribute("class") + "')]")));
+        By locator = CachingFieldDecorator.getLocator(element);
+        if (locator == null) {
+            throw new IllegalArgumentException("只能等待页面元素字段: " + element);
+        }
+        waitForElementPresent(locator);
+    }
+
+    /**
+     * 等待元素存在
+     * @param locator 元素定位器
+     */
+    protected void waitForElementPresent(By locator) {
+        if (!waitInPage("present", locator, null, WAIT_TIMEOUT)) {
+            wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+        }
+    }
+
+    /**
+     * 在浏览器内等待元素或页面条件成立，整个等待只有一次脚本调用
+     * CSS选择器、XPath和标签名以外的定位器不在浏览器内检查
+     * @param condition 条件，见 WAIT_IN_PAGE_SCRIPT
+     * @param locator 元素定位器，页面级条件为null
+     * @param expected 期望的文本、标题或地址片段
+     * @param timeout 超时时间，应小于会话的脚本超时时间
+     * @return 是否已在浏览器内等待，false表示定位器不支持，需要调用方退回到WebDriverWait
+     * @throws TimeoutException 条件在超时前没有成立
+     */
+    private boolean waitInPage(String condition, By locator, String expected, Duration timeout) {
+        String using = null;
+        String value = null;
+        if (locator != null) {
+            if (!(locator instanceof By.Remotable)) {
+                return false;
+            }
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            using = parameters.using();
+            value = String.valueOf(parameters.value());
+            if (!"css selector".equals(using) && !"xpath".equals(using) && !"tag name".equals(using)) {
+                return false;
+            }
+        }
+        runInPage(condition + " " + (locator != null ? locator : expected), timeout,
+                condition, using, value, expected, null);
+        return true;
+    }
+
+    /**
+     * 执行页面内等待脚本，等待期间发生整页跳转时在新页面上继续等待
+     * @param description 条件描述，用于超时提示
+     * @param timeout 超时时间
+     * @param condition 条件，见 WAIT_IN_PAGE_SCRIPT
+     * @param using 定位方式，页面级条件和自定义条件为null
+     * @param value 定位值
+     * @param expected 期望的文本、标题或地址片段
+     * @param predicateBody 自定义条件的函数体，其他条件为null
+     * @param predicateArgs 自定义条件的参数
+     */
+    private void runInPage(String description, Duration timeout, String condition, String using, String value,
+                           String expected, String predicateBody, Object... predicateArgs) {
+        Object[] args = new Object[predicateArgs.length + 6];
+        args[0] = condition;
+        args[1] = using;
+        args[2] = value;
+        args[3] = expected;
+        args[5] = predicateBody;
+        System.arraycopy(predicateArgs, 0, args, 6, predicateArgs.length);
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (true) {
+            args[4] = Math.max(0, deadline - System.currentTimeMillis());
+            Object result;
+            try {
+                result = js.executeAsyncScript(WAIT_IN_PAGE_SCRIPT, args);
+            } catch (JavascriptException e) {
+                // 页面在等待期间跳转，脚本随旧文档一起被销毁
+                if (isDocumentUnloaded(e) && System.currentTimeMillis() < deadline) {
+                    continue;
+                }
+                throw e;
+            }
+            if (result instanceof String) {
+                throw new InvalidSelectorException(result + "，条件: " + description);
+            }
+            if (!Boolean.TRUE.equals(result)) {
+                throw new TimeoutException("等待超时: " + description);
+            }
+            return;
+        }
+    }
+
+    private static boolean isDocumentUnloaded(JavascriptException e) {
+        String message = String.valueOf(e.getMessage());
+        return message.contains("unloaded") || message.contains("context was destroyed");
+    }
+
+    /**
+     * 等待页面内条件成立
+     * 条件在浏览器中检查，DOM变化、网络请求结束和每一帧都会重新检查，成立后立即返回，不做固定时长等待
+     * @param description 条件描述，用于超时提示
+     * @param predicateBody JavaScript函数体，通过 args 访问参数，可调用 isDisplayed(el)，返回布尔值
+     * @param args 传入脚本的参数
+     */
+    protected void waitForCondition(String description, String predicateBody, Object... args) {
+        runInPage(description, WAIT_TIMEOUT, "predicate", null, null, null, predicateBody, args);
+    }
+
+    /**
+     * 等待CSS选择器对应的元素出现并可见
+     * @param cssSelector CSS选择器
+     */
+    protected void waitForElementShown(String cssSelector) {
+        waitInPage("visible", By.cssSelector(cssSelector), null, WAIT_TIMEOUT);
+    }
+
+    /**
+     * 等待CSS选择器对应的元素消失或隐藏
+     * @param cssSelector CSS选择器
+     */
+    protected void waitForElementGone(String cssSelector) {
+        waitInPage("hidden", By.cssSelector(cssSelector), null, WAIT_TIMEOUT);
+    }
+
+    /**
+     * 等待元素文本等于期望值
+     * @param cssSelector CSS选择器
+     * @param expectedText 期望的文本
+     */
+    protected void waitForTextEquals(String cssSelector, String expectedText) {
+        waitForCondition("元素文本为 " + expectedText + " " + cssSelector,
+                "var el = document.querySelector(args[0]); return !!el && el.textContent.trim() === args[1];",
+                cssSelector, expectedText);
+    }
+
+    /**
+     * 等待元素文本不再等于旧值
+     * @param cssSelector CSS选择器
+     * @param oldText 旧文本
+     */
+    protected void waitForTextChanged(String cssSelector, String oldText) {
+        waitForCondition("元素文本变化 " + cssSelector,
+                "var el = document.querySelector(args[0]); return !!el && el.textContent.trim() !== args[1];",
+                cssSelector, oldText);
+    }
+
+    /**
+     * 等待任一匹配元素的文本等于期望值
+     * @param cssSelector CSS选择器
+     * @param expectedText 期望的文本
+     */
+    protected void waitForAnyTextEquals(String cssSelector, String expectedText) {
+        waitForCondition("存在文本为 " + expectedText + " 的元素 " + cssSelector,
+                "return Array.prototype.some.call(document.querySelectorAll(args[0]),"
+                        + " function (el) { return el.textContent.trim() === args[1]; });",
+                cssSelector, expectedText);
+    }
+
+    /**
+     * 在当前页面安装网络请求跟踪，重复调用无副作用；页面跳转后需要重新安装
+     */
+    protected void installNetworkTracker() {
+        js.executeScript(INSTALL_NETWORK_TRACKER_SCRIPT);
+    }
+
+    /**
+     * 获取URL包含指定片段且已完成的请求数
+     * @param urlPart URL片段
+     * @return 已完成的请求数
+     */
+    protected long getFinishedRequestCount(String urlPart) {
+        Object count = js.executeScript(
+                "var net = window.__webdriverNetwork, part = arguments[0]; if (!net) { return 0; }"
+                        + " return net.finished.filter(function (url) { return url.indexOf(part) >= 0; }).length;",
+                urlPart);
+        return count instanceof Number ? ((Number) count).longValue() : 0;
+    }
+
+    /**
+     * 等待URL包含指定片段的请求完成，需先调用 installNetworkTracker
+     * @param urlPart URL片段
+     * @param previousCount 发起请求前的已完成请求数
+     */
+    protected void waitForRequestFinished(String urlPart, long previousCount) {
+        waitForCondition("请求完成 " + urlPart,
+                "var net = window.__webdriverNetwork; if (!net) { return false; }"
+                        + " return net.finished.filter(function (url) { return url.indexOf(args[0]) >= 0; }).length > args[1];",
+                urlPart, previousCount);
+    }
+
+    /**
+     * 等待浏览器弹窗出现
+     */
+    protected void waitForAlertPresent() {
+        wait.until(ExpectedConditions.alertIsPresent());
     }
 
     /**
@@ -112,7 +496,7 @@ public abstract class BasePage {
      * @param expectedTitle 期望的页面标题
      */
     protected void verifyPageTitle(String expectedTitle) {
-        wait.until(ExpectedConditions.titleContains(expectedTitle));
+        waitQuietly("title", expectedTitle);
         Assert.assertTrue(driver.getTitle().contains(expectedTitle),
                 "页面标题不匹配，期望: " + expectedTitle + "，实际: " + driver.getTitle());
     }
@@ -122,11 +506,22 @@ public abstract class BasePage {
      * @param expectedUrlPart 期望的URL部分
      */
     protected void verifyUrlContains(String expectedUrlPart) {
-        wait.until(ExpectedConditions.urlContains(expectedUrlPart));
+        waitQuietly("url", expectedUrlPart);
         Assert.assertTrue(driver.getCurrentUrl().contains(expectedUrlPart),
                 "URL不包含期望文本: " + expectedUrlPart);
     }
 
+    /**
+     * 等待页面级条件成立，超时不抛出异常，由调用方的断言给出期望值和实际值
+     */
+    private void waitQuietly(String condition, String expected) {
+        try {
+            waitInPage(condition, null, expected, WAIT_TIMEOUT);
+        } catch (TimeoutException e) {
+            // 交给随后的断言报告
+        }
+    }
+
     /**
      * 验证元素文本
      * @param element 要验证的元素
@@ -158,6 +553,40 @@ public abstract class BasePage {
         Assert.assertTrue(element.isDisplayed(), "元素未显示");
     }
 
+    /**
+     * 等待XPath匹配的所有元素可见（如图片加载完成、尺寸不再为0），没有匹配的元素时立即返回
+     * 在采集快照之前调用，代替对每个元素分别调用 {@link #verifyElementDisplayed(WebElement)}
+     * @param xpaths 元素XPath
+     */
+    protected void waitForAllDisplayed(String... xpaths) {
+        waitInPage("allVisible", By.xpath(String.join(" | ", xpaths)), null, WAIT_TIMEOUT);
+    }
+
+    /**
+     * 一次脚本调用采集多组元素的文本、可见性和属性，代替逐个元素的getText()/isDisplayed()/getAttribute()请求
+     * @param xpaths 元素XPath列表
+     * @param attributes 需要采集的属性名
+     * @return 元素快照表
+     */
+    @SuppressWarnings("unchecked")
+    protected ElementSnapshot snapshot(List<String> xpaths, String... attributes) {
+        List<List<Map<String, Object>>> raw = (List<List<Map<String, Object>>>) js.executeScript(
+                SNAPSHOT_SCRIPT, xpaths, Arrays.asList(attributes));
+
+        Map<String, List<ElementSnapshot.Element>> columns = new LinkedHashMap<>();
+        for (int i = 0; i < xpaths.size(); i++) {
+            List<ElementSnapshot.Element> elements = new ArrayList<>();
+            for (Map<String, Object> item : raw.get(i)) {
+                elements.add(new ElementSnapshot.Element(
+                        (String) item.get("text"),
+                        Boolean.TRUE.equals(item.get("displayed")),
+                        (Map<String, String>) item.get("attributes")));
+            }
+            columns.put(xpaths.get(i), elements);
+        }
+        return new ElementSnapshot(columns);
+    }
+
     /**
      * 验证元素是否隐藏
      * @param element 要验证的元素
@@ -0,0 +1,103 @@
+package com.example.lotterywebautotest.pages;
+
+import com.example.lotterywebautotest.utils.DomGeneration;
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.util.List;
+
+/**
+ * 按DOM代数缓存查找结果的元素定位器
+ * 单个元素在同一文档内（导航代数不变）复用，元素失效（StaleElementReference）时由代理重新查找；
+ * 元素列表在DOM没有被修改过（变更代数不变）时复用。driver未跟踪代数时每次都重新查找。
+ */
+public class CachingElementLocator implements ElementLocator {
+
+    private final SearchContext searchContext;
+    private final By by;
+    private final DomGeneration generation;
+
+    private WebElement element;
+    private long elementNavigation;
+    private long elementMutation;
+
+    private List<WebElement> elements;
+    private long elementsMutation;
+
+    /**
+     * 构造函数
+     * @param searchContext 查找上下文
+     * @param by 定位器
+     * @param generation DOM代数，为null时不缓存
+     */
+    public CachingElementLocator(SearchContext searchContext, By by, DomGeneration generation) {
+        this.searchContext = searchContext;
+        this.by = by;
+        this.generation = generation;
+    }
+
+    @Override
+    public WebElement findElement() {
+        if (generation == null) {
+            return searchContext.findElement(by);
+        }
+        if (element == null || elementNavigation != generation.getNavigation()) {
+            // 先读代数再查找，查找期间发生的变化会让下次访问重新查找
+            long navigation = generation.getNavigation();
+            long mutation = generation.getMutation();
+            element = searchContext.findElement(by);
+            elementNavigation = navigation;
+            elementMutation = mutation;
+        }
+        return element;
+    }
+
+    /**
+     * 查找元素，DOM被修改过时不使用缓存
+     * 元素作为脚本参数或交给Actions时浏览器端才发现失效，无法重试，因此这类用途要求缓存是最新的
+     * @return 元素
+     */
+    public WebElement findCurrentElement() {
+        if (generation != null && element != null && elementMutation != generation.getMutation()) {
+            element = null;
+        }
+        return findElement();
+    }
+
+    @Override
+    public List<WebElement> findElements() {
+        if (generation == null) {
+            return searchContext.findElements(by);
+        }
+        if (elements == null || elementsMutation != generation.getMutation()) {
+            long mutation = generation.getMutation();
+            elements = searchContext.findElements(by);
+            elementsMutation = mutation;
+        }
+        return elements;
+    }
+
+    /**
+     * 丢弃缓存的单个元素
+     * @return 是否有缓存被丢弃
+     */
+    public boolean invalidate() {
+        boolean cached = element != null;
+        element = null;
+        return cached;
+    }
+
+    /**
+     * 获取定位器
+     */
+    public By getBy() {
+        return by;
+    }
+
+    @Override
+    public String toString() {
+        return "缓存定位器 '" + by + "'";
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.lotterywebautotest.pages;
+
+import com.example.lotterywebautotest.utils.DomGeneration;
+import org.openqa.selenium.By;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.DefaultFieldDecorator;
+import org.openqa.selenium.support.pagefactory.ElementLocator;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * 页面元素字段装饰器
+ * 定位器取自 {@link LocatorRegistry}，查找结果由 {@link CachingElementLocator} 按DOM代数缓存；
+ * 缓存的元素失效时丢弃缓存并重新查找一次。
+ */
+public class CachingFieldDecorator extends DefaultFieldDecorator {
+
+    /**
+     * 构造函数
+     * @param driver WebDriver实例，经 {@link DomGeneration#track} 包装时才缓存查找结果
+     */
+    public CachingFieldDecorator(WebDriver driver) {
+        super(field -> {
+            By by = LocatorRegistry.getLocator(field);
+            return by == null ? null : new CachingElementLocator(driver, by, DomGeneration.of(driver));
+        });
+    }
+
+    /**
+     * 获取页面元素字段的定位器
+     * @param element 页面元素字段的值
+     * @return 定位器，不是本装饰器创建的元素时为null
+     */
+    public static By getLocator(WebElement element) {
+        if (element != null && Proxy.isProxyClass(element.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(element);
+            if (handler instanceof CachingElementHandler) {
+                return ((CachingElementHandler) handler).locator.getBy();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected WebElement proxyForLocator(ClassLoader loader, ElementLocator locator) {
+        return (WebElement) Proxy.newProxyInstance(loader,
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                new CachingElementHandler((CachingElementLocator) locator));
+    }
+
+    /**
+     * 元素代理：每次调用转发到缓存的元素，元素失效时重新查找后重试
+     */
+    private static class CachingElementHandler implements InvocationHandler {
+        private final CachingElementLocator locator;
+
+        private CachingElementHandler(CachingElementLocator locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                return locator.findCurrentElement();
+            }
+            boolean retried = false;
+            while (true) {
+                WebElement element;
+                try {
+                    element = locator.findElement();
+                } catch (NoSuchElementException e) {
+                    if ("toString".equals(method.getName())) {
+                        return "Proxy element for: " + locator;
+                    }
+                    throw e;
+                }
+                try {
+                    return method.invoke(element, args);
+                } catch (InvocationTargetException e) {
+                    if (!retried && e.getCause() instanceof StaleElementReferenceException && locator.invalidate()) {
+                        retried = true;
+                        continue;
+                    }
+                    throw e.getCause();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.lotterywebautotest.pages;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 元素快照表
+ * 一次脚本调用采集的一组定位器对应元素的文本、可见性和属性，采集后不可修改，读取不再访问浏览器
+ */
+public final class ElementSnapshot {
+
+    private final Map<String, List<Element>> columns;
+
+    ElementSnapshot(Map<String, List<Element>> columns) {
+        Map<String, List<Element>> copy = new LinkedHashMap<>();
+        columns.forEach((locator, elements) -> copy.put(locator, List.copyOf(elements)));
+        this.columns = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * 获取定位器匹配到的元素快照
+     * @param locator 采集时使用的定位器
+     * @return 按文档顺序排列的元素快照
+     */
+    public List<Element> column(String locator) {
+        List<Element> elements = columns.get(locator);
+        if (elements == null) {
+            throw new IllegalArgumentException("快照中不包含该定位器: " + locator);
+        }
+        return elements;
+    }
+
+    /**
+     * 获取定位器匹配到的元素数量
+     * @param locator 采集时使用的定位器
+     * @return 元素数量
+     */
+    public int size(String locator) {
+        return column(locator).size();
+    }
+
+    /**
+     * 获取定位器匹配到的所有元素文本
+     * @param locator 采集时使用的定位器
+     * @return 文本列表
+     */
+    public List<String> texts(String locator) {
+        return column(locator).stream().map(Element::getText).toList();
+    }
+
+    /**
+     * 单个元素的快照
+     */
+    public static final class Element {
+        private final String text;
+        private final boolean displayed;
+        private final Map<String, String> attributes;
+
+        Element(String text, boolean displayed, Map<String, String> attributes) {
+            this.text = text;
+            this.displayed = displayed;
+            this.attributes = Collections.unmodifiableMap(new HashMap<>(attributes));
+        }
+
+        /**
+         * 获取可见文本，与WebElement.getText()一致，隐藏元素返回空字符串
+         * @return 元素文本
+         */
+        public String getText() {
+            return text;
+        }
+
+        public boolean isDisplayed() {
+            return displayed;
+        }
+
+        /**
+         * 获取采集时指定的属性值
+         * @param name 属性名
+         * @return 属性值，不存在时返回null
+         */
+        public String getAttribute(String name) {
+            return attributes.get(name);
+        }
+    }
+}
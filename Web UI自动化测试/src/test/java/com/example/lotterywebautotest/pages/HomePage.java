@@ -1,6 +1,7 @@
 package com.example.lotterywebautotest.pages;
 
 
+import com.example.lotterywebautotest.utils.PageTimingCollector;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -93,6 +94,7 @@ public class HomePage extends BasePage {
      * 验证未登录状态
      */
     public void verifyNotLoggedIn() {
+        waitForElementGone(".nav-user");
         verifyElementDisplayed(loginButton);
         verifyElementDisplayed(registerButton);
         verifyElementHidden(userMenu);
@@ -100,12 +102,20 @@ public class HomePage extends BasePage {
 
     /**
      * 验证已登录状态
-     * @param expectedUserName 期望的用户名
      */
-    public void verifyLoggedIn(String expectedUserName) {
+    public void verifyLoggedIn() {
+        waitForElementShown(".nav-user");
         verifyElementHidden(loginButton);
         verifyElementHidden(registerButton);
         verifyElementDisplayed(userMenu);
+    }
+
+    /**
+     * 验证已登录状态
+     * @param expectedUserName 期望的用户名
+     */
+    public void verifyLoggedIn(String expectedUserName) {
+        verifyLoggedIn();
         verifyElementText(userName, expectedUserName);
     }
 
@@ -127,6 +137,7 @@ public class HomePage extends BasePage {
      * 点击奖品链接
      */
     public void clickPrizesLink() {
+        PageTimingCollector.markTransition(driver);
         safeClick(prizesLink);
     }
 
@@ -134,6 +145,7 @@ public class HomePage extends BasePage {
      * 点击活动链接
      */
     public void clickActivitiesLink() {
+        PageTimingCollector.markTransition(driver);
         safeClick(activitiesLink);
     }
 
@@ -141,6 +153,7 @@ public class HomePage extends BasePage {
      * 点击活动管理
      */
     public void clickActivityManagementLink() {
+        PageTimingCollector.markTransition(driver);
         safeClick(activitiesManage);
     }
 
@@ -148,6 +161,7 @@ public class HomePage extends BasePage {
      * 点击管理后台链接
      */
     public void clickAdminLink() {
+        PageTimingCollector.markTransition(driver);
         safeClick(adminLink);
     }
 
@@ -162,6 +176,7 @@ public class HomePage extends BasePage {
      * 点击我的奖品
      */
     public void clickMyPrizes() {
+        PageTimingCollector.markTransition(driver);
         safeClick(myPrizesLink);
     }
 
@@ -213,13 +228,10 @@ public class HomePage extends BasePage {
      * 验证页面加载性能
      */
     public void verifyPageLoadPerformance() {
-        // 验证页面在合理时间内加载完成
-        long startTime = System.currentTimeMillis();
         verifyHomePageLoaded();
-        long endTime = System.currentTimeMillis();
 
-        long loadTime = endTime - startTime;
-        Assert.assertTrue(loadTime < 5000, "页面加载时间过长: " + loadTime + "ms");
+        // 在浏览器内读取导航、绘制和资源耗时，按页面预算校验
+        PageTimingCollector.verifyWithinBudget(driver, "home");
     }
 
     // Getter方法供其他类使用
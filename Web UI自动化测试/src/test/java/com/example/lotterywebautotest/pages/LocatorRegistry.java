@@ -0,0 +1,219 @@
+package com.example.lotterywebautotest.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindAll;
+import org.openqa.selenium.support.FindBy;
+import org.openqa.selenium.support.FindBys;
+import org.openqa.selenium.support.pagefactory.Annotations;
+import org.openqa.selenium.support.pagefactory.ByAll;
+import org.openqa.selenium.support.pagefactory.ByChained;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.lang.reflect.Field;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 页面元素定位器注册表
+ * 每个页面类的@FindBy/@FindBys/@FindAll在JVM内只解析一次：先校验注解和XPath语法（有误时立即报出页面和字段名），
+ * 再把能等价表达的XPath改写为CSS选择器，结果供每次创建页面对象时复用。
+ * 可改写的XPath：以//开头，由 / 和 // 连接的步骤组成，每步是标签名或*，可带 [@属性='值'] 条件，
+ * 或单独一个位置条件 [n]；含text()、contains()、and、轴和函数的XPath保持原样。
+ */
+public class LocatorRegistry {
+
+    private static final Pattern STEP = Pattern.compile("([A-Za-z][\\w-]*|\\*)((?:\\[[^\\[\\]]*])*)");
+    private static final Pattern PREDICATE = Pattern.compile(
+            "\\[\\s*(?:@([A-Za-z_][\\w-]*)\\s*=\\s*(?:'([^']*)'|\"([^\"]*)\")|(\\d+))\\s*]");
+    private static final Pattern CSS_IDENTIFIER = Pattern.compile("[A-Za-z_][\\w-]*");
+
+    private static final Map<Class<?>, Map<Field, By>> LOCATORS = new ConcurrentHashMap<>();
+
+    /**
+     * 获取字段的定位器，首次访问字段所在的页面类时解析该类的全部定位器
+     * @param field 页面元素字段
+     * @return 定位器，字段不是页面元素时为null
+     */
+    public static By getLocator(Field field) {
+        return getLocators(field.getDeclaringClass()).get(field);
+    }
+
+    /**
+     * 获取页面类（不含父类）声明的全部元素定位器
+     * @param pageClass 页面类
+     * @return 字段到定位器的映射
+     */
+    public static Map<Field, By> getLocators(Class<?> pageClass) {
+        return LOCATORS.computeIfAbsent(pageClass, LocatorRegistry::compile);
+    }
+
+    private static Map<Field, By> compile(Class<?> pageClass) {
+        Map<Field, By> locators = new LinkedHashMap<>();
+        int cssCount = 0;
+        for (Field field : pageClass.getDeclaredFields()) {
+            if (!isElementField(field)) {
+                continue;
+            }
+            try {
+                // 先用Selenium自身的规则校验注解组合
+                By selenium = new Annotations(field).buildBy();
+                By locator = compile(field, selenium);
+                if (locator instanceof By.ByCssSelector && !(selenium instanceof By.ByCssSelector)) {
+                    cssCount++;
+                }
+                locators.put(field, locator);
+            } catch (RuntimeException e) {
+                throw new RuntimeException("页面定位器无效: " + pageClass.getSimpleName() + "." + field.getName()
+                        + "，" + e.getMessage(), e);
+            }
+        }
+        if (!locators.isEmpty()) {
+            System.out.println("页面定位器已编译: " + pageClass.getSimpleName() + " 共" + locators.size()
+                    + "个，其中" + cssCount + "个XPath改用CSS");
+        }
+        return Collections.unmodifiableMap(locators);
+    }
+
+    private static By compile(Field field, By selenium) {
+        FindBy findBy = field.getAnnotation(FindBy.class);
+        if (findBy != null) {
+            return compile(findBy, field);
+        }
+        FindBys findBys = field.getAnnotation(FindBys.class);
+        if (findBys != null) {
+            return new ByChained(compileAll(findBys.value(), field));
+        }
+        FindAll findAll = field.getAnnotation(FindAll.class);
+        if (findAll != null) {
+            return new ByAll(compileAll(findAll.value(), field));
+        }
+        return selenium;
+    }
+
+    private static By[] compileAll(FindBy[] findBys, Field field) {
+        By[] locators = new By[findBys.length];
+        for (int i = 0; i < findBys.length; i++) {
+            locators[i] = compile(findBys[i], field);
+        }
+        return locators;
+    }
+
+    private static By compile(FindBy findBy, Field field) {
+        if (findBy.xpath().isEmpty()) {
+            return new FindBy.FindByBuilder().buildIt(findBy, field);
+        }
+        String xpath = findBy.xpath();
+        validateXPath(xpath);
+        String css = toCss(xpath);
+        return css != null ? By.cssSelector(css) : By.xpath(xpath);
+    }
+
+    private static void validateXPath(String xpath) {
+        try {
+            XPathFactory.newInstance().newXPath().compile(xpath);
+        } catch (XPathExpressionException e) {
+            throw new IllegalArgumentException("XPath语法错误: " + xpath, e);
+        }
+    }
+
+    /**
+     * 把XPath改写为等价的CSS选择器
+     * @param xpath XPath表达式
+     * @return CSS选择器，不能等价改写时为null
+     */
+    static String toCss(String xpath) {
+        String rest = xpath.trim();
+        if (!rest.startsWith("//")) {
+            return null;
+        }
+        StringBuilder css = new StringBuilder();
+        while (!rest.isEmpty()) {
+            String combinator;
+            if (rest.startsWith("//")) {
+                combinator = " ";
+                rest = rest.substring(2);
+            } else if (rest.startsWith("/")) {
+                combinator = " > ";
+                rest = rest.substring(1);
+            } else {
+                return null;
+            }
+            Matcher step = STEP.matcher(rest);
+            if (!step.lookingAt()) {
+                return null;
+            }
+            String selector = toCss(step.group(1), step.group(2));
+            if (selector == null) {
+                return null;
+            }
+            if (css.length() > 0) {
+                css.append(combinator);
+            }
+            css.append(selector);
+            rest = rest.substring(step.end());
+        }
+        return css.toString();
+    }
+
+    private static String toCss(String tag, String predicates) {
+        StringBuilder selector = new StringBuilder("*".equals(tag) ? "" : tag);
+        Matcher predicate = PREDICATE.matcher(predicates);
+        int position = 0;
+        boolean positional = false;
+        int count = 0;
+        while (position < predicates.length()) {
+            if (!predicate.find(position) || predicate.start() != position) {
+                return null;
+            }
+            count++;
+            if (predicate.group(4) != null) {
+                // 位置条件在其他条件之后时含义不同（先过滤再取序号），只改写单独的位置条件
+                positional = true;
+                selector.append("*".equals(tag) ? ":nth-child(" : ":nth-of-type(")
+                        .append(Integer.parseInt(predicate.group(4))).append(')');
+            } else {
+                String name = predicate.group(1);
+                String value = predicate.group(2) != null ? predicate.group(2) : predicate.group(3);
+                if (value.contains("\\") || value.contains("\n")) {
+                    return null;
+                }
+                if ("id".equals(name) && CSS_IDENTIFIER.matcher(value).matches()) {
+                    selector.append('#').append(value);
+                } else {
+                    String quote = value.contains("'") ? "\"" : "'";
+                    selector.append('[').append(name).append('=').append(quote).append(value).append(quote).append(']');
+                }
+            }
+            position = predicate.end();
+        }
+        if (positional && count > 1) {
+            return null;
+        }
+        return selector.length() == 0 ? "*" : selector.toString();
+    }
+
+    private static boolean isElementField(Field field) {
+        if (WebElement.class.isAssignableFrom(field.getType())) {
+            return true;
+        }
+        if (!List.class.isAssignableFrom(field.getType())) {
+            return false;
+        }
+        if (field.getAnnotation(FindBy.class) == null && field.getAnnotation(FindBys.class) == null
+                && field.getAnnotation(FindAll.class) == null) {
+            return false;
+        }
+        Type type = field.getGenericType();
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == WebElement.class;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.lotterywebautotest.pages;
+
+import org.junit.jupiter.api.Test;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.FindBy;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LocatorRegistryTest {
+
+    @Test
+    void simpleXPathIsRewrittenToCss() {
+        assertEquals("#lotteryGrid > div:nth-of-type(5)", LocatorRegistry.toCss("//*[@id=\"lotteryGrid\"]/div[5]"));
+        assertEquals("div#draw-result img", LocatorRegistry.toCss("//div[@id='draw-result']//img"));
+        assertEquals("table tbody tr td:nth-of-type(5) img", LocatorRegistry.toCss("//table//tbody//tr//td[5]//img"));
+        assertEquals("input[type='password'][name='pwd']",
+                LocatorRegistry.toCss("//input[@type='password'][@name='pwd']"));
+        assertEquals("#list > :nth-child(2)", LocatorRegistry.toCss("//*[@id='list']/*[2]"));
+        assertEquals("div[id='1st']", LocatorRegistry.toCss("//div[@id='1st']"));
+    }
+
+    @Test
+    void xpathWithoutCssEquivalentIsKept() {
+        assertNull(LocatorRegistry.toCss("//button[text()='添加奖品']"));
+        assertNull(LocatorRegistry.toCss("//div[contains(@class, 'modal')]"));
+        assertNull(LocatorRegistry.toCss("//button[@class='btn' and text()='下一页']"));
+        assertNull(LocatorRegistry.toCss("//tr[@class='row'][1]"));
+        assertNull(LocatorRegistry.toCss("//div/.."));
+        assertNull(LocatorRegistry.toCss("/html/body"));
+    }
+
+    @Test
+    void everyPageLocatorCompiles() {
+        List<Class<?>> pages = List.of(HomePage.class, LoginPage.class, RegisterPage.class, LotteryPage.class,
+                PrizeManagementPage.class, ActivityManagementPage.class, UserPrizeRecordPage.class);
+        for (Class<?> page : pages) {
+            Map<Field, By> locators = LocatorRegistry.getLocators(page);
+            assertFalse(locators.isEmpty(), page.getSimpleName());
+            assertTrue(locators.values().stream().allMatch(by -> by != null), page.getSimpleName());
+        }
+    }
+
+    @Test
+    void invalidXPathNamesPageAndField() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> LocatorRegistry.getLocators(BrokenPage.class));
+        assertTrue(e.getMessage().contains("BrokenPage.title"), e.getMessage());
+    }
+
+    private static class BrokenPage {
+        @FindBy(xpath = "//div[@id='x'")
+        private WebElement title;
+    }
+}
@@ -5,8 +5,6 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import java.time.Duration;
@@ -211,16 +209,11 @@ public class LoginPage extends BasePage {
      */
     public boolean verifyLoginSuccess() {
         try {
-            // 创建等待对象，设置最长等待时间为10秒（可根据实际情况调整）
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(5));
-
             // 定位成功提示元素（根据实际页面元素调整选择器）
             // 示例：假设成功提示是class为"success-message"的div元素
-            WebElement successMessage = wait.until(
-                    ExpectedConditions.visibilityOfElementLocated(
-                            By.xpath("//div[@class='success-message' and contains(text(), '登录成功')]")
-                    )
-            );
+            By successLocator = By.xpath("//div[@class='success-message' and contains(text(), '登录成功')]");
+            waitForElementVisible(successLocator, Duration.ofSeconds(5));
+            WebElement successMessage = driver.findElement(successLocator);
 
             // 如果元素可见且包含预期文本，返回验证成功
             return successMessage.isDisplayed() &&
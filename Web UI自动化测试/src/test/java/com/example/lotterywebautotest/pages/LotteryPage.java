@@ -1,6 +1,9 @@
 package com.example.lotterywebautotest.pages;
 
 
+import com.example.lotterywebautotest.utils.LatencyHistogram;
+import com.example.lotterywebautotest.utils.LatencyRecorder;
+import com.example.lotterywebautotest.utils.PageTimingCollector;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
@@ -15,6 +18,23 @@ import java.util.List;
  */
 public class LotteryPage extends BasePage {
 
+    private static final String GRID_ITEM_TEXT_XPATH = "//div[@id='lottery-grid']//div[@class='grid-item']//span";
+    private static final String PRIZE_IMAGE_XPATH = "//div[@id='prizes-info']//div[@class='prize-item']//img";
+    private static final String PRIZE_NAME_XPATH = "//div[@id='prizes-info']//div[@class='prize-item']//span";
+    private static final String PRIZE_DESCRIPTION_XPATH = "//div[@id='prizes-info']//div[@class='prize-item']//p";
+    private static final String PRIZE_PRICE_XPATH = "//div[@id='prizes-info']//div[@class='prize-item']//strong";
+
+    private static final String DRAW_API = "/api/lottery/draw";
+
+    private static final String RESULT_BUTTON_SELECTOR = "#modalContent > button";
+
+    private static final String CHANCES_SELECTOR = "#remainingChances";
+
+    /**
+     * 点击抽奖前已完成的抽奖请求数
+     */
+    private long drawRequestsBeforeClick;
+
     // 页面元素定位
     @FindBy(xpath = "//div[@class='chances']")
     private WebElement pageTitle;
@@ -28,9 +48,6 @@ public class LotteryPage extends BasePage {
     @FindBy(xpath = "//*[@id=\"lotteryGrid\"]")
     private List<WebElement> gridItemImages;
 
-    @FindBy(xpath = "//div[@id='lottery-grid']//div[@class='grid-item']//span")
-    private List<WebElement> gridItemTexts;
-
     @FindBy(xpath = "//*[@id=\"drawBtn\"]")
     private WebElement drawButton;
 
@@ -82,16 +99,10 @@ public class LotteryPage extends BasePage {
     @FindBy(xpath = "//*[@id=\"lotteryGrid\"]")
     private List<WebElement> prizeItems;
 
-    @FindBy(xpath = "//div[@id='prizes-info']//div[@class='prize-item']//img")
-    private List<WebElement> prizeImages;
-
-    @FindBy(xpath = "//div[@id='prizes-info']//div[@class='prize-item']//span")
+    @FindBy(xpath = PRIZE_NAME_XPATH)
     private List<WebElement> prizeNames;
 
-    @FindBy(xpath = "//div[@id='prizes-info']//div[@class='prize-item']//p")
-    private List<WebElement> prizeDescriptions;
-
-    @FindBy(xpath = "//div[@id='prizes-info']//div[@class='prize-item']//strong")
+    @FindBy(xpath = PRIZE_PRICE_XPATH)
     private List<WebElement> prizePrices;
 
     @FindBy(xpath = "//div[@id='loading']")
@@ -146,8 +157,9 @@ public class LotteryPage extends BasePage {
 //        }
 
         // 验证网格项文本存在
-        for (WebElement text : gridItemTexts) {
-            Assert.assertFalse(text.getText().trim().isEmpty(), "网格项文本不能为空");
+        ElementSnapshot snapshot = snapshot(List.of(GRID_ITEM_TEXT_XPATH));
+        for (String text : snapshot.texts(GRID_ITEM_TEXT_XPATH)) {
+            Assert.assertFalse(text.isEmpty(), "网格项文本不能为空");
         }
     }
 
@@ -205,25 +217,29 @@ public class LotteryPage extends BasePage {
      * 验证奖品信息完整性
      */
     public void verifyPrizeInformationCompleteness() {
+        // 图片加载完成前尺寸为0，等全部可见后再采集
+        waitForAllDisplayed(PRIZE_IMAGE_XPATH);
+        ElementSnapshot snapshot = snapshot(List.of(PRIZE_IMAGE_XPATH, PRIZE_NAME_XPATH,
+                PRIZE_DESCRIPTION_XPATH, PRIZE_PRICE_XPATH), "src");
+
         // 验证奖品图片存在
-        for (WebElement image : prizeImages) {
-            verifyElementDisplayed(image);
+        for (ElementSnapshot.Element image : snapshot.column(PRIZE_IMAGE_XPATH)) {
+            Assert.assertTrue(image.isDisplayed(), "元素未显示");
             Assert.assertNotNull(image.getAttribute("src"), "奖品图片src不能为空");
         }
 
         // 验证奖品名称不为空
-        for (WebElement name : prizeNames) {
-            Assert.assertFalse(name.getText().trim().isEmpty(), "奖品名称不能为空");
+        for (String name : snapshot.texts(PRIZE_NAME_XPATH)) {
+            Assert.assertFalse(name.isEmpty(), "奖品名称不能为空");
         }
 
         // 验证奖品描述不为空
-        for (WebElement description : prizeDescriptions) {
-            Assert.assertFalse(description.getText().trim().isEmpty(), "奖品描述不能为空");
+        for (String description : snapshot.texts(PRIZE_DESCRIPTION_XPATH)) {
+            Assert.assertFalse(description.isEmpty(), "奖品描述不能为空");
         }
 
         // 验证奖品价格格式
-        for (WebElement price : prizePrices) {
-            String priceText = price.getText();
+        for (String priceText : snapshot.texts(PRIZE_PRICE_XPATH)) {
             Assert.assertTrue(priceText.contains("¥"), "奖品价格格式不正确: " + priceText);
         }
     }
@@ -232,9 +248,27 @@ public class LotteryPage extends BasePage {
      * 点击抽奖按钮
      */
     public void clickDrawButton() {
+        installNetworkTracker();
+        drawRequestsBeforeClick = getFinishedRequestCount(DRAW_API);
         safeClick(drawButton);
     }
 
+    /**
+     * 等待抽奖请求完成且结果弹窗渲染
+     */
+    public void waitForDrawResult() {
+        waitForRequestFinished(DRAW_API, drawRequestsBeforeClick);
+        waitForElementShown(RESULT_BUTTON_SELECTOR);
+    }
+
+    /**
+     * 等待剩余抽奖次数刷新
+     * @param previousChances 抽奖前的次数
+     */
+    public void waitForChancesChanged(int previousChances) {
+        waitForTextChanged(CHANCES_SELECTOR, String.valueOf(previousChances));
+    }
+
     /**
      * 验证抽奖按钮状态
      * @param expectedEnabled 期望的启用状态
@@ -375,24 +409,31 @@ public class LotteryPage extends BasePage {
      * 验证页面加载性能
      */
     public void verifyPageLoadPerformance() {
-        long startTime = System.currentTimeMillis();
         verifyLotteryPageLoaded();
-        long endTime = System.currentTimeMillis();
 
-        long loadTime = endTime - startTime;
-        Assert.assertTrue(loadTime < 8000, "抽奖页面加载时间过长: " + loadTime + "ms");
+        // 在浏览器内读取导航、绘制和资源耗时，按页面预算校验
+        PageTimingCollector.verifyWithinBudget(driver, "lottery");
     }
 
     /**
      * 验证抽奖功能性能
+     * 重复测量抽奖耗时（次数由 test.perf.latency.lotteryDraw.iterations 配置，注意每次都会消耗抽奖次数），按百分位预算校验
      */
     public void verifyDrawPerformance() {
-        long startTime = System.currentTimeMillis();
-        clickDrawButton();
-        verifyDrawResultDisplayed();
-        long endTime = System.currentTimeMillis();
+        LatencyHistogram histogram = LatencyRecorder.measure("lotteryDraw", () -> {
+            clickDrawButton();
+            waitForDrawResult();
+            verifyDrawResultDisplayed();
+        }, this::closeDrawResult);
+
+        LatencyRecorder.verifyPercentiles(histogram);
+    }
 
-        long drawTime = endTime - startTime;
-        Assert.assertTrue(drawTime < 5000, "抽奖功能响应时间过长: " + drawTime + "ms");
+    /**
+     * 关闭抽奖结果弹窗
+     */
+    public void closeDrawResult() {
+        clickDrawResultButton();
+        waitForElementGone(RESULT_BUTTON_SELECTOR);
     }
 }
@@ -1,5 +1,6 @@
 package com.example.lotterywebautotest.pages;
 
+import com.example.lotterywebautotest.utils.PageTimingCollector;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -13,6 +14,17 @@ import java.util.List;
  */
 public class PrizeManagementPage extends BasePage {
 
+    private static final String PRIZE_ID_XPATH = "//*[@id=\"prizes-table-body\"]/tr[1]/td[1]";
+    private static final String PRIZE_NAME_XPATH = "//table//tbody//tr//td[2]";
+    private static final String PRIZE_DESCRIPTION_XPATH = "//table//tbody//tr//td[3]";
+    private static final String PRIZE_PRICE_XPATH = "//table//tbody//tr//td[4]";
+    private static final String PRIZE_IMAGE_XPATH = "//table//tbody//tr//td[5]//img";
+    private static final String ACTION_BUTTON_XPATH = "//*[@id=\"prizes-table-body\"]/tr[1]/td[6]/button";
+
+    private static final String FIRST_ACTION_BUTTON_SELECTOR = "#prizes-table-body tr:first-child td:nth-child(6) button";
+
+    private static final String PRIZE_NAME_CELL_SELECTOR = "table tbody tr td:nth-child(2)";
+
     // 页面元素定位
     @FindBy(xpath = "//*[@id=\"admin-prizes\"]/div[1]/h3")
     private WebElement pageTitle;
@@ -30,22 +42,16 @@ public class PrizeManagementPage extends BasePage {
     })
     private List<WebElement> prizeRows;
 
-    @FindBy(xpath = "//*[@id=\"prizes-table-body\"]/tr[1]/td[1]")
+    @FindBy(xpath = PRIZE_ID_XPATH)
     private List<WebElement> prizeIds;
 
-    @FindBy(xpath = "//table//tbody//tr//td[2]")
+    @FindBy(xpath = PRIZE_NAME_XPATH)
     private List<WebElement> prizeNames;
 
-    @FindBy(xpath = "//table//tbody//tr//td[3]")
-    private List<WebElement> prizeDescriptions;
-
-    @FindBy(xpath = "//table//tbody//tr//td[4]")
+    @FindBy(xpath = PRIZE_PRICE_XPATH)
     private List<WebElement> prizePrices;
 
-    @FindBy(xpath = "//table//tbody//tr//td[5]//img")
-    private List<WebElement> prizeImages;
-
-    @FindBy(xpath = "//*[@id=\"prizes-table-body\"]/tr[1]/td[6]/button")
+    @FindBy(xpath = ACTION_BUTTON_XPATH)
     private List<WebElement> actionButtons;
 
     @FindBy(xpath = "//button[text()='禁用']")
@@ -122,36 +128,40 @@ public class PrizeManagementPage extends BasePage {
      * 验证奖品信息完整性
      */
     public void verifyPrizeInformationCompleteness() {
+        // 等图片加载完成、操作按钮渲染后再采集
+        waitForAllDisplayed(PRIZE_IMAGE_XPATH, ACTION_BUTTON_XPATH);
+        ElementSnapshot snapshot = snapshot(List.of(PRIZE_ID_XPATH, PRIZE_NAME_XPATH, PRIZE_DESCRIPTION_XPATH,
+                PRIZE_PRICE_XPATH, PRIZE_IMAGE_XPATH, ACTION_BUTTON_XPATH), "src");
+
         // 验证奖品ID不为空
-        for (WebElement prizeId : prizeIds) {
-            Assert.assertFalse(prizeId.getText().trim().isEmpty(), "奖品ID不能为空");
+        for (String prizeId : snapshot.texts(PRIZE_ID_XPATH)) {
+            Assert.assertFalse(prizeId.isEmpty(), "奖品ID不能为空");
         }
 
         // 验证奖品名称不为空
-        for (WebElement prizeName : prizeNames) {
-            Assert.assertFalse(prizeName.getText().trim().isEmpty(), "奖品名称不能为空");
+        for (String prizeName : snapshot.texts(PRIZE_NAME_XPATH)) {
+            Assert.assertFalse(prizeName.isEmpty(), "奖品名称不能为空");
         }
 
         // 验证奖品描述不为空
-        for (WebElement description : prizeDescriptions) {
-            Assert.assertFalse(description.getText().trim().isEmpty(), "奖品描述不能为空");
+        for (String description : snapshot.texts(PRIZE_DESCRIPTION_XPATH)) {
+            Assert.assertFalse(description.isEmpty(), "奖品描述不能为空");
         }
 
         // 验证奖品价格格式
-        for (WebElement price : prizePrices) {
-            String priceText = price.getText();
+        for (String priceText : snapshot.texts(PRIZE_PRICE_XPATH)) {
             Assert.assertTrue(priceText.contains("¥"), "奖品价格格式不正确: " + priceText);
         }
 
         // 验证奖品图片存在
-        for (WebElement image : prizeImages) {
-            verifyElementDisplayed(image);
+        for (ElementSnapshot.Element image : snapshot.column(PRIZE_IMAGE_XPATH)) {
+            Assert.assertTrue(image.isDisplayed(), "元素未显示");
             Assert.assertNotNull(image.getAttribute("src"), "奖品图片src不能为空");
         }
 
         // 验证操作按钮存在
-        for (WebElement button : actionButtons) {
-            verifyElementDisplayed(button);
+        for (ElementSnapshot.Element button : snapshot.column(ACTION_BUTTON_XPATH)) {
+            Assert.assertTrue(button.isDisplayed(), "元素未显示");
         }
     }
 
@@ -213,21 +223,11 @@ public class PrizeManagementPage extends BasePage {
      * @param expectedPrizeName 期望的奖品名称
      */
     public void verifyPrizeAddedSuccessfully(String expectedPrizeName) {
-        // 等待页面刷新
-        try {
-            Thread.sleep(2000);
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-        }
+        // 等待列表刷新出新奖品
+        waitForAnyTextEquals(PRIZE_NAME_CELL_SELECTOR, expectedPrizeName);
 
         // 验证奖品在列表中显示
-        boolean found = false;
-        for (WebElement prizeName : prizeNames) {
-            if (prizeName.getText().equals(expectedPrizeName)) {
-                found = true;
-                break;
-            }
-        }
+        boolean found = snapshot(List.of(PRIZE_NAME_XPATH)).texts(PRIZE_NAME_XPATH).contains(expectedPrizeName);
 
         Assert.assertTrue(found, "奖品添加成功但未在列表中显示: " + expectedPrizeName);
     }
@@ -239,12 +239,8 @@ public class PrizeManagementPage extends BasePage {
         if (disableButtons.size() > 0) {
             safeClick(disableButtons.get(0));
 
-            // 等待状态更新
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // 等待确认弹窗
+            waitForAlertPresent();
         }
     }
 
@@ -255,12 +251,8 @@ public class PrizeManagementPage extends BasePage {
         if (enableButtons.size() > 0) {
             safeClick(enableButtons.get(0));
 
-            // 等待状态更新
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
+            // 等待确认弹窗
+            waitForAlertPresent();
         }
     }
 
@@ -273,6 +265,13 @@ public class PrizeManagementPage extends BasePage {
 //        driver.navigate().refresh();
         verifyPrizeManagementPageLoaded();
 
+        // 等待按钮文本刷新（禁用状态的奖品显示“启用”按钮，反之亦然）
+        if ("禁用".equals(expectedStatus)) {
+            waitForTextEquals(FIRST_ACTION_BUTTON_SELECTOR, "启用");
+        } else if ("启用".equals(expectedStatus)) {
+            waitForTextEquals(FIRST_ACTION_BUTTON_SELECTOR, "禁用");
+        }
+
         // 验证第一个奖品的操作按钮状态
         if (actionButtons.size() > 0) {
             String buttonText = actionButtons.get(0).getText();
@@ -383,12 +382,10 @@ public class PrizeManagementPage extends BasePage {
      * 验证页面加载性能
      */
     public void verifyPageLoadPerformance() {
-        long startTime = System.currentTimeMillis();
         verifyPrizeManagementPageLoaded();
-        long endTime = System.currentTimeMillis();
 
-        long loadTime = endTime - startTime;
-        Assert.assertTrue(loadTime < 8000, "奖品管理页面加载时间过长: " + loadTime + "ms");
+        // 在浏览器内读取导航、绘制和资源耗时，按页面预算校验
+        PageTimingCollector.verifyWithinBudget(driver, "prizeManagement");
     }
 }
 
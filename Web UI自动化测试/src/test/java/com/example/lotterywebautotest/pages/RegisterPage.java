@@ -3,8 +3,6 @@ package com.example.lotterywebautotest.pages;
 
 import org.openqa.selenium.*;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
 import org.testng.Assert;
 
 import java.time.Duration;
@@ -218,16 +216,11 @@ public class RegisterPage extends BasePage {
     // 验证注册成功的方法
     public boolean verifyRegistrationSuccess() {
         try {
-            // 创建等待对象，设置最长等待时间为10秒（可根据实际情况调整）
-            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-
             // 定位成功提示元素（根据实际页面元素调整选择器）
             // 示例：假设成功提示是class为"success-message"的div元素
-            WebElement successMessage = wait.until(
-                    ExpectedConditions.visibilityOfElementLocated(
-                            By.xpath("//div[@class='success-message' and contains(text(), '注册成功')]")
-                    )
-            );
+            By successLocator = By.xpath("//div[@class='success-message' and contains(text(), '注册成功')]");
+            waitForElementVisible(successLocator, Duration.ofSeconds(10));
+            WebElement successMessage = driver.findElement(successLocator);
 
             // 如果元素可见且包含预期文本，返回验证成功
             return successMessage.isDisplayed() &&
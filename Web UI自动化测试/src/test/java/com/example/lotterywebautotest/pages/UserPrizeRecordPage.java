@@ -1,6 +1,7 @@
 package com.example.lotterywebautotest.pages;
 
 
+import com.example.lotterywebautotest.utils.PageTimingCollector;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -14,6 +15,14 @@ import java.util.List;
  */
 public class UserPrizeRecordPage extends BasePage {
 
+    private static final String RECORD_ID_XPATH = "//table//tbody//tr//td[1]";
+    private static final String PRIZE_NAME_XPATH = "//table//tbody//tr//td[2]";
+    private static final String PRIZE_DESCRIPTION_XPATH = "//table//tbody//tr//td[3]";
+    private static final String PRIZE_PRICE_XPATH = "//table//tbody//tr//td[4]";
+    private static final String DRAW_DATE_XPATH = "//table//tbody//tr//td[5]";
+    private static final String RECORD_STATUS_XPATH = "//table//tbody//tr//td[6]";
+    private static final String PRIZE_IMAGE_XPATH = "//table//tbody//tr//td[7]//img";
+
     // 页面元素定位
     @FindBy(xpath = "//h3[text()='我的中奖记录']")
     private WebElement pageTitle;
@@ -27,27 +36,18 @@ public class UserPrizeRecordPage extends BasePage {
     })
     private List<WebElement> recordRows;
 
-    @FindBy(xpath = "//table//tbody//tr//td[1]")
+    @FindBy(xpath = RECORD_ID_XPATH)
     private List<WebElement> recordIds;
 
-    @FindBy(xpath = "//table//tbody//tr//td[2]")
+    @FindBy(xpath = PRIZE_NAME_XPATH)
     private List<WebElement> prizeNames;
 
-    @FindBy(xpath = "//table//tbody//tr//td[3]")
-    private List<WebElement> prizeDescriptions;
-
-    @FindBy(xpath = "//table//tbody//tr//td[4]")
+    @FindBy(xpath = PRIZE_PRICE_XPATH)
     private List<WebElement> prizePrices;
 
-    @FindBy(xpath = "//table//tbody//tr//td[5]")
-    private List<WebElement> drawDates;
-
-    @FindBy(xpath = "//table//tbody//tr//td[6]")
+    @FindBy(xpath = RECORD_STATUS_XPATH)
     private List<WebElement> recordStatuses;
 
-    @FindBy(xpath = "//table//tbody//tr//td[7]//img")
-    private List<WebElement> prizeImages;
-
     @FindBy(xpath = "//div[@class='pagination']")
     private WebElement pagination;
 
@@ -113,42 +113,45 @@ public class UserPrizeRecordPage extends BasePage {
      */
     public void verifyPrizeRecordInformationCompleteness() {
         if (recordRows.size() > 0) {
+            // 图片加载完成前尺寸为0，等全部可见后再采集
+            waitForAllDisplayed(PRIZE_IMAGE_XPATH);
+            ElementSnapshot snapshot = snapshot(List.of(RECORD_ID_XPATH, PRIZE_NAME_XPATH, PRIZE_DESCRIPTION_XPATH,
+                    PRIZE_PRICE_XPATH, DRAW_DATE_XPATH, RECORD_STATUS_XPATH, PRIZE_IMAGE_XPATH), "src");
+
             // 验证记录ID不为空
-            for (WebElement recordId : recordIds) {
-                Assert.assertFalse(recordId.getText().trim().isEmpty(), "记录ID不能为空");
+            for (String recordId : snapshot.texts(RECORD_ID_XPATH)) {
+                Assert.assertFalse(recordId.isEmpty(), "记录ID不能为空");
             }
 
             // 验证奖品名称不为空
-            for (WebElement prizeName : prizeNames) {
-                Assert.assertFalse(prizeName.getText().trim().isEmpty(), "奖品名称不能为空");
+            for (String prizeName : snapshot.texts(PRIZE_NAME_XPATH)) {
+                Assert.assertFalse(prizeName.isEmpty(), "奖品名称不能为空");
             }
 
             // 验证奖品描述不为空
-            for (WebElement description : prizeDescriptions) {
-                Assert.assertFalse(description.getText().trim().isEmpty(), "奖品描述不能为空");
+            for (String description : snapshot.texts(PRIZE_DESCRIPTION_XPATH)) {
+                Assert.assertFalse(description.isEmpty(), "奖品描述不能为空");
             }
 
             // 验证奖品价格格式
-            for (WebElement price : prizePrices) {
-                String priceText = price.getText();
+            for (String priceText : snapshot.texts(PRIZE_PRICE_XPATH)) {
                 Assert.assertTrue(priceText.contains("¥"), "奖品价格格式不正确: " + priceText);
             }
 
             // 验证抽奖日期不为空
-            for (WebElement drawDate : drawDates) {
-                Assert.assertFalse(drawDate.getText().trim().isEmpty(), "抽奖日期不能为空");
+            for (String drawDate : snapshot.texts(DRAW_DATE_XPATH)) {
+                Assert.assertFalse(drawDate.isEmpty(), "抽奖日期不能为空");
             }
 
             // 验证记录状态
-            for (WebElement status : recordStatuses) {
-                String statusText = status.getText();
+            for (String statusText : snapshot.texts(RECORD_STATUS_XPATH)) {
                 Assert.assertTrue(statusText.equals("已中奖") || statusText.equals("未中奖"),
                         "记录状态不正确: " + statusText);
             }
 
             // 验证奖品图片存在
-            for (WebElement image : prizeImages) {
-                verifyElementDisplayed(image);
+            for (ElementSnapshot.Element image : snapshot.column(PRIZE_IMAGE_XPATH)) {
+                Assert.assertTrue(image.isDisplayed(), "元素未显示");
                 Assert.assertNotNull(image.getAttribute("src"), "奖品图片src不能为空");
             }
         }
@@ -334,12 +337,10 @@ public class UserPrizeRecordPage extends BasePage {
      * 验证页面加载性能
      */
     public void verifyPageLoadPerformance() {
-        long startTime = System.currentTimeMillis();
         verifyUserPrizeRecordPageLoaded();
-        long endTime = System.currentTimeMillis();
 
-        long loadTime = endTime - startTime;
-        Assert.assertTrue(loadTime < 8000, "用户中奖记录页面加载时间过长: " + loadTime + "ms");
+        // 在浏览器内读取导航、绘制和资源耗时，按页面预算校验
+        PageTimingCollector.verifyWithinBudget(driver, "userPrizeRecord");
     }
 
     /**
@@ -0,0 +1,171 @@
+package com.example.lotterywebautotest.stub;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 别名表的分布校验
+ * 随机数使用固定种子，结果可复现；卡方检验的显著性水平为0.001
+ */
+class AliasTableTest {
+
+    private static final long SEED = 20251018L;
+    private static final int SAMPLES = 1_000_000;
+
+    /**
+     * 标准正态分布上0.001分位点
+     */
+    private static final double Z_999 = 3.090232;
+
+    @Test
+    void impliedProbabilitiesMatchWeights() {
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int round = 0; round < 200; round++) {
+            double[] weights = new double[1 + random.nextInt(64)];
+            for (int i = 0; i < weights.length; i++) {
+                weights[i] = random.nextInt(4) == 0 ? 0 : random.nextDouble() * 100;
+            }
+            weights[random.nextInt(weights.length)] += 1;
+
+            AliasTable table = new AliasTable(weights);
+            double[] implied = table.impliedProbabilities();
+            for (int i = 0; i < weights.length; i++) {
+                assertEquals(table.getProbability(i), implied[i], 1e-12, "第" + i + "项概率不一致");
+            }
+        }
+    }
+
+    @Test
+    void gridWeightsPassChiSquare() {
+        // 默认九宫格：一、二、三等奖 1/5/20，其余5格平分剩余权重
+        assertChiSquare(new double[]{1, 14.8, 5, 14.8, 20, 14.8, 14.8, 14.8});
+    }
+
+    @Test
+    void uniformWeightsPassChiSquare() {
+        double[] weights = new double[100];
+        Arrays.fill(weights, 3);
+        assertChiSquare(weights);
+    }
+
+    @Test
+    void skewedWeightsPassChiSquare() {
+        // Zipf分布的1000项奖品表
+        double[] weights = new double[1000];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1.0 / (i + 1);
+        }
+        assertChiSquare(weights);
+    }
+
+    @Test
+    void zeroWeightIsNeverSampled() {
+        double[] weights = {0, 5, 0, 0, 1, 0};
+        AliasTable table = new AliasTable(weights);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = table.sample(random.nextDouble());
+            assertTrue(weights[index] > 0, "抽中了权重为0的项: " + index);
+        }
+        assertTrue(weights[table.sample(Math.nextDown(1.0))] > 0, "随机数接近1时抽中了权重为0的项");
+    }
+
+    @Test
+    void invalidWeightsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[0]));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{0, 0}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, -1}));
+        assertThrows(IllegalArgumentException.class, () -> new AliasTable(new double[]{1, Double.NaN}));
+    }
+
+    @Test
+    void soldOutPrizeWeightMovesToMissCells() {
+        // 每种奖品库存1件，抽完后该格概率为0，"谢谢参与"格子分摊其权重，其他奖品概率不变
+        LotteryStore store = new LotteryStore(1, 3, 1, 0, new double[]{10, 20, 30}, 1);
+        StubActivity activity = store.getActivity(1);
+        GridCell first = cellOfTier(activity, "FIRST_PRIZE");
+        double secondBefore = activity.getCellProbability(cellOfTier(activity, "SECOND_PRIZE").getIndex());
+
+        for (int i = 0; i < 10_000 && first.getActivityPrize().isAvailable(); i++) {
+            store.draw(1, 1);
+        }
+        assertEquals(0, first.getActivityPrize().getRemaining());
+        assertEquals(0, activity.getCellProbability(first.getIndex()));
+        if (cellOfTier(activity, "SECOND_PRIZE").getActivityPrize().isAvailable()) {
+            assertEquals(secondBefore, activity.getCellProbability(cellOfTier(activity, "SECOND_PRIZE").getIndex()), 1e-12);
+        }
+        double total = 0;
+        for (GridCell cell : activity.getGridList()) {
+            total += activity.getCellProbability(cell.getIndex());
+        }
+        assertEquals(1, total, 1e-12);
+    }
+
+    @Test
+    void disabledPrizeIsNeverDrawn() {
+        LotteryStore store = new LotteryStore(1, 3, 1_000_000, 0, new double[]{10, 20, 30}, 1);
+        StubActivity activity = store.getActivity(1);
+        GridCell third = cellOfTier(activity, "THIRD_PRIZE");
+        store.updatePrizeStatus(third.getPrizeId(), StubPrize.DISABLED);
+        assertEquals(0, activity.getCellProbability(third.getIndex()));
+        for (int i = 0; i < 100_000; i++) {
+            DrawResult result = store.draw(1, 1);
+            assertTrue(!result.isWin() || !third.getPrizeId().equals(result.getPrizeId()), "抽中了已禁用的奖品");
+        }
+
+        store.updatePrizeStatus(third.getPrizeId(), StubPrize.ENABLED);
+        assertEquals(0.3, activity.getCellProbability(third.getIndex()), 1e-12);
+    }
+
+    private static GridCell cellOfTier(StubActivity activity, String tier) {
+        for (GridCell cell : activity.getGridList()) {
+            if (tier.equals(cell.getPrizeTiers())) {
+                return cell;
+            }
+        }
+        throw new AssertionError("九宫格中没有" + tier);
+    }
+
+    /**
+     * 抽样SAMPLES次，对权重大于0的项做卡方拟合优度检验
+     */
+    private static void assertChiSquare(double[] weights) {
+        AliasTable table = new AliasTable(weights);
+        long[] counts = new long[weights.length];
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (int i = 0; i < SAMPLES; i++) {
+            counts[table.sample(random.nextDouble())]++;
+        }
+
+        double chiSquare = 0;
+        int categories = 0;
+        for (int i = 0; i < weights.length; i++) {
+            double expected = table.getProbability(i) * SAMPLES;
+            if (expected == 0) {
+                assertEquals(0, counts[i], "抽中了概率为0的项: " + i);
+                continue;
+            }
+            chiSquare += (counts[i] - expected) * (counts[i] - expected) / expected;
+            categories++;
+        }
+        int degreesOfFreedom = categories - 1;
+        double critical = chiSquareCritical(degreesOfFreedom);
+        assertTrue(chiSquare < critical, "卡方统计量 " + chiSquare + " 超过临界值 " + critical
+                + "（自由度 " + degreesOfFreedom + "）");
+    }
+
+    /**
+     * 卡方分布0.999分位点的 Wilson-Hilferty 近似
+     */
+    private static double chiSquareCritical(int degreesOfFreedom) {
+        double k = degreesOfFreedom;
+        double term = 1 - 2 / (9 * k) + Z_999 * Math.sqrt(2 / (9 * k));
+        return k * term * term * term;
+    }
+}
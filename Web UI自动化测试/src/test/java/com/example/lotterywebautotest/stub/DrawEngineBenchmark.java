@@ -0,0 +1,125 @@
+package com.example.lotterywebautotest.stub;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地抽奖后端抽奖引擎的JMH基准测试
+ * 所有线程在同一个活动上抽奖（最坏的争用情况），每个线程使用不同的用户。
+ * stockStripes=1 相当于单个CAS计数器，作为对照；0 为按CPU核数分段。
+ * 直接运行main方法时依次用1、2、4…个线程执行，输出吞吐量和相对单线程的扩展效率：
+ * mvn test -Pjmh -Djmh.threads=1,2,4,8
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+@State(Scope.Benchmark)
+public class DrawEngineBenchmark {
+
+    private static final long ACTIVITY_ID = 1;
+
+    /**
+     * 每个奖品的库存，每轮迭代重置；售罄后的抽奖走"谢谢参与"路径
+     */
+    @Param("200000")
+    public int prizeStock;
+
+    @Param({"1", "0"})
+    public int stockStripes;
+
+    private final AtomicLong userIds = new AtomicLong();
+    private LotteryStore store;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = new LotteryStore(1, 10, prizeStock, 0, new double[]{1, 5, 20}, stockStripes);
+    }
+
+    @State(Scope.Thread)
+    public static class User {
+        long userId;
+
+        @Setup(Level.Trial)
+        public void setUp(DrawEngineBenchmark benchmark) {
+            userId = benchmark.userIds.incrementAndGet();
+        }
+    }
+
+    @Benchmark
+    public DrawResult draw(User user) {
+        return store.draw(user.userId, ACTIVITY_ID);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Map<String, List<double[]>> results = new LinkedHashMap<>();
+        for (int threads : threadCounts(System.getProperty("jmh.threads", "auto"))) {
+            Options options = new OptionsBuilder()
+                    .include(DrawEngineBenchmark.class.getName() + ".draw")
+                    .threads(threads)
+                    .build();
+            Collection<RunResult> runs = new Runner(options).run();
+            for (RunResult run : runs) {
+                String key = "stockStripes=" + run.getParams().getParam("stockStripes");
+                results.computeIfAbsent(key, k -> new ArrayList<>())
+                        .add(new double[]{threads, run.getPrimaryResult().getScore()});
+            }
+        }
+
+        System.out.println();
+        System.out.println("抽奖吞吐量扩展性（CPU核数: " + Runtime.getRuntime().availableProcessors() + "）");
+        for (Map.Entry<String, List<double[]>> entry : results.entrySet()) {
+            System.out.println(entry.getKey());
+            double single = entry.getValue().get(0)[1] / entry.getValue().get(0)[0];
+            for (double[] result : entry.getValue()) {
+                double speedup = result[1] / single;
+                System.out.printf("  线程=%-3d 吞吐=%12.1f ops/ms  加速比=%5.2f  效率=%5.1f%%%n",
+                        (int) result[0], result[1], speedup, speedup / result[0] * 100);
+            }
+        }
+    }
+
+    /**
+     * 解析线程数列表，auto 表示1、2、4…直到CPU核数
+     */
+    private static TreeSet<Integer> threadCounts(String value) {
+        TreeSet<Integer> counts = new TreeSet<>();
+        if ("auto".equals(value)) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int threads = 1; threads < cores; threads *= 2) {
+                counts.add(threads);
+            }
+            counts.add(cores);
+        } else {
+            for (String part : value.split(",")) {
+                counts.add(Integer.parseInt(part.trim()));
+            }
+        }
+        return counts;
+    }
+}
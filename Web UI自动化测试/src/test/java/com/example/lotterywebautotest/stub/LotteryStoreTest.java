@@ -0,0 +1,87 @@
+package com.example.lotterywebautotest.stub;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 无锁抽奖的并发校验
+ * 多个线程同时抽同一个活动：中奖数等于总库存（不超卖），每个用户的抽奖次数不超过上限（不超抽）
+ */
+class LotteryStoreTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 1_000;
+    private static final int USERS = 200;
+    private static final int DRAW_CHANCES = 40;
+    private static final int PRIZE_STOCK = 1_000;
+    private static final long FIRST_USER_ID = 1_000;
+
+    @Test
+    void concurrentDrawsNeitherOversellNorExceedChances() throws Exception {
+        // 奖品格子权重合计100，售罄前每次都抽中奖品；允许的抽奖次数（8000）多于总库存（3000）
+        LotteryStore store = new LotteryStore(1, 3, PRIZE_STOCK, DRAW_CHANCES, new double[]{40, 30, 30}, 4);
+        StubActivity activity = store.getActivity(1);
+        AtomicIntegerArray successfulDraws = new AtomicIntegerArray(USERS);
+        AtomicIntegerArray wins = new AtomicIntegerArray(USERS);
+        Set<Long> recordIds = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        // 所有线程按相同顺序轮流抽同一个用户，每个用户被尝试80次，争用同一个次数计数器
+                        int user = i % USERS;
+                        try {
+                            DrawResult result = store.draw(FIRST_USER_ID + user, activity.getActivityId());
+                            successfulDraws.incrementAndGet(user);
+                            if (result.isWin()) {
+                                wins.incrementAndGet(user);
+                                recordIds.add(result.getRecordId());
+                            }
+                        } catch (StubException e) {
+                            assertEquals("抽奖次数已用完", e.getMessage());
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int totalWins = 0;
+        for (int user = 0; user < USERS; user++) {
+            int draws = activity.getDraws(FIRST_USER_ID + user);
+            assertEquals(DRAW_CHANCES, draws, "用户" + user + "的抽奖次数应正好用完");
+            assertEquals(successfulDraws.get(user), draws, "用户" + user + "的抽奖次数与成功的抽奖不一致");
+            assertEquals(wins.get(user), store.findRecords(FIRST_USER_ID + user, null).size());
+            totalWins += wins.get(user);
+        }
+        assertEquals(3 * PRIZE_STOCK, totalWins, "中奖数应等于总库存");
+        assertEquals(totalWins, recordIds.size(), "中奖记录ID重复");
+        assertEquals(totalWins, activity.getRecords().size());
+        for (ActivityPrize prize : activity.getPrizes()) {
+            assertEquals(0, prize.getRemaining(), prize.getPrizeName() + "应已售罄");
+        }
+    }
+}
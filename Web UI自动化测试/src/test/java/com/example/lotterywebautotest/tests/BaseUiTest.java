@@ -0,0 +1,162 @@
+package com.example.lotterywebautotest.tests;
+
+import com.example.lotterywebautotest.pages.ActivityManagementPage;
+import com.example.lotterywebautotest.pages.BasePage;
+import com.example.lotterywebautotest.pages.HomePage;
+import com.example.lotterywebautotest.pages.LoginPage;
+import com.example.lotterywebautotest.pages.LotteryPage;
+import com.example.lotterywebautotest.pages.PrizeManagementPage;
+import com.example.lotterywebautotest.pages.RegisterPage;
+import com.example.lotterywebautotest.pages.UserPrizeRecordPage;
+import com.example.lotterywebautotest.utils.BrowserNetwork;
+import com.example.lotterywebautotest.utils.NetworkTimings;
+import com.example.lotterywebautotest.utils.SessionCache;
+import com.example.lotterywebautotest.utils.TestDataProvider;
+import com.example.lotterywebautotest.utils.TestImpactRecorder;
+import com.example.lotterywebautotest.utils.WebDriverUtils;
+import org.openqa.selenium.WebDriver;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UI测试基类
+ * WebDriver和页面对象按线程隔离，同一测试类的方法可以在不同线程中并行执行
+ */
+public abstract class BaseUiTest {
+
+    private final ThreadLocal<Map<Class<? extends BasePage>, BasePage>> pages =
+            ThreadLocal.withInitial(HashMap::new);
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseThreadResources(ITestResult result) {
+        // 页面发起的接口请求耗时挂到测试结果上
+        WebDriver driver = WebDriverUtils.getCurrentDriver();
+        NetworkTimings timings = driver != null ? BrowserNetwork.attach(driver, result) : null;
+        // 记录本测试访问过的页面对象和接口，供测试影响分析使用
+        TestImpactRecorder.record(result, timings != null ? timings.getEndpoints() : List.of());
+        // 归还浏览器到连接池
+        pages.remove();
+        WebDriverUtils.releaseDriver();
+    }
+
+    /**
+     * 获取当前线程的WebDriver
+     * @return WebDriver实例
+     */
+    protected WebDriver driver() {
+        return WebDriverUtils.getDriver();
+    }
+
+    /**
+     * 获取当前线程的页面对象，首次访问时创建
+     * @param pageType 页面类型
+     * @return 页面对象
+     */
+    protected <T extends BasePage> T page(Class<T> pageType) {
+        TestImpactRecorder.touch(pageType);
+        Map<Class<? extends BasePage>, BasePage> threadPages = pages.get();
+        BasePage page = threadPages.get(pageType);
+        if (page == null) {
+            try {
+                page = pageType.getConstructor(WebDriver.class).newInstance(driver());
+            } catch (ReflectiveOperationException e) {
+                throw new RuntimeException("创建页面对象失败: " + pageType.getSimpleName(), e);
+            }
+            threadPages.put(pageType, page);
+        }
+        return pageType.cast(page);
+    }
+
+    /**
+     * 以普通用户身份登录
+     */
+    protected void loginAsUser() {
+        String[] userData = TestDataProvider.getIsolatedUserData();
+        login(userData[2], userData[1], "普通用户");
+    }
+
+    /**
+     * 以管理员身份登录
+     */
+    protected void loginAsAdmin() {
+        String[] userData = TestDataProvider.getAdminData();
+        login(userData[2], userData[1], "管理员");
+    }
+
+    /**
+     * 登录指定账号
+     * 默认通过接口登录并注入会话（test.login.mode=session），设置为ui时走完整的UI登录流程
+     * @param emailOrPhone 邮箱或手机号
+     * @param password 密码
+     * @param identity 身份（普通用户/管理员）
+     */
+    protected void login(String emailOrPhone, String password, String identity) {
+        if ("ui".equalsIgnoreCase(TestDataProvider.getProperty("test.login.mode", "session"))) {
+            loginThroughUi(emailOrPhone, password, identity);
+            return;
+        }
+
+        SessionCache.loginInBrowser(driver(), emailOrPhone, password);
+
+        // 验证登录成功
+        homePage().verifyLoggedIn();
+    }
+
+    /**
+     * 通过UI登录
+     * @param emailOrPhone 邮箱或手机号
+     * @param password 密码
+     * @param identity 身份（普通用户/管理员）
+     */
+    protected void loginThroughUi(String emailOrPhone, String password, String identity) {
+        // 访问首页
+        driver().get(TestDataProvider.getBaseUrl());
+
+        // 验证首页加载
+        homePage().verifyHomePageLoaded();
+
+        // 点击登录按钮
+        homePage().clickLoginButton();
+
+        // 验证登录页面加载
+        loginPage().verifyLoginPageLoaded();
+
+        // 执行登录操作
+        loginPage().loginWithPassword(emailOrPhone, password, identity);
+
+        // 验证登录成功
+        loginPage().verifyLoginSuccess();
+    }
+
+    protected HomePage homePage() {
+        return page(HomePage.class);
+    }
+
+    protected LoginPage loginPage() {
+        return page(LoginPage.class);
+    }
+
+    protected RegisterPage registerPage() {
+        return page(RegisterPage.class);
+    }
+
+    protected LotteryPage lotteryPage() {
+        return page(LotteryPage.class);
+    }
+
+    protected PrizeManagementPage prizeManagementPage() {
+        return page(PrizeManagementPage.class);
+    }
+
+    protected ActivityManagementPage activityManagementPage() {
+        return page(ActivityManagementPage.class);
+    }
+
+    protected UserPrizeRecordPage userPrizeRecordPage() {
+        return page(UserPrizeRecordPage.class);
+    }
+}
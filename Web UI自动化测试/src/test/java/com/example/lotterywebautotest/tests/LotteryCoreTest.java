@@ -1,89 +1,61 @@
 package com.example.lotterywebautotest.tests;
 
-import com.example.lotterywebautotest.pages.HomePage;
-import com.example.lotterywebautotest.pages.LoginPage;
-import com.example.lotterywebautotest.pages.LotteryPage;
-import com.example.lotterywebautotest.pages.RegisterPage;
-import com.example.lotterywebautotest.utils.TestDataProvider;
-import com.example.lotterywebautotest.utils.WebDriverUtils;
+import com.example.lotterywebautotest.utils.LatencyHistogram;
+import com.example.lotterywebautotest.utils.LatencyRecorder;
 import org.openqa.selenium.Alert;
 import org.openqa.selenium.By;
-import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.testng.annotations.AfterMethod;
-import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
 /**
  * 抽奖核心模块测试类
  */
-public class LotteryCoreTest {
-
-    private WebDriver driver;
-    private HomePage homePage;
-    private LoginPage loginPage;
-    private RegisterPage registerPage;
-    private LotteryPage lotteryPage;
-
-    @BeforeMethod
-    public void setUp() {
-        driver = WebDriverUtils.getDriver();
-        homePage = new HomePage(driver);
-        loginPage = new LoginPage(driver);
-        registerPage = new RegisterPage(driver);
-        lotteryPage = new LotteryPage(driver);
-    }
-
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
-        }
-    }
+public class LotteryCoreTest extends BaseUiTest {
 
     /**
      * 测试抽奖功能正常流程
      */
     @Test(description = "验证抽奖功能正常流程")
-    public void testLotteryDrawNormalFlow() throws InterruptedException {
+    public void testLotteryDrawNormalFlow() {
 
         // 用户登录
         loginAsUser();
 
         // 点击活动按钮
-        homePage.clickActivitiesLink();
+        homePage().clickActivitiesLink();
 
         // 点击去抽奖
-        WebElement goLottery = driver.findElement(By.xpath("//*[@id=\"activities-grid\"]/div[2]/div[3]/button"));
+        WebElement goLottery = driver().findElement(By.xpath("//*[@id=\"activities-grid\"]/div[2]/div[3]/button"));
         goLottery.click();
 
         // 验证抽奖页面加载
-        lotteryPage.verifyLotteryPageLoaded();
+        lotteryPage().verifyLotteryPageLoaded();
 
         // 验证抽奖网格展示
-        lotteryPage.verifyLotteryGridDisplayed();
+        lotteryPage().verifyLotteryGridDisplayed();
 
 
         // 验证活动信息展示
-        lotteryPage.verifyActivityInfoDisplayed();
+        lotteryPage().verifyActivityInfoDisplayed();
 
         // 验证奖品信息展示
-        lotteryPage.verifyPrizesInfoDisplayed();
+        lotteryPage().verifyPrizesInfoDisplayed();
 
 
         // 验证抽奖按钮状态
-        lotteryPage.verifyDrawButtonState(true);
+        lotteryPage().verifyDrawButtonState(true);
 
 
         // 点击抽奖按钮
-        lotteryPage.clickDrawButton();
+        lotteryPage().clickDrawButton();
 
-        Thread.sleep(4000);
+        // 等待抽奖请求完成、结果弹窗渲染
+        lotteryPage().waitForDrawResult();
         // 验证抽奖结果展示
-        lotteryPage.verifyDrawResultDisplayed();
+        lotteryPage().verifyDrawResultDisplayed();
 
 //        // 切换到弹窗（Selenium 需先切换上下文才能操作弹窗）
-//        Alert alert = driver.switchTo().alert();
+//        Alert alert = driver().switchTo().alert();
 //
 //        // 处理弹窗：
 //        // - 如果需要“确认禁用”，用 accept()；
@@ -91,32 +63,7 @@ public class LotteryCoreTest {
 //        alert.accept(); // 这里选择“确认禁用”，根据测试需求调整
 
         // 验证抽奖功能性能
-        lotteryPage.verifyDrawPerformance();
-    }
-
-    private void loginAsUser() {
-        // 访问首页
-        driver.get("http://101.42.36.43:8888");
-
-        // 验证首页加载
-        homePage.verifyHomePageLoaded();
-
-        // 点击登录按钮
-        homePage.clickLoginButton();
-
-        // 验证登录页面加载
-        loginPage.verifyLoginPageLoaded();
-
-        // 执行登录操作
-        String[] userData = TestDataProvider.getTestUserData();
-        String emailOrPhone = userData[2]; // 邮箱
-        String password = userData[1]; // 密码
-        String identity = "普通用户";
-
-        loginPage.loginWithPassword(emailOrPhone, password, identity);
-
-        // 验证登录成功
-        loginPage.verifyLoginSuccess();
+        lotteryPage().verifyDrawPerformance();
     }
 
     /**
@@ -128,16 +75,16 @@ public class LotteryCoreTest {
         loginAsUser();
 
         // 点击去抽奖
-        homePage.clickActivitiesLink();
+        homePage().clickActivitiesLink();
 
-        WebElement goLottery = driver.findElement(By.xpath("//*[@id=\"activities-grid\"]/div[2]/div[3]/button"));
+        WebElement goLottery = driver().findElement(By.xpath("//*[@id=\"activities-grid\"]/div[2]/div[3]/button"));
         goLottery.click();
 
         // 验证抽奖页面加载
-        lotteryPage.verifyLotteryPageLoaded();
+        lotteryPage().verifyLotteryPageLoaded();
 
         // 验证抽奖功能性能
-        lotteryPage.verifyDrawPerformance();
+        lotteryPage().verifyDrawPerformance();
     }
 
 
@@ -145,41 +92,42 @@ public class LotteryCoreTest {
      * 测试抽奖次数管理
      */
     @Test(description = "验证抽奖次数管理功能")
-    public void testLotteryChancesManagement() throws InterruptedException {
+    public void testLotteryChancesManagement() {
         // 用户登录
         loginAsUser();
 
         // 点击去抽奖
-        homePage.clickActivitiesLink();
+        homePage().clickActivitiesLink();
 
-        WebElement goLottery = driver.findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
+        WebElement goLottery = driver().findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
         goLottery.click();
 
         // 验证抽奖页面加载
-        lotteryPage.verifyLotteryPageLoaded();
+        lotteryPage().verifyLotteryPageLoaded();
 
         // 获取用户抽奖次数
-        int initialChances = lotteryPage.getUserChances();
+        int initialChances = lotteryPage().getUserChances();
         System.out.println(initialChances);
 
-        Thread.sleep(2000);
         // 点击抽奖按钮
-        lotteryPage.clickDrawButton();
+        lotteryPage().clickDrawButton();
 
-        Thread.sleep(3000);
+        // 等待抽奖请求完成、结果弹窗渲染
+        lotteryPage().waitForDrawResult();
 
         // 验证抽奖结果展示
-        lotteryPage.verifyDrawResultDisplayed();
+        lotteryPage().verifyDrawResultDisplayed();
 
 //        // 刷新页面获取最新抽奖次数
-//        driver.navigate().refresh();
+//        driver().navigate().refresh();
 
-        lotteryPage.verifyLotteryPageLoaded();
+        lotteryPage().verifyLotteryPageLoaded();
 
-        Thread.sleep(3000);
+        // 等待剩余次数刷新
+        lotteryPage().waitForChancesChanged(initialChances);
 
         // 验证抽奖次数是否减少
-        int updatedChances = lotteryPage.getUserChances();
+        int updatedChances = lotteryPage().getUserChances();
         System.out.println(updatedChances);
         assert updatedChances < initialChances : "抽奖次数应该减少";
     }
@@ -192,19 +140,19 @@ public class LotteryCoreTest {
         loginAsUser();
 
         // 点击去抽奖
-        homePage.clickActivitiesLink();
+        homePage().clickActivitiesLink();
 
-        WebElement goLottery = driver.findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
+        WebElement goLottery = driver().findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
         goLottery.click();
 
         // 验证抽奖页面加载
-        lotteryPage.verifyLotteryPageLoaded();
+        lotteryPage().verifyLotteryPageLoaded();
 
         // 验证抽奖网格展示
-        lotteryPage.verifyLotteryGridDisplayed();
+        lotteryPage().verifyLotteryGridDisplayed();
 
         // 验证网格项信息完整性
-        lotteryPage.verifyGridItemInformationCompleteness();
+        lotteryPage().verifyGridItemInformationCompleteness();
     }
 
     /**
@@ -216,22 +164,22 @@ public class LotteryCoreTest {
         loginAsUser();
 
         // 点击去抽奖
-        homePage.clickActivitiesLink();
+        homePage().clickActivitiesLink();
 
-        WebElement goLottery = driver.findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
+        WebElement goLottery = driver().findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
         goLottery.click();
 
         // 验证抽奖页面加载
-        lotteryPage.verifyLotteryPageLoaded();
+        lotteryPage().verifyLotteryPageLoaded();
 
         // 验证活动信息展示
-        lotteryPage.verifyActivityInfoDisplayed();
+        lotteryPage().verifyActivityInfoDisplayed();
 
         // 验证奖品信息展示
-        lotteryPage.verifyPrizesInfoDisplayed();
+        lotteryPage().verifyPrizesInfoDisplayed();
 
         // 验证奖品信息完整性
-        lotteryPage.verifyPrizeInformationCompleteness();
+        lotteryPage().verifyPrizeInformationCompleteness();
     }
 
     /**
@@ -243,21 +191,17 @@ public class LotteryCoreTest {
         loginAsUser();
 
         // 点击去抽奖
-        homePage.clickActivitiesLink();
-
+        homePage().clickActivitiesLink();
 
+        // 测试抽奖页面加载性能（每次测量前回到活动列表）
+        LatencyHistogram histogram = LatencyRecorder.measure("lotteryPageLoad", () -> {
+            WebElement goLottery = driver().findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
+            goLottery.click();
 
-        // 测试抽奖页面加载性能
-        long startTime = System.currentTimeMillis();
-
-        WebElement goLottery = driver.findElement(By.xpath("//*[@id=\"activities-grid\"]/div[1]/div[3]/button"));
-        goLottery.click();
-
-        lotteryPage.verifyLotteryPageLoaded();
-        long endTime = System.currentTimeMillis();
+            lotteryPage().verifyLotteryPageLoaded();
+        }, () -> homePage().clickActivitiesLink());
 
-        long loadTime = endTime - startTime;
-        assert loadTime < 8000 : "抽奖页面加载时间过长: " + loadTime + "ms";
+        LatencyRecorder.verifyPercentiles(histogram);
     }
 
 }
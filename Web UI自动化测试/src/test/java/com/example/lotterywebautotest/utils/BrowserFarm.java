@@ -0,0 +1,316 @@
+package com.example.lotterywebautotest.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 预热的浏览器农场
+ * 套件开始时并行启动固定数量的浏览器进程，每次借出时给出一个全新的隐身浏览器上下文
+ * （CDP Target.createBrowserContext），归还时销毁上下文并在后台预建下一个。
+ * 上下文之间不共享Cookie、Storage和缓存，测试之间不需要清理，也不需要重启浏览器。
+ * 浏览器不支持CDP时退回到同一窗口内清理会话状态的方式。
+ */
+public class BrowserFarm {
+
+    private final int size;
+    private final long acquireTimeoutMillis;
+    private final int windowWidth;
+    private final int windowHeight;
+    private final Supplier<WebDriver> launcher;
+
+    private final BlockingQueue<Browser> idleBrowsers = new LinkedBlockingQueue<>();
+    private final Map<WebDriver, Browser> leased = new ConcurrentHashMap<>();
+    private final Set<Browser> allBrowsers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService maintenance;
+    private final AtomicInteger launching = new AtomicInteger();
+
+    private volatile boolean started;
+    private volatile boolean shutdown;
+    private volatile boolean contextsSupported = true;
+
+    /**
+     * 构造函数
+     * @param size 浏览器进程数量
+     * @param acquireTimeoutMillis 借出等待超时时间（毫秒）
+     * @param windowWidth 上下文窗口宽度
+     * @param windowHeight 上下文窗口高度
+     * @param launcher 浏览器启动工厂
+     */
+    public BrowserFarm(int size, long acquireTimeoutMillis, int windowWidth, int windowHeight,
+                       Supplier<WebDriver> launcher) {
+        this.size = Math.max(1, size);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.windowWidth = windowWidth;
+        this.windowHeight = windowHeight;
+        this.launcher = launcher;
+        this.maintenance = Executors.newFixedThreadPool(this.size, r -> {
+            Thread thread = new Thread(r, "browser-farm");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 并行启动全部浏览器并各自预建一个上下文，阻塞到启动完成；重复调用无效果
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        started = true;
+        long begin = System.currentTimeMillis();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            launching.incrementAndGet();
+            futures.add(maintenance.submit(this::launch));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("启动浏览器被中断", e);
+            } catch (Exception e) {
+                // launch内部已记录日志
+            }
+        }
+        System.out.println("浏览器农场已启动 " + idleBrowsers.size() + "/" + size + " 个浏览器，耗时 "
+                + (System.currentTimeMillis() - begin) + "ms，"
+                + (contextsSupported ? "每个测试使用独立的浏览器上下文" : "不支持CDP上下文，改为清理会话状态"));
+    }
+
+    /**
+     * 借出一个浏览器，当前窗口已切换到全新的上下文
+     * @return WebDriver实例
+     */
+    public WebDriver acquire() {
+        start();
+        long deadline = System.currentTimeMillis() + acquireTimeoutMillis;
+        while (true) {
+            if (allBrowsers.isEmpty() && launching.get() == 0) {
+                throw new RuntimeException("浏览器农场中没有可用的浏览器，请检查浏览器和驱动是否能正常启动");
+            }
+            Browser browser;
+            try {
+                browser = idleBrowsers.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("等待浏览器被中断", e);
+            }
+            if (browser == null) {
+                throw new RuntimeException("等待浏览器超时，农场大小: " + size);
+            }
+            if (isHealthy(browser)) {
+                leased.put(browser.driver, browser);
+                return browser.driver;
+            }
+            replace(browser);
+        }
+    }
+
+    /**
+     * 归还浏览器，后台销毁上下文并预建下一个
+     * @param driver WebDriver实例
+     */
+    public void release(WebDriver driver) {
+        Browser browser = driver == null ? null : leased.remove(driver);
+        if (browser == null) {
+            return;
+        }
+        maintenance.execute(() -> {
+            if (recycle(browser)) {
+                idleBrowsers.offer(browser);
+            } else {
+                replace(browser);
+            }
+        });
+    }
+
+    /**
+     * 关闭浏览器进程并在后台启动一个新的补充
+     * @param driver WebDriver实例
+     */
+    public void invalidate(WebDriver driver) {
+        Browser browser = driver == null ? null : leased.remove(driver);
+        if (browser != null) {
+            replace(browser);
+        }
+    }
+
+    /**
+     * 关闭全部浏览器
+     */
+    public void shutdown() {
+        shutdown = true;
+        maintenance.shutdownNow();
+        idleBrowsers.clear();
+        for (Browser browser : allBrowsers) {
+            destroy(browser);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * 获取空闲（已预建上下文）的浏览器数量
+     */
+    public int getIdleCount() {
+        return idleBrowsers.size();
+    }
+
+    private void launch() {
+        try {
+            if (shutdown) {
+                return;
+            }
+            WebDriver driver = launcher.get();
+            Browser browser = new Browser(driver, driver.getWindowHandle());
+            allBrowsers.add(browser);
+            boolean ready;
+            try {
+                ready = openContext(browser);
+            } catch (WebDriverException e) {
+                System.err.println("浏览器初始化失败: " + e.getMessage());
+                ready = false;
+            }
+            if (ready) {
+                idleBrowsers.offer(browser);
+            } else {
+                destroy(browser);
+            }
+        } catch (RuntimeException e) {
+            System.err.println("启动浏览器失败: " + e.getMessage());
+        } finally {
+            launching.decrementAndGet();
+        }
+    }
+
+    private void replace(Browser browser) {
+        destroy(browser);
+        if (!shutdown) {
+            launching.incrementAndGet();
+            try {
+                maintenance.execute(this::launch);
+            } catch (RuntimeException e) {
+                launching.decrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * 创建隐身上下文并把当前窗口切换过去，不支持时在默认窗口中清理会话
+     */
+    private boolean openContext(Browser browser) {
+        if (contextsSupported && browser.driver instanceof HasCdp) {
+            HasCdp cdp = (HasCdp) browser.driver;
+            try {
+                String contextId = (String) cdp.executeCdpCommand("Target.createBrowserContext", Map.of())
+                        .get("browserContextId");
+                browser.contextId = contextId;
+                String targetId = (String) cdp.executeCdpCommand("Target.createTarget", Map.of(
+                        "url", "about:blank",
+                        "browserContextId", contextId,
+                        "width", windowWidth,
+                        "height", windowHeight)).get("targetId");
+                browser.driver.switchTo().window(findHandle(browser.driver, targetId));
+                return true;
+            } catch (WebDriverException | ClassCastException e) {
+                System.err.println("CDP浏览器上下文不可用，改为清理会话状态: " + e.getMessage());
+                contextsSupported = false;
+                disposeContext(browser);
+            }
+        }
+        browser.driver.switchTo().window(browser.defaultHandle);
+        return WebDriverPool.reset(browser.driver);
+    }
+
+    /**
+     * 销毁上一个测试的上下文（连同其中的全部窗口）并预建下一个
+     */
+    private boolean recycle(Browser browser) {
+        try {
+            browser.driver.switchTo().window(browser.defaultHandle);
+            disposeContext(browser);
+            return openContext(browser);
+        } catch (WebDriverException e) {
+            System.err.println("浏览器上下文回收失败，将重启该浏览器: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void disposeContext(Browser browser) {
+        if (browser.contextId == null) {
+            return;
+        }
+        String contextId = browser.contextId;
+        browser.contextId = null;
+        try {
+            ((HasCdp) browser.driver).executeCdpCommand("Target.disposeBrowserContext",
+                    Map.of("browserContextId", contextId));
+        } catch (WebDriverException e) {
+            // 浏览器可能已经退出
+        }
+    }
+
+    /**
+     * ChromeDriver的窗口句柄就是CDP的targetId，部分旧版本带 CDwindow- 前缀
+     */
+    private static String findHandle(WebDriver driver, String targetId) {
+        for (String handle : driver.getWindowHandles()) {
+            if (handle.equals(targetId) || handle.endsWith(targetId)) {
+                return handle;
+            }
+        }
+        throw new WebDriverException("找不到新建上下文的窗口: " + targetId);
+    }
+
+    private static boolean isHealthy(Browser browser) {
+        try {
+            browser.driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void destroy(Browser browser) {
+        allBrowsers.remove(browser);
+        BrowserNetwork.forget(browser.driver);
+        try {
+            browser.driver.quit();
+        } catch (WebDriverException e) {
+            // 浏览器可能已经退出
+        }
+    }
+
+    /**
+     * 农场中的一个浏览器进程
+     */
+    private static class Browser {
+        private final WebDriver driver;
+        private final String defaultHandle;
+        private volatile String contextId;
+
+        private Browser(WebDriver driver, String defaultHandle) {
+            this.driver = driver;
+            this.defaultHandle = defaultHandle;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * 浏览器预热监听器
+ * 套件开始时并行启动浏览器农场，测试方法借出浏览器时只需要切换到新的浏览器上下文
+ */
+public class BrowserFarmSuiteListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        WebDriverUtils.warmUp();
+    }
+}
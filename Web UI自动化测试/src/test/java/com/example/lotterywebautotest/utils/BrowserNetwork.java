@@ -0,0 +1,242 @@
+package com.example.lotterywebautotest.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chromium.HasCdp;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 浏览器网络控制
+ * 通过CDP在每个浏览器窗口上屏蔽与抽奖逻辑无关的资源（字体、统计脚本等，test.network.block），
+ * 并在每个新文档中注入采集脚本，用Resource Timing记录页面发起的接口请求（test.network.api.patterns）
+ * 和请求过的全部接口路径（供测试影响分析使用）。
+ * 记录保存在sessionStorage中，跨同源页面跳转不丢失，测试结束时取出并挂到测试结果上。
+ */
+public class BrowserNetwork {
+
+    public static final String RESULT_ATTRIBUTE = "networkTimings";
+
+    private static final String STORAGE_KEY = "__webdriverApiTimings";
+
+    private static final List<String> IMAGE_PATTERNS =
+            List.of("*.png", "*.jpg", "*.jpeg", "*.gif", "*.webp", "*.svg", "*.ico");
+
+    /**
+     * 采集脚本：在每个新文档执行，记录匹配的接口请求和本页的整页加载耗时
+     */
+    private static final String RECORD_SCRIPT = """
+            (function () {
+                if (window.__webdriverApiRecorder) { return; }
+                window.__webdriverApiRecorder = true;
+                var patterns = %s, key = '%s';
+                try { performance.setResourceTimingBufferSize(5000); } catch (e) { }
+                function page() { return location.pathname + location.hash; }
+                function matches(url) {
+                    for (var i = 0; i < patterns.length; i++) {
+                        if (url.indexOf(patterns[i]) >= 0) { return true; }
+                    }
+                    return false;
+                }
+                function save(records) {
+                    try {
+                        var all = JSON.parse(sessionStorage.getItem(key) || '[]');
+                        sessionStorage.setItem(key, JSON.stringify(all.concat(records)));
+                    } catch (e) { }
+                }
+                function gap(from, to) { return from > 0 && to >= from ? to - from : null; }
+                function saveEndpoints(entries) {
+                    try {
+                        var paths = entries.filter(function (r) {
+                            return r.initiatorType === 'xmlhttprequest' || r.initiatorType === 'fetch';
+                        }).map(function (r) { return new URL(r.name, location.href).pathname; });
+                        if (paths.length === 0) { return; }
+                        var all = JSON.parse(sessionStorage.getItem(key + 'Endpoints') || '[]');
+                        paths.forEach(function (p) { if (all.indexOf(p) < 0) { all.push(p); } });
+                        sessionStorage.setItem(key + 'Endpoints', JSON.stringify(all));
+                    } catch (e) { }
+                }
+                if (!window.PerformanceObserver) { return; }
+                new PerformanceObserver(function (list) {
+                    saveEndpoints(list.getEntries());
+                    var records = list.getEntries().filter(function (r) { return matches(r.name); }).map(function (r) {
+                        return {url: r.name, page: page(), initiatorType: r.initiatorType,
+                                start: performance.timeOrigin + r.startTime, duration: r.duration,
+                                queue: gap(r.startTime, r.requestStart), wait: gap(r.requestStart, r.responseStart),
+                                download: gap(r.responseStart, r.responseEnd)};
+                    });
+                    if (records.length > 0) { save(records); }
+                }).observe({type: 'resource', buffered: true});
+                window.addEventListener('load', function () {
+                    setTimeout(function () {
+                        var nav = performance.getEntriesByType('navigation')[0];
+                        if (nav && nav.loadEventEnd > 0) {
+                            save([{url: location.href, page: page(), initiatorType: 'navigation',
+                                   start: performance.timeOrigin, duration: nav.loadEventEnd}]);
+                        }
+                    }, 0);
+                });
+            })();
+            """;
+
+    private static final String TAKE_SCRIPT = """
+            try {
+                var keys = [arguments[0], arguments[0] + 'Endpoints'];
+                var values = keys.map(function (k) { return sessionStorage.getItem(k); });
+                keys.forEach(function (k) { sessionStorage.removeItem(k); });
+                return values;
+            } catch (e) { return null; }
+            """;
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(TestDataProvider.getProperty("test.network.enabled", "true"));
+
+    /**
+     * 每个浏览器最近安装过的窗口（CDP target）：浏览器农场每个测试换一个新的上下文窗口，需要重新安装，
+     * 连接池模式下同一窗口只安装一次；浏览器退出时由 {@link #forget(WebDriver)} 移除
+     */
+    private static final Map<WebDriver, String> INSTALLED = new ConcurrentHashMap<>();
+
+    private static volatile boolean cdpUnavailable;
+
+    /**
+     * 在当前窗口上启用资源屏蔽和接口耗时采集，浏览器不支持CDP时不做任何事
+     * @param driver WebDriver实例
+     */
+    public static void install(WebDriver driver) {
+        if (!ENABLED || cdpUnavailable || !(driver instanceof HasCdp)) {
+            return;
+        }
+        try {
+            String handle = driver.getWindowHandle();
+            if (handle.equals(INSTALLED.put(driver, handle))) {
+                return;
+            }
+            HasCdp cdp = (HasCdp) driver;
+            List<String> blocked = getBlockedPatterns();
+            if (!blocked.isEmpty()) {
+                cdp.executeCdpCommand("Network.enable", Map.of());
+                cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", blocked));
+            }
+            String patterns = MAPPER.writeValueAsString(getApiPatterns());
+            cdp.executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", String.format(RECORD_SCRIPT, patterns, STORAGE_KEY)));
+        } catch (WebDriverException | IOException e) {
+            System.err.println("CDP网络控制不可用，资源屏蔽和接口耗时采集已关闭: " + e.getMessage());
+            cdpUnavailable = true;
+        }
+    }
+
+    /**
+     * 移除浏览器的安装记录，在浏览器退出时调用
+     * @param driver WebDriver实例
+     */
+    static void forget(WebDriver driver) {
+        INSTALLED.remove(driver);
+    }
+
+    /**
+     * 取出当前窗口记录的接口耗时和请求过的接口路径并清空
+     * @param driver WebDriver实例
+     * @return 接口耗时，未启用或没有记录时为空
+     */
+    public static NetworkTimings collect(WebDriver driver) {
+        List<NetworkTimings.Request> requests = new ArrayList<>();
+        List<String> endpoints = new ArrayList<>();
+        if (!ENABLED || cdpUnavailable) {
+            return new NetworkTimings(requests, endpoints);
+        }
+        try {
+            Object values = ((JavascriptExecutor) driver).executeScript(TAKE_SCRIPT, STORAGE_KEY);
+            if (values instanceof List && ((List<?>) values).size() == 2) {
+                Object json = ((List<?>) values).get(0);
+                if (json instanceof String) {
+                    requests.addAll(Arrays.asList(MAPPER.readValue((String) json, NetworkTimings.Request[].class)));
+                }
+                Object paths = ((List<?>) values).get(1);
+                if (paths instanceof String) {
+                    endpoints.addAll(Arrays.asList(MAPPER.readValue((String) paths, String[].class)));
+                }
+            }
+        } catch (WebDriverException | IOException e) {
+            System.err.println("读取接口耗时失败: " + e.getMessage());
+        }
+        return new NetworkTimings(requests, endpoints);
+    }
+
+    /**
+     * 取出接口耗时并挂到测试结果上：结果属性 networkTimings、TestNG报告输出，以及
+     * target/network-timings/{类名}.{方法名}.json
+     * @param driver WebDriver实例
+     * @param result 测试结果
+     * @return 取出的接口耗时
+     */
+    public static NetworkTimings attach(WebDriver driver, ITestResult result) {
+        NetworkTimings timings = collect(driver);
+        if (timings.isEmpty()) {
+            return timings;
+        }
+        String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        result.setAttribute(RESULT_ATTRIBUTE, timings);
+        String summary = "网络耗时[" + name + "]: " + timings;
+        System.out.println(summary);
+        Reporter.log(summary);
+        for (NetworkTimings.Request request : timings.getApiRequests()) {
+            Reporter.log("  " + request);
+        }
+
+        File file = new File("target/network-timings/" + name + "-" + result.getStartMillis() + ".json");
+        try {
+            File parent = file.getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException("无法创建目录: " + parent);
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, timings);
+        } catch (IOException e) {
+            System.err.println("写入接口耗时失败: " + e.getMessage());
+        }
+        return timings;
+    }
+
+    /**
+     * 获取屏蔽的URL模式（CDP通配符，*匹配任意字符），test.network.block.images=true 时同时屏蔽图片
+     * @return URL模式
+     */
+    static List<String> getBlockedPatterns() {
+        List<String> patterns = split(TestDataProvider.getProperty("test.network.block", ""));
+        if (Boolean.parseBoolean(TestDataProvider.getProperty("test.network.block.images", "false"))) {
+            patterns.addAll(IMAGE_PATTERNS);
+        }
+        return patterns;
+    }
+
+    /**
+     * 获取需要记录耗时的接口URL片段
+     * @return URL片段
+     */
+    static List<String> getApiPatterns() {
+        return split(TestDataProvider.getProperty("test.network.api.patterns", "/api/lottery/"));
+    }
+
+    private static List<String> split(String value) {
+        List<String> items = new ArrayList<>();
+        for (String item : value.split(",")) {
+            if (!item.isBlank()) {
+                items.add(item.trim());
+            }
+        }
+        return items;
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.lotterywebautotest.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 页面DOM代数
+ * 包装WebDriver，按经过它的命令维护两个计数：导航代数（打开URL、前进后退刷新、切换窗口）和变更代数
+ * （导航、元素点击/输入、执行脚本、Actions）。页面对象据此缓存元素引用：代数不变时不再向浏览器查找元素。
+ * 包装后的driver和它返回的元素实现原对象的全部接口，可以照常传给脚本参数、Actions和ExpectedConditions。
+ */
+public class DomGeneration implements InvocationHandler {
+
+    private static final Set<String> NAVIGATION_COMMANDS = Set.of("get", "navigate", "switchTo", "close", "quit");
+    private static final Set<String> MUTATION_COMMANDS =
+            Set.of("executeScript", "executeAsyncScript", "perform", "resetInputState");
+    private static final Set<String> ELEMENT_MUTATIONS = Set.of("click", "submit", "sendKeys", "clear");
+
+    private final WebDriver driver;
+    private final AtomicLong navigation = new AtomicLong();
+    private final AtomicLong mutation = new AtomicLong();
+
+    private DomGeneration(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * 包装WebDriver以跟踪DOM代数
+     * @param driver 原始WebDriver
+     * @return 包装后的WebDriver，已包装时原样返回
+     */
+    public static WebDriver track(WebDriver driver) {
+        if (of(driver) != null) {
+            return driver;
+        }
+        return (WebDriver) Proxy.newProxyInstance(DomGeneration.class.getClassLoader(),
+                interfacesOf(driver.getClass()), new DomGeneration(driver));
+    }
+
+    /**
+     * 获取包装WebDriver的代数
+     * @param driver WebDriver
+     * @return 代数，未经 {@link #track} 包装时为null
+     */
+    public static DomGeneration of(WebDriver driver) {
+        if (driver != null && Proxy.isProxyClass(driver.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(driver);
+            if (handler instanceof DomGeneration) {
+                return (DomGeneration) handler;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取被包装的原始WebDriver
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        DomGeneration generation = of(driver);
+        return generation != null ? generation.driver : driver;
+    }
+
+    /**
+     * 获取导航代数，文档被替换时增加
+     */
+    public long getNavigation() {
+        return navigation.get();
+    }
+
+    /**
+     * 获取变更代数，导航或任何可能修改DOM的命令之后增加
+     */
+    public long getMutation() {
+        return mutation.get();
+    }
+
+    /**
+     * 通知DOM可能已经变化，用于绕过包装driver直接修改页面的场景
+     */
+    public void mutated() {
+        mutation.incrementAndGet();
+    }
+
+    private void navigated() {
+        navigation.incrementAndGet();
+        mutation.incrementAndGet();
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, driver, method, args);
+        }
+        if (NAVIGATION_COMMANDS.contains(name)) {
+            // navigate()/switchTo()返回的对象随后才执行命令，提前计数
+            navigated();
+        }
+        Object result = call(driver, method, args);
+        if (MUTATION_COMMANDS.contains(name)) {
+            mutated();
+        }
+        return wrapResult(result);
+    }
+
+    private Object wrapResult(Object result) {
+        if (result instanceof WebElement && !(result instanceof WrapsElement)) {
+            return wrapElement((WebElement) result);
+        }
+        if (result instanceof List) {
+            List<?> items = (List<?>) result;
+            if (!items.isEmpty() && items.get(0) instanceof WebElement) {
+                List<Object> wrapped = new ArrayList<>(items.size());
+                for (Object item : items) {
+                    wrapped.add(wrapResult(item));
+                }
+                return wrapped;
+            }
+        }
+        return result;
+    }
+
+    private WebElement wrapElement(WebElement element) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>(List.of(interfacesOf(element.getClass())));
+        interfaces.add(WrapsElement.class);
+        return (WebElement) Proxy.newProxyInstance(DomGeneration.class.getClassLoader(),
+                interfaces.toArray(new Class<?>[0]), new TrackedElement(element));
+    }
+
+    /**
+     * 被跟踪的元素：点击、输入等操作之后增加变更代数
+     */
+    private class TrackedElement implements InvocationHandler {
+        private final WebElement element;
+
+        private TrackedElement(WebElement element) {
+            this.element = element;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                return invokeObjectMethod(proxy, element, method, args);
+            }
+            if ("getWrappedElement".equals(method.getName())) {
+                return element;
+            }
+            Object result = call(element, method, args);
+            if (ELEMENT_MUTATIONS.contains(method.getName())) {
+                mutated();
+            }
+            return wrapResult(result);
+        }
+    }
+
+    /**
+     * equals比较被包装的对象，这样包装前后的同一元素相等
+     */
+    private static Object invokeObjectMethod(Object proxy, Object target, Method method, Object[] args)
+            throws Throwable {
+        if ("equals".equals(method.getName())) {
+            Object other = args[0];
+            if (other instanceof WrapsElement) {
+                other = ((WrapsElement) other).getWrappedElement();
+            } else if (other instanceof WebDriver) {
+                other = unwrap((WebDriver) other);
+            }
+            return target.equals(other);
+        }
+        return call(target, method, args);
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static Class<?>[] interfacesOf(Class<?> type) {
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            collectInterfaces(current, interfaces);
+        }
+        return interfaces.toArray(new Class<?>[0]);
+    }
+
+    private static void collectInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (interfaces.add(candidate)) {
+                collectInterfaces(candidate, interfaces);
+            }
+        }
+    }
+}
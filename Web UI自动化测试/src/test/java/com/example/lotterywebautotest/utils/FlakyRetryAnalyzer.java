@@ -0,0 +1,120 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.IRetryAnalyzer;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * 不稳定测试重试
+ * 只由 {@link TestScheduler} 挂到历史上不稳定的测试上，每个测试最多重试 test.retry.max 次。
+ * 重试走单独的低优先级通道：等本轮所有测试的首次执行都已开始后才开始，同一时间只有一个重试在运行，
+ * 不和首次执行抢浏览器，等待期间线程不持有浏览器。串行或按类并行时剩下的测试可能排在等待重试的线程上，
+ * 其他线程空闲超过 test.retry.idle.grace 毫秒（默认2000）仍没有测试开始时不再等待，串行执行时直接重试。
+ */
+public class FlakyRetryAnalyzer implements IRetryAnalyzer {
+
+    private static final Object LANE = new Object();
+
+    /** 正在运行的测试（含重试） */
+    private static final Set<ITestResult> RUNNING = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private static int expectedFirstAttempts;
+    private static int startedFirstAttempts;
+    /** 所有测试（含重试）开始的次数，用于判断线程是否只是在两个测试之间 */
+    private static long starts;
+    private static Thread laneThread;
+    /** 触发当前重试的失败结果，它的跳过通知在重试开始前到达，不能据此释放通道 */
+    private static ITestResult laneTrigger;
+
+    private int attempts;
+
+    @Override
+    public boolean retry(ITestResult result) {
+        int maxAttempts = TestDataProvider.getIntProperty("test.retry.max", 1);
+        if (attempts >= maxAttempts) {
+            return false;
+        }
+        attempts++;
+        enterLane(result);
+        System.out.println("重试不稳定测试(" + attempts + "/" + maxAttempts + "): "
+                + TestImpactRecorder.testId(result.getMethod())
+                + (result.getThrowable() != null ? "，上次失败: " + result.getThrowable() : ""));
+        return true;
+    }
+
+    /**
+     * 登记本轮将要执行的测试数量
+     * @param count 首次执行的测试数量
+     */
+    static void expectFirstAttempts(int count) {
+        synchronized (LANE) {
+            expectedFirstAttempts += count;
+            LANE.notifyAll();
+        }
+    }
+
+    static void onTestStart(ITestResult result) {
+        synchronized (LANE) {
+            RUNNING.add(result);
+            starts++;
+            if (laneThread != Thread.currentThread()) {
+                startedFirstAttempts++;
+            }
+            LANE.notifyAll();
+        }
+    }
+
+    static void onTestFinish(ITestResult result) {
+        synchronized (LANE) {
+            RUNNING.remove(result);
+            if (laneThread == Thread.currentThread() && result != laneTrigger) {
+                laneThread = null;
+                laneTrigger = null;
+            }
+            LANE.notifyAll();
+        }
+    }
+
+    private static void enterLane(ITestResult result) {
+        synchronized (LANE) {
+            // 失败的这次执行已经结束；上一次重试同样在本线程失败时先让出通道
+            RUNNING.remove(result);
+            if (laneThread == Thread.currentThread()) {
+                laneThread = null;
+                laneTrigger = null;
+            }
+            LANE.notifyAll();
+            XmlSuite.ParallelMode parallel = result.getTestContext().getSuite().getXmlSuite().getParallel();
+            long grace = parallel != null && parallel.isParallel()
+                    ? TestDataProvider.getIntProperty("test.retry.idle.grace", 2000) : 0;
+            long idleSince = 0;
+            long idleStarts = -1;
+            try {
+                while (laneThread != null || startedFirstAttempts < expectedFirstAttempts) {
+                    if (laneThread != null || !RUNNING.isEmpty()) {
+                        idleStarts = -1;
+                        LANE.wait();
+                        continue;
+                    }
+                    long now = System.currentTimeMillis();
+                    if (idleStarts != starts) {
+                        idleStarts = starts;
+                        idleSince = now;
+                    } else if (now - idleSince >= grace) {
+                        break;
+                    }
+                    LANE.wait(Math.max(1, idleSince + grace - now));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("等待重试通道被中断", e);
+            }
+            laneThread = Thread.currentThread();
+            laneTrigger = result;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.lotterywebautotest.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 延迟直方图的桶下标、百分位、合并与清空
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketIndexIsContiguousAndWithinOnePercent() {
+        // 256以下每微秒一个桶
+        for (long micros = 0; micros < 256; micros++) {
+            assertEquals(micros, LatencyHistogram.indexOf(micros));
+            assertEquals(micros, LatencyHistogram.highestEquivalentValue((int) micros));
+        }
+        // 之后每个桶的上界+1正好落在下一个桶，覆盖到Long.MAX_VALUE
+        int index = 255;
+        long upper = 255;
+        while (upper != Long.MAX_VALUE) {
+            long lowest = upper + 1;
+            assertEquals(index + 1, LatencyHistogram.indexOf(lowest), "value " + lowest);
+            index++;
+            upper = LatencyHistogram.highestEquivalentValue(index);
+            assertEquals(index, LatencyHistogram.indexOf(upper), "value " + upper);
+            assertTrue((double) (upper - lowest) / lowest < 0.01, "bucket " + index);
+        }
+        assertEquals(LatencyHistogram.indexOf(Long.MAX_VALUE), index);
+    }
+
+    @Test
+    void percentilesNeverUnderestimate() {
+        LatencyHistogram histogram = new LatencyHistogram("h");
+        for (long millis = 1; millis <= 1000; millis++) {
+            histogram.recordMicros(millis * 1000);
+        }
+        assertEquals(1000, histogram.getTotalCount());
+        assertEquals(500.5, histogram.getMeanMillis(), 1e-9);
+        assertEquals(1.0, histogram.getMinMillis());
+        assertEquals(1000.0, histogram.getMaxMillis());
+        for (double percentile : new double[]{50, 90, 99}) {
+            double value = histogram.getValueAtPercentile(percentile);
+            assertTrue(value >= percentile * 10 && value < percentile * 10 * 1.01, percentile + " -> " + value);
+        }
+        assertEquals(1000.0, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    void addMergesAndResetClears() {
+        Random random = new Random(3);
+        LatencyHistogram all = new LatencyHistogram("all");
+        LatencyHistogram first = new LatencyHistogram("first");
+        LatencyHistogram second = new LatencyHistogram("second");
+        for (int i = 0; i < 10_000; i++) {
+            long micros = (long) Math.abs(random.nextGaussian() * 50_000);
+            all.recordMicros(micros);
+            (i % 3 == 0 ? first : second).recordMicros(micros);
+        }
+        LatencyHistogram merged = new LatencyHistogram("merged");
+        merged.add(first);
+        merged.add(second);
+        assertEquals(all.toPercentileDistribution(), merged.toPercentileDistribution());
+
+        merged.reset();
+        assertEquals(0, merged.getTotalCount());
+        assertEquals(0.0, merged.getValueAtPercentile(99));
+        assertEquals(0.0, merged.getMinMillis());
+        assertEquals(0.0, merged.getMaxMillis());
+        merged.recordMicros(7_000);
+        assertEquals(7.0, merged.getMinMillis());
+        assertEquals(7.0, merged.getValueAtPercentile(50));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.Reporter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+
+/**
+ * 重复测量工具
+ * 同一操作执行多次，样本记入延迟直方图，按p50/p95/p99/max预算断言，并导出直方图到测试结果目录。
+ * 次数配置为 test.perf.latency.{名称}.iterations（默认取 test.perf.latency.iterations），
+ * 预算配置为 test.perf.latency.{名称}.{p50|p95|p99|max}（毫秒）。
+ * 百分位只在样本数不少于 test.perf.latency.min.samples（默认20）时校验，样本太少时百分位就是单个样本，只校验max。
+ */
+public class LatencyRecorder {
+
+    private static final String[] METRICS = {"p50", "p95", "p99", "max"};
+
+    /**
+     * 重复执行操作并记录耗时
+     * @param name 测量名称
+     * @param action 被测操作
+     * @param betweenIterations 两次测量之间恢复页面状态的操作，不计入耗时
+     * @return 延迟直方图
+     */
+    public static LatencyHistogram measure(String name, Runnable action, Runnable betweenIterations) {
+        int warmup = getIntSetting(name, "warmup", 0);
+        int iterations = Math.max(1, getIntSetting(name, "iterations", 1));
+
+        LatencyHistogram histogram = new LatencyHistogram(name);
+        for (int i = 0; i < warmup + iterations; i++) {
+            if (i > 0) {
+                betweenIterations.run();
+            }
+            long start = System.nanoTime();
+            action.run();
+            long elapsed = System.nanoTime() - start;
+            if (i >= warmup) {
+                histogram.recordNanos(elapsed);
+            }
+        }
+
+        export(histogram);
+        return histogram;
+    }
+
+    /**
+     * 按配置的百分位预算校验直方图
+     * @param histogram 延迟直方图
+     */
+    public static void verifyPercentiles(LatencyHistogram histogram) {
+        boolean enoughSamples = histogram.getTotalCount() >= getIntSetting(histogram.getName(), "min.samples", 20);
+        for (String metric : METRICS) {
+            String budget = TestDataProvider.getProperty("test.perf.latency." + histogram.getName() + "." + metric);
+            if (budget == null || (!enoughSamples && !"max".equals(metric))) {
+                continue;
+            }
+            double value = "max".equals(metric)
+                    ? histogram.getMaxMillis()
+                    : histogram.getValueAtPercentile(Double.parseDouble(metric.substring(1)));
+            double limit = Double.parseDouble(budget);
+            Assert.assertTrue(value <= limit, String.format(Locale.ROOT, "%s的%s超出预算: %.1fms > %.0fms（%s）",
+                    histogram.getName(), metric, value, limit, histogram));
+        }
+    }
+
+    /**
+     * 导出直方图：写入 .hgrm 文件，并把摘要附加到TestNG报告
+     * 文件名包含测试方法、线程和时间，同一测量在多个测试中执行时不会互相覆盖
+     */
+    private static void export(LatencyHistogram histogram) {
+        String summary = histogram.toString();
+        System.out.println("延迟统计 " + summary);
+        Reporter.log(summary);
+
+        Path dir = Paths.get(TestDataProvider.getProperty("test.perf.latency.dir", "target/latency-histograms"));
+        ITestResult result = Reporter.getCurrentTestResult();
+        String test = result != null ? result.getMethod().getMethodName() : "unknown";
+        String suffix = (test + "_" + Thread.currentThread().getName()).replaceAll("[^A-Za-z0-9_-]", "_");
+        Path file = dir.resolve(histogram.getName() + "_" + suffix + "_" + System.currentTimeMillis() + ".hgrm");
+        try {
+            Files.createDirectories(dir);
+            Files.write(file, histogram.toPercentileDistribution().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("直方图导出失败: " + file + "，" + e.getMessage());
+        }
+    }
+
+    private static int getIntSetting(String name, String setting, int defaultValue) {
+        return TestDataProvider.getIntProperty("test.perf.latency." + name + "." + setting,
+                TestDataProvider.getIntProperty("test.perf.latency." + setting, defaultValue));
+    }
+}
@@ -0,0 +1,224 @@
+package com.example.lotterywebautotest.utils;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 一个测试中页面发起的接口请求和整页加载耗时
+ * 后端耗时为接口请求在墙钟时间上的并集，前端耗时为整页加载中扣除等待接口的部分
+ */
+public class NetworkTimings {
+
+    private static final String NAVIGATION = "navigation";
+
+    private final List<Request> apiRequests = new ArrayList<>();
+    private final List<Request> pageLoads = new ArrayList<>();
+    private final List<String> endpoints;
+
+    NetworkTimings(List<Request> requests, List<String> endpoints) {
+        this.endpoints = endpoints;
+        for (Request request : requests) {
+            (NAVIGATION.equals(request.initiatorType) ? pageLoads : apiRequests).add(request);
+        }
+        apiRequests.sort(Comparator.comparingDouble(Request::getStart));
+        pageLoads.sort(Comparator.comparingDouble(Request::getStart));
+    }
+
+    public List<Request> getApiRequests() {
+        return apiRequests;
+    }
+
+    public List<Request> getPageLoads() {
+        return pageLoads;
+    }
+
+    /**
+     * 获取页面通过XMLHttpRequest/fetch请求过的全部接口路径（不限于 test.network.api.patterns）
+     */
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return apiRequests.isEmpty() && pageLoads.isEmpty();
+    }
+
+    /**
+     * 获取接口请求占用的墙钟时间（并发请求重叠部分只算一次）
+     * @return 毫秒
+     */
+    public double getApiTime() {
+        return union(apiRequests, null);
+    }
+
+    /**
+     * 获取服务端等待时间之和（请求发出到首字节）
+     * @return 毫秒
+     */
+    public double getServerWaitTime() {
+        double total = 0;
+        for (Request request : apiRequests) {
+            total += request.wait != null ? request.wait : request.duration;
+        }
+        return total;
+    }
+
+    /**
+     * 获取整页加载耗时之和
+     * @return 毫秒
+     */
+    public double getPageLoadTime() {
+        double total = 0;
+        for (Request page : pageLoads) {
+            total += page.duration;
+        }
+        return total;
+    }
+
+    /**
+     * 获取整页加载中的前端耗时：加载时间扣除其间等待接口的时间
+     * @return 毫秒
+     */
+    public double getFrontendTime() {
+        double apiDuringLoads = 0;
+        for (Request page : pageLoads) {
+            apiDuringLoads += union(apiRequests, page);
+        }
+        return Math.max(0, getPageLoadTime() - apiDuringLoads);
+    }
+
+    /**
+     * 计算请求区间的并集长度，window不为null时只计算落在该区间内的部分
+     */
+    private static double union(List<Request> requests, Request window) {
+        double total = 0;
+        double coveredUntil = Double.NEGATIVE_INFINITY;
+        for (Request request : requests) {
+            double start = request.start;
+            double end = request.start + request.duration;
+            if (window != null) {
+                start = Math.max(start, window.start);
+                end = Math.min(end, window.start + window.duration);
+            }
+            start = Math.max(start, coveredUntil);
+            if (end > start) {
+                total += end - start;
+                coveredUntil = end;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d个接口请求，接口耗时%.1fms（服务端等待%.1fms）；%d次整页加载%.1fms，其中前端%.1fms",
+                apiRequests.size(), getApiTime(), getServerWaitTime(), pageLoads.size(), getPageLoadTime(),
+                getFrontendTime());
+    }
+
+    /**
+     * 一条请求记录，时间为毫秒；跨域且未返回Timing-Allow-Origin时分段耗时为null
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Request {
+        private String url;
+        private String page;
+        private String initiatorType;
+        private double start;
+        private double duration;
+        private Double queue;
+        private Double wait;
+        private Double download;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        /**
+         * 获取发起请求的页面（路径和哈希）
+         */
+        public String getPage() {
+            return page;
+        }
+
+        public void setPage(String page) {
+            this.page = page;
+        }
+
+        public String getInitiatorType() {
+            return initiatorType;
+        }
+
+        public void setInitiatorType(String initiatorType) {
+            this.initiatorType = initiatorType;
+        }
+
+        /**
+         * 获取开始时间（Unix时间戳，毫秒）
+         */
+        public double getStart() {
+            return start;
+        }
+
+        public void setStart(double start) {
+            this.start = start;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+
+        public void setDuration(double duration) {
+            this.duration = duration;
+        }
+
+        /**
+         * 获取浏览器排队和建立连接的时间
+         */
+        public Double getQueue() {
+            return queue;
+        }
+
+        public void setQueue(Double queue) {
+            this.queue = queue;
+        }
+
+        /**
+         * 获取服务端等待时间（请求发出到首字节）
+         */
+        public Double getWait() {
+            return wait;
+        }
+
+        public void setWait(Double wait) {
+            this.wait = wait;
+        }
+
+        public Double getDownload() {
+            return download;
+        }
+
+        public void setDownload(Double download) {
+            this.download = download;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %.1fms（排队%s，等待%s，下载%s）@%s", url, duration, format(queue), format(wait),
+                    format(download), page);
+        }
+
+        private static String format(Double value) {
+            return value == null ? "-" : String.format("%.1fms", value);
+        }
+    }
+}
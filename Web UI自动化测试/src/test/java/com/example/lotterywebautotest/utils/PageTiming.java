@@ -0,0 +1,149 @@
+package com.example.lotterywebautotest.utils;
+
+import java.util.List;
+
+/**
+ * 页面性能数据
+ * 时间均为浏览器 performance 时间轴上的毫秒数（相对文档导航开始），不包含WebDriver通信开销；浏览器不支持的指标为null
+ */
+public class PageTiming {
+
+    private final Double ttfb;
+    private final Double domContentLoaded;
+    private final Double load;
+    private final Double firstContentfulPaint;
+    private final Double largestContentfulPaint;
+    private final Double transitionStart;
+    private final Double transitionDuration;
+    private final List<ResourceTiming> resources;
+
+    PageTiming(Double ttfb, Double domContentLoaded, Double load, Double firstContentfulPaint,
+               Double largestContentfulPaint, Double transitionStart, Double transitionDuration,
+               List<ResourceTiming> resources) {
+        this.ttfb = ttfb;
+        this.domContentLoaded = domContentLoaded;
+        this.load = load;
+        this.firstContentfulPaint = firstContentfulPaint;
+        this.largestContentfulPaint = largestContentfulPaint;
+        this.transitionStart = transitionStart;
+        this.transitionDuration = transitionDuration;
+        this.resources = List.copyOf(resources);
+    }
+
+    /**
+     * 是否为页内切换（哈希路由），页内切换时导航和绘制指标仍属于最初的文档加载
+     * @return 是否为页内切换
+     */
+    public boolean isSoftTransition() {
+        return transitionStart != null;
+    }
+
+    public Double getTtfb() {
+        return ttfb;
+    }
+
+    public Double getDomContentLoaded() {
+        return domContentLoaded;
+    }
+
+    public Double getLoad() {
+        return load;
+    }
+
+    public Double getFirstContentfulPaint() {
+        return firstContentfulPaint;
+    }
+
+    public Double getLargestContentfulPaint() {
+        return largestContentfulPaint;
+    }
+
+    /**
+     * 获取页内切换耗时：从切换开始到切换后最后一次DOM变化绘制完成或最后一个资源请求完成（取较晚者）
+     * @return 切换耗时，整页加载或切换后没有观察到DOM变化和资源请求时为null
+     */
+    public Double getTransitionDuration() {
+        return transitionDuration;
+    }
+
+    /**
+     * 获取资源加载记录，页内切换时只包含切换后发起的请求
+     * @return 资源加载记录
+     */
+    public List<ResourceTiming> getResources() {
+        return resources;
+    }
+
+    /**
+     * 获取耗时最长的资源
+     * @return 资源记录，没有资源时返回null
+     */
+    public ResourceTiming getSlowestResource() {
+        ResourceTiming slowest = null;
+        for (ResourceTiming resource : resources) {
+            if (slowest == null || resource.getDuration() > slowest.getDuration()) {
+                slowest = resource;
+            }
+        }
+        return slowest;
+    }
+
+    @Override
+    public String toString() {
+        if (isSoftTransition()) {
+            return String.format("页内切换耗时=%s, 资源数=%d, 最慢资源=%s",
+                    format(transitionDuration), resources.size(), getSlowestResource());
+        }
+        return String.format("TTFB=%s, DOMContentLoaded=%s, Load=%s, FCP=%s, LCP=%s, 资源数=%d, 最慢资源=%s",
+                format(ttfb), format(domContentLoaded), format(load), format(firstContentfulPaint),
+                format(largestContentfulPaint), resources.size(), getSlowestResource());
+    }
+
+    private static String format(Double millis) {
+        return millis == null ? "-" : String.format("%.1fms", millis);
+    }
+
+    /**
+     * 单个资源的加载记录
+     */
+    public static class ResourceTiming {
+        private final String name;
+        private final String initiatorType;
+        private final double startTime;
+        private final double duration;
+        private final long transferSize;
+
+        ResourceTiming(String name, String initiatorType, double startTime, double duration, long transferSize) {
+            this.name = name;
+            this.initiatorType = initiatorType;
+            this.startTime = startTime;
+            this.duration = duration;
+            this.transferSize = transferSize;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getInitiatorType() {
+            return initiatorType;
+        }
+
+        public double getStartTime() {
+            return startTime;
+        }
+
+        public double getDuration() {
+            return duration;
+        }
+
+        public long getTransferSize() {
+            return transferSize;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s(%s, %.1fms)", name, initiatorType, duration);
+        }
+    }
+}
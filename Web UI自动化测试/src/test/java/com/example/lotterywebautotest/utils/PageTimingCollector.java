@@ -0,0 +1,183 @@
+package com.example.lotterywebautotest.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 页面性能采集器
+ * 在浏览器内读取 Navigation Timing、Paint Timing、Resource Timing 和 LCP，并按页面预算校验。
+ * 预算配置为 test.perf.budget.{页面}.{指标}（毫秒），未配置时使用 test.perf.budget.default.{指标}，都未配置则不校验。
+ * 指标: ttfb、dcl、fcp、lcp（整页加载），transition（页内切换），resource（单个资源）
+ * 页内切换的终点取切换后最后一次DOM变化绘制完成和最后一个资源请求完成中较晚的时间，两者都没有时为null（不校验）
+ */
+public class PageTimingCollector {
+
+    /**
+     * 页内切换起点标记脚本：记录起点，并在每次DOM变化后的第二帧记录时间，即这次变化已经绘制到屏幕的时间
+     */
+    private static final String MARK_TRANSITION_SCRIPT = """
+            var w = window, pending = false;
+            if (w.__webdriverTransitionObserver) { w.__webdriverTransitionObserver.disconnect(); }
+            w.__webdriverTransitionStart = performance.now();
+            w.__webdriverTransitionPainted = null;
+            w.__webdriverTransitionObserver = new MutationObserver(function () {
+                if (document.hidden) { w.__webdriverTransitionPainted = performance.now(); return; }
+                if (pending) { return; }
+                pending = true;
+                requestAnimationFrame(function () {
+                    requestAnimationFrame(function (time) {
+                        pending = false;
+                        w.__webdriverTransitionPainted = time;
+                    });
+                });
+            });
+            w.__webdriverTransitionObserver.observe(document,
+                    {childList: true, subtree: true, attributes: true, characterData: true});
+            """;
+
+    /**
+     * 采集脚本：LCP只能通过PerformanceObserver的缓冲记录读取，因此使用异步脚本
+     */
+    private static final String COLLECT_SCRIPT = """
+            var done = arguments[arguments.length - 1];
+            var nav = performance.getEntriesByType('navigation')[0];
+            var mark = typeof window.__webdriverTransitionStart === 'number' ? window.__webdriverTransitionStart : null;
+            var since = mark === null ? 0 : mark;
+            function firstContentfulPaint() {
+                var paints = performance.getEntriesByType('paint');
+                for (var i = 0; i < paints.length; i++) {
+                    if (paints[i].name === 'first-contentful-paint') { return paints[i].startTime; }
+                }
+                return null;
+            }
+            function finish(lcp) {
+                var painted = mark === null ? null : window.__webdriverTransitionPainted;
+                var end = painted === null ? since : painted;
+                var resources = performance.getEntriesByType('resource').filter(function (r) {
+                    return r.startTime >= since;
+                }).map(function (r) {
+                    end = Math.max(end, r.responseEnd);
+                    return {name: r.name, initiatorType: r.initiatorType, startTime: r.startTime,
+                            duration: r.duration, transferSize: r.transferSize || 0};
+                });
+                done({
+                    ttfb: nav ? nav.responseStart : null,
+                    domContentLoaded: nav ? nav.domContentLoadedEventEnd : null,
+                    load: nav ? nav.loadEventEnd : null,
+                    fcp: firstContentfulPaint(),
+                    lcp: lcp,
+                    transitionStart: mark,
+                    transitionDuration: mark === null || (painted === null && resources.length === 0)
+                            ? null : end - mark,
+                    resources: resources
+                });
+            }
+            function settle(callback) {
+                // 等最近一次DOM变化绘制完成再读取切换终点
+                if (mark === null || document.hidden) { callback(); return; }
+                requestAnimationFrame(function () { requestAnimationFrame(function () {
+                    if (window.__webdriverTransitionObserver) { window.__webdriverTransitionObserver.disconnect(); }
+                    callback();
+                }); });
+            }
+            var types = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];
+            if (types.indexOf('largest-contentful-paint') < 0) { settle(function () { finish(null); }); return; }
+            var lcp = null;
+            function record(entries) {
+                if (entries.length > 0) { lcp = entries[entries.length - 1].startTime; }
+            }
+            var observer = new PerformanceObserver(function (list) { record(list.getEntries()); });
+            observer.observe({type: 'largest-contentful-paint', buffered: true});
+            settle(function () {
+                record(observer.takeRecords());
+                observer.disconnect();
+                finish(lcp);
+            });
+            """;
+
+    /**
+     * 标记页内切换开始，之后的采集只统计该时间点之后的资源请求和DOM变化；整页跳转后标记自动失效
+     * @param driver WebDriver实例
+     */
+    public static void markTransition(WebDriver driver) {
+        ((JavascriptExecutor) driver).executeScript(MARK_TRANSITION_SCRIPT);
+    }
+
+    /**
+     * 采集当前页面的性能数据
+     * @param driver WebDriver实例
+     * @return 页面性能数据
+     */
+    @SuppressWarnings("unchecked")
+    public static PageTiming collect(WebDriver driver) {
+        Map<String, Object> raw = (Map<String, Object>) ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT);
+
+        List<PageTiming.ResourceTiming> resources = new ArrayList<>();
+        for (Map<String, Object> item : (List<Map<String, Object>>) raw.get("resources")) {
+            resources.add(new PageTiming.ResourceTiming(
+                    (String) item.get("name"),
+                    (String) item.get("initiatorType"),
+                    toDouble(item.get("startTime")),
+                    toDouble(item.get("duration")),
+                    ((Number) item.get("transferSize")).longValue()));
+        }
+        return new PageTiming(
+                toDouble(raw.get("ttfb")),
+                toDouble(raw.get("domContentLoaded")),
+                toDouble(raw.get("load")),
+                toDouble(raw.get("fcp")),
+                toDouble(raw.get("lcp")),
+                toDouble(raw.get("transitionStart")),
+                toDouble(raw.get("transitionDuration")),
+                resources);
+    }
+
+    /**
+     * 采集性能数据并按页面预算校验
+     * @param driver WebDriver实例
+     * @param page 页面标识，对应预算配置中的{页面}
+     * @return 页面性能数据
+     */
+    public static PageTiming verifyWithinBudget(WebDriver driver, String page) {
+        PageTiming timing = collect(driver);
+        System.out.println("页面性能[" + page + "]: " + timing);
+
+        if (timing.isSoftTransition()) {
+            assertBudget(page, "transition", timing.getTransitionDuration());
+        } else {
+            assertBudget(page, "ttfb", timing.getTtfb());
+            assertBudget(page, "dcl", timing.getDomContentLoaded());
+            assertBudget(page, "fcp", timing.getFirstContentfulPaint());
+            assertBudget(page, "lcp", timing.getLargestContentfulPaint());
+        }
+        PageTiming.ResourceTiming slowest = timing.getSlowestResource();
+        if (slowest != null) {
+            assertBudget(page, "resource", slowest.getDuration(), slowest.getName());
+        }
+        return timing;
+    }
+
+    private static void assertBudget(String page, String metric, Double value) {
+        assertBudget(page, metric, value, null);
+    }
+
+    private static void assertBudget(String page, String metric, Double value, String detail) {
+        String budget = TestDataProvider.getProperty("test.perf.budget." + page + "." + metric,
+                TestDataProvider.getProperty("test.perf.budget.default." + metric, null));
+        if (value == null || budget == null) {
+            return;
+        }
+        double limit = Double.parseDouble(budget);
+        Assert.assertTrue(value <= limit, String.format("页面[%s]指标%s超出预算: %.1fms > %.0fms%s",
+                page, metric, value, limit, detail == null ? "" : "，资源: " + detail));
+    }
+
+    private static Double toDouble(Object value) {
+        return value == null ? null : ((Number) value).doubleValue();
+    }
+}
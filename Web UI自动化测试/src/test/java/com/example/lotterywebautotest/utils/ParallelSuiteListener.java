@@ -0,0 +1,32 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * 并行执行配置监听器
+ * 在套件启动前根据 test.parallel.mode / test.parallel.threads 修改TestNG并行模式，并校验测试用户池足够每个线程独占一个账号
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        String mode = TestDataProvider.getParallelMode();
+        XmlSuite.ParallelMode parallelMode = XmlSuite.ParallelMode.getValidParallel(mode);
+        if (parallelMode == null) {
+            System.err.println("无效的并行模式: " + mode + "，将串行执行");
+            parallelMode = XmlSuite.ParallelMode.NONE;
+        }
+        int threadCount = Math.max(1, TestDataProvider.getParallelThreadCount());
+        TestDataProvider.checkUserPool();
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(parallelMode);
+            suite.setThreadCount(threadCount);
+            suite.setDataProviderThreadCount(threadCount);
+        }
+        System.out.println("TestNG并行模式: " + parallelMode + "，线程数: " + threadCount);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * 截图写入监听器
+ * 套件结束时等待后台队列中的截图全部写盘，保证报告生成时截图文件已存在
+ */
+public class ScreenshotSuiteListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        long timeout = TestDataProvider.getIntProperty("test.screenshot.flush.timeout", 60) * 1000L;
+        ScreenshotWriter.flush(timeout);
+    }
+}
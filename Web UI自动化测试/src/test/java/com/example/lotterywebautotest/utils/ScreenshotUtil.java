@@ -4,10 +4,10 @@ package com.example.lotterywebautotest.utils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
-import org.apache.commons.io.FileUtils;
+import org.openqa.selenium.WebDriverException;
 
 import java.io.File;
-import java.io.IOException;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 
@@ -32,7 +32,7 @@ public class ScreenshotUtil {
      * 截取当前页面截图
      * @param driver WebDriver实例
      * @param testName 测试名称
-     * @return 截图文件路径
+     * @return 截图文件路径，截图失败或写入队列已满被丢弃时为null
      */
     public static String takeScreenshot(WebDriver driver, String testName) {
         try {
@@ -41,19 +41,14 @@ public class ScreenshotUtil {
             String fileName = testName + "_" + timestamp + ".png";
             String filePath = SCREENSHOT_DIR + fileName;
 
-            // 截取截图
-            TakesScreenshot takesScreenshot = (TakesScreenshot) driver;
-            File sourceFile = takesScreenshot.getScreenshotAs(OutputType.FILE);
-            File destFile = new File(filePath);
-
-            // 保存截图
-            FileUtils.copyFile(sourceFile, destFile);
+            // 截取截图，直接取PNG字节，避免浏览器驱动先落临时文件
+            byte[] png = ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
 
-            System.out.println("截图已保存: " + filePath);
-            return filePath;
+            // 保存截图（后台异步写入）
+            return ScreenshotWriter.submit(Paths.get(filePath), png) ? filePath : null;
 
-        } catch (IOException e) {
-            System.err.println("截图保存失败: " + e.getMessage());
+        } catch (WebDriverException e) {
+            System.err.println("截图失败: " + e.getMessage());
             return null;
         }
     }
@@ -0,0 +1,138 @@
+package com.example.lotterywebautotest.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 截图异步写入器
+ * 测试线程只负责把PNG字节放入有界队列，由后台线程写盘；队列满时丢弃这张截图并输出警告，测试线程从不等待或写盘
+ */
+public class ScreenshotWriter {
+
+    private static final int QUEUE_CAPACITY = TestDataProvider.getIntProperty("test.screenshot.queue.capacity", 32);
+
+    private static final BlockingQueue<PendingScreenshot> QUEUE = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private static final Object PENDING_LOCK = new Object();
+
+    /**
+     * 因队列已满被丢弃的截图数量
+     */
+    private static final AtomicInteger DROPPED = new AtomicInteger();
+
+    /**
+     * 已提交但尚未写完的截图数量
+     */
+    private static int pending;
+
+    static {
+        Thread writer = new Thread(ScreenshotWriter::drain, "screenshot-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        // 未通过TestNG套件运行时（如IDE中单独执行），在JVM退出前写完剩余截图
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> flush(10000)));
+    }
+
+    /**
+     * 提交截图，立即返回
+     * @param target 目标文件
+     * @param png PNG字节
+     * @return 是否已放入队列，队列已满时丢弃并返回false
+     */
+    public static boolean submit(Path target, byte[] png) {
+        synchronized (PENDING_LOCK) {
+            pending++;
+        }
+        if (QUEUE.offer(new PendingScreenshot(target, png))) {
+            return true;
+        }
+        done();
+        System.err.println("截图写入队列已满（容量" + QUEUE_CAPACITY + "），丢弃截图: " + target
+                + "，累计丢弃: " + DROPPED.incrementAndGet());
+        return false;
+    }
+
+    /**
+     * 等待所有已提交的截图写完
+     * @param timeoutMillis 最长等待时间（毫秒）
+     * @return 是否全部写完
+     */
+    public static boolean flush(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        synchronized (PENDING_LOCK) {
+            while (pending > 0) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    System.err.println("等待截图写入超时，剩余: " + pending);
+                    return false;
+                }
+                try {
+                    PENDING_LOCK.wait(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        int dropped = DROPPED.get();
+        if (dropped > 0) {
+            System.err.println("截图写入队列曾满，共丢弃截图: " + dropped + "，可调大 test.screenshot.queue.capacity");
+        }
+        return true;
+    }
+
+    /**
+     * 后台写入线程
+     */
+    private static void drain() {
+        while (true) {
+            try {
+                write(QUEUE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private static void write(PendingScreenshot screenshot) {
+        try {
+            Path parent = screenshot.target.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.write(screenshot.target, screenshot.png);
+            System.out.println("截图已保存: " + screenshot.target);
+        } catch (IOException e) {
+            System.err.println("截图保存失败: " + screenshot.target + "，" + e.getMessage());
+        } finally {
+            done();
+        }
+    }
+
+    private static void done() {
+        synchronized (PENDING_LOCK) {
+            pending--;
+            if (pending == 0) {
+                PENDING_LOCK.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 待写入的截图
+     */
+    private static class PendingScreenshot {
+        private final Path target;
+        private final byte[] png;
+
+        private PendingScreenshot(Path target, byte[] png) {
+            this.target = target;
+            this.png = png;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.lotterywebautotest.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 登录会话缓存
+ * 每个账号只通过 /user/password/login 接口登录一次，之后把Token和Cookie直接注入浏览器，跳过UI登录流程
+ */
+public class SessionCache {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /** 正在登录或已登录的会话，登录在map外完成，不占用ConcurrentHashMap的桶锁 */
+    private static final Map<String, CompletableFuture<Session>> SESSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * 获取账号的登录会话，首次调用时通过接口登录
+     * @param loginName 邮箱或手机号
+     * @param password 密码
+     * @return 登录会话
+     */
+    public static Session getSession(String loginName, String password) {
+        CompletableFuture<Session> created = new CompletableFuture<>();
+        CompletableFuture<Session> existing = SESSIONS.putIfAbsent(loginName, created);
+        if (existing != null) {
+            // 其他线程正在登录同一账号时等待它的结果
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+        try {
+            Session session = login(loginName, password);
+            created.complete(session);
+            return session;
+        } catch (RuntimeException e) {
+            // 登录失败不缓存，下次调用重新登录
+            SESSIONS.remove(loginName, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * 使账号的缓存会话失效，下次获取时重新登录
+     * @param loginName 邮箱或手机号
+     */
+    public static void invalidate(String loginName) {
+        SESSIONS.remove(loginName);
+    }
+
+    /**
+     * 登录并把会话注入当前浏览器
+     * @param driver WebDriver实例
+     * @param loginName 邮箱或手机号
+     * @param password 密码
+     */
+    public static void loginInBrowser(WebDriver driver, String loginName, String password) {
+        Session session = getSession(loginName, password);
+
+        // 必须先打开站点页面，Cookie和localStorage才属于该域名
+        driver.get(TestDataProvider.getBaseUrl());
+        for (HttpCookie cookie : session.cookies) {
+            driver.manage().addCookie(new Cookie(cookie.getName(), cookie.getValue(), "/"));
+        }
+        ((JavascriptExecutor) driver).executeScript(
+                "localStorage.setItem(arguments[0], arguments[1]);"
+                        + " localStorage.setItem(arguments[2], arguments[3]);"
+                        + " localStorage.setItem(arguments[4], arguments[5]);",
+                TestDataProvider.getProperty("test.session.storage.token.key", "user_token"), session.token,
+                TestDataProvider.getProperty("test.session.storage.userid.key", "userId"), String.valueOf(session.userId),
+                TestDataProvider.getProperty("test.session.storage.identity.key", "identity"), session.identity);
+        driver.navigate().refresh();
+    }
+
+    /**
+     * 通过接口登录
+     */
+    private static Session login(String loginName, String password) {
+        CookieManager cookieManager = new CookieManager();
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .cookieHandler(cookieManager)
+                .build();
+        try {
+            String body = MAPPER.writeValueAsString(Map.of("loginName", loginName, "password", password));
+            HttpRequest request = HttpRequest.newBuilder(URI.create(TestDataProvider.getBaseUrl() + "/user/password/login"))
+                    .timeout(Duration.ofSeconds(10))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+
+            JsonNode json = MAPPER.readTree(response.body());
+            JsonNode data = json.path("data");
+            if (json.path("code").asInt() != 200 || !data.hasNonNull("token")) {
+                throw new RuntimeException("接口登录失败: " + loginName + "，响应: " + response.body());
+            }
+            return new Session(
+                    data.path("token").asText(),
+                    data.path("userId").asLong(),
+                    data.path("identity").asText(""),
+                    cookieManager.getCookieStore().getCookies());
+        } catch (IOException e) {
+            throw new RuntimeException("接口登录请求失败: " + loginName, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("接口登录被中断: " + loginName, e);
+        }
+    }
+
+    /**
+     * 登录会话
+     */
+    public static class Session {
+        private final String token;
+        private final long userId;
+        private final String identity;
+        private final List<HttpCookie> cookies;
+
+        private Session(String token, long userId, String identity, List<HttpCookie> cookies) {
+            this.token = token;
+            this.userId = userId;
+            this.identity = identity;
+            this.cookies = List.copyOf(cookies);
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        public long getUserId() {
+            return userId;
+        }
+
+        public String getIdentity() {
+            return identity;
+        }
+    }
+}
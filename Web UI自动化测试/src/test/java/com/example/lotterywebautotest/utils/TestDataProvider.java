@@ -1,10 +1,14 @@
 package com.example.lotterywebautotest.utils;
 
+import com.example.lotterywebautotest.load.SeedDataFactory;
+import com.example.lotterywebautotest.load.SeedUser;
+import org.testng.xml.XmlSuite;
 
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 测试数据提供工具类
@@ -13,8 +17,19 @@ public class TestDataProvider {
 
     private static Properties properties;
 
+    private static final AtomicInteger NEXT_USER_SLOT = new AtomicInteger();
+
+    private static final ThreadLocal<Integer> USER_SLOT = ThreadLocal.withInitial(NEXT_USER_SLOT::getAndIncrement);
+
+    private static final AtomicInteger NEXT_GENERATED_USER = new AtomicInteger();
+
+    private static final SeedDataFactory DATA_FACTORY;
+
     static {
         loadProperties();
+        String seed = getProperty("test.data.seed");
+        DATA_FACTORY = new SeedDataFactory(seed != null && !seed.isBlank() ? Long.parseLong(seed.trim()) : System.nanoTime(),
+                "testuser");
     }
 
     /**
@@ -34,12 +49,12 @@ public class TestDataProvider {
     }
 
     /**
-     * 获取配置属性值
+     * 获取配置属性值，系统属性（-Dkey=value）优先于配置文件
      * @param key 属性键
      * @return 属性值
      */
     public static String getProperty(String key) {
-        return properties.getProperty(key);
+        return System.getProperty(key, properties.getProperty(key));
     }
 
     /**
@@ -49,7 +64,26 @@ public class TestDataProvider {
      * @return 属性值
      */
     public static String getProperty(String key, String defaultValue) {
-        return properties.getProperty(key, defaultValue);
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 获取整数配置属性值，如果不存在或格式错误则返回默认值
+     * @param key 属性键
+     * @param defaultValue 默认值
+     * @return 属性值
+     */
+    public static int getIntProperty(String key, int defaultValue) {
+        String value = getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
     }
 
     /**
@@ -81,6 +115,87 @@ public class TestDataProvider {
         };
     }
 
+    /**
+     * 获取当前线程独占的测试用户数据，并行执行时各线程使用不同账号，避免抽奖次数等状态互相干扰
+     * 未配置用户池时退回默认测试用户
+     * @return 用户数据数组 [username, password, email, phone]
+     */
+    public static String[] getIsolatedUserData() {
+        int poolSize = getUserPoolSize();
+        if (poolSize <= 0) {
+            return getTestUserData();
+        }
+        String prefix = "test.user.pool." + (USER_SLOT.get() % poolSize + 1) + ".";
+        return new String[]{
+                getProperty(prefix + "username"),
+                getProperty(prefix + "password"),
+                getProperty(prefix + "email"),
+                getProperty(prefix + "phone")
+        };
+    }
+
+    /**
+     * 获取测试用户池大小
+     * @return test.user.pool.size，未配置时为从1开始连续配置了用户名的账号数
+     */
+    public static int getUserPoolSize() {
+        int poolSize = getIntProperty("test.user.pool.size", -1);
+        if (poolSize >= 0) {
+            return poolSize;
+        }
+        int configured = 0;
+        while (getProperty("test.user.pool." + (configured + 1) + ".username") != null) {
+            configured++;
+        }
+        return configured;
+    }
+
+    /**
+     * 校验测试用户池能让每个并行线程使用不同账号
+     * 账号数少于实际线程数时多个线程会用同一账号登录，互相消耗抽奖次数、覆盖会话，因此在套件启动前直接失败
+     * @throws IllegalStateException 账号数不足或账号缺少用户名、密码
+     */
+    public static void checkUserPool() {
+        int threads = getEffectiveThreadCount();
+        int poolSize = getUserPoolSize();
+        for (int i = 1; i <= poolSize; i++) {
+            String prefix = "test.user.pool." + i + ".";
+            if (getProperty(prefix + "username") == null || getProperty(prefix + "password") == null) {
+                throw new IllegalStateException("测试用户池缺少账号: " + prefix + "username/password（test.user.pool.size="
+                        + poolSize + "）");
+            }
+        }
+        if (threads > 1 && poolSize < threads) {
+            throw new IllegalStateException("并行线程数 " + threads + " 大于测试用户池账号数 " + poolSize
+                    + "，多个线程会用同一账号登录；请在 test.user.pool.<n>.* 中补充账号，或减少 test.parallel.threads");
+        }
+    }
+
+    /**
+     * 获取并行执行模式
+     * @return 并行模式 none/methods/classes/instances
+     */
+    public static String getParallelMode() {
+        return getProperty("test.parallel.mode", "none");
+    }
+
+    /**
+     * 获取并行线程数
+     * @return 线程数
+     */
+    public static int getParallelThreadCount() {
+        return getIntProperty("test.parallel.threads", 1);
+    }
+
+    /**
+     * 获取实际同时运行测试的线程数
+     * @return 串行执行（none或无效的并行模式）时为1，否则为并行线程数
+     */
+    public static int getEffectiveThreadCount() {
+        XmlSuite.ParallelMode mode = XmlSuite.ParallelMode.getValidParallel(getParallelMode());
+        return mode == null || !mode.isParallel() ? 1 : Math.max(1, getParallelThreadCount());
+    }
+
     /**
      * 获取管理员数据
      * @return 管理员数据数组 [username, password, email]
@@ -105,12 +220,21 @@ public class TestDataProvider {
         };
     }
 
+    /**
+     * 生成一个新的测试用户，用户名、邮箱和手机号在本次运行内互不重复，并行执行时同样安全
+     * 配置 test.data.seed 时整批数据可以复现，否则每次运行使用不同的种子
+     * @return 用户
+     */
+    public static SeedUser generateUser() {
+        return DATA_FACTORY.user(NEXT_GENERATED_USER.getAndIncrement());
+    }
+
     /**
      * 生成随机用户名
      * @return 随机用户名
      */
     public static String generateRandomUsername() {
-        return "testuser" + System.currentTimeMillis();
+        return generateUser().getUserName();
     }
 
     /**
@@ -118,7 +242,7 @@ public class TestDataProvider {
      * @return 随机邮箱
      */
     public static String generateRandomEmail() {
-        return "test" + System.currentTimeMillis() + "@example.com";
+        return generateUser().getEmail();
     }
 
     /**
@@ -126,7 +250,7 @@ public class TestDataProvider {
      * @return 随机手机号
      */
     public static String generateRandomPhone() {
-        return "138" + String.format("%08d", (int)(Math.random() * 100000000));
+        return generateUser().getPhoneNumber();
     }
 
     /**
@@ -0,0 +1,56 @@
+package com.example.lotterywebautotest.utils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 并行执行时的测试用户池校验
+ * 用系统属性覆盖 test-config.properties，每个用例结束后清除
+ */
+class TestDataProviderTest {
+
+    private static final String[] KEYS = {"test.parallel.mode", "test.parallel.threads", "test.user.pool.size",
+            "test.user.pool.2.username", "test.user.pool.2.password"};
+
+    @AfterEach
+    void clearOverrides() {
+        for (String key : KEYS) {
+            System.clearProperty(key);
+        }
+    }
+
+    @Test
+    void poolSizeDefaultsToConfiguredAccounts() {
+        assertEquals(1, TestDataProvider.getUserPoolSize());
+        System.setProperty("test.user.pool.2.username", "普通用户2");
+        System.setProperty("test.user.pool.2.password", "123456");
+        assertEquals(2, TestDataProvider.getUserPoolSize());
+        System.setProperty("test.user.pool.size", "1");
+        assertEquals(1, TestDataProvider.getUserPoolSize());
+    }
+
+    @Test
+    void parallelThreadsNeedOneAccountEach() {
+        System.setProperty("test.parallel.threads", "2");
+        // 串行执行时一个账号足够
+        assertDoesNotThrow(TestDataProvider::checkUserPool);
+
+        System.setProperty("test.parallel.mode", "methods");
+        IllegalStateException error = assertThrows(IllegalStateException.class, TestDataProvider::checkUserPool);
+        assertTrue(error.getMessage().startsWith("并行线程数 2 大于测试用户池账号数 1"), error.getMessage());
+
+        System.setProperty("test.user.pool.2.username", "普通用户2");
+        System.setProperty("test.user.pool.2.password", "123456");
+        assertDoesNotThrow(TestDataProvider::checkUserPool);
+
+        // 声明的账号数超过实际配置的账号
+        System.setProperty("test.user.pool.size", "3");
+        error = assertThrows(IllegalStateException.class, TestDataProvider::checkUserPool);
+        assertTrue(error.getMessage().startsWith("测试用户池缺少账号: test.user.pool.3."), error.getMessage());
+    }
+}
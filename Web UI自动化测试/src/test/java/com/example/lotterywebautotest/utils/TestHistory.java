@@ -0,0 +1,178 @@
+package com.example.lotterywebautotest.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * UI测试历史记录
+ * 从Allure报告（test.history.report，默认 ../全部测试报告/web_test_report）读取每个测试方法历次运行的耗时和结果：
+ * data/test-cases 下每次运行一个文件，history/history.json 按historyId保存最近的运行，两者按uid去重合并。
+ * 测试标识与 {@link TestImpactRecorder#testId} 一致（全限定类名#方法名）。
+ * 历史中既通过过又失败过（failed/broken）的测试，或Allure标记为flaky的测试，视为不稳定测试。
+ */
+public class TestHistory {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static volatile TestHistory defaultHistory;
+
+    private final Map<String, Record> records = new TreeMap<>();
+    private final Set<String> seenRuns = new HashSet<>();
+
+    /**
+     * 获取默认报告目录的历史记录，只读取一次
+     */
+    public static TestHistory getDefault() {
+        if (defaultHistory == null) {
+            synchronized (TestHistory.class) {
+                if (defaultHistory == null) {
+                    defaultHistory = load(new File(TestDataProvider.getProperty(
+                            "test.history.report", "../全部测试报告/web_test_report")));
+                }
+            }
+        }
+        return defaultHistory;
+    }
+
+    /**
+     * 读取Allure报告目录中的历史记录，目录不存在或格式错误时返回空记录
+     * @param reportDir Allure报告目录
+     * @return 历史记录
+     */
+    public static TestHistory load(File reportDir) {
+        TestHistory history = new TestHistory();
+        Map<String, String> testsByHistoryId = new HashMap<>();
+        File[] cases = new File(reportDir, "data/test-cases").listFiles((dir, name) -> name.endsWith(".json"));
+        if (cases != null) {
+            for (File file : cases) {
+                try {
+                    JsonNode run = MAPPER.readTree(file);
+                    String test = toTestId(run.path("fullName").asText(null));
+                    if (test == null) {
+                        continue;
+                    }
+                    testsByHistoryId.put(run.path("historyId").asText(), test);
+                    history.add(run.path("uid").asText(file.getName()), test, run.path("status").asText(),
+                            run.path("time").path("duration").asLong(), run.path("flaky").asBoolean());
+                } catch (IOException e) {
+                    System.err.println("读取测试历史失败: " + file + "，" + e.getMessage());
+                }
+            }
+        }
+
+        File trend = new File(reportDir, "history/history.json");
+        if (trend.isFile()) {
+            try {
+                JsonNode root = MAPPER.readTree(trend);
+                for (Map.Entry<String, JsonNode> entry : root.properties()) {
+                    String test = testsByHistoryId.get(entry.getKey());
+                    if (test == null) {
+                        continue;
+                    }
+                    for (JsonNode item : entry.getValue().path("items")) {
+                        history.add(item.path("uid").asText(), test, item.path("status").asText(),
+                                item.path("time").path("duration").asLong(), false);
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("读取测试历史失败: " + trend + "，" + e.getMessage());
+            }
+        }
+        return history;
+    }
+
+    /**
+     * 添加一次运行记录，同一uid只记录一次
+     * @param uid 运行标识
+     * @param test 测试标识
+     * @param status passed/failed/broken/skipped
+     * @param duration 耗时（毫秒）
+     * @param flaky Allure是否标记为不稳定
+     */
+    synchronized void add(String uid, String test, String status, long duration, boolean flaky) {
+        if (uid != null && !uid.isEmpty() && !seenRuns.add(uid)) {
+            return;
+        }
+        Record record = records.computeIfAbsent(test, key -> new Record());
+        record.flagged |= flaky;
+        if ("passed".equals(status)) {
+            record.passed++;
+        } else if ("failed".equals(status) || "broken".equals(status)) {
+            record.failed++;
+        } else {
+            // 跳过的运行没有执行测试体，耗时不参与估算
+            return;
+        }
+        record.durations.add(duration);
+    }
+
+    /**
+     * 获取测试的预计耗时：历次执行耗时的中位数
+     * @param test 测试标识
+     * @return 预计耗时（毫秒），没有记录时为null
+     */
+    public synchronized Long getDuration(String test) {
+        Record record = records.get(test);
+        if (record == null || record.durations.isEmpty()) {
+            return null;
+        }
+        List<Long> sorted = new ArrayList<>(record.durations);
+        Collections.sort(sorted);
+        return sorted.get(sorted.size() / 2);
+    }
+
+    /**
+     * 获取测试的失败率
+     * @param test 测试标识
+     * @return 失败（failed/broken）次数占执行次数的比例，没有记录时为0
+     */
+    public synchronized double getFailureRate(String test) {
+        Record record = records.get(test);
+        if (record == null || record.passed + record.failed == 0) {
+            return 0;
+        }
+        return (double) record.failed / (record.passed + record.failed);
+    }
+
+    /**
+     * 是否为已知的不稳定测试
+     * @param test 测试标识
+     */
+    public synchronized boolean isFlaky(String test) {
+        Record record = records.get(test);
+        return record != null && (record.flagged || (record.passed > 0 && record.failed > 0));
+    }
+
+    public synchronized int size() {
+        return records.size();
+    }
+
+    /**
+     * 把Allure的fullName（包名.类名.方法名）转换为测试标识
+     */
+    private static String toTestId(String fullName) {
+        if (fullName == null) {
+            return null;
+        }
+        int dot = fullName.lastIndexOf('.');
+        return dot <= 0 ? null : fullName.substring(0, dot) + "#" + fullName.substring(dot + 1);
+    }
+
+    private static class Record {
+        private final List<Long> durations = new ArrayList<>();
+        private int passed;
+        private int failed;
+        private boolean flagged;
+    }
+}
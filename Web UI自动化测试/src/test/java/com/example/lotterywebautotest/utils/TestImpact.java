@@ -0,0 +1,315 @@
+package com.example.lotterywebautotest.utils;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * 测试影响映射
+ * 记录每个UI测试方法（全限定类名#方法名）运行时依赖的类（测试类、页面对象及其父类）和页面请求过的后端接口，
+ * 并根据变更文件选出受影响的测试。依赖键为 class:全限定类名 或 endpoint:接口路径。
+ * 变更文件的影响判断：
+ * 测试源码按类名匹配；
+ * 本地后端（stub包、启动类和src/main/resources）只在UI测试访问本地后端时参与判断，控制器按其中@RequestMapping/@GetMapping等声明的路径匹配接口，
+ * 访问远程后端时这些变更不影响UI测试；
+ * 压测和监控代码（load、monitor包）不为UI测试提供服务，只有被测试源码import的类（如测试数据生成）变更时运行全部测试；
+ * 其他无法判断影响范围的变更（工具类、没有接口声明的后端代码、资源文件、pom.xml）运行全部测试；
+ * src目录以外的文件（文档、报告）不影响测试。映射中没有记录的测试总是运行。
+ */
+public class TestImpact {
+
+    public static final String CLASS_KEY = "class:";
+    public static final String ENDPOINT_KEY = "endpoint:";
+
+    private static final String TEST_SOURCES = "src/test/java/";
+    private static final String MAIN_SOURCES = "src/main/java/";
+    private static final String MAIN_RESOURCES = "src/main/resources/";
+    private static final String BASE_PACKAGE = "com/example/lotterywebautotest/";
+
+    /**
+     * 本地后端的源码，UI测试访问远程后端时不受影响
+     */
+    private static final List<String> BACKEND_SOURCES = List.of(
+            MAIN_SOURCES + BASE_PACKAGE + "stub/", MAIN_SOURCES + BASE_PACKAGE + "LotteryWebAutoTestApplication.java");
+
+    /**
+     * 不为UI测试提供服务的包（接口压测、应用内压测接口）
+     */
+    private static final List<String> NON_SERVING_SOURCES = List.of(
+            MAIN_SOURCES + BASE_PACKAGE + "load/", MAIN_SOURCES + BASE_PACKAGE + "monitor/");
+
+    private static final Pattern MAPPING = Pattern.compile("@(?:Request|Get|Post|Put|Delete|Patch)Mapping\\b(\\s*\\(([^)]*)\\))?");
+    private static final Pattern PATH_LITERAL = Pattern.compile("\"(/[^\"]*)\"");
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(?:class|interface)\\s+\\w+");
+    private static final Pattern PATH_VARIABLE = Pattern.compile("\\{[^}]*}");
+    private static final Pattern NUMERIC_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+    private static final Pattern IMPORT = Pattern.compile("(?m)^\\s*import\\s+([\\w.]+(?:\\.\\*)?)\\s*;");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, Set<String>> dependencies = new TreeMap<>();
+
+    /**
+     * 读取映射文件，文件不存在时返回空映射
+     * @param file 映射文件
+     * @return 测试影响映射
+     */
+    public static TestImpact load(File file) {
+        TestImpact impact = new TestImpact();
+        if (file.isFile()) {
+            try {
+                Map<String, Set<String>> saved = MAPPER.readValue(file, new TypeReference<Map<String, Set<String>>>() { });
+                for (Map.Entry<String, Set<String>> entry : saved.entrySet()) {
+                    impact.dependencies.put(entry.getKey(), new TreeSet<>(entry.getValue()));
+                }
+            } catch (IOException e) {
+                System.err.println("读取测试影响映射失败，将按空映射处理: " + e.getMessage());
+            }
+        }
+        return impact;
+    }
+
+    /**
+     * 写入映射文件
+     * @param file 映射文件
+     */
+    public synchronized void save(File file) {
+        try {
+            File parent = file.getAbsoluteFile().getParentFile();
+            if (!parent.exists() && !parent.mkdirs()) {
+                throw new IOException("无法创建目录: " + parent);
+            }
+            MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, dependencies);
+        } catch (IOException e) {
+            throw new RuntimeException("写入测试影响映射失败: " + file, e);
+        }
+    }
+
+    /**
+     * 记录测试的依赖，替换该测试原有的记录
+     * @param test 测试（全限定类名#方法名）
+     * @param keys 依赖键
+     */
+    public synchronized void record(String test, Collection<String> keys) {
+        dependencies.put(test, new TreeSet<>(keys));
+    }
+
+    /**
+     * 获取测试的依赖
+     * @param test 测试
+     * @return 依赖键，没有记录时为null
+     */
+    public synchronized Set<String> getDependencies(String test) {
+        return dependencies.get(test);
+    }
+
+    public synchronized int size() {
+        return dependencies.size();
+    }
+
+    /**
+     * 生成接口依赖键，路径中的数字段统一为 {n}
+     * @param path 接口路径
+     * @return 依赖键
+     */
+    public static String endpointKey(String path) {
+        return ENDPOINT_KEY + NUMERIC_SEGMENT.matcher(path).replaceAll("/{n}");
+    }
+
+    /**
+     * 根据变更文件选出受影响的测试
+     * @param tests 本次可运行的测试
+     * @param changedFiles 变更文件，路径相对模块目录
+     * @param moduleDir 模块目录，用于读取变更的后端源码和测试源码的import
+     * @param localBackend UI测试是否访问本模块的本地后端（test.base.url 指向本机）
+     * @return 选择结果
+     */
+    public synchronized Selection select(Collection<String> tests, Collection<String> changedFiles, Path moduleDir,
+                                         boolean localBackend) {
+        Set<String> changedKeys = new LinkedHashSet<>();
+        List<Pattern> changedEndpoints = new ArrayList<>();
+        Set<String> recordedKeys = new TreeSet<>();
+        dependencies.values().forEach(recordedKeys::addAll);
+        Set<String> testImports = null;
+
+        for (String file : changedFiles) {
+            String path = file.replace('\\', '/');
+            if (path.startsWith(TEST_SOURCES) && path.endsWith(".java")) {
+                String key = CLASS_KEY + toClassName(path.substring(TEST_SOURCES.length()));
+                if (recordedKeys.contains(key)) {
+                    changedKeys.add(key);
+                } else if (!path.endsWith("Test.java")) {
+                    // 单元测试和新加的UI测试类不影响其他测试，新测试本身没有记录，总是运行
+                    return Selection.all(tests, "测试基础代码变更: " + path);
+                }
+            } else if (startsWithAny(path, NON_SERVING_SOURCES) && path.endsWith(".java")) {
+                if (testImports == null) {
+                    testImports = readTestImports(moduleDir.resolve(TEST_SOURCES));
+                }
+                String className = toClassName(path.substring(MAIN_SOURCES.length()));
+                if (testImports.contains(className)
+                        || testImports.contains(className.substring(0, className.lastIndexOf('.') + 1) + "*")) {
+                    return Selection.all(tests, "测试代码引用的类变更: " + path);
+                }
+            } else if (!localBackend && (startsWithAny(path, BACKEND_SOURCES) || path.startsWith(MAIN_RESOURCES))) {
+                // UI测试访问远程后端，本地后端的变更不影响
+                continue;
+            } else if (path.startsWith(MAIN_SOURCES) && path.endsWith(".java")) {
+                List<Pattern> mappings = readMappings(moduleDir.resolve(path));
+                if (mappings.isEmpty()) {
+                    return Selection.all(tests, "后端代码变更且没有接口声明: " + path);
+                }
+                changedEndpoints.addAll(mappings);
+            } else if (path.startsWith("src/") || "pom.xml".equals(path)) {
+                return Selection.all(tests, "配置或资源变更: " + path);
+            }
+        }
+
+        Set<String> selected = new LinkedHashSet<>();
+        for (String test : tests) {
+            Set<String> keys = dependencies.get(test);
+            if (keys == null || keys.stream().anyMatch(key -> changedKeys.contains(key)
+                    || isChangedEndpoint(key, changedEndpoints))) {
+                selected.add(test);
+            }
+        }
+        return new Selection(selected, null);
+    }
+
+    private static boolean startsWithAny(String path, List<String> prefixes) {
+        return prefixes.stream().anyMatch(path::startsWith);
+    }
+
+    /**
+     * 读取测试源码中import的类和包通配符（包名.*）
+     */
+    private static Set<String> readTestImports(Path testSources) {
+        Set<String> imports = new TreeSet<>();
+        try (Stream<Path> files = Files.walk(testSources)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".java")).toList()) {
+                Matcher matcher = IMPORT.matcher(Files.readString(file, StandardCharsets.UTF_8));
+                while (matcher.find()) {
+                    imports.add(matcher.group(1));
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("读取测试源码失败: " + testSources, e);
+        }
+        return imports;
+    }
+
+    private static boolean isChangedEndpoint(String key, List<Pattern> changedEndpoints) {
+        if (!key.startsWith(ENDPOINT_KEY)) {
+            return false;
+        }
+        String path = key.substring(ENDPOINT_KEY.length());
+        for (Pattern pattern : changedEndpoints) {
+            if (pattern.matcher(path).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 从控制器源码中提取接口路径，类上的@RequestMapping作为前缀
+     * @param source 源码文件
+     * @return 接口路径的匹配模式（允许部署时的上下文路径前缀），文件不存在或没有接口声明时为空
+     */
+    static List<Pattern> readMappings(Path source) {
+        String code;
+        try {
+            code = Files.readString(source, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return List.of();
+        }
+        Matcher declaration = TYPE_DECLARATION.matcher(code);
+        int bodyStart = declaration.find() ? declaration.end() : 0;
+
+        List<String> prefixes = new ArrayList<>();
+        List<String> paths = new ArrayList<>();
+        Matcher mapping = MAPPING.matcher(code);
+        while (mapping.find()) {
+            List<String> values = new ArrayList<>();
+            Matcher literal = PATH_LITERAL.matcher(mapping.group(2) == null ? "" : mapping.group(2));
+            while (literal.find()) {
+                values.add(literal.group(1));
+            }
+            if (values.isEmpty()) {
+                values.add("");
+            }
+            (mapping.start() < bodyStart ? prefixes : paths).addAll(values);
+        }
+        if (prefixes.isEmpty()) {
+            prefixes.add("");
+        }
+
+        List<Pattern> patterns = new ArrayList<>();
+        for (String prefix : prefixes) {
+            for (String path : paths) {
+                String full = (prefix + path).replaceAll("/+", "/");
+                if (full.isEmpty()) {
+                    continue;
+                }
+                StringBuilder regex = new StringBuilder("(?:/.*)?");
+                Matcher variable = PATH_VARIABLE.matcher(full);
+                int last = 0;
+                while (variable.find()) {
+                    regex.append(Pattern.quote(full.substring(last, variable.start()))).append("[^/]+");
+                    last = variable.end();
+                }
+                regex.append(Pattern.quote(full.substring(last))).append("/?");
+                patterns.add(Pattern.compile(regex.toString()));
+            }
+        }
+        return patterns;
+    }
+
+    private static String toClassName(String relativePath) {
+        return relativePath.substring(0, relativePath.length() - ".java".length()).replace('/', '.');
+    }
+
+    /**
+     * 测试选择结果
+     */
+    public static class Selection {
+        private final Set<String> tests;
+        private final String fullRunReason;
+
+        private Selection(Set<String> tests, String fullRunReason) {
+            this.tests = tests;
+            this.fullRunReason = fullRunReason;
+        }
+
+        private static Selection all(Collection<String> tests, String reason) {
+            return new Selection(new LinkedHashSet<>(tests), reason);
+        }
+
+        public Set<String> getTests() {
+            return tests;
+        }
+
+        /**
+         * 获取运行全部测试的原因，按影响范围选择时为null
+         */
+        public String getFullRunReason() {
+            return fullRunReason;
+        }
+    }
+}
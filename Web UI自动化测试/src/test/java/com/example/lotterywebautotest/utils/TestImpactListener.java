@@ -0,0 +1,134 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 测试影响分析监听器
+ * 套件结束时保存本次运行记录的测试依赖；设置 test.impact.diff（git提交、分支或HEAD）时，
+ * 只运行受该版本以来的变更（含未提交和未跟踪的文件）影响的测试。
+ */
+public class TestImpactListener implements ISuiteListener, IMethodInterceptor {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String base = TestDataProvider.getProperty("test.impact.diff");
+        if (base == null || base.isBlank()) {
+            return methods;
+        }
+        File mapFile = TestImpactRecorder.getMapFile();
+        if (!mapFile.isFile()) {
+            System.out.println("测试影响分析: 没有映射文件 " + mapFile + "，运行全部测试并记录映射");
+            return methods;
+        }
+
+        Set<String> changedFiles;
+        try {
+            changedFiles = changedFiles(base.trim());
+        } catch (IOException | RuntimeException e) {
+            System.err.println("测试影响分析: 读取git变更失败，运行全部测试: " + e.getMessage());
+            return methods;
+        }
+
+        Set<String> tests = new LinkedHashSet<>();
+        for (IMethodInstance method : methods) {
+            tests.add(TestImpactRecorder.testId(method.getMethod()));
+        }
+        TestImpact.Selection selection;
+        try {
+            selection = TestImpact.load(mapFile).select(tests, changedFiles, Paths.get("").toAbsolutePath(),
+                    isLocalBackend(TestDataProvider.getBaseUrl()));
+        } catch (RuntimeException e) {
+            System.err.println("测试影响分析: 分析变更失败，运行全部测试: " + e.getMessage());
+            return methods;
+        }
+        if (selection.getFullRunReason() != null) {
+            System.out.println("测试影响分析: " + selection.getFullRunReason() + "，运行全部" + methods.size() + "个测试");
+            return methods;
+        }
+
+        List<IMethodInstance> selected = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            if (selection.getTests().contains(TestImpactRecorder.testId(method.getMethod()))) {
+                selected.add(method);
+            }
+        }
+        System.out.println("测试影响分析: 相对 " + base.trim() + " 变更" + changedFiles.size() + "个文件，运行"
+                + selected.size() + "/" + methods.size() + "个测试");
+        for (IMethodInstance method : selected) {
+            System.out.println("  " + TestImpactRecorder.testId(method.getMethod()));
+        }
+        return selected;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestImpactRecorder.save();
+    }
+
+    /**
+     * 判断UI测试是否访问本模块的本地后端（地址为本机回环地址）
+     */
+    private static boolean isLocalBackend(String baseUrl) {
+        if (baseUrl == null) {
+            return false;
+        }
+        try {
+            String host = URI.create(baseUrl.trim()).getHost();
+            return host != null && InetAddress.getByName(host).isLoopbackAddress();
+        } catch (IllegalArgumentException | IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取本模块内相对base变更的文件（含工作区未提交的修改）和未跟踪的文件，路径相对模块目录
+     */
+    private static Set<String> changedFiles(String base) throws IOException {
+        Set<String> files = new LinkedHashSet<>();
+        files.addAll(git("diff", "--name-only", "--relative", base));
+        files.addAll(git("ls-files", "--others", "--exclude-standard"));
+        return files;
+    }
+
+    private static List<String> git(String... args) throws IOException {
+        List<String> command = new ArrayList<>(List.of("git", "-c", "core.quotepath=off"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    lines.add(line.trim());
+                }
+            }
+        }
+        try {
+            if (process.waitFor() != 0) {
+                throw new IOException(String.join(" ", command) + " 失败: " + String.join("\n", lines));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("等待git被中断", e);
+        }
+        return lines;
+    }
+}
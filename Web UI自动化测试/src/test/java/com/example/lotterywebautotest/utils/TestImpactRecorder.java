@@ -0,0 +1,91 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 测试影响记录器
+ * 测试运行期间按线程收集当前测试访问过的页面对象和页面请求过的接口，测试结束时记录到本次运行的结果中，
+ * 套件结束时合并写入映射文件（test.impact.map）：本次运行过的测试替换原有记录，其他测试的记录保留。
+ */
+public class TestImpactRecorder {
+
+    private static final ThreadLocal<Set<String>> TOUCHED = ThreadLocal.withInitial(LinkedHashSet::new);
+
+    private static final Map<String, Set<String>> RECORDED = new ConcurrentHashMap<>();
+
+    /**
+     * 记录当前测试访问了某个类（连同其父类）
+     * @param type 页面对象等被测试使用的类
+     */
+    public static void touch(Class<?> type) {
+        Set<String> touched = TOUCHED.get();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            touched.add(TestImpact.CLASS_KEY + current.getName());
+        }
+    }
+
+    /**
+     * 结束当前测试的收集，跳过的测试不记录
+     * @param result 测试结果
+     * @param endpoints 页面请求过的接口路径
+     */
+    public static void record(ITestResult result, Collection<String> endpoints) {
+        Set<String> keys = TOUCHED.get();
+        TOUCHED.remove();
+        if (result.getStatus() == ITestResult.SKIP) {
+            return;
+        }
+        for (Class<?> current = result.getTestClass().getRealClass();
+             current != null && current != Object.class; current = current.getSuperclass()) {
+            keys.add(TestImpact.CLASS_KEY + current.getName());
+        }
+        for (String endpoint : endpoints) {
+            keys.add(TestImpact.endpointKey(endpoint));
+        }
+        RECORDED.merge(testId(result.getMethod()), keys, (previous, current) -> {
+            // 数据驱动的测试多次调用，依赖取并集
+            Set<String> union = new LinkedHashSet<>(previous);
+            union.addAll(current);
+            return union;
+        });
+    }
+
+    /**
+     * 把本次运行的记录合并写入映射文件
+     */
+    public static synchronized void save() {
+        if (RECORDED.isEmpty()) {
+            return;
+        }
+        File file = getMapFile();
+        TestImpact impact = TestImpact.load(file);
+        RECORDED.forEach(impact::record);
+        impact.save(file);
+        System.out.println("测试影响映射已更新: " + RECORDED.size() + "个测试，共" + impact.size() + "个测试，" + file);
+        RECORDED.clear();
+    }
+
+    /**
+     * 获取测试标识
+     * @param method 测试方法
+     * @return 全限定类名#方法名
+     */
+    public static String testId(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    /**
+     * 获取映射文件，默认 target/test-impact/impact-map.json
+     */
+    public static File getMapFile() {
+        return new File(TestDataProvider.getProperty("test.impact.map", "target/test-impact/impact-map.json"));
+    }
+}
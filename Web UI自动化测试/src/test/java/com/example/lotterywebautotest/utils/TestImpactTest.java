@@ -0,0 +1,119 @@
+package com.example.lotterywebautotest.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class TestImpactTest {
+
+    private static final String PAGES = "com.example.lotterywebautotest.pages.";
+    private static final String TESTS = "com.example.lotterywebautotest.tests.";
+
+    private static final String ADMIN = TESTS + "AdminManagementTest#testAddPrize";
+    private static final String LOTTERY = TESTS + "LotteryCoreTest#testDraw";
+    private static final String NEW_TEST = TESTS + "NewTest#testSomething";
+    private static final List<String> TESTS_TO_RUN = List.of(ADMIN, LOTTERY, NEW_TEST);
+
+    private final Path moduleDir = Paths.get("").toAbsolutePath();
+
+    private TestImpact impact() {
+        TestImpact impact = new TestImpact();
+        impact.record(ADMIN, List.of("class:" + TESTS + "AdminManagementTest", "class:" + TESTS + "BaseUiTest",
+                "class:" + PAGES + "PrizeManagementPage", "class:" + PAGES + "BasePage",
+                TestImpact.endpointKey("/prize/find-list"), TestImpact.endpointKey("/prize/toggle-status/17")));
+        impact.record(LOTTERY, List.of("class:" + TESTS + "LotteryCoreTest", "class:" + TESTS + "BaseUiTest",
+                "class:" + PAGES + "LotteryPage", "class:" + PAGES + "BasePage",
+                TestImpact.endpointKey("/api/lottery/draw")));
+        return impact;
+    }
+
+    @Test
+    void pageChangeSelectsTestsThatUsedIt() {
+        TestImpact.Selection selection = impact().select(TESTS_TO_RUN,
+                List.of("src/test/java/com/example/lotterywebautotest/pages/PrizeManagementPage.java", "README.md"),
+                moduleDir, false);
+        assertNull(selection.getFullRunReason());
+        // 没有记录的测试总是运行
+        assertEquals(Set.of(ADMIN, NEW_TEST), selection.getTests());
+    }
+
+    @Test
+    void controllerChangeSelectsTestsByEndpoint() {
+        TestImpact.Selection selection = impact().select(TESTS_TO_RUN,
+                List.of("src/main/java/com/example/lotterywebautotest/stub/LotteryController.java"), moduleDir, true);
+        assertEquals(Set.of(LOTTERY, NEW_TEST), selection.getTests());
+
+        selection = impact().select(TESTS_TO_RUN,
+                List.of("src/main/java/com/example/lotterywebautotest/stub/PrizeController.java"), moduleDir, true);
+        assertEquals(Set.of(ADMIN, NEW_TEST), selection.getTests());
+    }
+
+    @Test
+    void localBackendChangesDoNotAffectRemoteRuns() {
+        // test.base.url 指向远程后端时，UI测试不经过本地后端
+        TestImpact.Selection selection = impact().select(TESTS_TO_RUN, List.of(
+                "src/main/java/com/example/lotterywebautotest/stub/LotteryController.java",
+                "src/main/java/com/example/lotterywebautotest/stub/LotteryStore.java",
+                "src/main/resources/application.properties"), moduleDir, false);
+        assertNull(selection.getFullRunReason());
+        assertEquals(Set.of(NEW_TEST), selection.getTests());
+    }
+
+    @Test
+    void loadAndMonitorChangesOnlyMatterWhenTestsImportThem() {
+        TestImpact.Selection selection = impact().select(TESTS_TO_RUN, List.of(
+                "src/main/java/com/example/lotterywebautotest/load/LoadEngine.java",
+                "src/main/java/com/example/lotterywebautotest/load/LiveMetrics.java",
+                "src/main/java/com/example/lotterywebautotest/monitor/LoadRunController.java"), moduleDir, true);
+        assertNull(selection.getFullRunReason());
+        assertEquals(Set.of(NEW_TEST), selection.getTests());
+
+        // TestDataProvider 用压测的数据工厂生成注册用户
+        selection = impact().select(TESTS_TO_RUN,
+                List.of("src/main/java/com/example/lotterywebautotest/load/SeedDataFactory.java"), moduleDir, false);
+        assertNotNull(selection.getFullRunReason());
+        assertEquals(Set.copyOf(TESTS_TO_RUN), selection.getTests());
+    }
+
+    @Test
+    void unknownImpactRunsEverything() {
+        TestImpact.Selection selection = impact().select(TESTS_TO_RUN,
+                List.of("src/test/java/com/example/lotterywebautotest/utils/WebDriverUtils.java"), moduleDir, false);
+        assertNotNull(selection.getFullRunReason());
+        assertEquals(Set.copyOf(TESTS_TO_RUN), selection.getTests());
+
+        selection = impact().select(TESTS_TO_RUN,
+                List.of("src/main/java/com/example/lotterywebautotest/stub/LotteryStore.java"), moduleDir, true);
+        assertNotNull(selection.getFullRunReason());
+
+        // 与UI测试共用的主代码工具类
+        selection = impact().select(TESTS_TO_RUN,
+                List.of("src/main/java/com/example/lotterywebautotest/utils/LatencyHistogram.java"), moduleDir, false);
+        assertNotNull(selection.getFullRunReason());
+    }
+
+    @Test
+    void mapSurvivesSaveAndLoad(@TempDir Path dir) {
+        File file = dir.resolve("impact-map.json").toFile();
+        impact().save(file);
+        TestImpact loaded = TestImpact.load(file);
+        assertEquals(impact().getDependencies(LOTTERY), loaded.getDependencies(LOTTERY));
+        assertEquals(2, loaded.size());
+    }
+
+    @Test
+    void numericPathSegmentsAreNormalised() {
+        assertEquals("endpoint:/prize/toggle-status/{n}", TestImpact.endpointKey("/prize/toggle-status/42"));
+        assertEquals("endpoint:/api/user-prize-record/user/{n}/activity/{n}",
+                TestImpact.endpointKey("/api/user-prize-record/user/7/activity/3"));
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.lotterywebautotest.utils;
+
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.internal.annotations.DisabledRetryAnalyzer;
+import org.testng.xml.XmlSuite;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * 按历史耗时调度测试
+ * 根据 {@link TestHistory} 中的历史耗时把测试按从长到短排序（LPT），线程池按顺序分发时长测试先开始，
+ * 短测试在最后填补空闲线程，缩短整个套件的完成时间：按方法并行时对所有方法排序，按类并行时按类的总耗时排序、
+ * 类内保持原顺序；没有历史的测试按平均耗时估算。test.schedule.lpt=false 时保持原顺序。
+ * 同时给历史上不稳定的测试挂上 {@link FlakyRetryAnalyzer}（test.retry.max 为0时不重试），其他测试失败不重试。
+ */
+public class TestScheduler implements IMethodInterceptor, ITestListener {
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        TestHistory history = TestHistory.getDefault();
+        int invocations = 0;
+        int flaky = 0;
+        boolean retry = TestDataProvider.getIntProperty("test.retry.max", 1) > 0;
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            invocations += Math.max(1, method.getInvocationCount());
+            if (retry && history.isFlaky(TestImpactRecorder.testId(method))
+                    && (method.getRetryAnalyzerClass() == null
+                    || method.getRetryAnalyzerClass() == DisabledRetryAnalyzer.class)) {
+                method.setRetryAnalyzerClass(FlakyRetryAnalyzer.class);
+                flaky++;
+            }
+        }
+        FlakyRetryAnalyzer.expectFirstAttempts(invocations);
+        if (flaky > 0) {
+            System.out.println("不稳定测试" + flaky + "个，失败后在重试通道中最多重试"
+                    + TestDataProvider.getIntProperty("test.retry.max", 1) + "次");
+        }
+
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        if (!Boolean.parseBoolean(TestDataProvider.getProperty("test.schedule.lpt", "true"))
+                || suite.getParallel() == null || !suite.getParallel().isParallel()) {
+            return methods;
+        }
+
+        Map<String, Long> estimates = estimate(methods, history);
+        ToLongFunction<IMethodInstance> duration = method -> estimates.get(TestImpactRecorder.testId(method.getMethod()));
+        Function<IMethodInstance, String> classOf = method -> method.getMethod().getRealClass().getName();
+        boolean byClass = suite.getParallel() == XmlSuite.ParallelMode.CLASSES;
+        List<IMethodInstance> ordered = longestFirst(methods, classOf, duration, byClass);
+
+        int threads = Math.max(1, suite.getThreadCount());
+        System.out.printf("按历史耗时调度%d个测试（%s，%d线程）: 预计 %.1fs，原顺序 %.1fs%n", methods.size(),
+                byClass ? "按类" : "按方法", threads, makespan(ordered, classOf, duration, threads, byClass) / 1000.0,
+                makespan(methods, classOf, duration, threads, byClass) / 1000.0);
+        return ordered;
+    }
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        FlakyRetryAnalyzer.onTestStart(result);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        FlakyRetryAnalyzer.onTestFinish(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        FlakyRetryAnalyzer.onTestFinish(result);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        FlakyRetryAnalyzer.onTestFinish(result);
+    }
+
+    @Override
+    public void onTestFailedButWithinSuccessPercentage(ITestResult result) {
+        FlakyRetryAnalyzer.onTestFinish(result);
+    }
+
+    /**
+     * 估算每个测试的耗时，没有历史的按有历史测试的平均值
+     */
+    private static Map<String, Long> estimate(List<IMethodInstance> methods, TestHistory history) {
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        long total = 0;
+        int known = 0;
+        for (IMethodInstance method : methods) {
+            String test = TestImpactRecorder.testId(method.getMethod());
+            Long duration = history.getDuration(test);
+            estimates.put(test, duration);
+            if (duration != null) {
+                total += duration;
+                known++;
+            }
+        }
+        long average = known == 0 ? 0 : total / known;
+        estimates.replaceAll((test, duration) -> duration != null ? duration : average);
+        return estimates;
+    }
+
+    /**
+     * 按耗时从长到短排序，排序稳定
+     * @param items 待排序的测试
+     * @param classOf 测试所属的类
+     * @param duration 测试的预计耗时
+     * @param byClass 是否按类整体排序（类按总耗时排序，类内保持原顺序）
+     * @return 排序后的测试
+     */
+    static <T> List<T> longestFirst(List<T> items, Function<T, String> classOf, ToLongFunction<T> duration,
+                                    boolean byClass) {
+        if (!byClass) {
+            List<T> ordered = new ArrayList<>(items);
+            ordered.sort(Comparator.comparingLong(duration).reversed());
+            return ordered;
+        }
+        Map<String, List<T>> classes = new LinkedHashMap<>();
+        for (T item : items) {
+            classes.computeIfAbsent(classOf.apply(item), key -> new ArrayList<>()).add(item);
+        }
+        List<List<T>> groups = new ArrayList<>(classes.values());
+        groups.sort(Comparator.comparingLong((List<T> group) -> group.stream().mapToLong(duration).sum()).reversed());
+        List<T> ordered = new ArrayList<>();
+        groups.forEach(ordered::addAll);
+        return ordered;
+    }
+
+    /**
+     * 估算按顺序分发给空闲线程时的完成时间
+     * @param items 按分发顺序排列的测试
+     * @param classOf 测试所属的类
+     * @param duration 测试的预计耗时
+     * @param threads 线程数
+     * @param byClass 是否整个类分给同一线程
+     * @return 预计完成时间（毫秒）
+     */
+    static <T> long makespan(List<T> items, Function<T, String> classOf, ToLongFunction<T> duration, int threads,
+                             boolean byClass) {
+        Map<String, Long> tasks = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            T item = items.get(i);
+            tasks.merge(byClass ? classOf.apply(item) : String.valueOf(i), duration.applyAsLong(item), Long::sum);
+        }
+        PriorityQueue<Long> finishTimes = new PriorityQueue<>();
+        for (int i = 0; i < threads; i++) {
+            finishTimes.add(0L);
+        }
+        long makespan = 0;
+        for (long task : tasks.values()) {
+            long finish = finishTimes.poll() + task;
+            makespan = Math.max(makespan, finish);
+            finishTimes.add(finish);
+        }
+        return makespan;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.lotterywebautotest.utils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestSchedulerTest {
+
+    private static final String TESTS = "com.example.lotterywebautotest.tests.";
+
+    private static final Map<String, Long> DURATIONS = Map.of(
+            "A#a1", 8_000L, "A#a2", 1_000L, "B#b1", 12_000L, "B#b2", 2_000L, "C#c1", 7_000L, "C#c2", 6_000L);
+    private static final Function<String, String> CLASS_OF = test -> test.substring(0, test.indexOf('#'));
+    private static final ToLongFunction<String> DURATION = DURATIONS::get;
+    private static final Map<String, Long> CLASS_DURATIONS = Map.of(
+            "A#a1", 1_000L, "A#a2", 1_000L, "B#b1", 2_000L, "B#b2", 1_000L, "C#c1", 6_000L, "C#c2", 4_000L);
+    private static final List<String> ORIGINAL = List.of("A#a1", "A#a2", "B#b1", "B#b2", "C#c1", "C#c2");
+
+    @Test
+    void longestMethodsAreDispatchedFirst() {
+        List<String> ordered = TestScheduler.longestFirst(ORIGINAL, CLASS_OF, DURATION, false);
+        assertEquals(List.of("B#b1", "A#a1", "C#c1", "C#c2", "B#b2", "A#a2"), ordered);
+        // 2线程: 原顺序最后分发的c2要等b1，LPT两个线程都在18s完成
+        assertEquals(19_000, TestScheduler.makespan(ORIGINAL, CLASS_OF, DURATION, 2, false));
+        assertEquals(18_000, TestScheduler.makespan(ordered, CLASS_OF, DURATION, 2, false));
+    }
+
+    @Test
+    void classesAreOrderedByTotalDuration() {
+        ToLongFunction<String> duration = CLASS_DURATIONS::get;
+        List<String> ordered = TestScheduler.longestFirst(ORIGINAL, CLASS_OF, duration, true);
+        assertEquals(List.of("C#c1", "C#c2", "B#b1", "B#b2", "A#a1", "A#a2"), ordered);
+        assertEquals(12_000, TestScheduler.makespan(ORIGINAL, CLASS_OF, duration, 2, true));
+        assertEquals(10_000, TestScheduler.makespan(ordered, CLASS_OF, duration, 2, true));
+    }
+
+    @Test
+    void historyMergesAllureRunsAndFindsFlakyTests(@TempDir Path report) throws IOException {
+        Path cases = Files.createDirectories(report.resolve("data/test-cases"));
+        writeCase(cases, "u1", "LotteryCoreTest.testDraw", "hDraw", "passed", 20_000);
+        writeCase(cases, "u2", "AdminManagementTest.testDataDisplay", "hData", "passed", 400);
+        writeCase(cases, "u3", "AdminManagementTest.testDataDisplay", "hData", "broken", 10_400);
+        Files.createDirectories(report.resolve("history"));
+        // u3 与 test-cases 中的重复，只记一次
+        Files.writeString(report.resolve("history/history.json"), "{\"hData\":{\"items\":["
+                + "{\"uid\":\"u3\",\"status\":\"broken\",\"time\":{\"duration\":10400}},"
+                + "{\"uid\":\"u4\",\"status\":\"passed\",\"time\":{\"duration\":500}},"
+                + "{\"uid\":\"u5\",\"status\":\"skipped\",\"time\":{\"duration\":0}}]}}", StandardCharsets.UTF_8);
+
+        TestHistory history = TestHistory.load(report.toFile());
+        assertEquals(2, history.size());
+        assertEquals(20_000L, history.getDuration(TESTS + "LotteryCoreTest#testDraw"));
+        assertFalse(history.isFlaky(TESTS + "LotteryCoreTest#testDraw"));
+
+        String flaky = TESTS + "AdminManagementTest#testDataDisplay";
+        assertTrue(history.isFlaky(flaky));
+        assertEquals(1.0 / 3, history.getFailureRate(flaky), 1e-9);
+        assertEquals(500L, history.getDuration(flaky));
+        assertNull(history.getDuration(TESTS + "NewTest#testSomething"));
+    }
+
+    private static void writeCase(Path dir, String uid, String name, String historyId, String status, long duration)
+            throws IOException {
+        Files.writeString(dir.resolve(uid + ".json"), "{\"uid\":\"" + uid + "\",\"fullName\":\"" + TESTS + name
+                + "\",\"historyId\":\"" + historyId + "\",\"status\":\"" + status
+                + "\",\"time\":{\"duration\":" + duration + "},\"flaky\":false}", StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,223 @@
+package com.example.lotterywebautotest.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * WebDriver连接池
+ * 有界池，按需创建浏览器实例；归还时清理Cookie和Storage，借出前做健康检查，空闲超时的实例由后台线程回收
+ */
+public class WebDriverPool {
+
+    private final int maxSize;
+    private final long borrowTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final Supplier<WebDriver> factory;
+
+    private final Semaphore permits;
+    private final Deque<PooledDriver> idleDrivers = new ConcurrentLinkedDeque<>();
+    private final Set<WebDriver> allDrivers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService evictor;
+
+    /**
+     * 构造函数
+     * @param maxSize 池中最多同时存在的浏览器数量
+     * @param borrowTimeoutMillis 借出等待超时时间（毫秒）
+     * @param idleTimeoutMillis 空闲回收时间（毫秒）
+     * @param factory 浏览器创建工厂
+     */
+    public WebDriverPool(int maxSize, long borrowTimeoutMillis, long idleTimeoutMillis, Supplier<WebDriver> factory) {
+        this.maxSize = maxSize;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.factory = factory;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "webdriver-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleDrivers, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 借出一个浏览器实例，优先复用最近归还的实例
+     * @return WebDriver实例
+     */
+    public WebDriver borrow() {
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new RuntimeException("等待WebDriver超时，池大小: " + maxSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("等待WebDriver被中断", e);
+        }
+
+        PooledDriver pooled;
+        while ((pooled = idleDrivers.pollFirst()) != null) {
+            if (isHealthy(pooled.driver)) {
+                return pooled.driver;
+            }
+            destroy(pooled.driver);
+        }
+
+        try {
+            WebDriver driver = factory.get();
+            allDrivers.add(driver);
+            return driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * 归还浏览器实例，清理失败的实例直接销毁
+     * @param driver WebDriver实例
+     */
+    public void release(WebDriver driver) {
+        if (driver == null || !allDrivers.contains(driver)) {
+            return;
+        }
+        if (reset(driver)) {
+            idleDrivers.offerFirst(new PooledDriver(driver, System.currentTimeMillis()));
+        } else {
+            destroy(driver);
+        }
+        permits.release();
+    }
+
+    /**
+     * 销毁浏览器实例并释放名额
+     * @param driver WebDriver实例
+     */
+    public void invalidate(WebDriver driver) {
+        if (driver == null || !allDrivers.contains(driver)) {
+            return;
+        }
+        destroy(driver);
+        permits.release();
+    }
+
+    /**
+     * 关闭连接池及所有浏览器
+     */
+    public void shutdown() {
+        evictor.shutdownNow();
+        idleDrivers.clear();
+        for (WebDriver driver : allDrivers) {
+            destroy(driver);
+        }
+    }
+
+    /**
+     * 获取当前空闲实例数量
+     * @return 空闲实例数量
+     */
+    public int getIdleCount() {
+        return idleDrivers.size();
+    }
+
+    /**
+     * 检查浏览器会话是否仍然可用
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandles();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 清理会话状态：多余窗口、弹窗、Storage和Cookie
+     */
+    static boolean reset(WebDriver driver) {
+        try {
+            String mainHandle = null;
+            for (String handle : driver.getWindowHandles()) {
+                if (mainHandle == null) {
+                    mainHandle = handle;
+                } else {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            if (mainHandle != null) {
+                driver.switchTo().window(mainHandle);
+            }
+
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (WebDriverException e) {
+                // 没有弹窗
+            }
+
+            try {
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+            } catch (WebDriverException e) {
+                // about:blank等页面无法访问Storage
+            }
+
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (WebDriverException e) {
+            System.err.println("WebDriver清理失败，将销毁该实例: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 回收空闲超时的实例
+     */
+    private void evictIdleDrivers() {
+        long now = System.currentTimeMillis();
+        Iterator<PooledDriver> iterator = idleDrivers.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledDriver pooled = iterator.next();
+            if (now - pooled.lastUsed > idleTimeoutMillis && idleDrivers.remove(pooled)) {
+                destroy(pooled.driver);
+            }
+        }
+    }
+
+    private void destroy(WebDriver driver) {
+        allDrivers.remove(driver);
+        BrowserNetwork.forget(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // 浏览器可能已经退出
+        }
+    }
+
+    /**
+     * 空闲池中的浏览器实例
+     */
+    private static class PooledDriver {
+        private final WebDriver driver;
+        private final long lastUsed;
+
+        private PooledDriver(WebDriver driver, long lastUsed) {
+            this.driver = driver;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
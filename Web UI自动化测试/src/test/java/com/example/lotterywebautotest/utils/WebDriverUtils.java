@@ -1,60 +1,194 @@
 package com.example.lotterywebautotest.utils;
 
 import io.github.bonigarcia.wdm.WebDriverManager;
-import org.apache.commons.io.FileUtils;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
 
-import java.io.File;
-import java.io.IOException;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.time.Duration;
 
 public class WebDriverUtils {
-    private static WebDriver driver;
+    private static final ThreadLocal<WebDriver> CURRENT_DRIVER = new ThreadLocal<>();
 
+    /**
+     * 当前线程租借的原始WebDriver，归还给农场或连接池时使用
+     */
+    private static final ThreadLocal<WebDriver> CURRENT_RAW_DRIVER = new ThreadLocal<>();
+
+    private static final int WINDOW_WIDTH = TestDataProvider.getIntProperty("test.window.width", 1920);
+    private static final int WINDOW_HEIGHT = TestDataProvider.getIntProperty("test.window.height", 1080);
+    private static final int DRIVER_COUNT =
+            TestDataProvider.getIntProperty("test.driver.pool.size", Runtime.getRuntime().availableProcessors());
+    private static final long BORROW_TIMEOUT_MILLIS =
+            TestDataProvider.getIntProperty("test.driver.pool.borrow.timeout", 120) * 1000L;
+
+    /**
+     * 浏览器农场模式：预先启动浏览器，每个测试使用独立的浏览器上下文
+     */
+    private static final boolean USE_FARM = Boolean.parseBoolean(TestDataProvider.getProperty("test.browser.farm", "true"));
+
+    /**
+     * 无头模式：未配置 test.headless 时浏览器农场默认无头（同时启动多个浏览器窗口没有观察意义），连接池默认有头
+     */
+    private static final boolean HEADLESS = Boolean.parseBoolean(
+            TestDataProvider.getProperty("test.headless", "").isBlank()
+                    ? String.valueOf(USE_FARM) : TestDataProvider.getProperty("test.headless"));
+
+    /**
+     * 农场启动的浏览器数：不超过实际并行线程数（串行时只启动1个），多出的浏览器不会被借出
+     */
+    private static final int FARM_SIZE = Math.min(DRIVER_COUNT, TestDataProvider.getEffectiveThreadCount());
+
+    private static final BrowserFarm FARM = USE_FARM
+            ? new BrowserFarm(FARM_SIZE, BORROW_TIMEOUT_MILLIS, WINDOW_WIDTH, WINDOW_HEIGHT, WebDriverUtils::createDriver)
+            : null;
+
+    private static final WebDriverPool POOL = USE_FARM
+            ? null
+            : new WebDriverPool(DRIVER_COUNT, BORROW_TIMEOUT_MILLIS,
+                    TestDataProvider.getIntProperty("test.driver.pool.idle.timeout", 300) * 1000L,
+                    WebDriverUtils::createDriver);
+
+    private static volatile boolean driverBinaryReady = false;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            if (USE_FARM) {
+                FARM.shutdown();
+            } else {
+                POOL.shutdown();
+            }
+        }, "webdriver-pool-shutdown"));
+    }
+
+    /**
+     * 预先启动浏览器农场中的全部浏览器，连接池模式下不做任何事
+     */
+    public static void warmUp() {
+        if (USE_FARM) {
+            FARM.start();
+        }
+    }
+
+    /**
+     * 获取当前线程租借的WebDriver，首次调用时从浏览器农场或连接池借出
+     * 返回的driver经 {@link DomGeneration} 包装，页面对象据此缓存元素查找结果
+     * @return WebDriver实例
+     */
     public static WebDriver getDriver() {
+        WebDriver driver = CURRENT_DRIVER.get();
         if (driver == null) {
-            // 设置Chrome驱动路径（确保路径正确）
-//            System.setProperty("webdriver.chrome.driver", "D:\\Downloads\\chromedriver-win64 (3)\\chromedriver-win64\\chromedriver.exe");
-            WebDriverManager.chromedriver().setup(); // 自动下载并设置驱动
-            //浏览器配置对象--options
-            ChromeOptions options = new ChromeOptions();
-            //允许访问所有链接
-            options.addArguments("--remote-allow-origins=*");
-            options.addArguments("--start-maximized");  // 最大化窗口
-            //打开浏览器
-            driver = new ChromeDriver(options);
-
-            //隐式等待
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(2));
+            WebDriver raw = USE_FARM ? FARM.acquire() : POOL.borrow();
+            BrowserNetwork.install(raw);
+            driver = DomGeneration.track(raw);
+            CURRENT_RAW_DRIVER.set(raw);
+            CURRENT_DRIVER.set(driver);
         }
         return driver;
     }
 
+    /**
+     * 获取当前线程已经租借的WebDriver，不会触发借出
+     * @return WebDriver实例，未租借时为null
+     */
+    public static WebDriver getCurrentDriver() {
+        return CURRENT_DRIVER.get();
+    }
+
+    /**
+     * 归还当前线程租借的WebDriver，浏览器保留供后续测试复用
+     */
+    public static void releaseDriver() {
+        WebDriver driver = CURRENT_RAW_DRIVER.get();
+        if (driver != null) {
+            CURRENT_DRIVER.remove();
+            CURRENT_RAW_DRIVER.remove();
+            if (USE_FARM) {
+                FARM.release(driver);
+            } else {
+                POOL.release(driver);
+            }
+        }
+    }
 
     /**
      * 关闭WebDriver
      */
     public static void quitDriver() {
+        WebDriver driver = CURRENT_RAW_DRIVER.get();
         if (driver != null) {
-            driver.quit();
-            driver = null;
+            CURRENT_DRIVER.remove();
+            CURRENT_RAW_DRIVER.remove();
+            if (USE_FARM) {
+                FARM.invalidate(driver);
+            } else {
+                POOL.invalidate(driver);
+            }
+        }
+    }
+
+    /**
+     * 创建新的浏览器实例，test.headless=true 时使用无头模式
+     * @return WebDriver实例
+     */
+    private static WebDriver createDriver() {
+        setupDriverBinary();
+        //浏览器配置对象--options
+        ChromeOptions options = new ChromeOptions();
+        //允许访问所有链接
+        options.addArguments("--remote-allow-origins=*");
+        if (HEADLESS) {
+            // 无头模式下最大化无效，直接指定窗口大小
+            options.addArguments("--headless=new", "--window-size=" + WINDOW_WIDTH + "," + WINDOW_HEIGHT);
+        } else {
+            options.addArguments("--start-maximized");  // 最大化窗口
+        }
+        //打开浏览器
+        WebDriver driver = new ChromeDriver(options);
+
+        //隐式等待
+        driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(2));
+        //异步脚本超时，页面对象的浏览器内等待都在这个时间以内，不再每次等待前设置
+        driver.manage().timeouts().scriptTimeout(Duration.ofSeconds(30));
+        return driver;
+    }
+
+    /**
+     * 解析驱动程序路径，并行创建浏览器时只执行一次
+     * 优先使用 test.driver.path 或 -Dwebdriver.chrome.driver 指定的驱动；否则由WebDriverManager解析，
+     * 解析结果和驱动文件缓存在本地（test.driver.cache.path），缓存有效期内（test.driver.cache.ttl，秒）不访问网络
+     */
+    private static synchronized void setupDriverBinary() {
+        if (!driverBinaryReady) {
+            String driverPath = TestDataProvider.getProperty("test.driver.path");
+            if (driverPath != null && !driverPath.isBlank()) {
+                System.setProperty("webdriver.chrome.driver", driverPath.trim());
+            } else if (System.getProperty("webdriver.chrome.driver") == null) {
+                int ttl = TestDataProvider.getIntProperty("test.driver.cache.ttl", 7 * 24 * 3600);
+                WebDriverManager manager = WebDriverManager.chromedriver().ttl(ttl).ttlBrowsers(ttl);
+                String cachePath = TestDataProvider.getProperty("test.driver.cache.path");
+                if (cachePath != null && !cachePath.isBlank()) {
+                    manager.cachePath(cachePath.trim());
+                }
+                manager.setup(); // 解析并设置驱动，缓存命中时不下载
+            }
+            driverBinaryReady = true;
         }
     }
 
-    public static void getScreenshot(WebDriver driver) throws IOException {
+    public static void getScreenshot(WebDriver driver) {
         SimpleDateFormat sim1 = new SimpleDateFormat("yyyy-MM-dd");
         SimpleDateFormat sim2 = new SimpleDateFormat("HHmmssSS");
         String dirTime = sim1.format(System.currentTimeMillis());
         String fileTime = sim2.format(System.currentTimeMillis());
 
         String filename = "./src/test/image/"+dirTime+"/test_"+fileTime+".png";
-        File imageFile = ((TakesScreenshot)driver).getScreenshotAs(OutputType.FILE);
-        FileUtils.copyFile(imageFile,new File(filename));
+        byte[] png = ((TakesScreenshot)driver).getScreenshotAs(OutputType.BYTES);
+        ScreenshotWriter.submit(Paths.get(filename), png);
 
     }
 }